@@ -0,0 +1,228 @@
+package org.marketcetera.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Compares two JMH result files written with <code>-rf csv</code>.
+ *
+ * <p>Prints, for each benchmark and parameter combination in both files, the baseline and current
+ * scores and the change. A change is reported as a regression if the score moved in the wrong
+ * direction for its unit (up for time per operation, down for operations per time) by more than the
+ * threshold and by more than the combined score errors. Exits with status 1 if there is a regression
+ * and with status 2 if the baseline holds no results, since nothing could be compared.
+ *
+ * <p>Usage: <code>java -cp target/benchmarks.jar org.marketcetera.benchmarks.BaselineComparator baseline.csv current.csv [threshold percent]</code>
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class BaselineComparator
+{
+    /**
+     * Compares the given result files.
+     *
+     * @param inArgs a <code>String[]</code> value holding the baseline file, the current file, and optionally the threshold in percent
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] inArgs)
+            throws IOException
+    {
+        if(inArgs.length < 2) {
+            System.err.println("Usage: BaselineComparator baseline.csv current.csv [threshold percent]"); //$NON-NLS-1$
+            System.exit(2);
+        }
+        double threshold = inArgs.length > 2 ? Double.parseDouble(inArgs[2]) : DEFAULT_THRESHOLD;
+        Map<String,Result> baseline = read(new File(inArgs[0]));
+        if(baseline.isEmpty()) {
+            System.err.println("No results in the baseline " + inArgs[0]); //$NON-NLS-1$
+            System.exit(2);
+        }
+        Map<String,Result> current = read(new File(inArgs[1]));
+        int regressions = 0;
+        System.out.println(String.format("%-90s %14s %14s %9s", //$NON-NLS-1$
+                                         "Benchmark", //$NON-NLS-1$
+                                         "Baseline", //$NON-NLS-1$
+                                         "Current", //$NON-NLS-1$
+                                         "Change")); //$NON-NLS-1$
+        for(Map.Entry<String,Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result then = baseline.get(entry.getKey());
+            if(then == null) {
+                System.out.println(String.format("%-90s %14s %14.3f %9s %s", //$NON-NLS-1$
+                                                 entry.getKey(),
+                                                 "-", //$NON-NLS-1$
+                                                 now.score,
+                                                 "new", //$NON-NLS-1$
+                                                 now.unit));
+                continue;
+            }
+            double change = (now.score - then.score) / then.score * 100;
+            boolean worse = now.isTimePerOperation() ? change > 0 : change < 0;
+            boolean regression = worse && Math.abs(change) > threshold && Math.abs(now.score - then.score) > now.error + then.error;
+            if(regression) {
+                regressions += 1;
+            }
+            System.out.println(String.format("%-90s %14.3f %14.3f %+8.1f%% %s%s", //$NON-NLS-1$
+                                             entry.getKey(),
+                                             then.score,
+                                             now.score,
+                                             change,
+                                             now.unit,
+                                             regression ? " REGRESSION" : "")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        for(String key : baseline.keySet()) {
+            if(!current.containsKey(key)) {
+                System.out.println(String.format("%-90s %14.3f %14s %9s", //$NON-NLS-1$
+                                                 key,
+                                                 baseline.get(key).score,
+                                                 "-", //$NON-NLS-1$
+                                                 "missing")); //$NON-NLS-1$
+            }
+        }
+        System.out.println(String.format("%d regression(s) beyond %.1f%%", //$NON-NLS-1$
+                                         regressions,
+                                         threshold));
+        if(regressions > 0) {
+            System.exit(1);
+        }
+    }
+    /**
+     * Reads the results in the given file by benchmark and parameters.
+     *
+     * @param inFile a <code>File</code> value
+     * @return a <code>Map&lt;String,Result&gt;</code> value
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String,Result> read(File inFile)
+            throws IOException
+    {
+        Map<String,Result> results = new LinkedHashMap<String,Result>();
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inFile),
+                                                                             Charset.forName("UTF-8")))) { //$NON-NLS-1$
+            String line = reader.readLine();
+            if(line == null) {
+                return results;
+            }
+            List<String> header = split(line);
+            int benchmarkColumn = header.indexOf("Benchmark"); //$NON-NLS-1$
+            int modeColumn = header.indexOf("Mode"); //$NON-NLS-1$
+            int scoreColumn = header.indexOf("Score"); //$NON-NLS-1$
+            int errorColumn = header.indexOf("Score Error (99.9%)"); //$NON-NLS-1$
+            int unitColumn = header.indexOf("Unit"); //$NON-NLS-1$
+            while((line = reader.readLine()) != null) {
+                if(line.trim().isEmpty()) {
+                    continue;
+                }
+                List<String> values = split(line);
+                StringBuilder key = new StringBuilder();
+                key.append(values.get(benchmarkColumn)).append(' ').append(values.get(modeColumn));
+                for(int i=0;i<header.size();i++) {
+                    if(header.get(i).startsWith(PARAM_PREFIX) && i < values.size() && !values.get(i).isEmpty()) {
+                        key.append(' ').append(header.get(i).substring(PARAM_PREFIX.length())).append('=').append(values.get(i));
+                    }
+                }
+                String error = errorColumn < 0 ? "" : values.get(errorColumn); //$NON-NLS-1$
+                results.put(key.toString(),
+                            new Result(Double.parseDouble(values.get(scoreColumn)),
+                                       error.isEmpty() || error.equals("NaN") ? 0 : Double.parseDouble(error), //$NON-NLS-1$
+                                       values.get(unitColumn)));
+            }
+        }
+        return results;
+    }
+    /**
+     * Splits a CSV line, removing the quotes around values.
+     *
+     * @param inLine a <code>String</code> value
+     * @return a <code>List&lt;String&gt;</code> value
+     */
+    static List<String> split(String inLine)
+    {
+        List<String> values = new ArrayList<String>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for(int i=0;i<inLine.length();i++) {
+            char c = inLine.charAt(i);
+            if(c == '"') {
+                quoted = !quoted;
+            } else if(c == ',' && !quoted) {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+    /**
+     * A benchmark result.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    static class Result
+    {
+        /**
+         * Create a new Result instance.
+         *
+         * @param inScore a <code>double</code> value
+         * @param inError a <code>double</code> value
+         * @param inUnit a <code>String</code> value
+         */
+        Result(double inScore,
+               double inError,
+               String inUnit)
+        {
+            score = inScore;
+            error = inError;
+            unit = inUnit;
+        }
+        /**
+         * Indicates if the unit is a time per operation, for which lower scores are better.
+         *
+         * @return a <code>boolean</code> value
+         */
+        boolean isTimePerOperation()
+        {
+            return unit.endsWith("/op"); //$NON-NLS-1$
+        }
+        /**
+         * the score
+         */
+        final double score;
+        /**
+         * the score error
+         */
+        final double error;
+        /**
+         * the score unit
+         */
+        final String unit;
+    }
+    /**
+     * prefix of the parameter columns
+     */
+    private static final String PARAM_PREFIX = "Param: "; //$NON-NLS-1$
+    /**
+     * change, in percent, beyond which a worse score is a regression
+     */
+    private static final double DEFAULT_THRESHOLD = 10;
+}
@@ -0,0 +1,190 @@
+package org.marketcetera.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.impl.QuoteEventBuilder;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Generates synthetic depth-of-book quote streams.
+ *
+ * <p>A stream builds a book of the given depth on each side, updates it, and then deletes every quote
+ * left, so the book is empty at the end of the stream and the stream can be replayed in a loop
+ * against the same book. Updates are half size changes, a quarter new quotes, and a quarter deletes,
+ * clustered near the inside of the book the way exchange feeds are. Prices are on a one cent grid
+ * around a mid price of 100. A given seed always produces the same stream.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class MarketDataGenerator
+{
+    /**
+     * Create a new MarketDataGenerator instance.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inSeed a <code>long</code> value
+     */
+    public MarketDataGenerator(Instrument inInstrument,
+                               long inSeed)
+    {
+        instrument = inInstrument;
+        random = new Random(inSeed);
+    }
+    /**
+     * Generates a replayable quote stream.
+     *
+     * @param inDepth an <code>int</code> value containing the number of quotes to maintain on each side
+     * @param inUpdates an <code>int</code> value containing the number of updates between building and clearing the book
+     * @return a <code>List&lt;QuoteEvent&gt;</code> value
+     */
+    public List<QuoteEvent> generateQuotes(int inDepth,
+                                           int inUpdates)
+    {
+        List<QuoteEvent> events = new ArrayList<QuoteEvent>(2 * inDepth + inUpdates + 2 * inDepth);
+        List<BidEvent> bids = new ArrayList<BidEvent>();
+        List<AskEvent> asks = new ArrayList<AskEvent>();
+        for(int i=0;i<inDepth;i++) {
+            BidEvent bid = createBid(i);
+            bids.add(bid);
+            events.add(bid);
+            AskEvent ask = createAsk(i);
+            asks.add(ask);
+            events.add(ask);
+        }
+        for(int i=0;i<inUpdates;i++) {
+            boolean bidSide = random.nextBoolean();
+            List<? extends QuoteEvent> side = bidSide ? bids : asks;
+            int operation = random.nextInt(4);
+            if(side.isEmpty()) {
+                operation = 0;
+            }
+            switch(operation) {
+                case 0:
+                    // new quote near the inside
+                    QuoteEvent quote = bidSide ? createBid(nearInside()) : createAsk(nearInside());
+                    if(bidSide) {
+                        bids.add((BidEvent)quote);
+                    } else {
+                        asks.add((AskEvent)quote);
+                    }
+                    events.add(quote);
+                    break;
+                case 1:
+                    // delete a quote, biased towards the newest
+                    int index = side.size() - 1 - Math.min(nearInside(),
+                                                           side.size() - 1);
+                    QuoteEvent deleted = side.remove(index);
+                    events.add(QuoteEventBuilder.delete(deleted));
+                    break;
+                default:
+                    // change the size of a quote
+                    if(bidSide) {
+                        events.add(change(bids));
+                    } else {
+                        events.add(change(asks));
+                    }
+                    break;
+            }
+        }
+        for(BidEvent bid : bids) {
+            events.add(QuoteEventBuilder.delete(bid));
+        }
+        for(AskEvent ask : asks) {
+            events.add(QuoteEventBuilder.delete(ask));
+        }
+        return events;
+    }
+    /**
+     * Changes the size of a random quote in the given side, replacing it with the changed quote.
+     *
+     * @param inSide a <code>List&lt;E&gt;</code> value
+     * @return an <code>E</code> value
+     */
+    private <E extends QuoteEvent> E change(List<E> inSide)
+    {
+        int index = random.nextInt(inSide.size());
+        E changed = QuoteEventBuilder.change(inSide.get(index),
+                                             new Date(),
+                                             createSize());
+        inSide.set(index,
+                   changed);
+        return changed;
+    }
+    /**
+     * Creates a bid the given number of ticks below the mid price.
+     *
+     * @param inLevel an <code>int</code> value
+     * @return a <code>BidEvent</code> value
+     */
+    private BidEvent createBid(int inLevel)
+    {
+        return QuoteEventBuilder.bidEvent(instrument).withExchange(EXCHANGES[random.nextInt(EXCHANGES.length)])
+                                                     .withPrice(MID.subtract(TICK.multiply(new BigDecimal(inLevel + 1))))
+                                                     .withSize(createSize())
+                                                     .withQuoteDate(new Date()).create();
+    }
+    /**
+     * Creates an ask the given number of ticks above the mid price.
+     *
+     * @param inLevel an <code>int</code> value
+     * @return an <code>AskEvent</code> value
+     */
+    private AskEvent createAsk(int inLevel)
+    {
+        return QuoteEventBuilder.askEvent(instrument).withExchange(EXCHANGES[random.nextInt(EXCHANGES.length)])
+                                                     .withPrice(MID.add(TICK.multiply(new BigDecimal(inLevel + 1))))
+                                                     .withSize(createSize())
+                                                     .withQuoteDate(new Date()).create();
+    }
+    /**
+     * Creates a round lot size of up to 5,000.
+     *
+     * @return a <code>BigDecimal</code> value
+     */
+    private BigDecimal createSize()
+    {
+        return new BigDecimal((random.nextInt(50) + 1) * 100);
+    }
+    /**
+     * Picks a level, most often one of the first few.
+     *
+     * @return an <code>int</code> value
+     */
+    private int nearInside()
+    {
+        return (int)Math.abs(random.nextGaussian() * 3);
+    }
+    /**
+     * the mid price of generated books
+     */
+    private static final BigDecimal MID = new BigDecimal("100.00");
+    /**
+     * the price increment between levels
+     */
+    private static final BigDecimal TICK = new BigDecimal("0.01");
+    /**
+     * exchanges of generated quotes
+     */
+    private static final String[] EXCHANGES = { "NYSE", "ARCA", "BATS", "EDGX", "NSDQ" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+    /**
+     * the instrument of generated events
+     */
+    private final Instrument instrument;
+    /**
+     * source of generated values
+     */
+    private final Random random;
+}
@@ -0,0 +1,194 @@
+package org.marketcetera.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.marketcetera.quickfix.FIXVersion;
+import org.marketcetera.trade.BrokerID;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.FIXOrder;
+import org.marketcetera.trade.Factory;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.MessageCreationException;
+import org.marketcetera.trade.OrderSingle;
+import org.marketcetera.trade.OrderStatus;
+import org.marketcetera.trade.OrderType;
+import org.marketcetera.trade.Side;
+import org.marketcetera.trade.TimeInForce;
+import org.marketcetera.util.misc.ClassVersion;
+
+import quickfix.FieldNotFound;
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Generates synthetic orders and execution reports.
+ *
+ * <p>Orders are limit orders, and some market orders, for a set of liquid symbols, with round lot
+ * quantities, prices on a one cent grid, and a mix of sides, accounts, and times in force. Fills are
+ * partial fills of a rotating set of orders whose cumulative quantity grows with each fill. A given
+ * seed always produces the same values, apart from order IDs.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class OrderGenerator
+{
+    /**
+     * Create a new OrderGenerator instance.
+     *
+     * @param inSeed a <code>long</code> value
+     */
+    public OrderGenerator(long inSeed)
+    {
+        random = new Random(inSeed);
+    }
+    /**
+     * Generates new orders.
+     *
+     * @param inCount an <code>int</code> value
+     * @return a <code>List&lt;OrderSingle&gt;</code> value
+     */
+    public List<OrderSingle> generateOrders(int inCount)
+    {
+        List<OrderSingle> orders = new ArrayList<OrderSingle>(inCount);
+        for(int i=0;i<inCount;i++) {
+            OrderSingle order = Factory.getInstance().createOrderSingle();
+            order.setInstrument(nextInstrument());
+            order.setSide(SIDES[random.nextInt(SIDES.length)]);
+            order.setQuantity(nextQuantity());
+            order.setAccount(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            order.setTimeInForce(random.nextInt(4) == 0 ? TimeInForce.ImmediateOrCancel : TimeInForce.Day);
+            if(random.nextInt(10) == 0) {
+                order.setOrderType(OrderType.Market);
+            } else {
+                order.setOrderType(OrderType.Limit);
+                order.setPrice(nextPrice());
+            }
+            order.setBrokerID(BROKER);
+            orders.add(order);
+        }
+        return orders;
+    }
+    /**
+     * Generates FIX limit orders.
+     *
+     * @param inCount an <code>int</code> value
+     * @return a <code>List&lt;FIXOrder&gt;</code> value
+     * @throws MessageCreationException if an order cannot be created
+     */
+    public List<FIXOrder> generateFIXOrders(int inCount)
+            throws MessageCreationException
+    {
+        List<FIXOrder> orders = new ArrayList<FIXOrder>(inCount);
+        for(int i=0;i<inCount;i++) {
+            Message message = FIXVersion.FIX_SYSTEM.getMessageFactory().newLimitOrder("clord" + i, //$NON-NLS-1$
+                                                                                      SIDES[random.nextInt(SIDES.length)].getFIXValue(),
+                                                                                      nextQuantity(),
+                                                                                      nextInstrument(),
+                                                                                      nextPrice(),
+                                                                                      quickfix.field.TimeInForce.DAY,
+                                                                                      ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            orders.add(Factory.getInstance().createOrder(message,
+                                                         BROKER));
+        }
+        return orders;
+    }
+    /**
+     * Generates execution reports for partial fills.
+     *
+     * @param inCount an <code>int</code> value
+     * @param inOrders an <code>int</code> value containing the number of orders the fills are spread over
+     * @return a <code>List&lt;Message&gt;</code> value
+     * @throws FieldNotFound if a message cannot be created
+     */
+    public List<Message> generateFills(int inCount,
+                                       int inOrders)
+            throws FieldNotFound
+    {
+        List<Message> messages = new ArrayList<Message>(inCount);
+        BigDecimal orderQuantity = new BigDecimal("100000"); //$NON-NLS-1$
+        Instrument[] instruments = new Instrument[inOrders];
+        BigDecimal[] cumulativeQuantities = new BigDecimal[inOrders];
+        for(int i=0;i<inOrders;i++) {
+            instruments[i] = nextInstrument();
+            cumulativeQuantities[i] = BigDecimal.ZERO;
+        }
+        for(int i=0;i<inCount;i++) {
+            int order = i % inOrders;
+            BigDecimal lastQuantity = nextQuantity();
+            BigDecimal price = nextPrice();
+            cumulativeQuantities[order] = cumulativeQuantities[order].add(lastQuantity);
+            if(cumulativeQuantities[order].compareTo(orderQuantity) >= 0) {
+                cumulativeQuantities[order] = lastQuantity;
+            }
+            messages.add(FIXVersion.FIX_SYSTEM.getMessageFactory().newExecutionReport("ord" + order, //$NON-NLS-1$
+                                                                                      "clord" + order, //$NON-NLS-1$
+                                                                                      "exec" + i, //$NON-NLS-1$
+                                                                                      OrderStatus.PartiallyFilled.getFIXValue(),
+                                                                                      Side.Buy.getFIXValue(),
+                                                                                      orderQuantity,
+                                                                                      price,
+                                                                                      lastQuantity,
+                                                                                      price,
+                                                                                      cumulativeQuantities[order],
+                                                                                      price,
+                                                                                      instruments[order],
+                                                                                      ACCOUNTS[order % ACCOUNTS.length],
+                                                                                      null));
+        }
+        return messages;
+    }
+    /**
+     * Picks a symbol.
+     *
+     * @return an <code>Instrument</code> value
+     */
+    private Instrument nextInstrument()
+    {
+        return new Equity(SYMBOLS[random.nextInt(SYMBOLS.length)]);
+    }
+    /**
+     * Picks a round lot quantity of up to 2,000.
+     *
+     * @return a <code>BigDecimal</code> value
+     */
+    private BigDecimal nextQuantity()
+    {
+        return new BigDecimal((random.nextInt(20) + 1) * 100);
+    }
+    /**
+     * Picks a price between 20.00 and 520.00.
+     *
+     * @return a <code>BigDecimal</code> value
+     */
+    private BigDecimal nextPrice()
+    {
+        return new BigDecimal(2000 + random.nextInt(50000)).movePointLeft(2);
+    }
+    /**
+     * symbols of generated orders
+     */
+    private static final String[] SYMBOLS = { "AAPL", "MSFT", "GOOG", "IBM", "ORCL", "INTC", "CSCO", "METC" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+    /**
+     * accounts of generated orders
+     */
+    private static final String[] ACCOUNTS = { "ACCT1", "ACCT2", "ACCT3" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    /**
+     * sides of generated orders
+     */
+    private static final Side[] SIDES = { Side.Buy, Side.Buy, Side.Sell, Side.Sell, Side.SellShort };
+    /**
+     * broker of generated orders
+     */
+    private static final BrokerID BROKER = new BrokerID("broker"); //$NON-NLS-1$
+    /**
+     * source of generated values
+     */
+    private final Random random;
+}
@@ -0,0 +1,244 @@
+package org.marketcetera.client.jms;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.benchmarks.OrderGenerator;
+import org.marketcetera.trade.FIXOrder;
+import org.marketcetera.trade.OrderSingle;
+import org.marketcetera.util.misc.ClassVersion;
+import org.marketcetera.util.ws.tags.SessionId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Compares the JMS message representations of orders: JAXB XML and UTF-16 FIX text against the
+ * binary form of {@link JMSBinaryMessageConverter}.
+ *
+ * <p>Each invocation encodes or decodes the next order of a synthetic order stream. The encoded sizes
+ * are printed once per trial.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class JMSMessageConverterBenchmark
+{
+    /**
+     * Creates the converters and encodes the order stream in each representation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Setup
+    public void setup()
+            throws Exception
+    {
+        xmlConverter = new JMSXMLMessageConverter();
+        binaryConverter = new JMSBinaryMessageConverter(xmlConverter);
+        OrderGenerator generator = new OrderGenerator(SEED);
+        List<OrderSingle> orders = generator.generateOrders(COUNT);
+        List<FIXOrder> fixOrders = generator.generateFIXOrders(COUNT);
+        SessionId session = SessionId.generate();
+        envelopes = new OrderEnvelope[COUNT];
+        messages = new Message[COUNT];
+        xml = new String[COUNT];
+        envelopeBytes = new byte[COUNT][];
+        text = new String[COUNT];
+        messageBytes = new byte[COUNT][];
+        long xmlSize = 0;
+        long envelopeSize = 0;
+        long textSize = 0;
+        long messageSize = 0;
+        for(int i=0;i<COUNT;i++) {
+            envelopes[i] = new OrderEnvelope(orders.get(i),
+                                             session);
+            messages[i] = fixOrders.get(i).getMessage();
+            xml[i] = xmlConverter.toXML(envelopes[i]);
+            envelopeBytes[i] = binaryConverter.toBytes(envelopes[i]);
+            text[i] = messages[i].toString();
+            messageBytes[i] = binaryConverter.toBytes(messages[i]);
+            xmlSize += xml[i].getBytes("UTF-8").length; //$NON-NLS-1$
+            envelopeSize += envelopeBytes[i].length;
+            textSize += text[i].getBytes(JMSFIXMessageConverter.BYTES_MESSAGE_CHARSET).length;
+            messageSize += messageBytes[i].length;
+        }
+        System.out.println(String.format("%nbytes/msg: order XML %d, order binary %d, FIX UTF-16 %d, FIX binary %d", //$NON-NLS-1$
+                                         xmlSize / COUNT,
+                                         envelopeSize / COUNT,
+                                         textSize / COUNT,
+                                         messageSize / COUNT));
+        index = 0;
+    }
+    /**
+     * Marshals an order envelope to XML.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object encodeOrderXML()
+            throws Exception
+    {
+        return xmlConverter.toXML(envelopes[next()]);
+    }
+    /**
+     * Unmarshals an order envelope from XML.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object decodeOrderXML()
+            throws Exception
+    {
+        return xmlConverter.fromXML(xml[next()]);
+    }
+    /**
+     * Encodes an order envelope in the binary form.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object encodeOrderBinary()
+            throws Exception
+    {
+        return binaryConverter.toBytes(envelopes[next()]);
+    }
+    /**
+     * Decodes an order envelope from the binary form.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object decodeOrderBinary()
+            throws Exception
+    {
+        return binaryConverter.fromBytes(envelopeBytes[next()]);
+    }
+    /**
+     * Encodes a FIX message as UTF-16 text.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object encodeFIXText()
+            throws Exception
+    {
+        return messages[next()].toString().getBytes(JMSFIXMessageConverter.BYTES_MESSAGE_CHARSET);
+    }
+    /**
+     * Parses a FIX message from text.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object decodeFIXText()
+            throws Exception
+    {
+        return new Message(text[next()]);
+    }
+    /**
+     * Encodes a FIX message in the binary form.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object encodeFIXBinary()
+            throws Exception
+    {
+        return binaryConverter.toBytes(messages[next()]);
+    }
+    /**
+     * Decodes a FIX message from the binary form.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object decodeFIXBinary()
+            throws Exception
+    {
+        return binaryConverter.fromBytes(messageBytes[next()]);
+    }
+    /**
+     * Gets the index of the next order of the stream, starting over at its end.
+     *
+     * @return an <code>int</code> value
+     */
+    private int next()
+    {
+        int current = index;
+        if(++index == COUNT) {
+            index = 0;
+        }
+        return current;
+    }
+    /**
+     * seed of the order stream
+     */
+    private static final long SEED = 20141231L;
+    /**
+     * number of orders in the stream
+     */
+    private static final int COUNT = 1024;
+    /**
+     * the XML converter
+     */
+    private JMSXMLMessageConverter xmlConverter;
+    /**
+     * the binary converter
+     */
+    private JMSBinaryMessageConverter binaryConverter;
+    /**
+     * the order envelopes
+     */
+    private OrderEnvelope[] envelopes;
+    /**
+     * the FIX messages
+     */
+    private Message[] messages;
+    /**
+     * the order envelopes as XML
+     */
+    private String[] xml;
+    /**
+     * the order envelopes in the binary form
+     */
+    private byte[][] envelopeBytes;
+    /**
+     * the FIX messages as text
+     */
+    private String[] text;
+    /**
+     * the FIX messages in the binary form
+     */
+    private byte[][] messageBytes;
+    /**
+     * index of the next order of the stream
+     */
+    private int index;
+}
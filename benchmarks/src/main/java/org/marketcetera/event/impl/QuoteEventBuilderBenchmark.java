@@ -0,0 +1,150 @@
+package org.marketcetera.event.impl;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.options.ExpirationType;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.OptionType;
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* $License$ */
+
+/**
+ * Measures building quote events with {@link QuoteEventBuilder}, as market data adapters do for each
+ * quote they receive, and deriving change and delete events from existing quotes.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class QuoteEventBuilderBenchmark
+{
+    /**
+     * Creates the quotes to change and delete.
+     */
+    @Setup
+    public void setup()
+    {
+        ask = buildEquityAsk();
+        bid = buildEquityBid();
+    }
+    /**
+     * Builds an equity ask.
+     *
+     * @return an <code>AskEvent</code> value
+     */
+    @Benchmark
+    public AskEvent buildEquityAsk()
+    {
+        return QuoteEventBuilder.equityAskEvent().withInstrument(EQUITY)
+                                                 .withExchange(EXCHANGE)
+                                                 .withPrice(PRICE)
+                                                 .withSize(SIZE)
+                                                 .withQuoteDate(new Date()).create();
+    }
+    /**
+     * Builds an equity bid.
+     *
+     * @return a <code>BidEvent</code> value
+     */
+    @Benchmark
+    public BidEvent buildEquityBid()
+    {
+        return QuoteEventBuilder.equityBidEvent().withInstrument(EQUITY)
+                                                 .withExchange(EXCHANGE)
+                                                 .withPrice(PRICE)
+                                                 .withSize(SIZE)
+                                                 .withQuoteDate(new Date()).create();
+    }
+    /**
+     * Builds an option ask.
+     *
+     * @return an <code>AskEvent</code> value
+     */
+    @Benchmark
+    public AskEvent buildOptionAsk()
+    {
+        return QuoteEventBuilder.optionAskEvent().withInstrument(OPTION)
+                                                 .withUnderlyingInstrument(EQUITY)
+                                                 .withExpirationType(ExpirationType.AMERICAN)
+                                                 .withExchange(EXCHANGE)
+                                                 .withPrice(PRICE)
+                                                 .withSize(SIZE)
+                                                 .withQuoteDate(new Date()).create();
+    }
+    /**
+     * Derives a size change from an ask.
+     *
+     * @return an <code>AskEvent</code> value
+     */
+    @Benchmark
+    public AskEvent changeAsk()
+    {
+        return QuoteEventBuilder.change(ask,
+                                        new Date(),
+                                        SIZE);
+    }
+    /**
+     * Derives a delete from a bid.
+     *
+     * @return a <code>BidEvent</code> value
+     */
+    @Benchmark
+    public BidEvent deleteBid()
+    {
+        return QuoteEventBuilder.delete(bid);
+    }
+    /**
+     * equity of built quotes
+     */
+    private static final Equity EQUITY = new Equity("METC"); //$NON-NLS-1$
+    /**
+     * option of built quotes
+     */
+    private static final Option OPTION = new Option("METC", //$NON-NLS-1$
+                                                    "20151218", //$NON-NLS-1$
+                                                    new BigDecimal("100"), //$NON-NLS-1$
+                                                    OptionType.Call);
+    /**
+     * exchange of built quotes
+     */
+    private static final String EXCHANGE = "NYSE"; //$NON-NLS-1$
+    /**
+     * price of built quotes
+     */
+    private static final BigDecimal PRICE = new BigDecimal("100.25"); //$NON-NLS-1$
+    /**
+     * size of built quotes
+     */
+    private static final BigDecimal SIZE = new BigDecimal("500"); //$NON-NLS-1$
+    /**
+     * ask to change
+     */
+    private AskEvent ask;
+    /**
+     * bid to delete
+     */
+    private BidEvent bid;
+}
@@ -0,0 +1,132 @@
+package org.marketcetera.marketdata;
+
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.benchmarks.MarketDataGenerator;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* $License$ */
+
+/**
+ * Compares the {@link OrderBookStructure} implementations of {@link OrderBook}.
+ *
+ * <p>Each invocation processes the next quote of a replayable depth-of-book stream, optionally followed
+ * by the query a consumer of the book makes after each quote.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class OrderBookBenchmark
+{
+    /**
+     * Builds the book and the quote stream.
+     */
+    @Setup
+    public void setup()
+    {
+        Equity equity = new Equity("METC"); //$NON-NLS-1$
+        quotes = new MarketDataGenerator(equity,
+                                         SEED).generateQuotes(depth,
+                                                              UPDATES).toArray(new QuoteEvent[0]);
+        book = new OrderBook(equity,
+                             true,
+                             structure);
+        index = 0;
+    }
+    /**
+     * Processes a quote.
+     *
+     * @return an <code>Object</code> value
+     */
+    @Benchmark
+    public Object process()
+    {
+        return book.process(nextQuote());
+    }
+    /**
+     * Processes a quote and gets the top of the book, as the market data cache does.
+     *
+     * @return an <code>Object</code> value
+     */
+    @Benchmark
+    public Object processAndGetTopOfBook()
+    {
+        book.process(nextQuote());
+        return book.getTopOfBook();
+    }
+    /**
+     * Processes a quote and gets the depth of the book.
+     *
+     * @return an <code>Object</code> value
+     */
+    @Benchmark
+    public Object processAndGetDepthOfBook()
+    {
+        book.process(nextQuote());
+        return book.getDepthOfBook();
+    }
+    /**
+     * Gets the next quote of the stream, starting over at its end.
+     *
+     * @return a <code>QuoteEvent</code> value
+     */
+    private QuoteEvent nextQuote()
+    {
+        QuoteEvent quote = quotes[index];
+        if(++index == quotes.length) {
+            index = 0;
+        }
+        return quote;
+    }
+    /**
+     * the book structure to measure
+     */
+    @Param({ "HASHED", "PRICE_LEVEL" })
+    public OrderBookStructure structure;
+    /**
+     * the number of quotes maintained on each side of the book
+     */
+    @Param({ "10", "100", "1000" })
+    public int depth;
+    /**
+     * seed of the quote stream
+     */
+    private static final long SEED = 20141231L;
+    /**
+     * number of updates in the quote stream
+     */
+    private static final int UPDATES = 100000;
+    /**
+     * book under test
+     */
+    private OrderBook book;
+    /**
+     * the quote stream
+     */
+    private QuoteEvent[] quotes;
+    /**
+     * index of the next quote of the stream
+     */
+    private int index;
+}
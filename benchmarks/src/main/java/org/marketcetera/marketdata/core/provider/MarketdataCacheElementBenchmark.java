@@ -0,0 +1,122 @@
+package org.marketcetera.marketdata.core.provider;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.benchmarks.MarketDataGenerator;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.event.impl.TradeEventBuilder;
+import org.marketcetera.marketdata.Content;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* $License$ */
+
+/**
+ * Measures {@link MarketdataCacheElement#update(Content, Event...)}, which runs for every event a
+ * market data provider receives.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class MarketdataCacheElementBenchmark
+{
+    /**
+     * Builds the cache element and the event streams.
+     */
+    @Setup
+    public void setup()
+    {
+        Equity equity = new Equity("METC"); //$NON-NLS-1$
+        element = new MarketdataCacheElement(equity);
+        quotes = new MarketDataGenerator(equity,
+                                         SEED).generateQuotes(depth,
+                                                              UPDATES).toArray(new QuoteEvent[0]);
+        trade = TradeEventBuilder.tradeEvent(equity).withExchange("NYSE") //$NON-NLS-1$
+                                                    .withPrice(quotes[0].getPrice())
+                                                    .withSize(quotes[0].getSize())
+                                                    .withTradeDate(new Date()).create();
+        index = 0;
+    }
+    /**
+     * Updates the book of the measured content with the next quote.
+     *
+     * @return an <code>Object</code> value
+     */
+    @Benchmark
+    public Object updateBook()
+    {
+        QuoteEvent quote = quotes[index];
+        if(++index == quotes.length) {
+            index = 0;
+        }
+        return element.update(content,
+                              quote);
+    }
+    /**
+     * Updates the latest trade.
+     *
+     * @return an <code>Object</code> value
+     */
+    @Benchmark
+    public Object updateLatestTick()
+    {
+        return element.update(Content.LATEST_TICK,
+                              trade);
+    }
+    /**
+     * the book content to update
+     */
+    @Param({ "TOP_OF_BOOK", "LEVEL_2", "AGGREGATED_DEPTH" })
+    public Content content;
+    /**
+     * the number of quotes maintained on each side of the book
+     */
+    @Param({ "10", "100" })
+    public int depth;
+    /**
+     * seed of the quote stream
+     */
+    private static final long SEED = 20141231L;
+    /**
+     * number of updates in the quote stream
+     */
+    private static final int UPDATES = 100000;
+    /**
+     * cache element under test
+     */
+    private MarketdataCacheElement element;
+    /**
+     * the quote stream
+     */
+    private QuoteEvent[] quotes;
+    /**
+     * the trade used to update the latest tick
+     */
+    private TradeEvent trade;
+    /**
+     * index of the next quote of the stream
+     */
+    private int index;
+}
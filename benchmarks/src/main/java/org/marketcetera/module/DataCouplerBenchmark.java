@@ -0,0 +1,211 @@
+package org.marketcetera.module;
+
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* $License$ */
+
+/**
+ * Measures the delivery of data from an emitter to a receiver through the {@link AbstractDataCoupler}
+ * implementations.
+ *
+ * <p>Each invocation emits a batch of data and waits until the receiver has received all of it, so
+ * the asynchronous couplers are measured end to end rather than by the time it takes to enqueue.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class DataCouplerBenchmark
+{
+    /**
+     * Creates the coupler and starts delivery.
+     */
+    @Setup
+    public void setup()
+    {
+        receiver = new CountingReceiver();
+        DataFlowID flowID = new DataFlowID("benchmark"); //$NON-NLS-1$
+        if(coupler.equals("SYNC")) { //$NON-NLS-1$
+            dataCoupler = new SyncCoupler(null,
+                                          new IdleEmitter(),
+                                          receiver,
+                                          flowID,
+                                          null);
+        } else {
+            dataCoupler = new AsyncCoupler(null,
+                                           new IdleEmitter(),
+                                           receiver,
+                                           flowID,
+                                           null,
+                                           CAPACITY,
+                                           AsyncWaitStrategy.valueOf(coupler.substring("ASYNC_".length())), //$NON-NLS-1$
+                                           AsyncOverflowPolicy.BLOCK);
+        }
+        dataCoupler.startDelivery();
+        data = new Object[BATCH];
+        for(int i=0;i<BATCH;i++) {
+            data[i] = Integer.valueOf(i);
+        }
+    }
+    /**
+     * Stops delivery.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        dataCoupler.stopDelivery();
+    }
+    /**
+     * Emits a batch of data and waits for its delivery.
+     *
+     * @return a <code>long</code> value
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long deliver()
+    {
+        long target = receiver.count + BATCH;
+        for(Object value : data) {
+            dataCoupler.send(value);
+        }
+        while(receiver.count < target) {
+            Thread.yield();
+        }
+        return receiver.count;
+    }
+    /**
+     * An emitter that is never asked for data.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class IdleEmitter
+            extends Module
+    {
+        /**
+         * Create a new IdleEmitter instance.
+         */
+        private IdleEmitter()
+        {
+            super(new ModuleURN("metc:benchmark:coupler:emitter"), //$NON-NLS-1$
+                  false);
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.module.Module#preStart()
+         */
+        @Override
+        protected void preStart()
+                throws ModuleException
+        {
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.module.Module#preStop()
+         */
+        @Override
+        protected void preStop()
+                throws ModuleException
+        {
+        }
+    }
+    /**
+     * A receiver that counts the data it receives.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class CountingReceiver
+            extends Module
+            implements DataReceiver
+    {
+        /**
+         * Create a new CountingReceiver instance.
+         */
+        private CountingReceiver()
+        {
+            super(new ModuleURN("metc:benchmark:coupler:receiver"), //$NON-NLS-1$
+                  false);
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.module.DataReceiver#receiveData(org.marketcetera.module.DataFlowID, java.lang.Object)
+         */
+        @Override
+        public void receiveData(DataFlowID inFlowID,
+                                Object inData)
+                throws ReceiveDataException
+        {
+            // there is a single writer: the emitting thread or the delivery thread
+            count = count + 1;
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.module.Module#preStart()
+         */
+        @Override
+        protected void preStart()
+                throws ModuleException
+        {
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.module.Module#preStop()
+         */
+        @Override
+        protected void preStop()
+                throws ModuleException
+        {
+        }
+        /**
+         * number of data objects received
+         */
+        private volatile long count;
+    }
+    /**
+     * the coupling to measure: synchronous, or asynchronous with the given wait strategy
+     */
+    @Param({ "SYNC", "ASYNC_PARK", "ASYNC_YIELD", "ASYNC_SPIN" })
+    public String coupler;
+    /**
+     * number of data objects emitted per invocation
+     */
+    private static final int BATCH = 1000;
+    /**
+     * capacity of the asynchronous coupler buffer
+     */
+    private static final int CAPACITY = 1024;
+    /**
+     * coupler under test
+     */
+    private AbstractDataCoupler dataCoupler;
+    /**
+     * receives the delivered data
+     */
+    private CountingReceiver receiver;
+    /**
+     * the data emitted in each invocation
+     */
+    private Object[] data;
+}
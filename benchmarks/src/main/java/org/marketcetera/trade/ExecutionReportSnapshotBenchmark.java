@@ -0,0 +1,145 @@
+package org.marketcetera.trade;
+
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.benchmarks.OrderGenerator;
+import org.marketcetera.quickfix.FIXDataDictionaryManager;
+import org.marketcetera.quickfix.FIXVersion;
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Compares reading the fields of an execution report from its decoded snapshot with decoding them
+ * from the FIX message on every read.
+ *
+ * <p>Each invocation wraps the next fill of a synthetic stream in a report and reads the fields that a
+ * position or order view reads when a fill arrives, the given number of times.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class ExecutionReportSnapshotBenchmark
+{
+    /**
+     * Creates the fill stream.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Setup
+    public void setup()
+            throws Exception
+    {
+        FIXDataDictionaryManager.initialize(FIXVersion.FIX_SYSTEM,
+                                            FIXVersion.FIX_SYSTEM.getDataDictionaryURL());
+        fills = new OrderGenerator(SEED).generateFills(COUNT,
+                                                       100).toArray(new Message[0]);
+        index = 0;
+    }
+    /**
+     * Reads the fields through the report getters.
+     *
+     * @param inBlackhole a <code>Blackhole</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public void snapshot(Blackhole inBlackhole)
+            throws Exception
+    {
+        ExecutionReport report = Factory.getInstance().createExecutionReport(fills[next()],
+                                                                             BROKER,
+                                                                             Originator.Broker,
+                                                                             null,
+                                                                             null);
+        for(int i=0;i<reads;i++) {
+            inBlackhole.consume(report.getOrderID());
+            inBlackhole.consume(report.getOrderStatus());
+            inBlackhole.consume(report.getInstrument());
+            inBlackhole.consume(report.getSide());
+            inBlackhole.consume(report.getLastQuantity());
+            inBlackhole.consume(report.getLastPrice());
+            inBlackhole.consume(report.getCumulativeQuantity());
+            inBlackhole.consume(report.getAveragePrice());
+        }
+    }
+    /**
+     * Decodes the fields from the FIX message on every read.
+     *
+     * @param inBlackhole a <code>Blackhole</code> value
+     */
+    @Benchmark
+    public void redecode(Blackhole inBlackhole)
+    {
+        Message message = fills[next()];
+        for(int i=0;i<reads;i++) {
+            inBlackhole.consume(FIXUtil.getOrderID(message));
+            inBlackhole.consume(FIXUtil.getOrderStatus(message));
+            inBlackhole.consume(FIXUtil.getInstrument(message));
+            inBlackhole.consume(FIXUtil.getSide(message));
+            inBlackhole.consume(FIXUtil.getLastQuantity(message));
+            inBlackhole.consume(FIXUtil.getLastPrice(message));
+            inBlackhole.consume(FIXUtil.getCumulativeQuantity(message));
+            inBlackhole.consume(FIXUtil.getAveragePrice(message));
+        }
+    }
+    /**
+     * Gets the index of the next fill of the stream, starting over at its end.
+     *
+     * @return an <code>int</code> value
+     */
+    private int next()
+    {
+        int current = index;
+        if(++index == COUNT) {
+            index = 0;
+        }
+        return current;
+    }
+    /**
+     * number of times the fields of each report are read
+     */
+    @Param({ "1", "4" })
+    public int reads;
+    /**
+     * seed of the fill stream
+     */
+    private static final long SEED = 20141231L;
+    /**
+     * number of fills in the stream
+     */
+    private static final int COUNT = 1024;
+    /**
+     * broker of the reports
+     */
+    private static final BrokerID BROKER = new BrokerID("broker"); //$NON-NLS-1$
+    /**
+     * the fill stream
+     */
+    private Message[] fills;
+    /**
+     * index of the next fill of the stream
+     */
+    private int index;
+}
@@ -0,0 +1,140 @@
+package org.marketcetera.trade;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.benchmarks.OrderGenerator;
+import org.marketcetera.quickfix.FIXDataDictionaryManager;
+import org.marketcetera.quickfix.FIXMessageFactory;
+import org.marketcetera.quickfix.FIXVersion;
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import quickfix.DataDictionary;
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Measures {@link FIXConverter}: converting orders to FIX messages on their way to a broker, and
+ * execution reports from FIX messages on their way back.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class FIXConverterBenchmark
+{
+    /**
+     * Creates the order and report streams.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Setup
+    public void setup()
+            throws Exception
+    {
+        FIXDataDictionaryManager.initialize(FIXVersion.FIX_SYSTEM,
+                                            FIXVersion.FIX_SYSTEM.getDataDictionaryURL());
+        messageFactory = FIXVersion.FIX_SYSTEM.getMessageFactory();
+        dictionary = FIXDataDictionaryManager.getFIXDataDictionary(FIXVersion.FIX_SYSTEM).getDictionary();
+        OrderGenerator generator = new OrderGenerator(SEED);
+        orders = generator.generateOrders(COUNT).toArray(new OrderSingle[0]);
+        List<Message> fills = generator.generateFills(COUNT,
+                                                      100);
+        reports = fills.toArray(new Message[0]);
+        index = 0;
+    }
+    /**
+     * Converts an order to a FIX message.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object toQMessage()
+            throws Exception
+    {
+        return FIXConverter.toQMessage(messageFactory,
+                                       dictionary,
+                                       orders[next()]);
+    }
+    /**
+     * Converts a FIX message to an execution report.
+     *
+     * @return an <code>Object</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    @Benchmark
+    public Object fromQMessage()
+            throws Exception
+    {
+        return FIXConverter.fromQMessage(reports[next()],
+                                         Originator.Broker,
+                                         BROKER,
+                                         Hierarchy.Flat,
+                                         null,
+                                         null);
+    }
+    /**
+     * Gets the index of the next element of the streams, starting over at their end.
+     *
+     * @return an <code>int</code> value
+     */
+    private int next()
+    {
+        int current = index;
+        if(++index == COUNT) {
+            index = 0;
+        }
+        return current;
+    }
+    /**
+     * seed of the streams
+     */
+    private static final long SEED = 20141231L;
+    /**
+     * number of elements in the streams
+     */
+    private static final int COUNT = 1024;
+    /**
+     * broker of the reports
+     */
+    private static final BrokerID BROKER = new BrokerID("broker"); //$NON-NLS-1$
+    /**
+     * creates FIX messages
+     */
+    private FIXMessageFactory messageFactory;
+    /**
+     * validates FIX fields
+     */
+    private DataDictionary dictionary;
+    /**
+     * the order stream
+     */
+    private OrderSingle[] orders;
+    /**
+     * the report stream
+     */
+    private Message[] reports;
+    /**
+     * index of the next element of the streams
+     */
+    private int index;
+}
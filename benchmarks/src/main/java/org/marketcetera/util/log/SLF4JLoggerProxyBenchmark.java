@@ -0,0 +1,112 @@
+package org.marketcetera.util.log;
+
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.util.misc.ClassVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* $License$ */
+
+/**
+ * Measures the cost of the disabled debug statements on the data flow path, such as the one logged by
+ * a data coupler for each data object it delivers.
+ *
+ * <p>Debug logging is disabled by the benchmark logging configuration, so the measurements show what
+ * a statement costs when nothing is logged: the logger lookup for the category, the level check, and
+ * any parameter array allocated before the check.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5,time=1)
+@Measurement(iterations=10,time=1)
+@Fork(1)
+@ClassVersion("$Id$")
+public class SLF4JLoggerProxyBenchmark
+{
+    /**
+     * Picks the logging category.
+     */
+    @Setup
+    public void setup()
+    {
+        switch(categoryType) {
+            case "class": //$NON-NLS-1$
+                category = SLF4JLoggerProxyBenchmark.class;
+                break;
+            case "name": //$NON-NLS-1$
+                category = SLF4JLoggerProxyBenchmark.class.getName();
+                break;
+            default:
+                category = this;
+                break;
+        }
+        emitter = "metc:benchmark:emitter:instance"; //$NON-NLS-1$
+        data = Integer.valueOf(42);
+    }
+    /**
+     * Logs a two-parameter statement through the fixed arity form.
+     */
+    @Benchmark
+    public void fixedArity()
+    {
+        SLF4JLoggerProxy.debug(category,
+                               "Module {} emitted \"{}\"", //$NON-NLS-1$
+                               emitter,
+                               data);
+    }
+    /**
+     * Logs a two-parameter statement through the variable arity form, which allocates the parameter array.
+     */
+    @Benchmark
+    public void variableArity()
+    {
+        SLF4JLoggerProxy.debug(category,
+                               "Module {} emitted \"{}\"", //$NON-NLS-1$
+                               new Object[] { emitter, data });
+    }
+    /**
+     * Logs a two-parameter statement guarded by a level check.
+     */
+    @Benchmark
+    public void guarded()
+    {
+        if(SLF4JLoggerProxy.isDebugEnabled(category)) {
+            SLF4JLoggerProxy.debug(category,
+                                   "Module {} emitted \"{}\"", //$NON-NLS-1$
+                                   emitter,
+                                   data);
+        }
+    }
+    /**
+     * the kind of logging category: a class, a logger name, or an object whose class is the category
+     */
+    @Param({ "class", "name", "instance" })
+    public String categoryType;
+    /**
+     * the logging category
+     */
+    private Object category;
+    /**
+     * the first message parameter
+     */
+    private Object emitter;
+    /**
+     * the second message parameter
+     */
+    private Object data;
+}
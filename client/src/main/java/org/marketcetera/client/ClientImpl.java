@@ -20,6 +20,7 @@ import org.marketcetera.client.brokers.BrokerStatus;
 import org.marketcetera.client.brokers.BrokersStatus;
 import org.marketcetera.client.config.SpringConfig;
 import org.marketcetera.client.jms.JmsManager;
+import org.marketcetera.client.jms.JmsMessageFormat;
 import org.marketcetera.client.jms.JmsUtils;
 import org.marketcetera.client.jms.OrderEnvelope;
 import org.marketcetera.client.jms.ReceiveOnlyHandler;
@@ -1006,8 +1007,36 @@ public class ClientImpl implements Client, javax.jms.ExceptionListener {
                                                                                    Service.BROKER_STATUS_TOPIC,
                                                                                    true);
         mBrokerStatusListener.start();
-        mToServer = mJmsMgr.getOutgoingJmsFactory().createJmsTemplateX(Service.REQUEST_QUEUE,
-                                                                       false);
+        if(negotiateMessageFormat() == JmsMessageFormat.BINARY) {
+            mToServer = mJmsMgr.getOutgoingJmsFactory().createJmsTemplateB(Service.REQUEST_QUEUE,
+                                                                           false);
+        } else {
+            mToServer = mJmsMgr.getOutgoingJmsFactory().createJmsTemplateX(Service.REQUEST_QUEUE,
+                                                                           false);
+        }
+    }
+    /**
+     * Determines the representation to use for orders sent to the server over JMS.
+     *
+     * <p>The binary representation is used only if the server reports that it accepts it. Servers
+     * that do not support the query are sent XML.
+     *
+     * @return a <code>JmsMessageFormat</code> value
+     */
+    protected JmsMessageFormat negotiateMessageFormat()
+    {
+        try {
+            List<String> formats = mService.getMessageFormats(getServiceContext());
+            if(formats != null && formats.contains(JmsMessageFormat.BINARY.name())) {
+                return JmsMessageFormat.BINARY;
+            }
+        } catch (Exception e) {
+            SLF4JLoggerProxy.debug(this,
+                                   "Server does not report its message formats, using {}: {}", //$NON-NLS-1$
+                                   JmsMessageFormat.XML,
+                                   e.getMessage());
+        }
+        return JmsMessageFormat.XML;
     }
     /**
      * Connects the client to the server.
@@ -439,4 +439,18 @@ public interface Service
     OrderID getRootOrderIdFor(@WebParam(name="context")ClientContext inServiceContext,
                               @WebParam(name="orderId")OrderID inOrderID)
             throws RemoteException;
+    /**
+     * Gets the names of the {@link org.marketcetera.client.jms.JmsMessageFormat} values the server accepts for
+     * orders sent over JMS.
+     *
+     * <p>Implementations that do not read the binary format return a list holding only
+     * {@link org.marketcetera.client.jms.JmsMessageFormat#XML}. Clients treat a server that fails this
+     * call the same way.
+     *
+     * @param inContext a <code>ClientContext</code> value
+     * @return a <code>List&lt;String&gt;</code> value
+     * @throws RemoteException if an error occurs
+     */
+    List<String> getMessageFormats(@WebParam(name="context")ClientContext inContext)
+            throws RemoteException;
 }
@@ -269,8 +269,9 @@ public class IncomingJmsFactory
      * Registers the given message handler for messages that are
      * received by the given incoming destination (and of the given
      * type). The handler is expected to operate on QuickFIX/J
-     * messages. Returns the Spring container of the handler
-     * (listener) for manual bean lifecycle management.
+     * messages, transported as text or in the binary format of
+     * {@link JMSBinaryMessageConverter}. Returns the Spring container
+     * of the handler (listener) for manual bean lifecycle management.
      *
      * @param handler The message handler.
      * @param inDstName The incoming destination name.
@@ -285,7 +286,8 @@ public class IncomingJmsFactory
          boolean isInDstTopic)
     {
         return registerHandler
-            (handler,inDstName,isInDstTopic,new JMSFIXMessageConverter());
+            (handler,inDstName,isInDstTopic,
+             new JMSBinaryMessageConverter(new JMSFIXMessageConverter()));
     }
 
     /**
@@ -353,7 +355,8 @@ public class IncomingJmsFactory
      * Registers the given message handler for messages that are
      * received by the given incoming destination (and of the given
      * type). The handler is expected to operate on FIX Agnostic order
-     * message envelopes transported using XML. Returns the Spring
+     * message envelopes transported using XML or the binary format of
+     * {@link JMSBinaryMessageConverter}. Returns the Spring
      * container of the handler (listener) for manual bean lifecycle
      * management.
      *
@@ -374,7 +377,8 @@ public class IncomingJmsFactory
         throws JAXBException
     {
         return registerHandler
-            (handler,inDstName,isInDstTopic,new JMSXMLMessageConverter());
+            (handler,inDstName,isInDstTopic,
+             new JMSBinaryMessageConverter(new JMSXMLMessageConverter()));
     }
 
     /**
@@ -383,7 +387,9 @@ public class IncomingJmsFactory
      * type). Replies to those messages are sent to the given reply
      * destination (and of the given type). The handler is expected to
      * operate on FIX Agnostic order message envelopes transported
-     * using XML. Returns the Spring container of the handler
+     * using XML or the binary format of {@link
+     * JMSBinaryMessageConverter}. Replies are sent using XML. Returns
+     * the Spring container of the handler
      * (listener) for manual bean lifecycle management.
      *
      * @param handler The message handler.
@@ -408,7 +414,7 @@ public class IncomingJmsFactory
     {
         return registerHandler
             (handler,inDstName,isInDstTopic,replyDstName,isReplyDstTopic,
-             new JMSXMLMessageConverter());
+             new JMSBinaryMessageConverter(new JMSXMLMessageConverter()));
     }
 
     /**
@@ -0,0 +1,228 @@
+package org.marketcetera.client.jms;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+
+import org.apache.commons.lang.ObjectUtils;
+import org.marketcetera.trade.BinaryOrderCodec;
+import org.marketcetera.util.log.I18NBoundMessage1P;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+import org.marketcetera.util.misc.ClassVersion;
+import org.marketcetera.util.ws.tags.SessionId;
+import org.springframework.jms.support.converter.MessageConversionException;
+import org.springframework.jms.support.converter.MessageConverter;
+
+/* $License$ */
+
+/**
+ * Converts FIX messages and order envelopes to and from a compact binary representation that can be
+ * sent over JMS.
+ *
+ * <p>Binary messages are sent as a {@link BytesMessage} that starts with a fixed header. FIX messages
+ * are written as length-prefixed tag/value pairs, order envelopes as the session ID followed by the
+ * order fields, both using {@link BinaryOrderCodec}. Any other object, or an order that cannot be
+ * encoded, is converted with the fallback converter. Received messages without the binary header are
+ * also passed to the fallback converter, so a receiver using this converter accepts both forms.
+ *
+ * <p>This class is not meant to be used by clients of this package.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class JMSBinaryMessageConverter
+        implements MessageConverter
+{
+    /**
+     * Create a new JMSBinaryMessageConverter instance.
+     *
+     * @param inFallback a <code>MessageConverter</code> value used for objects and messages that are not binary
+     */
+    public JMSBinaryMessageConverter(MessageConverter inFallback)
+    {
+        fallback = inFallback;
+    }
+    /* (non-Javadoc)
+     * @see org.springframework.jms.support.converter.MessageConverter#toMessage(java.lang.Object, javax.jms.Session)
+     */
+    @Override
+    public Message toMessage(Object inObject,
+                             Session inSession)
+            throws JMSException, MessageConversionException
+    {
+        SLF4JLoggerProxy.debug(this,
+                               "Converting to JMS {}", //$NON-NLS-1$
+                               inObject);
+        byte[] body;
+        try {
+            body = toBytes(inObject);
+        } catch (IOException e) {
+            throw new MessageConversionException(new I18NBoundMessage1P(Messages.ERROR_CONVERTING_OBJECT_TO_MESSAGE,
+                                                                        ObjectUtils.toString(inObject)).getText(),
+                                                 e);
+        }
+        if(body == null) {
+            return fallback.toMessage(inObject,
+                                      inSession);
+        }
+        BytesMessage message = inSession.createBytesMessage();
+        message.writeBytes(body);
+        message.setStringProperty(JMSXMLMessageConverter.JMS_TYPE_PROPERTY,
+                                  inObject.getClass().getSimpleName());
+        return message;
+    }
+    /* (non-Javadoc)
+     * @see org.springframework.jms.support.converter.MessageConverter#fromMessage(javax.jms.Message)
+     */
+    @Override
+    public Object fromMessage(Message inMessage)
+            throws JMSException, MessageConversionException
+    {
+        SLF4JLoggerProxy.debug(this,
+                               "Converting from JMS {}", //$NON-NLS-1$
+                               inMessage);
+        if(inMessage instanceof BytesMessage) {
+            BytesMessage bytesMessage = (BytesMessage)inMessage;
+            byte[] body = new byte[(int)bytesMessage.getBodyLength()];
+            bytesMessage.readBytes(body);
+            if(isBinary(body)) {
+                try {
+                    return fromBytes(body);
+                } catch (IOException e) {
+                    throw new MessageConversionException(new I18NBoundMessage1P(Messages.ERROR_CONVERTING_MESSAGE_TO_OBJECT,
+                                                                                ObjectUtils.toString(inMessage)).getText(),
+                                                         e);
+                }
+            }
+            bytesMessage.reset();
+        }
+        return fallback.fromMessage(inMessage);
+    }
+    /**
+     * Encodes the given object.
+     *
+     * @param inObject an <code>Object</code> value
+     * @return a <code>byte[]</code> value or <code>null</code> if the object has no binary representation
+     * @throws IOException if the object cannot be encoded
+     */
+    byte[] toBytes(Object inObject)
+            throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.write(MAGIC);
+        output.writeByte(VERSION);
+        if(inObject instanceof quickfix.Message) {
+            output.writeByte(TYPE_FIX);
+            try {
+                BinaryOrderCodec.writeFIXMessage((quickfix.Message)inObject,
+                                                 output);
+            } catch (IllegalArgumentException e) {
+                SLF4JLoggerProxy.debug(this,
+                                       "{} has no binary representation: {}", //$NON-NLS-1$
+                                       inObject,
+                                       e.getMessage());
+                return null;
+            }
+        } else if(inObject instanceof OrderEnvelope) {
+            OrderEnvelope envelope = (OrderEnvelope)inObject;
+            output.writeByte(TYPE_ORDER_ENVELOPE);
+            BinaryOrderCodec.writeString(envelope.getSessionId() == null ? null : envelope.getSessionId().getValue(),
+                                         output);
+            try {
+                BinaryOrderCodec.writeOrder(envelope.getOrder(),
+                                            output);
+            } catch (IllegalArgumentException e) {
+                SLF4JLoggerProxy.debug(this,
+                                       "{} has no binary representation: {}", //$NON-NLS-1$
+                                       envelope,
+                                       e.getMessage());
+                return null;
+            }
+        } else {
+            return null;
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+    /**
+     * Decodes the given binary message body.
+     *
+     * @param inBody a <code>byte[]</code> value
+     * @return an <code>Object</code> value
+     * @throws IOException if the body cannot be decoded
+     */
+    Object fromBytes(byte[] inBody)
+            throws IOException
+    {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(inBody,
+                                                                              HEADER_LENGTH,
+                                                                              inBody.length-HEADER_LENGTH));
+        byte version = inBody[MAGIC.length];
+        if(version != VERSION) {
+            throw new IOException(Messages.UNSUPPORTED_BINARY_FORMAT.getText(version));
+        }
+        byte type = inBody[MAGIC.length+1];
+        switch(type) {
+            case TYPE_FIX:
+                return BinaryOrderCodec.readFIXMessage(input);
+            case TYPE_ORDER_ENVELOPE:
+                String sessionId = BinaryOrderCodec.readString(input);
+                return new OrderEnvelope(BinaryOrderCodec.readOrder(input),
+                                         sessionId == null ? null : new SessionId(sessionId));
+            default:
+                throw new IOException(Messages.UNSUPPORTED_BINARY_FORMAT.getText(type));
+        }
+    }
+    /**
+     * Indicates if the given message body starts with the binary header.
+     *
+     * @param inBody a <code>byte[]</code> value
+     * @return a <code>boolean</code> value
+     */
+    private static boolean isBinary(byte[] inBody)
+    {
+        if(inBody.length < HEADER_LENGTH) {
+            return false;
+        }
+        for(int i=0;i<MAGIC.length;i++) {
+            if(inBody[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    /**
+     * converter used for objects and messages without a binary representation
+     */
+    private final MessageConverter fallback;
+    /**
+     * marks the start of a binary message
+     */
+    private static final byte[] MAGIC = { 'M', 'B' };
+    /**
+     * version of the binary format
+     */
+    private static final byte VERSION = 1;
+    /**
+     * length of the binary header: magic, version and type
+     */
+    private static final int HEADER_LENGTH = MAGIC.length + 2;
+    /**
+     * identifies a FIX message
+     */
+    private static final byte TYPE_FIX = 1;
+    /**
+     * identifies an order envelope
+     */
+    private static final byte TYPE_ORDER_ENVELOPE = 2;
+}
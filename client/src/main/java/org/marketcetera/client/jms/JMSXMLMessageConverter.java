@@ -207,5 +207,5 @@ public class JMSXMLMessageConverter implements MessageConverter {
     private final ThreadLocal<Unmarshaller> mUnmarshallers =
             new ThreadLocal<Unmarshaller>();
     private final JAXBContext mContext;
-    private static final String JMS_TYPE_PROPERTY = "metc_type";  //$NON-NLS-1$
+    static final String JMS_TYPE_PROPERTY = "metc_type";  //$NON-NLS-1$
 }
@@ -0,0 +1,25 @@
+package org.marketcetera.client.jms;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Identifies the representations that orders sent to the server over JMS may use.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum JmsMessageFormat
+{
+    /**
+     * orders are sent as XML, accepted by all servers
+     */
+    XML,
+    /**
+     * orders are sent using {@link JMSBinaryMessageConverter}
+     */
+    BINARY
+}
@@ -128,4 +128,31 @@ public class OutgoingJmsFactory
         return createJmsTemplate
             (dstName,isDstTopic,new JMSXMLMessageConverter());
     }
+
+    /**
+     * Returns a new Spring JMS connection template for the given
+     * destination (and of the given type), and for a producer which
+     * emits order message envelopes transported using the binary
+     * format of {@link JMSBinaryMessageConverter}. FIX Agnostic trade
+     * messages, broker status messages and orders that have no binary
+     * representation are transported using XML.
+     *
+     * @param dstName The destination name.
+     * @param isDstTopic True if the destination is a topic.
+     *
+     * @return The connection template.
+     *
+     * @throws JAXBException Thrown if an error occurs in creating the
+     * JMS/XML converter.
+     */
+
+    public JmsTemplate createJmsTemplateB
+        (String dstName,
+         boolean isDstTopic)
+        throws JAXBException
+    {
+        return createJmsTemplate
+            (dstName,isDstTopic,
+             new JMSBinaryMessageConverter(new JMSXMLMessageConverter()));
+    }
 }
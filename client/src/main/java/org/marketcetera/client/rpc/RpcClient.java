@@ -9,6 +9,170 @@ public final class RpcClient {
   public static void registerAllExtensions(
       com.google.protobuf.ExtensionRegistry registry) {
   }
+  /**
+   * Protobuf enum {@code ReportType}
+   */
+  public enum ReportType
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>ExecutionReport = 0;</code>
+     */
+    ExecutionReport(0, 0),
+    /**
+     * <code>OrderCancelReject = 1;</code>
+     */
+    OrderCancelReject(1, 1),
+    ;
+
+    /**
+     * <code>ExecutionReport = 0;</code>
+     */
+    public static final int ExecutionReport_VALUE = 0;
+    /**
+     * <code>OrderCancelReject = 1;</code>
+     */
+    public static final int OrderCancelReject_VALUE = 1;
+
+
+    public final int getNumber() { return value; }
+
+    public static ReportType valueOf(int value) {
+      switch (value) {
+        case 0: return ExecutionReport;
+        case 1: return OrderCancelReject;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<ReportType>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static com.google.protobuf.Internal.EnumLiteMap<ReportType>
+        internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<ReportType>() {
+            public ReportType findValueByNumber(int number) {
+              return ReportType.valueOf(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      return getDescriptor().getValues().get(index);
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(0);
+    }
+
+    private static final ReportType[] VALUES = values();
+
+    public static ReportType valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int index;
+    private final int value;
+
+    private ReportType(int index, int value) {
+      this.index = index;
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:ReportType)
+  }
+
+  /**
+   * Protobuf enum {@code Originator}
+   */
+  public enum Originator
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>Server = 0;</code>
+     */
+    Server(0, 0),
+    /**
+     * <code>Broker = 1;</code>
+     */
+    Broker(1, 1),
+    ;
+
+    /**
+     * <code>Server = 0;</code>
+     */
+    public static final int Server_VALUE = 0;
+    /**
+     * <code>Broker = 1;</code>
+     */
+    public static final int Broker_VALUE = 1;
+
+
+    public final int getNumber() { return value; }
+
+    public static Originator valueOf(int value) {
+      switch (value) {
+        case 0: return Server;
+        case 1: return Broker;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<Originator>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static com.google.protobuf.Internal.EnumLiteMap<Originator>
+        internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<Originator>() {
+            public Originator findValueByNumber(int number) {
+              return Originator.valueOf(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      return getDescriptor().getValues().get(index);
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(1);
+    }
+
+    private static final Originator[] VALUES = values();
+
+    public static Originator valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int index;
+    private final int value;
+
+    private Originator(int index, int value) {
+      this.index = index;
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:Originator)
+  }
+
   /**
    * Protobuf enum {@code InstrumentType}
    */
@@ -84,7 +248,7 @@ public final class RpcClient {
     }
     public static final com.google.protobuf.Descriptors.EnumDescriptor
         getDescriptor() {
-      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(0);
+      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(2);
     }
 
     private static final InstrumentType[] VALUES = values();
@@ -175,7 +339,7 @@ public final class RpcClient {
     }
     public static final com.google.protobuf.Descriptors.EnumDescriptor
         getDescriptor() {
-      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(1);
+      return org.marketcetera.client.rpc.RpcClient.getDescriptor().getEnumTypes().get(3);
     }
 
     private static final Hierarchy[] VALUES = values();
@@ -11143,6 +11307,10 @@ public final class RpcClient {
         memoizedIsInitialized = 0;
         return false;
       }
+      if (!getReports().isInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -11354,6 +11522,10 @@ public final class RpcClient {
           
           return false;
         }
+        if (!getReports().isInitialized()) {
+          
+          return false;
+        }
         return true;
       }
 
@@ -12229,6 +12401,10 @@ public final class RpcClient {
         memoizedIsInitialized = 0;
         return false;
       }
+      if (!getReports().isInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -12440,6 +12616,10 @@ public final class RpcClient {
           
           return false;
         }
+        if (!getReports().isInitialized()) {
+          
+          return false;
+        }
         return true;
       }
 
@@ -12611,6 +12791,30 @@ public final class RpcClient {
      */
     com.google.protobuf.ByteString
         getReportsBytes(int index);
+
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport> 
+        getTradeReportsList();
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    org.marketcetera.client.rpc.RpcClient.TradeReport getTradeReports(int index);
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    int getTradeReportsCount();
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    java.util.List<? extends org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder> 
+        getTradeReportsOrBuilderList();
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder getTradeReportsOrBuilder(
+        int index);
   }
   /**
    * Protobuf type {@code ReportList}
@@ -12673,6 +12877,14 @@ public final class RpcClient {
               reports_.add(bs);
               break;
             }
+            case 18: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                tradeReports_ = new java.util.ArrayList<org.marketcetera.client.rpc.RpcClient.TradeReport>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              tradeReports_.add(input.readMessage(org.marketcetera.client.rpc.RpcClient.TradeReport.PARSER, extensionRegistry));
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -12684,6 +12896,9 @@ public final class RpcClient {
         if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
           reports_ = reports_.getUnmodifiableView();
         }
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          tradeReports_ = java.util.Collections.unmodifiableList(tradeReports_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -12744,8 +12959,44 @@ public final class RpcClient {
       return reports_.getByteString(index);
     }
 
+    public static final int TRADEREPORTS_FIELD_NUMBER = 2;
+    private java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport> tradeReports_;
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    public java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport> getTradeReportsList() {
+      return tradeReports_;
+    }
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    public java.util.List<? extends org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder> 
+        getTradeReportsOrBuilderList() {
+      return tradeReports_;
+    }
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    public int getTradeReportsCount() {
+      return tradeReports_.size();
+    }
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    public org.marketcetera.client.rpc.RpcClient.TradeReport getTradeReports(int index) {
+      return tradeReports_.get(index);
+    }
+    /**
+     * <code>repeated .TradeReport tradeReports = 2;</code>
+     */
+    public org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder getTradeReportsOrBuilder(
+        int index) {
+      return tradeReports_.get(index);
+    }
+
     private void initFields() {
       reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      tradeReports_ = java.util.Collections.emptyList();
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -12753,6 +13004,12 @@ public final class RpcClient {
       if (isInitialized == 1) return true;
       if (isInitialized == 0) return false;
 
+      for (int i = 0; i < getTradeReportsCount(); i++) {
+        if (!getTradeReports(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -12763,6 +13020,9 @@ public final class RpcClient {
       for (int i = 0; i < reports_.size(); i++) {
         output.writeBytes(1, reports_.getByteString(i));
       }
+      for (int i = 0; i < tradeReports_.size(); i++) {
+        output.writeMessage(2, tradeReports_.get(i));
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -12781,6 +13041,10 @@ public final class RpcClient {
         size += dataSize;
         size += 1 * getReportsList().size();
       }
+      for (int i = 0; i < tradeReports_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, tradeReports_.get(i));
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -12890,6 +13154,7 @@ public final class RpcClient {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getTradeReportsFieldBuilder();
         }
       }
       private static Builder create() {
@@ -12900,192 +13165,1631 @@ public final class RpcClient {
         super.clear();
         reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000001);
+        if (tradeReportsBuilder_ == null) {
+          tradeReports_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          tradeReportsBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.marketcetera.client.rpc.RpcClient.internal_static_ReportList_descriptor;
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.ReportList getDefaultInstanceForType() {
+        return org.marketcetera.client.rpc.RpcClient.ReportList.getDefaultInstance();
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.ReportList build() {
+        org.marketcetera.client.rpc.RpcClient.ReportList result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.ReportList buildPartial() {
+        org.marketcetera.client.rpc.RpcClient.ReportList result = new org.marketcetera.client.rpc.RpcClient.ReportList(this);
+        int from_bitField0_ = bitField0_;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          reports_ = reports_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.reports_ = reports_;
+        if (tradeReportsBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            tradeReports_ = java.util.Collections.unmodifiableList(tradeReports_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.tradeReports_ = tradeReports_;
+        } else {
+          result.tradeReports_ = tradeReportsBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.marketcetera.client.rpc.RpcClient.ReportList) {
+          return mergeFrom((org.marketcetera.client.rpc.RpcClient.ReportList)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.marketcetera.client.rpc.RpcClient.ReportList other) {
+        if (other == org.marketcetera.client.rpc.RpcClient.ReportList.getDefaultInstance()) return this;
+        if (!other.reports_.isEmpty()) {
+          if (reports_.isEmpty()) {
+            reports_ = other.reports_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureReportsIsMutable();
+            reports_.addAll(other.reports_);
+          }
+          onChanged();
+        }
+        if (tradeReportsBuilder_ == null) {
+          if (!other.tradeReports_.isEmpty()) {
+            if (tradeReports_.isEmpty()) {
+              tradeReports_ = other.tradeReports_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureTradeReportsIsMutable();
+              tradeReports_.addAll(other.tradeReports_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.tradeReports_.isEmpty()) {
+            if (tradeReportsBuilder_.isEmpty()) {
+              tradeReportsBuilder_.dispose();
+              tradeReportsBuilder_ = null;
+              tradeReports_ = other.tradeReports_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              tradeReportsBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getTradeReportsFieldBuilder() : null;
+            } else {
+              tradeReportsBuilder_.addAllMessages(other.tradeReports_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        for (int i = 0; i < getTradeReportsCount(); i++) {
+          if (!getTradeReports(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.marketcetera.client.rpc.RpcClient.ReportList parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.marketcetera.client.rpc.RpcClient.ReportList) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private com.google.protobuf.LazyStringList reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureReportsIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          reports_ = new com.google.protobuf.LazyStringArrayList(reports_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getReportsList() {
+        return reports_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public int getReportsCount() {
+        return reports_.size();
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public java.lang.String getReports(int index) {
+        return reports_.get(index);
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public com.google.protobuf.ByteString
+          getReportsBytes(int index) {
+        return reports_.getByteString(index);
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public Builder setReports(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureReportsIsMutable();
+        reports_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public Builder addReports(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureReportsIsMutable();
+        reports_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public Builder addAllReports(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureReportsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, reports_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public Builder clearReports() {
+        reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string reports = 1;</code>
+       */
+      public Builder addReportsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureReportsIsMutable();
+        reports_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport> tradeReports_ =
+        java.util.Collections.emptyList();
+      private void ensureTradeReportsIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          tradeReports_ = new java.util.ArrayList<org.marketcetera.client.rpc.RpcClient.TradeReport>(tradeReports_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.marketcetera.client.rpc.RpcClient.TradeReport, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder, org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder> tradeReportsBuilder_;
+
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport> getTradeReportsList() {
+        if (tradeReportsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(tradeReports_);
+        } else {
+          return tradeReportsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public int getTradeReportsCount() {
+        if (tradeReportsBuilder_ == null) {
+          return tradeReports_.size();
+        } else {
+          return tradeReportsBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.TradeReport getTradeReports(int index) {
+        if (tradeReportsBuilder_ == null) {
+          return tradeReports_.get(index);
+        } else {
+          return tradeReportsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder setTradeReports(
+          int index, org.marketcetera.client.rpc.RpcClient.TradeReport value) {
+        if (tradeReportsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTradeReportsIsMutable();
+          tradeReports_.set(index, value);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder setTradeReports(
+          int index, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder builderForValue) {
+        if (tradeReportsBuilder_ == null) {
+          ensureTradeReportsIsMutable();
+          tradeReports_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          tradeReportsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder addTradeReports(org.marketcetera.client.rpc.RpcClient.TradeReport value) {
+        if (tradeReportsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTradeReportsIsMutable();
+          tradeReports_.add(value);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder addTradeReports(
+          int index, org.marketcetera.client.rpc.RpcClient.TradeReport value) {
+        if (tradeReportsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureTradeReportsIsMutable();
+          tradeReports_.add(index, value);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder addTradeReports(
+          org.marketcetera.client.rpc.RpcClient.TradeReport.Builder builderForValue) {
+        if (tradeReportsBuilder_ == null) {
+          ensureTradeReportsIsMutable();
+          tradeReports_.add(builderForValue.build());
+          onChanged();
+        } else {
+          tradeReportsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder addTradeReports(
+          int index, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder builderForValue) {
+        if (tradeReportsBuilder_ == null) {
+          ensureTradeReportsIsMutable();
+          tradeReports_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          tradeReportsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder addAllTradeReports(
+          java.lang.Iterable<? extends org.marketcetera.client.rpc.RpcClient.TradeReport> values) {
+        if (tradeReportsBuilder_ == null) {
+          ensureTradeReportsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, tradeReports_);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder clearTradeReports() {
+        if (tradeReportsBuilder_ == null) {
+          tradeReports_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public Builder removeTradeReports(int index) {
+        if (tradeReportsBuilder_ == null) {
+          ensureTradeReportsIsMutable();
+          tradeReports_.remove(index);
+          onChanged();
+        } else {
+          tradeReportsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.TradeReport.Builder getTradeReportsBuilder(
+          int index) {
+        return getTradeReportsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder getTradeReportsOrBuilder(
+          int index) {
+        if (tradeReportsBuilder_ == null) {
+          return tradeReports_.get(index);  } else {
+          return tradeReportsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public java.util.List<? extends org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder> 
+           getTradeReportsOrBuilderList() {
+        if (tradeReportsBuilder_ != null) {
+          return tradeReportsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(tradeReports_);
+        }
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.TradeReport.Builder addTradeReportsBuilder() {
+        return getTradeReportsFieldBuilder().addBuilder(
+            org.marketcetera.client.rpc.RpcClient.TradeReport.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.TradeReport.Builder addTradeReportsBuilder(
+          int index) {
+        return getTradeReportsFieldBuilder().addBuilder(
+            index, org.marketcetera.client.rpc.RpcClient.TradeReport.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .TradeReport tradeReports = 2;</code>
+       */
+      public java.util.List<org.marketcetera.client.rpc.RpcClient.TradeReport.Builder> 
+           getTradeReportsBuilderList() {
+        return getTradeReportsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.marketcetera.client.rpc.RpcClient.TradeReport, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder, org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder> 
+          getTradeReportsFieldBuilder() {
+        if (tradeReportsBuilder_ == null) {
+          tradeReportsBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.marketcetera.client.rpc.RpcClient.TradeReport, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder, org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder>(
+                  tradeReports_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          tradeReports_ = null;
+        }
+        return tradeReportsBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ReportList)
+    }
+
+    static {
+      defaultInstance = new ReportList(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ReportList)
+  }
+
+  public interface TradeReportOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:TradeReport)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>required .ReportType reportType = 1;</code>
+     */
+    boolean hasReportType();
+    /**
+     * <code>required .ReportType reportType = 1;</code>
+     */
+    org.marketcetera.client.rpc.RpcClient.ReportType getReportType();
+
+    /**
+     * <code>required string message = 2;</code>
+     */
+    boolean hasMessage();
+    /**
+     * <code>required string message = 2;</code>
+     */
+    java.lang.String getMessage();
+    /**
+     * <code>required string message = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getMessageBytes();
+
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    boolean hasBrokerId();
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    java.lang.String getBrokerId();
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    com.google.protobuf.ByteString
+        getBrokerIdBytes();
+
+    /**
+     * <code>required .Originator originator = 4;</code>
+     */
+    boolean hasOriginator();
+    /**
+     * <code>required .Originator originator = 4;</code>
+     */
+    org.marketcetera.client.rpc.RpcClient.Originator getOriginator();
+
+    /**
+     * <code>optional .Hierarchy hierarchy = 5;</code>
+     */
+    boolean hasHierarchy();
+    /**
+     * <code>optional .Hierarchy hierarchy = 5;</code>
+     */
+    org.marketcetera.client.rpc.RpcClient.Hierarchy getHierarchy();
+
+    /**
+     * <code>optional int64 reportId = 6;</code>
+     */
+    boolean hasReportId();
+    /**
+     * <code>optional int64 reportId = 6;</code>
+     */
+    long getReportId();
+
+    /**
+     * <code>optional int64 actorId = 7;</code>
+     */
+    boolean hasActorId();
+    /**
+     * <code>optional int64 actorId = 7;</code>
+     */
+    long getActorId();
+
+    /**
+     * <code>optional int64 viewerId = 8;</code>
+     */
+    boolean hasViewerId();
+    /**
+     * <code>optional int64 viewerId = 8;</code>
+     */
+    long getViewerId();
+  }
+  /**
+   * Protobuf type {@code TradeReport}
+   */
+  public static final class TradeReport extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:TradeReport)
+      TradeReportOrBuilder {
+    // Use TradeReport.newBuilder() to construct.
+    private TradeReport(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private TradeReport(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final TradeReport defaultInstance;
+    public static TradeReport getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public TradeReport getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private TradeReport(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              int rawValue = input.readEnum();
+              org.marketcetera.client.rpc.RpcClient.ReportType value = org.marketcetera.client.rpc.RpcClient.ReportType.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(1, rawValue);
+              } else {
+                bitField0_ |= 0x00000001;
+                reportType_ = value;
+              }
+              break;
+            }
+            case 18: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              message_ = bs;
+              break;
+            }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              brokerId_ = bs;
+              break;
+            }
+            case 32: {
+              int rawValue = input.readEnum();
+              org.marketcetera.client.rpc.RpcClient.Originator value = org.marketcetera.client.rpc.RpcClient.Originator.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(4, rawValue);
+              } else {
+                bitField0_ |= 0x00000008;
+                originator_ = value;
+              }
+              break;
+            }
+            case 40: {
+              int rawValue = input.readEnum();
+              org.marketcetera.client.rpc.RpcClient.Hierarchy value = org.marketcetera.client.rpc.RpcClient.Hierarchy.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(5, rawValue);
+              } else {
+                bitField0_ |= 0x00000010;
+                hierarchy_ = value;
+              }
+              break;
+            }
+            case 48: {
+              bitField0_ |= 0x00000020;
+              reportId_ = input.readInt64();
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000040;
+              actorId_ = input.readInt64();
+              break;
+            }
+            case 64: {
+              bitField0_ |= 0x00000080;
+              viewerId_ = input.readInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.marketcetera.client.rpc.RpcClient.internal_static_TradeReport_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.marketcetera.client.rpc.RpcClient.internal_static_TradeReport_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.marketcetera.client.rpc.RpcClient.TradeReport.class, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<TradeReport> PARSER =
+        new com.google.protobuf.AbstractParser<TradeReport>() {
+      public TradeReport parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new TradeReport(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<TradeReport> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    public static final int REPORTTYPE_FIELD_NUMBER = 1;
+    private org.marketcetera.client.rpc.RpcClient.ReportType reportType_;
+    /**
+     * <code>required .ReportType reportType = 1;</code>
+     */
+    public boolean hasReportType() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required .ReportType reportType = 1;</code>
+     */
+    public org.marketcetera.client.rpc.RpcClient.ReportType getReportType() {
+      return reportType_;
+    }
+
+    public static final int MESSAGE_FIELD_NUMBER = 2;
+    private java.lang.Object message_;
+    /**
+     * <code>required string message = 2;</code>
+     */
+    public boolean hasMessage() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required string message = 2;</code>
+     */
+    public java.lang.String getMessage() {
+      java.lang.Object ref = message_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          message_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>required string message = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getMessageBytes() {
+      java.lang.Object ref = message_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        message_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int BROKERID_FIELD_NUMBER = 3;
+    private java.lang.Object brokerId_;
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    public boolean hasBrokerId() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    public java.lang.String getBrokerId() {
+      java.lang.Object ref = brokerId_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          brokerId_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string brokerId = 3;</code>
+     */
+    public com.google.protobuf.ByteString
+        getBrokerIdBytes() {
+      java.lang.Object ref = brokerId_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        brokerId_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int ORIGINATOR_FIELD_NUMBER = 4;
+    private org.marketcetera.client.rpc.RpcClient.Originator originator_;
+    /**
+     * <code>required .Originator originator = 4;</code>
+     */
+    public boolean hasOriginator() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>required .Originator originator = 4;</code>
+     */
+    public org.marketcetera.client.rpc.RpcClient.Originator getOriginator() {
+      return originator_;
+    }
+
+    public static final int HIERARCHY_FIELD_NUMBER = 5;
+    private org.marketcetera.client.rpc.RpcClient.Hierarchy hierarchy_;
+    /**
+     * <code>optional .Hierarchy hierarchy = 5;</code>
+     */
+    public boolean hasHierarchy() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional .Hierarchy hierarchy = 5;</code>
+     */
+    public org.marketcetera.client.rpc.RpcClient.Hierarchy getHierarchy() {
+      return hierarchy_;
+    }
+
+    public static final int REPORTID_FIELD_NUMBER = 6;
+    private long reportId_;
+    /**
+     * <code>optional int64 reportId = 6;</code>
+     */
+    public boolean hasReportId() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional int64 reportId = 6;</code>
+     */
+    public long getReportId() {
+      return reportId_;
+    }
+
+    public static final int ACTORID_FIELD_NUMBER = 7;
+    private long actorId_;
+    /**
+     * <code>optional int64 actorId = 7;</code>
+     */
+    public boolean hasActorId() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional int64 actorId = 7;</code>
+     */
+    public long getActorId() {
+      return actorId_;
+    }
+
+    public static final int VIEWERID_FIELD_NUMBER = 8;
+    private long viewerId_;
+    /**
+     * <code>optional int64 viewerId = 8;</code>
+     */
+    public boolean hasViewerId() {
+      return ((bitField0_ & 0x00000080) == 0x00000080);
+    }
+    /**
+     * <code>optional int64 viewerId = 8;</code>
+     */
+    public long getViewerId() {
+      return viewerId_;
+    }
+
+    private void initFields() {
+      reportType_ = org.marketcetera.client.rpc.RpcClient.ReportType.ExecutionReport;
+      message_ = "";
+      brokerId_ = "";
+      originator_ = org.marketcetera.client.rpc.RpcClient.Originator.Server;
+      hierarchy_ = org.marketcetera.client.rpc.RpcClient.Hierarchy.Parent;
+      reportId_ = 0L;
+      actorId_ = 0L;
+      viewerId_ = 0L;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      if (!hasReportType()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasMessage()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasOriginator()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeEnum(1, reportType_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getMessageBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeBytes(3, getBrokerIdBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeEnum(4, originator_.getNumber());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeEnum(5, hierarchy_.getNumber());
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeInt64(6, reportId_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeInt64(7, actorId_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        output.writeInt64(8, viewerId_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, reportType_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getMessageBytes());
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(3, getBrokerIdBytes());
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(4, originator_.getNumber());
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(5, hierarchy_.getNumber());
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(6, reportId_);
+      }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(7, actorId_);
+      }
+      if (((bitField0_ & 0x00000080) == 0x00000080)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(8, viewerId_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.marketcetera.client.rpc.RpcClient.TradeReport parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.marketcetera.client.rpc.RpcClient.TradeReport prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code TradeReport}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:TradeReport)
+        org.marketcetera.client.rpc.RpcClient.TradeReportOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.marketcetera.client.rpc.RpcClient.internal_static_TradeReport_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.marketcetera.client.rpc.RpcClient.internal_static_TradeReport_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.marketcetera.client.rpc.RpcClient.TradeReport.class, org.marketcetera.client.rpc.RpcClient.TradeReport.Builder.class);
+      }
+
+      // Construct using org.marketcetera.client.rpc.RpcClient.TradeReport.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        reportType_ = org.marketcetera.client.rpc.RpcClient.ReportType.ExecutionReport;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        message_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        brokerId_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        originator_ = org.marketcetera.client.rpc.RpcClient.Originator.Server;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        hierarchy_ = org.marketcetera.client.rpc.RpcClient.Hierarchy.Parent;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        reportId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        actorId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        viewerId_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.marketcetera.client.rpc.RpcClient.internal_static_TradeReport_descriptor;
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.TradeReport getDefaultInstanceForType() {
+        return org.marketcetera.client.rpc.RpcClient.TradeReport.getDefaultInstance();
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.TradeReport build() {
+        org.marketcetera.client.rpc.RpcClient.TradeReport result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.marketcetera.client.rpc.RpcClient.TradeReport buildPartial() {
+        org.marketcetera.client.rpc.RpcClient.TradeReport result = new org.marketcetera.client.rpc.RpcClient.TradeReport(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.reportType_ = reportType_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.message_ = message_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.brokerId_ = brokerId_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.originator_ = originator_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.hierarchy_ = hierarchy_;
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.reportId_ = reportId_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.actorId_ = actorId_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000080;
+        }
+        result.viewerId_ = viewerId_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.marketcetera.client.rpc.RpcClient.TradeReport) {
+          return mergeFrom((org.marketcetera.client.rpc.RpcClient.TradeReport)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.marketcetera.client.rpc.RpcClient.TradeReport other) {
+        if (other == org.marketcetera.client.rpc.RpcClient.TradeReport.getDefaultInstance()) return this;
+        if (other.hasReportType()) {
+          setReportType(other.getReportType());
+        }
+        if (other.hasMessage()) {
+          bitField0_ |= 0x00000002;
+          message_ = other.message_;
+          onChanged();
+        }
+        if (other.hasBrokerId()) {
+          bitField0_ |= 0x00000004;
+          brokerId_ = other.brokerId_;
+          onChanged();
+        }
+        if (other.hasOriginator()) {
+          setOriginator(other.getOriginator());
+        }
+        if (other.hasHierarchy()) {
+          setHierarchy(other.getHierarchy());
+        }
+        if (other.hasReportId()) {
+          setReportId(other.getReportId());
+        }
+        if (other.hasActorId()) {
+          setActorId(other.getActorId());
+        }
+        if (other.hasViewerId()) {
+          setViewerId(other.getViewerId());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasReportType()) {
+          
+          return false;
+        }
+        if (!hasMessage()) {
+          
+          return false;
+        }
+        if (!hasOriginator()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.marketcetera.client.rpc.RpcClient.TradeReport parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.marketcetera.client.rpc.RpcClient.TradeReport) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private org.marketcetera.client.rpc.RpcClient.ReportType reportType_ = org.marketcetera.client.rpc.RpcClient.ReportType.ExecutionReport;
+      /**
+       * <code>required .ReportType reportType = 1;</code>
+       */
+      public boolean hasReportType() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required .ReportType reportType = 1;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.ReportType getReportType() {
+        return reportType_;
+      }
+      /**
+       * <code>required .ReportType reportType = 1;</code>
+       */
+      public Builder setReportType(org.marketcetera.client.rpc.RpcClient.ReportType value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000001;
+        reportType_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required .ReportType reportType = 1;</code>
+       */
+      public Builder clearReportType() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        reportType_ = org.marketcetera.client.rpc.RpcClient.ReportType.ExecutionReport;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object message_ = "";
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public boolean hasMessage() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public java.lang.String getMessage() {
+        java.lang.Object ref = message_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            message_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getMessageBytes() {
+        java.lang.Object ref = message_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          message_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public Builder setMessage(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        message_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public Builder clearMessage() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        message_ = getDefaultInstance().getMessage();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required string message = 2;</code>
+       */
+      public Builder setMessageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        message_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object brokerId_ = "";
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public boolean hasBrokerId() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public java.lang.String getBrokerId() {
+        java.lang.Object ref = brokerId_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            brokerId_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public com.google.protobuf.ByteString
+          getBrokerIdBytes() {
+        java.lang.Object ref = brokerId_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          brokerId_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public Builder setBrokerId(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        brokerId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public Builder clearBrokerId() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        brokerId_ = getDefaultInstance().getBrokerId();
+        onChanged();
         return this;
       }
-
-      public Builder clone() {
-        return create().mergeFrom(buildPartial());
+      /**
+       * <code>optional string brokerId = 3;</code>
+       */
+      public Builder setBrokerIdBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        brokerId_ = value;
+        onChanged();
+        return this;
       }
 
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return org.marketcetera.client.rpc.RpcClient.internal_static_ReportList_descriptor;
+      private org.marketcetera.client.rpc.RpcClient.Originator originator_ = org.marketcetera.client.rpc.RpcClient.Originator.Server;
+      /**
+       * <code>required .Originator originator = 4;</code>
+       */
+      public boolean hasOriginator() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
       }
-
-      public org.marketcetera.client.rpc.RpcClient.ReportList getDefaultInstanceForType() {
-        return org.marketcetera.client.rpc.RpcClient.ReportList.getDefaultInstance();
+      /**
+       * <code>required .Originator originator = 4;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.Originator getOriginator() {
+        return originator_;
       }
-
-      public org.marketcetera.client.rpc.RpcClient.ReportList build() {
-        org.marketcetera.client.rpc.RpcClient.ReportList result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
+      /**
+       * <code>required .Originator originator = 4;</code>
+       */
+      public Builder setOriginator(org.marketcetera.client.rpc.RpcClient.Originator value) {
+        if (value == null) {
+          throw new NullPointerException();
         }
-        return result;
+        bitField0_ |= 0x00000008;
+        originator_ = value;
+        onChanged();
+        return this;
       }
-
-      public org.marketcetera.client.rpc.RpcClient.ReportList buildPartial() {
-        org.marketcetera.client.rpc.RpcClient.ReportList result = new org.marketcetera.client.rpc.RpcClient.ReportList(this);
-        int from_bitField0_ = bitField0_;
-        if (((bitField0_ & 0x00000001) == 0x00000001)) {
-          reports_ = reports_.getUnmodifiableView();
-          bitField0_ = (bitField0_ & ~0x00000001);
-        }
-        result.reports_ = reports_;
-        onBuilt();
-        return result;
+      /**
+       * <code>required .Originator originator = 4;</code>
+       */
+      public Builder clearOriginator() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        originator_ = org.marketcetera.client.rpc.RpcClient.Originator.Server;
+        onChanged();
+        return this;
       }
 
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof org.marketcetera.client.rpc.RpcClient.ReportList) {
-          return mergeFrom((org.marketcetera.client.rpc.RpcClient.ReportList)other);
-        } else {
-          super.mergeFrom(other);
-          return this;
-        }
+      private org.marketcetera.client.rpc.RpcClient.Hierarchy hierarchy_ = org.marketcetera.client.rpc.RpcClient.Hierarchy.Parent;
+      /**
+       * <code>optional .Hierarchy hierarchy = 5;</code>
+       */
+      public boolean hasHierarchy() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
       }
-
-      public Builder mergeFrom(org.marketcetera.client.rpc.RpcClient.ReportList other) {
-        if (other == org.marketcetera.client.rpc.RpcClient.ReportList.getDefaultInstance()) return this;
-        if (!other.reports_.isEmpty()) {
-          if (reports_.isEmpty()) {
-            reports_ = other.reports_;
-            bitField0_ = (bitField0_ & ~0x00000001);
-          } else {
-            ensureReportsIsMutable();
-            reports_.addAll(other.reports_);
-          }
-          onChanged();
+      /**
+       * <code>optional .Hierarchy hierarchy = 5;</code>
+       */
+      public org.marketcetera.client.rpc.RpcClient.Hierarchy getHierarchy() {
+        return hierarchy_;
+      }
+      /**
+       * <code>optional .Hierarchy hierarchy = 5;</code>
+       */
+      public Builder setHierarchy(org.marketcetera.client.rpc.RpcClient.Hierarchy value) {
+        if (value == null) {
+          throw new NullPointerException();
         }
-        this.mergeUnknownFields(other.getUnknownFields());
+        bitField0_ |= 0x00000010;
+        hierarchy_ = value;
+        onChanged();
         return this;
       }
-
-      public final boolean isInitialized() {
-        return true;
-      }
-
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        org.marketcetera.client.rpc.RpcClient.ReportList parsedMessage = null;
-        try {
-          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (org.marketcetera.client.rpc.RpcClient.ReportList) e.getUnfinishedMessage();
-          throw e;
-        } finally {
-          if (parsedMessage != null) {
-            mergeFrom(parsedMessage);
-          }
-        }
+      /**
+       * <code>optional .Hierarchy hierarchy = 5;</code>
+       */
+      public Builder clearHierarchy() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        hierarchy_ = org.marketcetera.client.rpc.RpcClient.Hierarchy.Parent;
+        onChanged();
         return this;
       }
-      private int bitField0_;
 
-      private com.google.protobuf.LazyStringList reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-      private void ensureReportsIsMutable() {
-        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
-          reports_ = new com.google.protobuf.LazyStringArrayList(reports_);
-          bitField0_ |= 0x00000001;
-         }
+      private long reportId_ ;
+      /**
+       * <code>optional int64 reportId = 6;</code>
+       */
+      public boolean hasReportId() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 reportId = 6;</code>
        */
-      public com.google.protobuf.ProtocolStringList
-          getReportsList() {
-        return reports_.getUnmodifiableView();
+      public long getReportId() {
+        return reportId_;
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 reportId = 6;</code>
        */
-      public int getReportsCount() {
-        return reports_.size();
+      public Builder setReportId(long value) {
+        bitField0_ |= 0x00000020;
+        reportId_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 reportId = 6;</code>
        */
-      public java.lang.String getReports(int index) {
-        return reports_.get(index);
+      public Builder clearReportId() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        reportId_ = 0L;
+        onChanged();
+        return this;
       }
+
+      private long actorId_ ;
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 actorId = 7;</code>
        */
-      public com.google.protobuf.ByteString
-          getReportsBytes(int index) {
-        return reports_.getByteString(index);
+      public boolean hasActorId() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 actorId = 7;</code>
        */
-      public Builder setReports(
-          int index, java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  ensureReportsIsMutable();
-        reports_.set(index, value);
-        onChanged();
-        return this;
+      public long getActorId() {
+        return actorId_;
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 actorId = 7;</code>
        */
-      public Builder addReports(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  ensureReportsIsMutable();
-        reports_.add(value);
+      public Builder setActorId(long value) {
+        bitField0_ |= 0x00000040;
+        actorId_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 actorId = 7;</code>
        */
-      public Builder addAllReports(
-          java.lang.Iterable<java.lang.String> values) {
-        ensureReportsIsMutable();
-        com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, reports_);
+      public Builder clearActorId() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        actorId_ = 0L;
         onChanged();
         return this;
       }
+
+      private long viewerId_ ;
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 viewerId = 8;</code>
        */
-      public Builder clearReports() {
-        reports_ = com.google.protobuf.LazyStringArrayList.EMPTY;
-        bitField0_ = (bitField0_ & ~0x00000001);
+      public boolean hasViewerId() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional int64 viewerId = 8;</code>
+       */
+      public long getViewerId() {
+        return viewerId_;
+      }
+      /**
+       * <code>optional int64 viewerId = 8;</code>
+       */
+      public Builder setViewerId(long value) {
+        bitField0_ |= 0x00000080;
+        viewerId_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>repeated string reports = 1;</code>
+       * <code>optional int64 viewerId = 8;</code>
        */
-      public Builder addReportsBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  ensureReportsIsMutable();
-        reports_.add(value);
+      public Builder clearViewerId() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        viewerId_ = 0L;
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:ReportList)
+      // @@protoc_insertion_point(builder_scope:TradeReport)
     }
 
     static {
-      defaultInstance = new ReportList(true);
+      defaultInstance = new TradeReport(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:ReportList)
+    // @@protoc_insertion_point(class_scope:TradeReport)
   }
 
   public interface PositionRequestOrBuilder extends
@@ -30191,6 +31895,11 @@ public final class RpcClient {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_ReportList_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_TradeReport_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_TradeReport_fieldAccessorTable;
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_PositionRequest_descriptor;
   private static
@@ -30358,73 +32067,81 @@ public final class RpcClient {
       "\007reports\030\001 \002(\0132\013.ReportList\"8\n\023ReportsSi" +
       "nceRequest\022\021\n\tsessionId\030\001 \002(\t\022\016\n\006origin\030" +
       "\002 \002(\003\"4\n\024ReportsSinceResponse\022\034\n\007reports" +
-      "\030\001 \002(\0132\013.ReportList\"\035\n\nReportList\022\017\n\007rep" +
-      "orts\030\001 \003(\t\"\220\001\n\017PositionRequest\022\021\n\tsessio",
-      "nId\030\001 \002(\t\022\'\n\016instrumentType\030\002 \001(\0162\017.Inst" +
-      "rumentType\022\037\n\ninstrument\030\003 \001(\0132\013.Instrum" +
-      "ent\022\022\n\006origin\030\004 \002(\003:\002-1\022\014\n\004root\030\005 \003(\t\">\n" +
-      "\020PositionResponse\022\032\n\004keys\030\001 \003(\0132\014.Positi" +
-      "onKey\022\016\n\006values\030\002 \003(\t\"\036\n\020HeartbeatReques" +
-      "t\022\n\n\002id\030\001 \002(\003\"\037\n\021HeartbeatResponse\022\n\n\002id" +
-      "\030\001 \002(\003\"=\n\010Position\022\037\n\ninstrument\030\001 \002(\0132\013" +
-      ".Instrument\022\020\n\010position\030\002 \002(\t\"Q\n\013Positio" +
-      "nKey\022\037\n\ninstrument\030\001 \002(\0132\013.Instrument\022\017\n" +
-      "\007account\030\002 \001(\t\022\020\n\010traderId\030\003 \001(\t\"\035\n\nInst",
-      "rument\022\017\n\007payload\030\001 \002(\t\"0\n\017UserInfoReque" +
-      "st\022\021\n\tsessionId\030\001 \002(\t\022\n\n\002id\030\002 \002(\003\"/\n\020Use" +
-      "rInfoResponse\022\033\n\010userInfo\030\001 \002(\0132\t.UserIn" +
-      "fo\"Y\n\010UserInfo\022\014\n\004name\030\001 \002(\t\022\n\n\002id\030\002 \002(\003" +
-      "\022\016\n\006active\030\003 \002(\010\022\021\n\tsuperuser\030\004 \002(\010\022\020\n\010u" +
-      "serdata\030\005 \001(\t\"6\n\021UnderlyingRequest\022\021\n\tse" +
-      "ssionId\030\001 \002(\t\022\016\n\006symbol\030\002 \002(\t\"$\n\022Underly" +
-      "ingResponse\022\016\n\006symbol\030\001 \001(\t\"7\n\022OptionRoo" +
-      "tsRequest\022\021\n\tsessionId\030\001 \002(\t\022\016\n\006symbol\030\002" +
-      " \002(\t\"%\n\023OptionRootsResponse\022\016\n\006symbol\030\001 ",
-      "\003(\t\"9\n\024ResolveSymbolRequest\022\021\n\tsessionId" +
-      "\030\001 \002(\t\022\016\n\006symbol\030\002 \002(\t\"8\n\025ResolveSymbolR" +
-      "esponse\022\037\n\ninstrument\030\001 \001(\0132\013.Instrument" +
-      "\"8\n\022RootOrderIdRequest\022\021\n\tsessionId\030\001 \002(" +
-      "\t\022\017\n\007orderId\030\002 \002(\t\"&\n\023RootOrderIdRespons" +
-      "e\022\017\n\007orderId\030\001 \001(\t\"\'\n\022GetUserDataRequest" +
-      "\022\021\n\tsessionId\030\001 \002(\t\"\'\n\023GetUserDataRespon" +
-      "se\022\020\n\010userData\030\001 \001(\t\"9\n\022SetUserDataReque" +
-      "st\022\021\n\tsessionId\030\001 \002(\t\022\020\n\010userData\030\002 \001(\t\"" +
-      "\025\n\023SetUserDataResponse\"g\n\020AddReportReque",
-      "st\022\021\n\tsessionId\030\001 \002(\t\022\020\n\010brokerId\030\002 \002(\t\022" +
-      "\017\n\007message\030\003 \002(\t\022\035\n\thierarchy\030\004 \002(\0162\n.Hi" +
-      "erarchy\"4\n\021AddReportResponse\022\016\n\006status\030\001" +
-      " \002(\010\022\017\n\007message\030\002 \001(\t\"9\n\023DeleteReportReq" +
-      "uest\022\021\n\tsessionId\030\001 \002(\t\022\017\n\007message\030\002 \002(\t" +
-      "\"\026\n\024DeleteReportResponse*B\n\016InstrumentTy" +
-      "pe\022\n\n\006EQUITY\020\000\022\n\n\006OPTION\020\001\022\n\n\006FUTURE\020\002\022\014" +
-      "\n\010CURRENCY\020\003*,\n\tHierarchy\022\n\n\006Parent\020\000\022\t\n" +
-      "\005Child\020\001\022\010\n\004Flat\020\0022\330\007\n\020RpcClientService\022" +
-      "&\n\005login\022\r.LoginRequest\032\016.LoginResponse\022",
-      ")\n\006logout\022\016.LogoutRequest\032\017.LogoutRespon" +
-      "se\022;\n\016getNextOrderID\022\023.NextOrderIdReques" +
-      "t\032\024.NextOrderIdResponse\022A\n\020getBrokersSta" +
-      "tus\022\025.BrokersStatusRequest\032\026.BrokersStat" +
-      "usResponse\0228\n\rgetOpenOrders\022\022.OpenOrders" +
-      "Request\032\023.OpenOrdersResponse\022>\n\017getRepor" +
-      "tsSince\022\024.ReportsSinceRequest\032\025.ReportsS" +
-      "inceResponse\0223\n\014getPositions\022\020.PositionR" +
-      "equest\032\021.PositionResponse\0222\n\theartbeat\022\021" +
-      ".HeartbeatRequest\032\022.HeartbeatResponse\0222\n",
-      "\013getUserInfo\022\020.UserInfoRequest\032\021.UserInf" +
-      "oResponse\0228\n\rgetUnderlying\022\022.UnderlyingR" +
-      "equest\032\023.UnderlyingResponse\022;\n\016getOption" +
-      "Roots\022\023.OptionRootsRequest\032\024.OptionRoots" +
-      "Response\022>\n\rresolveSymbol\022\025.ResolveSymbo" +
-      "lRequest\032\026.ResolveSymbolResponse\022>\n\021getR" +
-      "ootOrderIdFor\022\023.RootOrderIdRequest\032\024.Roo" +
-      "tOrderIdResponse\0228\n\013getUserData\022\023.GetUse" +
-      "rDataRequest\032\024.GetUserDataResponse\0228\n\013se" +
-      "tUserData\022\023.SetUserDataRequest\032\024.SetUser",
-      "DataResponse\0222\n\taddReport\022\021.AddReportReq" +
-      "uest\032\022.AddReportResponse\022;\n\014deleteReport" +
-      "\022\024.DeleteReportRequest\032\025.DeleteReportRes" +
-      "ponseB+\n\033org.marketcetera.client.rpcB\tRp" +
-      "cClient\210\001\001"
+      "\030\001 \002(\0132\013.ReportList\"A\n\nReportList\022\017\n\007rep" +
+      "orts\030\001 \003(\t\022\"\n\014tradeReports\030\002 \003(\0132\014.Trade",
+      "Report\"\306\001\n\013TradeReport\022\037\n\nreportType\030\001 \002" +
+      "(\0162\013.ReportType\022\017\n\007message\030\002 \002(\t\022\020\n\010brok" +
+      "erId\030\003 \001(\t\022\037\n\noriginator\030\004 \002(\0162\013.Origina" +
+      "tor\022\035\n\thierarchy\030\005 \001(\0162\n.Hierarchy\022\020\n\010re" +
+      "portId\030\006 \001(\003\022\017\n\007actorId\030\007 \001(\003\022\020\n\010viewerI" +
+      "d\030\010 \001(\003\"\220\001\n\017PositionRequest\022\021\n\tsessionId" +
+      "\030\001 \002(\t\022\'\n\016instrumentType\030\002 \001(\0162\017.Instrum" +
+      "entType\022\037\n\ninstrument\030\003 \001(\0132\013.Instrument" +
+      "\022\022\n\006origin\030\004 \002(\003:\002-1\022\014\n\004root\030\005 \003(\t\">\n\020Po" +
+      "sitionResponse\022\032\n\004keys\030\001 \003(\0132\014.PositionK",
+      "ey\022\016\n\006values\030\002 \003(\t\"\036\n\020HeartbeatRequest\022\n" +
+      "\n\002id\030\001 \002(\003\"\037\n\021HeartbeatResponse\022\n\n\002id\030\001 " +
+      "\002(\003\"=\n\010Position\022\037\n\ninstrument\030\001 \002(\0132\013.In" +
+      "strument\022\020\n\010position\030\002 \002(\t\"Q\n\013PositionKe" +
+      "y\022\037\n\ninstrument\030\001 \002(\0132\013.Instrument\022\017\n\007ac" +
+      "count\030\002 \001(\t\022\020\n\010traderId\030\003 \001(\t\"\035\n\nInstrum" +
+      "ent\022\017\n\007payload\030\001 \002(\t\"0\n\017UserInfoRequest\022" +
+      "\021\n\tsessionId\030\001 \002(\t\022\n\n\002id\030\002 \002(\003\"/\n\020UserIn" +
+      "foResponse\022\033\n\010userInfo\030\001 \002(\0132\t.UserInfo\"" +
+      "Y\n\010UserInfo\022\014\n\004name\030\001 \002(\t\022\n\n\002id\030\002 \002(\003\022\016\n",
+      "\006active\030\003 \002(\010\022\021\n\tsuperuser\030\004 \002(\010\022\020\n\010user" +
+      "data\030\005 \001(\t\"6\n\021UnderlyingRequest\022\021\n\tsessi" +
+      "onId\030\001 \002(\t\022\016\n\006symbol\030\002 \002(\t\"$\n\022Underlying" +
+      "Response\022\016\n\006symbol\030\001 \001(\t\"7\n\022OptionRootsR" +
+      "equest\022\021\n\tsessionId\030\001 \002(\t\022\016\n\006symbol\030\002 \002(" +
+      "\t\"%\n\023OptionRootsResponse\022\016\n\006symbol\030\001 \003(\t" +
+      "\"9\n\024ResolveSymbolRequest\022\021\n\tsessionId\030\001 " +
+      "\002(\t\022\016\n\006symbol\030\002 \002(\t\"8\n\025ResolveSymbolResp" +
+      "onse\022\037\n\ninstrument\030\001 \001(\0132\013.Instrument\"8\n" +
+      "\022RootOrderIdRequest\022\021\n\tsessionId\030\001 \002(\t\022\017",
+      "\n\007orderId\030\002 \002(\t\"&\n\023RootOrderIdResponse\022\017" +
+      "\n\007orderId\030\001 \001(\t\"\'\n\022GetUserDataRequest\022\021\n" +
+      "\tsessionId\030\001 \002(\t\"\'\n\023GetUserDataResponse\022" +
+      "\020\n\010userData\030\001 \001(\t\"9\n\022SetUserDataRequest\022" +
+      "\021\n\tsessionId\030\001 \002(\t\022\020\n\010userData\030\002 \001(\t\"\025\n\023" +
+      "SetUserDataResponse\"g\n\020AddReportRequest\022" +
+      "\021\n\tsessionId\030\001 \002(\t\022\020\n\010brokerId\030\002 \002(\t\022\017\n\007" +
+      "message\030\003 \002(\t\022\035\n\thierarchy\030\004 \002(\0162\n.Hiera" +
+      "rchy\"4\n\021AddReportResponse\022\016\n\006status\030\001 \002(" +
+      "\010\022\017\n\007message\030\002 \001(\t\"9\n\023DeleteReportReques",
+      "t\022\021\n\tsessionId\030\001 \002(\t\022\017\n\007message\030\002 \002(\t\"\026\n" +
+      "\024DeleteReportResponse*8\n\nReportType\022\023\n\017E" +
+      "xecutionReport\020\000\022\025\n\021OrderCancelReject\020\001*" +
+      "$\n\nOriginator\022\n\n\006Server\020\000\022\n\n\006Broker\020\001*B\n" +
+      "\016InstrumentType\022\n\n\006EQUITY\020\000\022\n\n\006OPTION\020\001\022" +
+      "\n\n\006FUTURE\020\002\022\014\n\010CURRENCY\020\003*,\n\tHierarchy\022\n" +
+      "\n\006Parent\020\000\022\t\n\005Child\020\001\022\010\n\004Flat\020\0022\330\007\n\020RpcC" +
+      "lientService\022&\n\005login\022\r.LoginRequest\032\016.L" +
+      "oginResponse\022)\n\006logout\022\016.LogoutRequest\032\017" +
+      ".LogoutResponse\022;\n\016getNextOrderID\022\023.Next",
+      "OrderIdRequest\032\024.NextOrderIdResponse\022A\n\020" +
+      "getBrokersStatus\022\025.BrokersStatusRequest\032" +
+      "\026.BrokersStatusResponse\0228\n\rgetOpenOrders" +
+      "\022\022.OpenOrdersRequest\032\023.OpenOrdersRespons" +
+      "e\022>\n\017getReportsSince\022\024.ReportsSinceReque" +
+      "st\032\025.ReportsSinceResponse\0223\n\014getPosition" +
+      "s\022\020.PositionRequest\032\021.PositionResponse\0222" +
+      "\n\theartbeat\022\021.HeartbeatRequest\032\022.Heartbe" +
+      "atResponse\0222\n\013getUserInfo\022\020.UserInfoRequ" +
+      "est\032\021.UserInfoResponse\0228\n\rgetUnderlying\022",
+      "\022.UnderlyingRequest\032\023.UnderlyingResponse" +
+      "\022;\n\016getOptionRoots\022\023.OptionRootsRequest\032" +
+      "\024.OptionRootsResponse\022>\n\rresolveSymbol\022\025" +
+      ".ResolveSymbolRequest\032\026.ResolveSymbolRes" +
+      "ponse\022>\n\021getRootOrderIdFor\022\023.RootOrderId" +
+      "Request\032\024.RootOrderIdResponse\0228\n\013getUser" +
+      "Data\022\023.GetUserDataRequest\032\024.GetUserDataR" +
+      "esponse\0228\n\013setUserData\022\023.SetUserDataRequ" +
+      "est\032\024.SetUserDataResponse\0222\n\taddReport\022\021" +
+      ".AddReportRequest\032\022.AddReportResponse\022;\n",
+      "\014deleteReport\022\024.DeleteReportRequest\032\025.De" +
+      "leteReportResponseB+\n\033org.marketcetera.c" +
+      "lient.rpcB\tRpcClient\210\001\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -30551,159 +32268,165 @@ public final class RpcClient {
     internal_static_ReportList_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ReportList_descriptor,
-        new java.lang.String[] { "Reports", });
-    internal_static_PositionRequest_descriptor =
+        new java.lang.String[] { "Reports", "TradeReports", });
+    internal_static_TradeReport_descriptor =
       getDescriptor().getMessageTypes().get(19);
+    internal_static_TradeReport_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_TradeReport_descriptor,
+        new java.lang.String[] { "ReportType", "Message", "BrokerId", "Originator", "Hierarchy", "ReportId", "ActorId", "ViewerId", });
+    internal_static_PositionRequest_descriptor =
+      getDescriptor().getMessageTypes().get(20);
     internal_static_PositionRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_PositionRequest_descriptor,
         new java.lang.String[] { "SessionId", "InstrumentType", "Instrument", "Origin", "Root", });
     internal_static_PositionResponse_descriptor =
-      getDescriptor().getMessageTypes().get(20);
+      getDescriptor().getMessageTypes().get(21);
     internal_static_PositionResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_PositionResponse_descriptor,
         new java.lang.String[] { "Keys", "Values", });
     internal_static_HeartbeatRequest_descriptor =
-      getDescriptor().getMessageTypes().get(21);
+      getDescriptor().getMessageTypes().get(22);
     internal_static_HeartbeatRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_HeartbeatRequest_descriptor,
         new java.lang.String[] { "Id", });
     internal_static_HeartbeatResponse_descriptor =
-      getDescriptor().getMessageTypes().get(22);
+      getDescriptor().getMessageTypes().get(23);
     internal_static_HeartbeatResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_HeartbeatResponse_descriptor,
         new java.lang.String[] { "Id", });
     internal_static_Position_descriptor =
-      getDescriptor().getMessageTypes().get(23);
+      getDescriptor().getMessageTypes().get(24);
     internal_static_Position_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_Position_descriptor,
         new java.lang.String[] { "Instrument", "Position", });
     internal_static_PositionKey_descriptor =
-      getDescriptor().getMessageTypes().get(24);
+      getDescriptor().getMessageTypes().get(25);
     internal_static_PositionKey_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_PositionKey_descriptor,
         new java.lang.String[] { "Instrument", "Account", "TraderId", });
     internal_static_Instrument_descriptor =
-      getDescriptor().getMessageTypes().get(25);
+      getDescriptor().getMessageTypes().get(26);
     internal_static_Instrument_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_Instrument_descriptor,
         new java.lang.String[] { "Payload", });
     internal_static_UserInfoRequest_descriptor =
-      getDescriptor().getMessageTypes().get(26);
+      getDescriptor().getMessageTypes().get(27);
     internal_static_UserInfoRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UserInfoRequest_descriptor,
         new java.lang.String[] { "SessionId", "Id", });
     internal_static_UserInfoResponse_descriptor =
-      getDescriptor().getMessageTypes().get(27);
+      getDescriptor().getMessageTypes().get(28);
     internal_static_UserInfoResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UserInfoResponse_descriptor,
         new java.lang.String[] { "UserInfo", });
     internal_static_UserInfo_descriptor =
-      getDescriptor().getMessageTypes().get(28);
+      getDescriptor().getMessageTypes().get(29);
     internal_static_UserInfo_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UserInfo_descriptor,
         new java.lang.String[] { "Name", "Id", "Active", "Superuser", "Userdata", });
     internal_static_UnderlyingRequest_descriptor =
-      getDescriptor().getMessageTypes().get(29);
+      getDescriptor().getMessageTypes().get(30);
     internal_static_UnderlyingRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UnderlyingRequest_descriptor,
         new java.lang.String[] { "SessionId", "Symbol", });
     internal_static_UnderlyingResponse_descriptor =
-      getDescriptor().getMessageTypes().get(30);
+      getDescriptor().getMessageTypes().get(31);
     internal_static_UnderlyingResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_UnderlyingResponse_descriptor,
         new java.lang.String[] { "Symbol", });
     internal_static_OptionRootsRequest_descriptor =
-      getDescriptor().getMessageTypes().get(31);
+      getDescriptor().getMessageTypes().get(32);
     internal_static_OptionRootsRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OptionRootsRequest_descriptor,
         new java.lang.String[] { "SessionId", "Symbol", });
     internal_static_OptionRootsResponse_descriptor =
-      getDescriptor().getMessageTypes().get(32);
+      getDescriptor().getMessageTypes().get(33);
     internal_static_OptionRootsResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_OptionRootsResponse_descriptor,
         new java.lang.String[] { "Symbol", });
     internal_static_ResolveSymbolRequest_descriptor =
-      getDescriptor().getMessageTypes().get(33);
+      getDescriptor().getMessageTypes().get(34);
     internal_static_ResolveSymbolRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ResolveSymbolRequest_descriptor,
         new java.lang.String[] { "SessionId", "Symbol", });
     internal_static_ResolveSymbolResponse_descriptor =
-      getDescriptor().getMessageTypes().get(34);
+      getDescriptor().getMessageTypes().get(35);
     internal_static_ResolveSymbolResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ResolveSymbolResponse_descriptor,
         new java.lang.String[] { "Instrument", });
     internal_static_RootOrderIdRequest_descriptor =
-      getDescriptor().getMessageTypes().get(35);
+      getDescriptor().getMessageTypes().get(36);
     internal_static_RootOrderIdRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RootOrderIdRequest_descriptor,
         new java.lang.String[] { "SessionId", "OrderId", });
     internal_static_RootOrderIdResponse_descriptor =
-      getDescriptor().getMessageTypes().get(36);
+      getDescriptor().getMessageTypes().get(37);
     internal_static_RootOrderIdResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_RootOrderIdResponse_descriptor,
         new java.lang.String[] { "OrderId", });
     internal_static_GetUserDataRequest_descriptor =
-      getDescriptor().getMessageTypes().get(37);
+      getDescriptor().getMessageTypes().get(38);
     internal_static_GetUserDataRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_GetUserDataRequest_descriptor,
         new java.lang.String[] { "SessionId", });
     internal_static_GetUserDataResponse_descriptor =
-      getDescriptor().getMessageTypes().get(38);
+      getDescriptor().getMessageTypes().get(39);
     internal_static_GetUserDataResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_GetUserDataResponse_descriptor,
         new java.lang.String[] { "UserData", });
     internal_static_SetUserDataRequest_descriptor =
-      getDescriptor().getMessageTypes().get(39);
+      getDescriptor().getMessageTypes().get(40);
     internal_static_SetUserDataRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_SetUserDataRequest_descriptor,
         new java.lang.String[] { "SessionId", "UserData", });
     internal_static_SetUserDataResponse_descriptor =
-      getDescriptor().getMessageTypes().get(40);
+      getDescriptor().getMessageTypes().get(41);
     internal_static_SetUserDataResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_SetUserDataResponse_descriptor,
         new java.lang.String[] { });
     internal_static_AddReportRequest_descriptor =
-      getDescriptor().getMessageTypes().get(41);
+      getDescriptor().getMessageTypes().get(42);
     internal_static_AddReportRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_AddReportRequest_descriptor,
         new java.lang.String[] { "SessionId", "BrokerId", "Message", "Hierarchy", });
     internal_static_AddReportResponse_descriptor =
-      getDescriptor().getMessageTypes().get(42);
+      getDescriptor().getMessageTypes().get(43);
     internal_static_AddReportResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_AddReportResponse_descriptor,
         new java.lang.String[] { "Status", "Message", });
     internal_static_DeleteReportRequest_descriptor =
-      getDescriptor().getMessageTypes().get(43);
+      getDescriptor().getMessageTypes().get(44);
     internal_static_DeleteReportRequest_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_DeleteReportRequest_descriptor,
         new java.lang.String[] { "SessionId", "Message", });
     internal_static_DeleteReportResponse_descriptor =
-      getDescriptor().getMessageTypes().get(44);
+      getDescriptor().getMessageTypes().get(45);
     internal_static_DeleteReportResponse_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_DeleteReportResponse_descriptor,
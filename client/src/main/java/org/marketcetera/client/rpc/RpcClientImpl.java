@@ -32,6 +32,7 @@ import org.marketcetera.client.ConnectionException;
 import org.marketcetera.client.Messages;
 import org.marketcetera.client.brokers.BrokerStatus;
 import org.marketcetera.client.brokers.BrokersStatus;
+import org.marketcetera.client.jms.JmsMessageFormat;
 import org.marketcetera.client.rpc.RpcClient.BrokersStatusRequest;
 import org.marketcetera.client.rpc.RpcClient.BrokersStatusResponse;
 import org.marketcetera.client.rpc.RpcClient.Locale;
@@ -58,6 +59,7 @@ import org.marketcetera.trade.FIXMessageWrapper;
 import org.marketcetera.trade.Future;
 import org.marketcetera.trade.Hierarchy;
 import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.MessageCreationException;
 import org.marketcetera.trade.Option;
 import org.marketcetera.trade.OrderID;
 import org.marketcetera.trade.ReportBase;
@@ -81,6 +83,8 @@ import com.googlecode.protobuf.pro.duplex.execute.RpcServerCallExecutor;
 import com.googlecode.protobuf.pro.duplex.execute.ThreadPoolCallExecutor;
 import com.googlecode.protobuf.pro.duplex.logging.CategoryPerServiceLogger;
 
+import quickfix.InvalidMessage;
+
 /* $License$ */
 
 /**
@@ -432,17 +436,12 @@ public class RpcClientImpl
         try {
             ReportsSinceResponse response = clientService.getReportsSince(controller,
                                                                           request);
-            List<ReportBase> reports = Lists.newArrayList();
-            for(String report : response.getReports().getReportsList()) {
-                synchronized(contextLock) {
-                    reports.add((ReportBase)getUnmarshaller().unmarshal(new StringReader(report)));
-                }
-            }
+            List<ReportBaseImpl> reports = getReports(response.getReports());
             SLF4JLoggerProxy.debug(this,
                                    "Retrieved reports: {}",
                                    reports);
             return reports.toArray(new ReportBase[reports.size()]);
-        } catch (ServiceException | JAXBException e) {
+        } catch (ServiceException e) {
             throw new ConnectionException(e,
                                           Messages.ERROR_REMOTE_EXECUTION);
         }
@@ -460,17 +459,12 @@ public class RpcClientImpl
         try {
             OpenOrdersResponse response = clientService.getOpenOrders(controller,
                                                                       request);
-            List<ReportBaseImpl> reports = Lists.newArrayList();
-            for(String report : response.getReports().getReportsList()) {
-                synchronized(contextLock) {
-                    reports.add((ReportBaseImpl)getUnmarshaller().unmarshal(new StringReader(report)));
-                }
-            }
+            List<ReportBaseImpl> reports = getReports(response.getReports());
             SLF4JLoggerProxy.debug(this,
                                    "Retrieved open orders: {}",
                                    reports);
             return reports;
-        } catch (ServiceException | JAXBException e) {
+        } catch (ServiceException e) {
             throw new ConnectionException(e,
                                           Messages.ERROR_REMOTE_EXECUTION);
         }
@@ -676,6 +670,14 @@ public class RpcClientImpl
             super.startJms();
         }
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.client.ClientImpl#negotiateMessageFormat()
+     */
+    @Override
+    protected JmsMessageFormat negotiateMessageFormat()
+    {
+        return JmsMessageFormat.XML;
+    }
     /**
      * Indicates if the client should active JMS or not.
      *
@@ -867,6 +869,39 @@ public class RpcClientImpl
                                           Messages.ERROR_REMOTE_EXECUTION);
         }
     }
+    /**
+     * Decodes the reports in the given report list.
+     *
+     * <p>Reports sent in their native form are decoded without taking the JAXB context lock.
+     * Reports sent as XML by servers that do not provide the native form are unmarshalled
+     * as before.
+     *
+     * @param inReportList a <code>RpcClient.ReportList</code> value
+     * @return a <code>List&lt;ReportBaseImpl&gt;</code> value
+     * @throws ConnectionException if a report cannot be decoded
+     */
+    private List<ReportBaseImpl> getReports(RpcClient.ReportList inReportList)
+            throws ConnectionException
+    {
+        List<ReportBaseImpl> reports = Lists.newArrayListWithCapacity(inReportList.getTradeReportsCount() + inReportList.getReportsCount());
+        try {
+            for(RpcClient.TradeReport tradeReport : inReportList.getTradeReportsList()) {
+                reports.add(TradeReportConverter.fromTradeReport(tradeReport));
+            }
+            if(inReportList.getReportsCount() > 0) {
+                synchronized(contextLock) {
+                    Unmarshaller unmarshaller = getUnmarshaller();
+                    for(String report : inReportList.getReportsList()) {
+                        reports.add((ReportBaseImpl)unmarshaller.unmarshal(new StringReader(report)));
+                    }
+                }
+            }
+        } catch (InvalidMessage | MessageCreationException | JAXBException e) {
+            throw new ConnectionException(e,
+                                          Messages.ERROR_REMOTE_EXECUTION);
+        }
+        return reports;
+    }
     /**
      * Gets the list of context classes to use with the JAXB context.
      *
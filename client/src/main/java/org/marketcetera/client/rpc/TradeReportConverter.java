@@ -0,0 +1,126 @@
+package org.marketcetera.client.rpc;
+
+import org.marketcetera.event.HasFIXMessage;
+import org.marketcetera.trade.BrokerID;
+import org.marketcetera.trade.ExecutionReport;
+import org.marketcetera.trade.Factory;
+import org.marketcetera.trade.Hierarchy;
+import org.marketcetera.trade.MessageCreationException;
+import org.marketcetera.trade.OrderCancelReject;
+import org.marketcetera.trade.Originator;
+import org.marketcetera.trade.ReportBase;
+import org.marketcetera.trade.ReportBaseImpl;
+import org.marketcetera.trade.ReportID;
+import org.marketcetera.trade.UserID;
+import org.marketcetera.util.misc.ClassVersion;
+
+import quickfix.InvalidMessage;
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Converts trade reports to and from their native RPC representation.
+ *
+ * <p>Reports are carried as the raw FIX message plus the report attributes that are not part of
+ * the message. Unlike the XML representation, decoding does not require a shared JAXB context,
+ * so any number of reports may be decoded concurrently.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public final class TradeReportConverter
+{
+    /**
+     * Creates the RPC representation of the given report.
+     *
+     * @param inReport a <code>ReportBase</code> value
+     * @return a <code>RpcClient.TradeReport</code> value
+     * @throws IllegalArgumentException if the report is neither an execution report nor an order cancel reject or has no FIX message
+     */
+    public static RpcClient.TradeReport toTradeReport(ReportBase inReport)
+    {
+        if(!(inReport instanceof HasFIXMessage)) {
+            throw new IllegalArgumentException(String.valueOf(inReport));
+        }
+        RpcClient.TradeReport.Builder builder = RpcClient.TradeReport.newBuilder();
+        if(inReport instanceof ExecutionReport) {
+            builder.setReportType(RpcClient.ReportType.ExecutionReport);
+        } else if(inReport instanceof OrderCancelReject) {
+            builder.setReportType(RpcClient.ReportType.OrderCancelReject);
+        } else {
+            throw new IllegalArgumentException(String.valueOf(inReport));
+        }
+        builder.setMessage(((HasFIXMessage)inReport).getMessage().toString());
+        builder.setOriginator(RpcClient.Originator.valueOf(inReport.getOriginator().name()));
+        if(inReport.getBrokerID() != null) {
+            builder.setBrokerId(inReport.getBrokerID().getValue());
+        }
+        if(inReport.getHierarchy() != null) {
+            builder.setHierarchy(RpcClient.Hierarchy.valueOf(inReport.getHierarchy().name()));
+        }
+        if(inReport.getReportID() != null) {
+            builder.setReportId(inReport.getReportID().longValue());
+        }
+        if(inReport.getActorID() != null) {
+            builder.setActorId(inReport.getActorID().getValue());
+        }
+        if(inReport.getViewerID() != null) {
+            builder.setViewerId(inReport.getViewerID().getValue());
+        }
+        return builder.build();
+    }
+    /**
+     * Creates the report described by the given RPC representation.
+     *
+     * @param inTradeReport a <code>RpcClient.TradeReport</code> value
+     * @return a <code>ReportBaseImpl</code> value
+     * @throws InvalidMessage if the FIX message cannot be parsed
+     * @throws MessageCreationException if the FIX message does not match the report type
+     */
+    public static ReportBaseImpl fromTradeReport(RpcClient.TradeReport inTradeReport)
+            throws InvalidMessage, MessageCreationException
+    {
+        Message message = new Message(inTradeReport.getMessage());
+        BrokerID brokerId = inTradeReport.hasBrokerId() ? new BrokerID(inTradeReport.getBrokerId()) : null;
+        Originator originator = Originator.valueOf(inTradeReport.getOriginator().name());
+        Hierarchy hierarchy = inTradeReport.hasHierarchy() ? Hierarchy.valueOf(inTradeReport.getHierarchy().name()) : Hierarchy.Flat;
+        UserID actorId = inTradeReport.hasActorId() ? new UserID(inTradeReport.getActorId()) : null;
+        UserID viewerId = inTradeReport.hasViewerId() ? new UserID(inTradeReport.getViewerId()) : null;
+        ReportBase report;
+        switch(inTradeReport.getReportType()) {
+            case OrderCancelReject:
+                report = Factory.getInstance().createOrderCancelReject(message,
+                                                                       brokerId,
+                                                                       originator,
+                                                                       hierarchy,
+                                                                       actorId,
+                                                                       viewerId);
+                break;
+            case ExecutionReport:
+            default:
+                report = Factory.getInstance().createExecutionReport(message,
+                                                                     brokerId,
+                                                                     originator,
+                                                                     hierarchy,
+                                                                     actorId,
+                                                                     viewerId);
+                break;
+        }
+        ReportBaseImpl reportImpl = (ReportBaseImpl)report;
+        if(inTradeReport.hasReportId()) {
+            ReportBaseImpl.assignReportID(reportImpl,
+                                          new ReportID(inTradeReport.getReportId()));
+        }
+        return reportImpl;
+    }
+    /**
+     * Create a new TradeReportConverter instance.
+     */
+    private TradeReportConverter()
+    {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -7,6 +7,7 @@ import javax.jws.WebParam;
 
 import org.marketcetera.client.brokers.BrokerStatus;
 import org.marketcetera.client.brokers.BrokersStatus;
+import org.marketcetera.client.jms.JmsMessageFormat;
 import org.marketcetera.client.users.UserInfo;
 import org.marketcetera.core.position.PositionKey;
 import org.marketcetera.core.position.PositionKeyFactory;
@@ -528,4 +529,14 @@ public class MockServiceImpl
     {
         throw new UnsupportedOperationException(); // TODO
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.client.Service#getMessageFormats(org.marketcetera.util.ws.stateful.ClientContext)
+     */
+    @Override
+    public List<String> getMessageFormats(ClientContext inContext)
+            throws RemoteException
+    {
+        return Arrays.asList(JmsMessageFormat.XML.name(),
+                             JmsMessageFormat.BINARY.name());
+    }
 }
@@ -0,0 +1,240 @@
+package org.marketcetera.client.jms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.marketcetera.client.ClientTest;
+import org.marketcetera.client.brokers.BrokerStatus;
+import org.marketcetera.trade.BrokerID;
+import org.marketcetera.trade.Currency;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.FIXOrder;
+import org.marketcetera.trade.Future;
+import org.marketcetera.trade.FutureExpirationMonth;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.OptionType;
+import org.marketcetera.trade.OrderCancel;
+import org.marketcetera.trade.OrderReplace;
+import org.marketcetera.trade.OrderSingle;
+import org.marketcetera.trade.TypesTestBase;
+import org.marketcetera.util.ws.tags.SessionId;
+
+/* $License$ */
+
+/**
+ * Tests {@link JMSBinaryMessageConverter}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class JMSBinaryMessageConverterTest
+{
+    /**
+     * Run once before all tests.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @BeforeClass
+    public static void once()
+            throws Exception
+    {
+        xmlConverter = new JMSXMLMessageConverter();
+        converter = new JMSBinaryMessageConverter(xmlConverter);
+    }
+    /**
+     * Tests that single orders survive a round trip.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testOrderSingle()
+            throws Exception
+    {
+        for(Instrument instrument : instruments) {
+            OrderSingle order = ClientTest.createOrderSingle();
+            order.setInstrument(instrument);
+            order.setCustomFields(generateCustomFields());
+            OrderEnvelope envelope = roundTrip(new OrderEnvelope(order,
+                                                                 SESSION_ID));
+            assertEquals(SESSION_ID,
+                         envelope.getSessionId());
+            TypesTestBase.assertOrderSingleEquals(order,
+                                                  (OrderSingle)envelope.getOrder());
+        }
+    }
+    /**
+     * Tests that cancel orders survive a round trip.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testOrderCancel()
+            throws Exception
+    {
+        for(Instrument instrument : instruments) {
+            OrderCancel order = ClientTest.createOrderCancel();
+            order.setInstrument(instrument);
+            order.setCustomFields(generateCustomFields());
+            OrderEnvelope envelope = roundTrip(new OrderEnvelope(order,
+                                                                 SESSION_ID));
+            assertEquals(SESSION_ID,
+                         envelope.getSessionId());
+            TypesTestBase.assertOrderCancelEquals(order,
+                                                  (OrderCancel)envelope.getOrder());
+        }
+    }
+    /**
+     * Tests that replace orders survive a round trip.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testOrderReplace()
+            throws Exception
+    {
+        for(Instrument instrument : instruments) {
+            OrderReplace order = ClientTest.createOrderReplace();
+            order.setInstrument(instrument);
+            order.setCustomFields(generateCustomFields());
+            OrderEnvelope envelope = roundTrip(new OrderEnvelope(order,
+                                                                 SESSION_ID));
+            assertEquals(SESSION_ID,
+                         envelope.getSessionId());
+            TypesTestBase.assertOrderReplaceEquals(order,
+                                                   (OrderReplace)envelope.getOrder());
+        }
+    }
+    /**
+     * Tests that FIX orders survive a round trip.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testFIXOrder()
+            throws Exception
+    {
+        FIXOrder order = ClientTest.createOrderFIX();
+        OrderEnvelope envelope = roundTrip(new OrderEnvelope(order,
+                                                             SESSION_ID));
+        assertEquals(SESSION_ID,
+                     envelope.getSessionId());
+        TypesTestBase.assertOrderFIXEquals(order,
+                                           (FIXOrder)envelope.getOrder());
+    }
+    /**
+     * Tests that a FIX message survives a round trip.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testFIXMessage()
+            throws Exception
+    {
+        quickfix.Message message = ClientTest.createOrderFIX().getMessage();
+        ActiveMQBytesMessage jmsMessage = new ActiveMQBytesMessage();
+        jmsMessage.writeBytes(converter.toBytes(message));
+        jmsMessage.reset();
+        assertEquals(message.toString(),
+                     converter.fromMessage(jmsMessage).toString());
+    }
+    /**
+     * Tests that messages without the binary header are passed to the fallback converter.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testFallback()
+            throws Exception
+    {
+        OrderSingle order = ClientTest.createOrderSingle();
+        ActiveMQTextMessage xmlMessage = new ActiveMQTextMessage();
+        xmlMessage.setText(xmlConverter.toXML(new OrderEnvelope(order,
+                                                                SESSION_ID)));
+        TypesTestBase.assertOrderSingleEquals(order,
+                                              (OrderSingle)((OrderEnvelope)converter.fromMessage(xmlMessage)).getOrder());
+        quickfix.Message message = ClientTest.createOrderFIX().getMessage();
+        ActiveMQBytesMessage textBytesMessage = new ActiveMQBytesMessage();
+        textBytesMessage.writeBytes(message.toString().getBytes(JMSFIXMessageConverter.BYTES_MESSAGE_CHARSET));
+        textBytesMessage.reset();
+        assertEquals(message.toString(),
+                     new JMSBinaryMessageConverter(new JMSFIXMessageConverter()).fromMessage(textBytesMessage).toString());
+        assertNull(converter.toBytes(new BrokerStatus("me",
+                                                      new BrokerID("broker"),
+                                                      false)));
+    }
+    /**
+     * Tests that the binary representation of an order is smaller than its XML representation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testSize()
+            throws Exception
+    {
+        OrderEnvelope envelope = new OrderEnvelope(ClientTest.createOrderSingle(),
+                                                   SESSION_ID);
+        int binarySize = converter.toBytes(envelope).length;
+        int xmlSize = xmlConverter.toXML(envelope).getBytes("UTF-8").length;
+        assertTrue(binarySize + " >= " + xmlSize,
+                   binarySize < xmlSize);
+    }
+    /**
+     * Encodes and decodes the given envelope.
+     *
+     * @param inEnvelope an <code>OrderEnvelope</code> value
+     * @return an <code>OrderEnvelope</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    private static OrderEnvelope roundTrip(OrderEnvelope inEnvelope)
+            throws Exception
+    {
+        ActiveMQBytesMessage jmsMessage = new ActiveMQBytesMessage();
+        jmsMessage.writeBytes(converter.toBytes(inEnvelope));
+        jmsMessage.reset();
+        return (OrderEnvelope)converter.fromMessage(jmsMessage);
+    }
+    /**
+     * Generates custom fields for test orders.
+     *
+     * @return a <code>Map&lt;String,String&gt;</code> value
+     */
+    private static Map<String,String> generateCustomFields()
+    {
+        Map<String,String> value = new HashMap<>();
+        value.put("key1",
+                  "value1");
+        value.put("key2",
+                  "value2");
+        return value;
+    }
+    /**
+     * instruments used for test orders
+     */
+    private static final Instrument[] instruments = new Instrument[] { new Equity("sym"),
+                                                                       new Option("sym","20101010",BigDecimal.TEN,OptionType.Call),
+                                                                       new Future("rama",FutureExpirationMonth.AUGUST,2010),
+                                                                       new Currency("USD","GBP","","") };
+    /**
+     * test session ID
+     */
+    private static final SessionId SESSION_ID = SessionId.generate();
+    /**
+     * XML converter used as the fallback
+     */
+    private static JMSXMLMessageConverter xmlConverter;
+    /**
+     * converter under test
+     */
+    private static JMSBinaryMessageConverter converter;
+}
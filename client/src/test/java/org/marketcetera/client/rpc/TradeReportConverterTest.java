@@ -0,0 +1,130 @@
+package org.marketcetera.client.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.marketcetera.event.HasFIXMessage;
+import org.marketcetera.trade.BrokerID;
+import org.marketcetera.trade.ExecutionReport;
+import org.marketcetera.trade.Factory;
+import org.marketcetera.trade.Hierarchy;
+import org.marketcetera.trade.OrderCancelReject;
+import org.marketcetera.trade.Originator;
+import org.marketcetera.trade.ReportBase;
+import org.marketcetera.trade.ReportBaseImpl;
+import org.marketcetera.trade.ReportID;
+import org.marketcetera.trade.UserID;
+
+import quickfix.field.ClOrdID;
+import quickfix.field.OrigClOrdID;
+
+/* $License$ */
+
+/**
+ * Tests {@link TradeReportConverter}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class TradeReportConverterTest
+{
+    /**
+     * Tests that an execution report survives a round trip through its RPC representation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testExecutionReport()
+            throws Exception
+    {
+        quickfix.fix44.ExecutionReport message = new quickfix.fix44.ExecutionReport();
+        message.set(new ClOrdID("42"));
+        message.set(new OrigClOrdID("41"));
+        ReportBase report = Factory.getInstance().createExecutionReport(message,
+                                                                        brokerId,
+                                                                        Originator.Broker,
+                                                                        Hierarchy.Child,
+                                                                        new UserID(1),
+                                                                        new UserID(2));
+        ReportBaseImpl.assignReportID((ReportBaseImpl)report,
+                                      new ReportID(1234));
+        RpcClient.TradeReport tradeReport = TradeReportConverter.toTradeReport(report);
+        assertEquals(RpcClient.ReportType.ExecutionReport,
+                     tradeReport.getReportType());
+        verifyReport(report,
+                     TradeReportConverter.fromTradeReport(RpcClient.TradeReport.parseFrom(tradeReport.toByteArray())));
+    }
+    /**
+     * Tests that an order cancel reject without optional attributes survives a round trip through its RPC representation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testOrderCancelReject()
+            throws Exception
+    {
+        quickfix.fix44.OrderCancelReject message = new quickfix.fix44.OrderCancelReject();
+        message.set(new ClOrdID("43"));
+        message.set(new OrigClOrdID("42"));
+        ReportBase report = Factory.getInstance().createOrderCancelReject(message,
+                                                                          null,
+                                                                          Originator.Server,
+                                                                          null,
+                                                                          null);
+        RpcClient.TradeReport tradeReport = TradeReportConverter.toTradeReport(report);
+        assertEquals(RpcClient.ReportType.OrderCancelReject,
+                     tradeReport.getReportType());
+        assertFalse(tradeReport.hasBrokerId());
+        assertFalse(tradeReport.hasReportId());
+        assertFalse(tradeReport.hasActorId());
+        assertFalse(tradeReport.hasViewerId());
+        ReportBase actualReport = TradeReportConverter.fromTradeReport(RpcClient.TradeReport.parseFrom(tradeReport.toByteArray()));
+        verifyReport(report,
+                     actualReport);
+        assertNull(actualReport.getBrokerID());
+        assertNull(actualReport.getReportID());
+    }
+    /**
+     * Verifies that the given actual report matches the given expected report.
+     *
+     * @param inExpectedReport a <code>ReportBase</code> value
+     * @param inActualReport a <code>ReportBase</code> value
+     */
+    private void verifyReport(ReportBase inExpectedReport,
+                              ReportBase inActualReport)
+    {
+        assertEquals(inExpectedReport.getClass(),
+                     inActualReport.getClass());
+        if(inExpectedReport instanceof ExecutionReport) {
+            assertTrue(inActualReport instanceof ExecutionReport);
+        } else {
+            assertTrue(inActualReport instanceof OrderCancelReject);
+        }
+        assertEquals(((HasFIXMessage)inExpectedReport).getMessage().toString(),
+                     ((HasFIXMessage)inActualReport).getMessage().toString());
+        assertEquals(inExpectedReport.getOrderID(),
+                     inActualReport.getOrderID());
+        assertEquals(inExpectedReport.getOriginalOrderID(),
+                     inActualReport.getOriginalOrderID());
+        assertEquals(inExpectedReport.getBrokerID(),
+                     inActualReport.getBrokerID());
+        assertEquals(inExpectedReport.getOriginator(),
+                     inActualReport.getOriginator());
+        assertEquals(inExpectedReport.getHierarchy(),
+                     inActualReport.getHierarchy());
+        assertEquals(inExpectedReport.getReportID(),
+                     inActualReport.getReportID());
+        assertEquals(inExpectedReport.getActorID(),
+                     inActualReport.getActorID());
+        assertEquals(inExpectedReport.getViewerID(),
+                     inActualReport.getViewerID());
+    }
+    /**
+     * test broker ID
+     */
+    private final BrokerID brokerId = new BrokerID("test");
+}
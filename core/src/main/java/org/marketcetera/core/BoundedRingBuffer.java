@@ -0,0 +1,194 @@
+package org.marketcetera.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang.Validate;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Provides a bounded, lock-free, array-backed FIFO queue.
+ *
+ * <p>The buffer capacity is rounded up to the next power of two. Each slot carries a
+ * sequence number which allows producers and consumers to claim slots with a single
+ * compare-and-set and without any locks. The buffer is optimized for a single producer
+ * and a single consumer, but remains correct if several threads offer or poll concurrently.
+ *
+ * <p>The buffer does not accept <code>null</code> elements.
+ *
+ * @author agent@local
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ThreadSafe
+@ClassVersion("$Id$")
+public class BoundedRingBuffer<Clazz>
+{
+    /**
+     * Create a new BoundedRingBuffer instance.
+     *
+     * @param inCapacity an <code>int</code> value, rounded up to the next power of two
+     * @throws IllegalArgumentException if the given capacity is not positive
+     */
+    public BoundedRingBuffer(int inCapacity)
+    {
+        Validate.isTrue(inCapacity > 0);
+        int capacity = Integer.highestOneBit(inCapacity);
+        if(capacity < inCapacity) {
+            capacity <<= 1;
+        }
+        mask = capacity - 1;
+        elements = new AtomicReferenceArray<Clazz>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for(int i=0;i<capacity;i++) {
+            sequences.set(i,
+                          i);
+        }
+    }
+    /**
+     * Adds the given element to the tail of the buffer if space is available.
+     *
+     * @param inElement a <code>Clazz</code> value
+     * @return a <code>boolean</code> value indicating if the element was added, <code>false</code> if the buffer is full
+     * @throws NullPointerException if the given element is <code>null</code>
+     */
+    public boolean offer(Clazz inElement)
+    {
+        if(inElement == null) {
+            throw new NullPointerException();
+        }
+        long position = tail.get();
+        while(true) {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - position;
+            if(difference == 0) {
+                if(tail.compareAndSet(position,
+                                      position + 1)) {
+                    elements.lazySet(index,
+                                     inElement);
+                    sequences.lazySet(index,
+                                      position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if(difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+    /**
+     * Removes and returns the element at the head of the buffer.
+     *
+     * @return a <code>Clazz</code> value or <code>null</code> if the buffer is empty
+     */
+    public Clazz poll()
+    {
+        long position = head.get();
+        while(true) {
+            int index = (int)(position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if(difference == 0) {
+                if(head.compareAndSet(position,
+                                      position + 1)) {
+                    Clazz element = elements.get(index);
+                    elements.lazySet(index,
+                                     null);
+                    sequences.lazySet(index,
+                                      position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if(difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+    /**
+     * Indicates if the buffer is currently empty.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+    /**
+     * Gets the number of elements currently held in the buffer.
+     *
+     * <p>The value is a snapshot and may be stale by the time it is returned if other
+     * threads are modifying the buffer.
+     *
+     * @return an <code>int</code> value
+     */
+    public int size()
+    {
+        while(true) {
+            long before = head.get();
+            long currentTail = tail.get();
+            long after = head.get();
+            if(before == after) {
+                long size = currentTail - after;
+                if(size < 0) {
+                    return 0;
+                }
+                return (int)Math.min(size,
+                                     mask + 1);
+            }
+        }
+    }
+    /**
+     * Gets the capacity of the buffer.
+     *
+     * @return an <code>int</code> value
+     */
+    public int capacity()
+    {
+        return mask + 1;
+    }
+    /**
+     * Removes all elements from the buffer.
+     */
+    public void clear()
+    {
+        while(poll() != null);
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("BoundedRingBuffer [size=").append(size()).append(", capacity=").append(capacity()).append(']');
+        return builder.toString();
+    }
+    /**
+     * mask used to translate a position into a slot index
+     */
+    private final int mask;
+    /**
+     * holds the buffered elements
+     */
+    private final AtomicReferenceArray<Clazz> elements;
+    /**
+     * holds the sequence number of each slot
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * position of the next element to be added
+     */
+    private final AtomicLong tail = new AtomicLong(0);
+    /**
+     * position of the next element to be removed
+     */
+    private final AtomicLong head = new AtomicLong(0);
+}
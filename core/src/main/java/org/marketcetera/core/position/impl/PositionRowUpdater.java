@@ -15,6 +15,7 @@ import org.marketcetera.core.position.MarketDataSupport.InstrumentMarketDataList
 import org.marketcetera.core.position.MarketDataSupport.InstrumentMarketDataListenerBase;
 import org.marketcetera.trade.Future;
 import org.marketcetera.trade.Option;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.ClassVersion;
 import org.marketcetera.util.misc.NamedThreadFactory;
 
@@ -26,6 +27,13 @@ import ca.odell.glazedlists.event.ListEventListener;
 
 /**
  * Responsible for updating a PositionRow when trade or market data events occur.
+ * <p>
+ * If the {@value #SCALED_CALCULATOR_KEY} system property is <code>true</code>,
+ * the metrics are computed with a {@link ScaledPositionMetricsCalculator}, whose
+ * scales are given by the {@value #QUANTITY_SCALE_KEY} and
+ * {@value #PRICE_SCALE_KEY} system properties. If a position has values that the
+ * scaled calculator cannot represent, its metrics are computed with a
+ * {@link PositionMetricsCalculatorImpl} from then on.
  * 
  * @author <a href="mailto:will@marketcetera.com">Will Horn</a>
  * @version $Id$
@@ -34,6 +42,26 @@ import ca.odell.glazedlists.event.ListEventListener;
 @ClassVersion("$Id$")
 public final class PositionRowUpdater {
 
+    /**
+     * The name of the system property which, set to <code>true</code>, selects the
+     * {@link ScaledPositionMetricsCalculator}.
+     */
+    public static final String SCALED_CALCULATOR_KEY = "scaledPositionCalculator"; //$NON-NLS-1$
+    /**
+     * The name of the system property holding the number of decimal places of quantities
+     * for the {@link ScaledPositionMetricsCalculator}.
+     */
+    public static final String QUANTITY_SCALE_KEY = "scaledPositionCalculator.quantityScale"; //$NON-NLS-1$
+    /**
+     * The name of the system property holding the number of decimal places of prices
+     * for the {@link ScaledPositionMetricsCalculator}.
+     */
+    public static final String PRICE_SCALE_KEY = "scaledPositionCalculator.priceScale"; //$NON-NLS-1$
+    private static final boolean sScaledCalculator = Boolean.getBoolean(SCALED_CALCULATOR_KEY);
+    private static final int sQuantityScale = Integer.getInteger(QUANTITY_SCALE_KEY,
+            ScaledPositionMetricsCalculator.DEFAULT_QUANTITY_SCALE);
+    private static final int sPriceScale = Integer.getInteger(PRICE_SCALE_KEY,
+            ScaledPositionMetricsCalculator.DEFAULT_PRICE_SCALE);
     private final ListEventListener<Trade<?>> mListChangeListener;
     private EventList<Trade<?>> mTrades;
     private final PositionRowImpl mPositionRow;
@@ -48,6 +76,7 @@ public final class PositionRowUpdater {
     private volatile BigDecimal mClosePrice;
     private volatile BigDecimal mMultiplier;
     private volatile BigDecimal mLastTradePrice;
+    private volatile boolean mUseScaledCalculator = sScaledCalculator;
 
     /**
      * Returns the PositionRow being managed by this class.
@@ -157,8 +186,13 @@ public final class PositionRowUpdater {
                 public void run() {
                     mTickPending.set(false);
                     if (mCalculator != null) {
-                        mPositionRow.setPositionMetrics(mCalculator
-                                .tick(mLastTradePrice));
+                        PositionMetrics metrics;
+                        try {
+                            metrics = mCalculator.tick(mLastTradePrice);
+                        } catch (ArithmeticException e) {
+                            metrics = recalculateUnscaled(e);
+                        }
+                        mPositionRow.setPositionMetrics(metrics);
                     }
                 }
             });
@@ -232,7 +266,13 @@ public final class PositionRowUpdater {
             final int changeType = listChanges.getType();
             if (changeType == ListEvent.INSERT && mTrades.size() == changeIndex + 1) {
                 Trade<?> trade = mTrades.get(changeIndex);
-                mPositionRow.setPositionMetrics(mCalculator.trade(trade));
+                PositionMetrics metrics;
+                try {
+                    metrics = mCalculator.trade(trade);
+                } catch (ArithmeticException e) {
+                    metrics = recalculateUnscaled(e);
+                }
+                mPositionRow.setPositionMetrics(metrics);
             } else {
                 mPositionRow.setPositionMetrics(recalculate());
             }
@@ -240,9 +280,45 @@ public final class PositionRowUpdater {
     }
 
     private PositionMetrics recalculate() {
-        PositionMetricsCalculatorImpl calculator = new PositionMetricsCalculatorImpl(
-                mPositionRow.getPositionMetrics().getIncomingPosition(),
-                mClosePrice);
+        try {
+            return doRecalculate();
+        } catch (ArithmeticException e) {
+            return recalculateUnscaled(e);
+        }
+    }
+
+    /**
+     * Recalculates the metrics after the scaled calculator failed, and uses the
+     * unscaled calculator from then on.
+     * 
+     * @param cause
+     *            the failure of the scaled calculator
+     * @return the recalculated metrics
+     * @throws ArithmeticException
+     *             if the unscaled calculator was in use
+     */
+    private PositionMetrics recalculateUnscaled(ArithmeticException cause) {
+        if (!mUseScaledCalculator) {
+            throw cause;
+        }
+        SLF4JLoggerProxy.debug(this, cause,
+                "Recalculating {} with the unscaled calculator", //$NON-NLS-1$
+                mPositionRow.getInstrument());
+        mUseScaledCalculator = false;
+        return doRecalculate();
+    }
+
+    private PositionMetrics doRecalculate() {
+        PositionMetricsCalculator calculator;
+        if (mUseScaledCalculator) {
+            calculator = new ScaledPositionMetricsCalculator(
+                    mPositionRow.getPositionMetrics().getIncomingPosition(),
+                    mClosePrice, sQuantityScale, sPriceScale);
+        } else {
+            calculator = new PositionMetricsCalculatorImpl(
+                    mPositionRow.getPositionMetrics().getIncomingPosition(),
+                    mClosePrice);
+        }
         // TODO: instrument specific functionality should be abstracted
         if (mPositionRow.getInstrument() instanceof Option) {
             mCalculator = new MultiplierCalculator(calculator, mMultiplier);
@@ -0,0 +1,324 @@
+package org.marketcetera.core.position.impl;
+
+import java.math.BigDecimal;
+
+import org.apache.commons.lang.Validate;
+import org.marketcetera.core.position.PositionMetrics;
+import org.marketcetera.core.position.Trade;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * An implementation of {@link PositionMetricsCalculator} that does its arithmetic on
+ * <code>long</code> values with a fixed number of decimal places.
+ * <p>
+ * Quantities are held with {@link #getQuantityScale() quantity scale} decimal places
+ * and prices with {@link #getPriceScale() price scale} decimal places, so costs and
+ * P&L values have the sum of the two. The open lots are kept in arrays used as a
+ * FIFO queue. The metrics are the same as the ones computed by
+ * {@link PositionMetricsCalculatorImpl} for the same sequence of invocations, but
+ * only the returned metrics are allocated.
+ * <p>
+ * A value that has more decimal places than the scale allows, or a computation that
+ * overflows a <code>long</code>, causes an {@link ArithmeticException}. The state of
+ * the calculator is undefined after that and the caller should compute the metrics
+ * with {@link PositionMetricsCalculatorImpl} instead.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public final class ScaledPositionMetricsCalculator implements PositionMetricsCalculator {
+
+    /**
+     * The default number of decimal places of quantities.
+     */
+    public static final int DEFAULT_QUANTITY_SCALE = 2;
+    /**
+     * The default number of decimal places of prices.
+     */
+    public static final int DEFAULT_PRICE_SCALE = 4;
+    private static final int INITIAL_LOTS = 8;
+
+    private final BigDecimal mIncomingPosition;
+    private final int mQuantityScale;
+    private final int mPriceScale;
+    private final int mCostScale;
+    private final boolean mClosingPriceAvailable;
+    private final CostElement mPositionCost = new CostElement();
+    private final CostElement mTradingCost = new CostElement();
+    private final CostElement mUnrealizedCost = new CostElement();
+    private long[] mLotQuantities = new long[INITIAL_LOTS];
+    private long[] mLotPrices = new long[INITIAL_LOTS];
+    private int mFirstLot;
+    private int mLots;
+    private boolean mLastTradePriceAvailable;
+    private long mLastTradePrice;
+    private long mPosition;
+    private long mRealizedPL;
+
+    /**
+     * Constructor using the default scales.
+     *
+     * @param incomingPosition
+     *            the incoming position that will be used to calculate position PL
+     * @param closingPrice
+     *            the closing price that will be used to calculate position PL
+     * @throws IllegalArgumentException
+     *             if incomingPosition is null
+     * @throws ArithmeticException
+     *             if incomingPosition or closingPrice cannot be represented with the default scales
+     */
+    public ScaledPositionMetricsCalculator(BigDecimal incomingPosition, BigDecimal closingPrice) {
+        this(incomingPosition, closingPrice, DEFAULT_QUANTITY_SCALE, DEFAULT_PRICE_SCALE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param incomingPosition
+     *            the incoming position that will be used to calculate position PL
+     * @param closingPrice
+     *            the closing price that will be used to calculate position PL
+     * @param quantityScale
+     *            the number of decimal places of quantities
+     * @param priceScale
+     *            the number of decimal places of prices
+     * @throws IllegalArgumentException
+     *             if incomingPosition is null or a scale is negative
+     * @throws ArithmeticException
+     *             if incomingPosition or closingPrice cannot be represented with the given scales
+     */
+    public ScaledPositionMetricsCalculator(BigDecimal incomingPosition, BigDecimal closingPrice,
+            int quantityScale, int priceScale) {
+        Validate.notNull(incomingPosition);
+        Validate.isTrue(quantityScale >= 0 && priceScale >= 0);
+        mIncomingPosition = incomingPosition;
+        mQuantityScale = quantityScale;
+        mPriceScale = priceScale;
+        mCostScale = quantityScale + priceScale;
+        mPosition = toScaled(incomingPosition, quantityScale);
+        mClosingPriceAvailable = closingPrice != null;
+        if (mClosingPriceAvailable) {
+            long price = toScaled(closingPrice, priceScale);
+            mPositionCost.add(mPosition, price);
+            mUnrealizedCost.add(mPosition, price);
+            addLot(mPosition, price);
+        }
+    }
+
+    /**
+     * Returns the number of decimal places of quantities.
+     *
+     * @return the quantity scale
+     */
+    public int getQuantityScale() {
+        return mQuantityScale;
+    }
+
+    /**
+     * Returns the number of decimal places of prices.
+     *
+     * @return the price scale
+     */
+    public int getPriceScale() {
+        return mPriceScale;
+    }
+
+    @Override
+    public synchronized PositionMetrics tick(final BigDecimal tradePrice) {
+        if (tradePrice == null) {
+            mLastTradePriceAvailable = false;
+        } else {
+            mLastTradePrice = toScaled(tradePrice, mPriceScale);
+            mLastTradePriceAvailable = true;
+        }
+        return createPositionMetrics();
+    }
+
+    @Override
+    public synchronized PositionMetrics trade(final Trade<?> trade) {
+        processTrade(toScaled(trade.getQuantity(), mQuantityScale),
+                toScaled(trade.getPrice(), mPriceScale));
+        return createPositionMetrics();
+    }
+
+    /**
+     * Processes a trade, closing existing positions and creating new ones as necessary.
+     *
+     * @param quantity
+     *            the scaled quantity of the trade, positive for a buy and negative for a sell
+     * @param price
+     *            the scaled price of the trade
+     */
+    private void processTrade(final long quantity, final long price) {
+        mPosition = add(mPosition, quantity);
+        // only bother with PNL if the closing price is available
+        if (mClosingPriceAvailable) {
+            mTradingCost.add(quantity, price);
+            // determine the sides, +1 for long and -1 for short
+            int holdingSide = Long.signum(mUnrealizedCost.quantity);
+            int tradingSide = Long.signum(quantity);
+            long remaining = quantity;
+            // if sides are different
+            if (tradingSide * holdingSide == -1) {
+                // close positions, oldest first
+                while (mLots > 0) {
+                    long openQuantity = mLotQuantities[mFirstLot];
+                    long openPrice = mLotPrices[mFirstLot];
+                    long leftover = add(openQuantity, remaining);
+                    int leftoverSide = Long.signum(leftover);
+                    if (leftoverSide == holdingSide) {
+                        // the trade only partially closed this position
+                        processClose(remaining, openPrice, price);
+                        mLotQuantities[mFirstLot] = leftover;
+                        return;
+                    } else {
+                        // the trade completely closed this position
+                        processClose(negate(openQuantity), openPrice, price);
+                        removeFirstLot();
+                        remaining = leftover;
+                        if (leftoverSide == 0) {
+                            return;
+                        }
+                    }
+                }
+            }
+            // if non-zero remaining quantity
+            if (remaining != 0) {
+                // create new position
+                addLot(remaining, price);
+                mUnrealizedCost.add(remaining, price);
+            }
+        }
+    }
+
+    /**
+     * Processes a position close, updating realized P&L and the unrealized cost.
+     *
+     * @param quantity
+     *            the scaled quantity being closed, negative when closing a long position and
+     *            positive when closing a short position
+     * @param openPrice
+     *            the scaled price at which the position was opened
+     * @param closePrice
+     *            the scaled price at which the position is closing
+     */
+    private void processClose(final long quantity, final long openPrice, final long closePrice) {
+        mRealizedPL = add(mRealizedPL, multiply(quantity, subtract(openPrice, closePrice)));
+        mUnrealizedCost.add(quantity, openPrice);
+    }
+
+    private PositionMetrics createPositionMetrics() {
+        BigDecimal unrealizedPL = null;
+        BigDecimal realizedPL = null;
+        BigDecimal tradingPL = null;
+        BigDecimal positionPL = null;
+        BigDecimal totalPL = null;
+        if (mClosingPriceAvailable) {
+            realizedPL = BigDecimal.valueOf(mRealizedPL, mCostScale);
+            if (mLastTradePriceAvailable) {
+                long unrealized = mUnrealizedCost.getPL(mLastTradePrice);
+                positionPL = BigDecimal.valueOf(mPositionCost.getPL(mLastTradePrice), mCostScale);
+                unrealizedPL = BigDecimal.valueOf(unrealized, mCostScale);
+                tradingPL = BigDecimal.valueOf(mTradingCost.getPL(mLastTradePrice), mCostScale);
+                totalPL = BigDecimal.valueOf(add(mRealizedPL, unrealized), mCostScale);
+            }
+        }
+        return new PositionMetricsImpl(mIncomingPosition, BigDecimal.valueOf(mPosition,
+                mQuantityScale), positionPL, tradingPL, realizedPL, unrealizedPL, totalPL);
+    }
+
+    private void addLot(long quantity, long price) {
+        if (mLots == mLotQuantities.length) {
+            long[] quantities = new long[mLots * 2];
+            long[] prices = new long[mLots * 2];
+            for (int i = 0; i < mLots; i++) {
+                int lot = (mFirstLot + i) % mLotQuantities.length;
+                quantities[i] = mLotQuantities[lot];
+                prices[i] = mLotPrices[lot];
+            }
+            mLotQuantities = quantities;
+            mLotPrices = prices;
+            mFirstLot = 0;
+        }
+        int lot = (mFirstLot + mLots) % mLotQuantities.length;
+        mLotQuantities[lot] = quantity;
+        mLotPrices[lot] = price;
+        mLots++;
+    }
+
+    private void removeFirstLot() {
+        mFirstLot = (mFirstLot + 1) % mLotQuantities.length;
+        mLots--;
+    }
+
+    /**
+     * Converts the given value to a <code>long</code> with the given number of decimal places.
+     *
+     * @param value
+     *            the value to convert
+     * @param scale
+     *            the number of decimal places
+     * @return the unscaled value
+     * @throws ArithmeticException
+     *             if the value has more decimal places or does not fit in a <code>long</code>
+     */
+    static long toScaled(BigDecimal value, int scale) {
+        BigDecimal scaled = value.setScale(scale);
+        if (scaled.unscaledValue().bitLength() > 63) {
+            throw new ArithmeticException(value.toPlainString());
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    private static long add(long a, long b) {
+        long result = a + b;
+        if (((a ^ result) & (b ^ result)) < 0) {
+            throw new ArithmeticException("long overflow"); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    private static long subtract(long a, long b) {
+        long result = a - b;
+        if (((a ^ b) & (a ^ result)) < 0) {
+            throw new ArithmeticException("long overflow"); //$NON-NLS-1$
+        }
+        return result;
+    }
+
+    private static long negate(long a) {
+        if (a == Long.MIN_VALUE) {
+            throw new ArithmeticException("long overflow"); //$NON-NLS-1$
+        }
+        return -a;
+    }
+
+    private static long multiply(long a, long b) {
+        long result = a * b;
+        if (((Math.abs(a) | Math.abs(b)) >>> 31) != 0) {
+            if ((b != 0 && result / b != a) || (a == Long.MIN_VALUE && b == -1)) {
+                throw new ArithmeticException("long overflow"); //$NON-NLS-1$
+            }
+        }
+        return result;
+    }
+
+    private static class CostElement {
+        private long quantity;
+        private long cost;
+
+        public void add(long quantity, long price) {
+            this.quantity = ScaledPositionMetricsCalculator.add(this.quantity, quantity);
+            cost = ScaledPositionMetricsCalculator.add(cost, multiply(quantity, price));
+        }
+
+        public long getPL(long lastTradePrice) {
+            return subtract(multiply(quantity, lastTradePrice), cost);
+        }
+    }
+
+}
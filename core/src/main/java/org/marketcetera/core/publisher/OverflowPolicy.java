@@ -0,0 +1,29 @@
+package org.marketcetera.core.publisher;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Determines what an ordered {@link PublisherEngine} does when a subscriber's mailbox is full.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum OverflowPolicy
+{
+    /**
+     * the publishing thread waits until the mailbox has room
+     */
+    BLOCK,
+    /**
+     * the event being published is discarded for that subscriber
+     */
+    DROP_NEWEST,
+    /**
+     * the oldest undelivered event in the mailbox is discarded to make room
+     */
+    DROP_OLDEST
+}
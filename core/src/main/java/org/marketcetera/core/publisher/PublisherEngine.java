@@ -1,12 +1,22 @@
 package org.marketcetera.core.publisher;
 
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.lang.Validate;
 import org.marketcetera.core.ClassVersion;
+import org.marketcetera.metrics.MetricService;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.NamedThreadFactory;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
 /**
  * Publication engine which supplies the Publish side of the Publish/Subscribe contract.
  * 
@@ -35,10 +45,38 @@ public final class PublisherEngine
      * the pool of notifiers common to all <code>PublisherEngine</code> objects
      */
     private static final ExecutorService sNotifierPool = Executors.newCachedThreadPool(new NamedThreadFactory("Publisher-"));  //$NON-NLS-1$
+    /**
+     * the fixed pool of workers that drains subscriber mailboxes, common to all ordered <code>PublisherEngine</code> objects
+     */
+    private static final ExecutorService sMailboxPool = createMailboxPool();
+    /**
+     * maximum number of events a worker delivers from one mailbox before yielding to other mailboxes
+     */
+    private static final int DRAIN_BATCH_SIZE = 64;
     /**
      * indicates whether this publisher should do all publications synchronously or not
      */
     private final boolean mSynchronousNotification;
+    /**
+     * the capacity of each subscriber mailbox, <code>0</code> if this publisher does not deliver through mailboxes
+     */
+    private final int mMailboxCapacity;
+    /**
+     * determines what happens when a subscriber mailbox is full, <code>null</code> if this publisher does not deliver through mailboxes
+     */
+    private final OverflowPolicy mOverflowPolicy;
+    /**
+     * the name used for the metrics of this publisher, <code>null</code> if this publisher does not deliver through mailboxes
+     */
+    private final String mName;
+    /**
+     * the mailbox of each subscriber, guarded by {@link #mSubscribers}
+     */
+    private final Map<ISubscriber,Mailbox> mMailboxes = new HashMap<ISubscriber,Mailbox>();
+    /**
+     * A mirror of the values of {@link #mMailboxes} in subscriber order, maintained like {@link #mSubscriberArray}.
+     */
+    private volatile Mailbox[] mMailboxArray;
     /**
      * Create a new <code>PublisherEngine</code> object.
      * <p>
@@ -63,7 +101,45 @@ public final class PublisherEngine
     public PublisherEngine(boolean inSynchronousNotification)
     {
         mSynchronousNotification = inSynchronousNotification;
+        mMailboxCapacity = 0;
+        mOverflowPolicy = null;
+        mName = null;
     }    
+    /**
+     * Create a new <code>PublisherEngine</code> object that delivers events in order.
+     * <p>
+     * Each subscriber is given a mailbox holding up to the given number of
+     * events. {@link #publish(Object)} places the event in the mailbox of
+     * every subscriber and returns. The mailboxes are drained by a fixed
+     * pool of worker threads shared by all ordered publishers. Each
+     * subscriber receives events in the order in which they were
+     * published and is never notified by more than one thread at a time.
+     * <p>
+     * When a mailbox is full, the given overflow policy decides whether the
+     * publishing thread waits or an event is discarded for that subscriber.
+     * A publisher using {@link OverflowPolicy#BLOCK} should not be published
+     * to from a subscriber of another ordered publisher.
+     * <p>
+     * The depth of each mailbox, the time events spend in it, and the
+     * events discarded from it are reported to {@link MetricService} under
+     * names that start with the given name.
+     *
+     * @param inName a <code>String</code> value used to name the metrics of this publisher
+     * @param inMailboxCapacity an <code>int</code> value greater than zero
+     * @param inOverflowPolicy an <code>OverflowPolicy</code> value
+     */
+    public PublisherEngine(String inName,
+                           int inMailboxCapacity,
+                           OverflowPolicy inOverflowPolicy)
+    {
+        Validate.notNull(inName);
+        Validate.isTrue(inMailboxCapacity > 0);
+        Validate.notNull(inOverflowPolicy);
+        mSynchronousNotification = false;
+        mMailboxCapacity = inMailboxCapacity;
+        mOverflowPolicy = inOverflowPolicy;
+        mName = inName;
+    }
     /**
      * Create a new <code>PublisherEngine</code> object.
      * <p>
@@ -83,6 +159,15 @@ public final class PublisherEngine
     {
         return mSynchronousNotification;
     }
+    /**
+     * Indicates whether the publisher delivers events through ordered, bounded subscriber mailboxes.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isOrderedNotification()
+    {
+        return mMailboxCapacity > 0;
+    }
     /**
      * Advertise for publication the given object to all subscribers.
      * 
@@ -110,6 +195,17 @@ public final class PublisherEngine
     public void publishAndWait(Object inData) 
         throws InterruptedException, ExecutionException
     {
+        if(isOrderedNotification()) {
+            Mailbox[] mailboxes = mMailboxArray;
+            if(mailboxes != null && mailboxes.length > 0) {
+                CountDownLatch latch = new CountDownLatch(mailboxes.length);
+                enqueue(mailboxes,
+                        new Delivery(inData,
+                                     latch));
+                latch.await();
+            }
+            return;
+        }
         Future<?> future = doPublish(inData);
         if (future != null) {
             future.get();
@@ -129,6 +225,10 @@ public final class PublisherEngine
             //  according to the LinkedHashSet contract, reinsertion does
             //  not affect order
             mSubscribers.add(inSubscriber);
+            if(isOrderedNotification() && !mMailboxes.containsKey(inSubscriber)) {
+                mMailboxes.put(inSubscriber,
+                               new Mailbox(inSubscriber));
+            }
             synchronizeSubscriberArray();
         }
     }
@@ -145,6 +245,10 @@ public final class PublisherEngine
             // don't have to worry if the subscriber is not present,
             //  Set takes care of that for us
             mSubscribers.remove(inSubscriber);
+            Mailbox mailbox = mMailboxes.remove(inSubscriber);
+            if(mailbox != null) {
+                mailbox.close();
+            }
             synchronizeSubscriberArray();
         }
     }
@@ -166,6 +270,13 @@ public final class PublisherEngine
     private void synchronizeSubscriberArray()  {
         mSubscriberArray = mSubscribers.toArray(
                 new ISubscriber[mSubscribers.size()]);
+        if(isOrderedNotification()) {
+            Mailbox[] mailboxes = new Mailbox[mSubscriberArray.length];
+            for(int i=0;i<mailboxes.length;i++) {
+                mailboxes[i] = mMailboxes.get(mSubscriberArray[i]);
+            }
+            mMailboxArray = mailboxes;
+        }
     }
     /**
      * Perform the actual publication to subscribers.
@@ -186,6 +297,15 @@ public final class PublisherEngine
         if(subscribers == null) {
             return null;
         }
+        if(isOrderedNotification()) {
+            Mailbox[] mailboxes = mMailboxArray;
+            if(mailboxes != null) {
+                enqueue(mailboxes,
+                        new Delivery(inData,
+                                     null));
+            }
+            return null;
+        }
         if (isSynchronousNotification()) {
             publishToSubscribers(subscribers, inData);
             return null;
@@ -209,15 +329,278 @@ public final class PublisherEngine
                                              Object inData)
     {
         for (ISubscriber subscriber: inSubscribers) {
+            publishToSubscriber(subscriber,
+                                inData);
+        }
+    }
+    /**
+     * Publishes the supplied data object to the specified subscriber.
+     *
+     * @param inSubscriber the subscriber that needs to be notified.
+     * @param inData the data to publish to the subscriber.
+     */
+    private static void publishToSubscriber(ISubscriber inSubscriber,
+                                            Object inData)
+    {
+        try {
+            if (inSubscriber.isInteresting(inData)) {
+                inSubscriber.publishTo(inData);
+            }
+        } catch (Throwable t) {
+            SLF4JLoggerProxy.debug(PublisherEngine.class, t,
+                    "Subscriber {} threw an exception during publication, skipping", //$NON-NLS-1$
+                    inSubscriber);
+        }
+    }
+    /**
+     * Places the given delivery in each of the given mailboxes.
+     *
+     * @param inMailboxes the mailboxes of the subscribers that need to be notified.
+     * @param inDelivery the delivery to place.
+     */
+    private static void enqueue(Mailbox[] inMailboxes,
+                                Delivery inDelivery)
+    {
+        for(Mailbox mailbox : inMailboxes) {
+            mailbox.offer(inDelivery);
+        }
+    }
+    /**
+     * Creates the pool of workers that drains subscriber mailboxes.
+     * <p>
+     * The pool has one thread per processor. Idle threads are allowed to
+     * expire so the pool does not keep the JVM alive.
+     *
+     * @return an <code>ExecutorService</code> value
+     */
+    private static ExecutorService createMailboxPool()
+    {
+        int threads = Math.max(2,
+                               Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads,
+                                                         threads,
+                                                         60,
+                                                         TimeUnit.SECONDS,
+                                                         new LinkedBlockingQueue<Runnable>(),
+                                                         new NamedThreadFactory("PublisherMailbox-"));  //$NON-NLS-1$
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+    /**
+     * An event waiting in one or more subscriber mailboxes.
+     */
+    private static final class Delivery
+    {
+        /**
+         * Create a new Delivery instance.
+         *
+         * @param inData the data to publish
+         * @param inLatch a <code>CountDownLatch</code> counted down once per mailbox when the delivery is done or discarded, may be <code>null</code>
+         */
+        private Delivery(Object inData,
+                         CountDownLatch inLatch)
+        {
+            data = inData;
+            latch = inLatch;
+            enqueuedNanos = System.nanoTime();
+        }
+        /**
+         * Marks the delivery to one mailbox as done.
+         */
+        private void complete()
+        {
+            if(latch != null) {
+                latch.countDown();
+            }
+        }
+        /**
+         * the data to publish
+         */
+        private final Object data;
+        /**
+         * signaled once per mailbox when the delivery is done, may be <code>null</code>
+         */
+        private final CountDownLatch latch;
+        /**
+         * the time the delivery was created
+         */
+        private final long enqueuedNanos;
+    }
+    /**
+     * Holds the undelivered events of one subscriber.
+     * <p>
+     * At most one worker drains a mailbox at a time, which guarantees that
+     * the subscriber receives events in the order they were published.
+     */
+    private final class Mailbox
+            implements Runnable
+    {
+        /**
+         * Create a new Mailbox instance and registers its metrics.
+         *
+         * @param inSubscriber an <code>ISubscriber</code> value
+         */
+        private Mailbox(ISubscriber inSubscriber)
+        {
+            subscriber = inSubscriber;
+            queue = new ArrayBlockingQueue<Delivery>(mMailboxCapacity);
+            metricPrefix = MetricRegistry.name(PublisherEngine.class,
+                                               mName,
+                                               inSubscriber.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(inSubscriber))); //$NON-NLS-1$
+            MetricRegistry metrics = MetricService.getInstance().getMetrics();
+            String queueDepthName = MetricRegistry.name(metricPrefix,
+                                                        "queueDepth"); //$NON-NLS-1$
+            metrics.remove(queueDepthName);
+            metrics.register(queueDepthName,
+                             new Gauge<Integer>() {
+                                 @Override
+                                 public Integer getValue()
+                                 {
+                                     return queue.size();
+                                 }
+                             });
+            lagMetric = metrics.timer(MetricRegistry.name(metricPrefix,
+                                                          "lag")); //$NON-NLS-1$
+            droppedMetric = metrics.meter(MetricRegistry.name(metricPrefix,
+                                                              "dropped")); //$NON-NLS-1$
+        }
+        /**
+         * Places the given delivery in the mailbox according to the overflow policy.
+         *
+         * @param inDelivery a <code>Delivery</code> value
+         */
+        private void offer(Delivery inDelivery)
+        {
+            if(closed) {
+                inDelivery.complete();
+                return;
+            }
+            switch(mOverflowPolicy) {
+                case BLOCK:
+                    try {
+                        queue.put(inDelivery);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop(inDelivery);
+                        return;
+                    }
+                    break;
+                case DROP_NEWEST:
+                    if(!queue.offer(inDelivery)) {
+                        drop(inDelivery);
+                        return;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while(!queue.offer(inDelivery)) {
+                        Delivery oldest = queue.poll();
+                        if(oldest != null) {
+                            drop(oldest);
+                        }
+                    }
+                    break;
+            }
+            if(closed) {
+                discardAll();
+            } else if(scheduled.compareAndSet(false,
+                                              true)) {
+                sMailboxPool.execute(this);
+            }
+        }
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run()
+        {
             try {
-                if (subscriber.isInteresting(inData)) {
-                    subscriber.publishTo(inData);
+                for(int i=0;i<DRAIN_BATCH_SIZE && !closed;i++) {
+                    Delivery delivery = queue.poll();
+                    if(delivery == null) {
+                        break;
+                    }
+                    lagMetric.update(System.nanoTime() - delivery.enqueuedNanos,
+                                     TimeUnit.NANOSECONDS);
+                    publishToSubscriber(subscriber,
+                                        delivery.data);
+                    delivery.complete();
+                }
+            } finally {
+                scheduled.set(false);
+                if(closed) {
+                    discardAll();
+                } else if(!queue.isEmpty() && scheduled.compareAndSet(false,
+                                                                      true)) {
+                    sMailboxPool.execute(this);
                 }
-            } catch (Throwable t) {
-                SLF4JLoggerProxy.debug(PublisherEngine.class, t,
-                        "Subscriber {} threw an exception during publication, skipping", //$NON-NLS-1$
-                        subscriber);
             }
         }
+        /**
+         * Stops delivery to the subscriber, discards undelivered events, and removes the metrics of this mailbox.
+         */
+        private void close()
+        {
+            closed = true;
+            discardAll();
+            MetricRegistry metrics = MetricService.getInstance().getMetrics();
+            metrics.remove(MetricRegistry.name(metricPrefix,
+                                               "queueDepth")); //$NON-NLS-1$
+            metrics.remove(MetricRegistry.name(metricPrefix,
+                                               "lag")); //$NON-NLS-1$
+            metrics.remove(MetricRegistry.name(metricPrefix,
+                                               "dropped")); //$NON-NLS-1$
+        }
+        /**
+         * Discards all undelivered events.
+         */
+        private void discardAll()
+        {
+            Delivery delivery;
+            while((delivery = queue.poll()) != null) {
+                delivery.complete();
+            }
+        }
+        /**
+         * Discards the given delivery because the mailbox is full.
+         *
+         * @param inDelivery a <code>Delivery</code> value
+         */
+        private void drop(Delivery inDelivery)
+        {
+            droppedMetric.mark();
+            inDelivery.complete();
+            SLF4JLoggerProxy.debug(PublisherEngine.class,
+                                   "Mailbox for {} is full, discarding {}", //$NON-NLS-1$
+                                   subscriber,
+                                   inDelivery.data);
+        }
+        /**
+         * the subscriber to notify
+         */
+        private final ISubscriber subscriber;
+        /**
+         * undelivered events in publication order
+         */
+        private final BlockingQueue<Delivery> queue;
+        /**
+         * indicates if a worker has been given this mailbox to drain
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        /**
+         * indicates if the subscriber has unsubscribed
+         */
+        private volatile boolean closed = false;
+        /**
+         * prefix of the metric names of this mailbox
+         */
+        private final String metricPrefix;
+        /**
+         * measures the time events wait in this mailbox
+         */
+        private final Timer lagMetric;
+        /**
+         * measures the events discarded from this mailbox
+         */
+        private final Meter droppedMetric;
     }
 }
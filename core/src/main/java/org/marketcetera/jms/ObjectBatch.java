@@ -0,0 +1,67 @@
+package org.marketcetera.jms;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * A batch of objects transmitted over JMS in a single message.
+ * <p>
+ * Sending several objects in one message saves the per-message overhead
+ * of the broker and the session. As the objects are serialized in a single
+ * stream, the description of each class is written once per batch rather
+ * than once per object.
+ * <p>
+ * Instances are immutable.
+ *
+ * @author anshul@marketcetera.com
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public final class ObjectBatch implements Serializable {
+    /**
+     * Creates an instance.
+     *
+     * @param inObjects the objects in the batch, in the order in which they
+     * should be delivered. Cannot be null.
+     */
+    public ObjectBatch(Collection<? extends Serializable> inObjects) {
+        if(inObjects == null) {
+            throw new NullPointerException();
+        }
+        mObjects = inObjects.toArray(new Serializable[inObjects.size()]);
+    }
+
+    /**
+     * Returns the objects in the batch, in the order in which they
+     * should be delivered.
+     *
+     * @return the objects in the batch, never null.
+     */
+    public List<Serializable> getObjects() {
+        return Collections.unmodifiableList(Arrays.asList(mObjects));
+    }
+
+    /**
+     * Returns the number of objects in the batch.
+     *
+     * @return the number of objects in the batch.
+     */
+    public int size() {
+        return mObjects.length;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectBatch{size=" + mObjects.length + '}';  //$NON-NLS-1$
+    }
+
+    private final Serializable[] mObjects;
+    private static final long serialVersionUID = 1L;
+}
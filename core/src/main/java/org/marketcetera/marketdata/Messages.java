@@ -139,4 +139,14 @@ public interface Messages
                                                                                        "dividend_request_missing_instrument"); //$NON-NLS-1$
     static final I18NMessage3P UNSUPPORTED_ASSET_CLASS = new I18NMessage3P(LOGGER,
                                                                            "unsupported_asset_class"); //$NON-NLS-1$
+    static final I18NMessage1P INVALID_TICK_FILE = new I18NMessage1P(LOGGER,
+                                                                     "invalid_tick_file"); //$NON-NLS-1$
+    static final I18NMessage2P UNKNOWN_TICK_RECORD = new I18NMessage2P(LOGGER,
+                                                                       "unknown_tick_record"); //$NON-NLS-1$
+    static final I18NMessage1P UNSUPPORTED_TICK_EVENT = new I18NMessage1P(LOGGER,
+                                                                          "unsupported_tick_event"); //$NON-NLS-1$
+    static final I18NMessage1P TICK_VALUE_OUT_OF_RANGE = new I18NMessage1P(LOGGER,
+                                                                           "tick_value_out_of_range"); //$NON-NLS-1$
+    static final I18NMessage1P MISSING_TICK_EXCHANGE_TIMESTAMP = new I18NMessage1P(LOGGER,
+                                                                                   "missing_tick_exchange_timestamp"); //$NON-NLS-1$
 }
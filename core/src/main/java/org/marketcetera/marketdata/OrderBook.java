@@ -1,5 +1,6 @@
 package org.marketcetera.marketdata;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -7,9 +8,15 @@ import java.util.Date;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.apache.commons.lang.SystemUtils;
 import org.marketcetera.event.AskEvent;
@@ -46,6 +53,9 @@ import com.google.common.collect.Lists;
  * The <code>Action</code> attribute dictates whether the event is inserted
  * into the book, or changes or deletes an existing order.
  * 
+ * <p>The data structure used to store each side of the book is chosen per
+ * instance with an {@link OrderBookStructure} value.
+ * 
  * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
  * @version $Id$
  * @since 0.6.0
@@ -87,6 +97,22 @@ public class OrderBook
              UNLIMITED_DEPTH,
              inLenient);
     }
+    /**
+     * Create a new OrderBook instance with unlimited maximum depth.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inLenient a <code>boolean</code> value
+     * @param inStructure an <code>OrderBookStructure</code> value indicating how the book is to be stored
+     */
+    public OrderBook(Instrument inInstrument,
+                     boolean inLenient,
+                     OrderBookStructure inStructure)
+    {
+        this(inInstrument,
+             UNLIMITED_DEPTH,
+             inLenient,
+             inStructure);
+    }
     /**
      * Checks the given depth to see if it is a valid maximum book depth.
      *
@@ -117,6 +143,15 @@ public class OrderBook
     {
         return mMaxDepth;
     }
+    /**
+     * Get the structure value.
+     *
+     * @return an <code>OrderBookStructure</code> value
+     */
+    public OrderBookStructure getStructure()
+    {
+        return mStructure;
+    }
     /**
      * Gets the {@link TopOfBookEvent} view of the order book.
      * 
@@ -124,10 +159,8 @@ public class OrderBook
      */
     public final TopOfBookEvent getTopOfBook()
     {
-        List<BidEvent> bidBook = getBidBook();
-        List<AskEvent> askBook = getAskBook();
-        return TopOfBookEventBuilder.topOfBookEvent().withBid(bidBook.isEmpty() ? null : bidBook.get(0))
-                                                     .withAsk(askBook.isEmpty() ? null : askBook.get(0))
+        return TopOfBookEventBuilder.topOfBookEvent().withBid(mBidBook.getBest())
+                                                     .withAsk(mAskBook.getBest())
                                                      .withInstrument(getInstrument())
                                                      .withTimestamp(new Date()).create();
     }
@@ -149,7 +182,7 @@ public class OrderBook
      */
     public final List<BidEvent> getBidBook()
     {
-        return mBidBook.getSortedView(BookPriceComparator.bidComparator);
+        return mBidBook.getSortedView();
     }
     /**
      * Gets the current state of the <code>Ask</code> book.
@@ -158,7 +191,7 @@ public class OrderBook
      */
     public final List<AskEvent> getAskBook()
     {
-        return mAskBook.getSortedView(BookPriceComparator.askComparator);
+        return mAskBook.getSortedView();
     }
     /**
      * Processes all the events in the given list.
@@ -387,13 +420,50 @@ public class OrderBook
               int inMaxDepth,
               boolean inLenient)
     {
-        if(inInstrument == null) {
+        this(inInstrument,
+             inMaxDepth,
+             inLenient,
+             OrderBookStructure.HASHED);
+    }
+    /**
+     * Create a new OrderBook instance.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inMaxDepth an <code>int</code> instance  
+     * @param inLenient a <code>boolean</code> value
+     * @param inStructure an <code>OrderBookStructure</code> value indicating how the book is to be stored
+     * @throws IllegalArgumentException if the given depth is invalid
+     */
+    OrderBook(Instrument inInstrument,
+              int inMaxDepth,
+              boolean inLenient,
+              OrderBookStructure inStructure)
+    {
+        if(inInstrument == null ||
+           inStructure == null) {
             throw new NullPointerException();
         }
         validateMaximumBookDepth(inMaxDepth);
         mInstrument = inInstrument;
-        mAskBook = new BookCollection<AskEvent>(inMaxDepth);
-        mBidBook = new BookCollection<BidEvent>(inMaxDepth);
+        switch(inStructure) {
+            case HASHED:
+                mAskBook = new BookCollection<AskEvent>(inMaxDepth,
+                                                        BookPriceComparator.askComparator);
+                mBidBook = new BookCollection<BidEvent>(inMaxDepth,
+                                                        BookPriceComparator.bidComparator);
+                break;
+            case PRICE_LEVEL:
+                mAskBook = new PriceLevelBookCollection<AskEvent>(inMaxDepth,
+                                                                  BookPriceComparator.askComparator,
+                                                                  false);
+                mBidBook = new PriceLevelBookCollection<BidEvent>(inMaxDepth,
+                                                                  BookPriceComparator.bidComparator,
+                                                                  true);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+        mStructure = inStructure;
         mMaxDepth = inMaxDepth;
         lenient = inLenient;
     }
@@ -473,6 +543,57 @@ public class OrderBook
             mAskBook.remove((AskEvent)inEvent);
         }
     }
+    /**
+     * Stores the orders of one side of a book.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$") //$NON-NLS-1$
+    private interface BookSide<E extends QuoteEvent>
+    {
+        /**
+         * Update/reset the levels of the book.
+         */
+        void updateLevels();
+        /**
+         * Adds the given event to the book.
+         *
+         * @param inEvent an <code>E</code> value to add to the book
+         * @return an <code>E</code> value if the incoming event displaced an existing event because the book is already at its maximum depth or null if no event was displaced
+         */
+        E add(E inEvent);
+        /**
+         * Updates the given event, if present.
+         * 
+         * <p>If the event is not present in the order book, this method does nothing.  Executing
+         * this method does not change the age of the order on the book.
+         *
+         * @param inEvent an <code>E</code> value
+         */
+        void change(E inEvent);
+        /**
+         * Removes the given event from the book, if present.
+         *
+         * <p>If the event is not present in the order book, this method does nothing.
+         *
+         * @param inEvent an <code>E</code> value
+         */
+        void remove(E inEvent);
+        /**
+         * Returns a view of the book sorted in book order.
+         *
+         * @return a <code>List&lt;E&gt;</code> value
+         */
+        List<E> getSortedView();
+        /**
+         * Gets the event at the top of the book.
+         *
+         * @return an <code>E</code> value or <code>null</code> if the book is empty
+         */
+        E getBest();
+    }
     /**
      * Stores the orders of one side of a book.
      *
@@ -482,6 +603,7 @@ public class OrderBook
      */
     @ClassVersion("$Id$") //$NON-NLS-1$
     private static class BookCollection<E extends QuoteEvent>
+            implements BookSide<E>
     {
         /**
          * the set of events that make of the book
@@ -496,14 +618,21 @@ public class OrderBook
          * the maximum depth of the book.  if set to {@link OrderBook#UNLIMITED_DEPTH}, the book has no maximum depth. 
          */
         private final int mMaxDepth;
+        /**
+         * the comparator used to sort the book
+         */
+        private final Comparator<QuoteEvent> mComparator;
         /**
          * Create a new BookCollection instance.
          *
          * @param inMaxDepth an <code>int</code> value indicating the maximum depth of the book or {@link OrderBook#UNLIMITED_DEPTH} if the book is to have no depth limit 
+         * @param inComparator a <code>Comparator&lt;QuoteEvent&gt;</code> value used to sort the book
          */
-        private BookCollection(int inMaxDepth)
+        private BookCollection(int inMaxDepth,
+                               Comparator<QuoteEvent> inComparator)
         {
             mMaxDepth = inMaxDepth;
+            mComparator = inComparator;
             if(inMaxDepth == UNLIMITED_DEPTH) {
                 mBook = new HashSet<E>();
                 mBookOrder = null;
@@ -516,7 +645,8 @@ public class OrderBook
         /**
          * Update/reset the levels of the book.
          */
-        private void updateLevels()
+        @Override
+        public void updateLevels()
         {
             if(mBookOrder == null) {
                 return;
@@ -532,7 +662,8 @@ public class OrderBook
          * @param inEvent an <code>E</code> value to add to the book
          * @return an <code>E</code> value if the incoming event displaced an existing event because the book is already at its maximum depth or null if no event was displaced
          */
-        private synchronized E add(E inEvent)
+        @Override
+        public synchronized E add(E inEvent)
         {
             // holds the value to return, if any
             E oldestEvent = null;
@@ -561,7 +692,8 @@ public class OrderBook
          *
          * @param inEvent an <code>E</code> value
          */
-        private synchronized void change(E inEvent)
+        @Override
+        public synchronized void change(E inEvent)
         {
             if(mBook.contains(inEvent)) {
                 mBook.remove(inEvent);
@@ -575,7 +707,8 @@ public class OrderBook
          *
          * @param inEvent an <code>E</code> value
          */
-        private synchronized void remove(E inEvent)
+        @Override
+        public synchronized void remove(E inEvent)
         {
             // remove the event from the book.  this operation is O(1).
             mBook.remove(inEvent);
@@ -587,13 +720,11 @@ public class OrderBook
                 mBookOrder.remove(inEvent);
             }
         }
-        /**
-         * Returns a view of the book sorted by the given comparator.
-         *
-         * @param inComparator a <code>Comparator&lt;BidAskEvent&gt;</code> value to sort the list
-         * @return a <code>List&lt;E&gt;</code> value
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#getSortedView()
          */
-        private synchronized List<E> getSortedView(Comparator<QuoteEvent> inComparator)
+        @Override
+        public synchronized List<E> getSortedView()
         {
             List<E> events = new ArrayList<E>();
             for(E event : mBook) {
@@ -604,9 +735,266 @@ public class OrderBook
             //  to use the messageId on the event as the key in order to support CRUD properly.  the results of the book, though
             //  are displayed sorted in a user-sensible order.
             Collections.sort(events,
-                             inComparator);
+                             mComparator);
             return Collections.unmodifiableList(events);
         }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#getBest()
+         */
+        @Override
+        public synchronized E getBest()
+        {
+            E best = null;
+            for(E event : mBook) {
+                if(best == null ||
+                   mComparator.compare(event,
+                                       best) < 0) {
+                    best = event;
+                }
+            }
+            return best;
+        }
+    }
+    /**
+     * Stores the orders of one side of a book in sorted price levels.
+     * 
+     * <p>Each price level holds its orders in the order imposed by the book comparator, which is
+     * time priority, and ties are broken by arrival.  All orders are also indexed by messageId, in
+     * the order they were added to the book, to support CRUD and maximum depth.  The top of the
+     * book is maintained as the book changes and the sorted view of the book is rebuilt only after
+     * the book has changed since the last time it was requested.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$") //$NON-NLS-1$
+    private static class PriceLevelBookCollection<E extends QuoteEvent>
+            implements BookSide<E>
+    {
+        /**
+         * the price levels of the book, best price first
+         */
+        private final NavigableMap<BigDecimal,NavigableSet<BookEntry<E>>> mLevels;
+        /**
+         * the orders of the book by messageId, oldest first
+         */
+        private final Map<Long,BookEntry<E>> mEntries = new LinkedHashMap<Long,BookEntry<E>>();
+        /**
+         * orders the entries within a price level
+         */
+        private final Comparator<BookEntry<E>> mEntryComparator;
+        /**
+         * the maximum depth of the book.  if set to {@link OrderBook#UNLIMITED_DEPTH}, the book has no maximum depth. 
+         */
+        private final int mMaxDepth;
+        /**
+         * the event at the top of the book or <code>null</code>
+         */
+        private E mBest;
+        /**
+         * the sorted view of the book or <code>null</code> if the book has changed since the view was built
+         */
+        private List<E> mSortedView;
+        /**
+         * assigned to each entry as it is added to the book to break ties within a price level
+         */
+        private long mSequence = 0;
+        /**
+         * Create a new PriceLevelBookCollection instance.
+         *
+         * @param inMaxDepth an <code>int</code> value indicating the maximum depth of the book or {@link OrderBook#UNLIMITED_DEPTH} if the book is to have no depth limit 
+         * @param inComparator a <code>Comparator&lt;QuoteEvent&gt;</code> value used to sort the book
+         * @param inDescending a <code>boolean</code> value indicating if the best price is the highest price
+         */
+        private PriceLevelBookCollection(int inMaxDepth,
+                                         final Comparator<QuoteEvent> inComparator,
+                                         boolean inDescending)
+        {
+            mMaxDepth = inMaxDepth;
+            mLevels = inDescending ? new TreeMap<BigDecimal,NavigableSet<BookEntry<E>>>(Collections.<BigDecimal>reverseOrder()) : new TreeMap<BigDecimal,NavigableSet<BookEntry<E>>>();
+            mEntryComparator = new Comparator<BookEntry<E>>() {
+                @Override
+                public int compare(BookEntry<E> inO1,
+                                   BookEntry<E> inO2)
+                {
+                    int result = inComparator.compare(inO1.event,
+                                                      inO2.event);
+                    if(result == 0) {
+                        result = Long.compare(inO1.sequence,
+                                              inO2.sequence);
+                    }
+                    return result;
+                }
+            };
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#updateLevels()
+         */
+        @Override
+        public synchronized void updateLevels()
+        {
+            if(mMaxDepth == UNLIMITED_DEPTH) {
+                return;
+            }
+            // the index is oldest first, the newest order is level 1
+            int level = mEntries.size();
+            for(BookEntry<E> entry : mEntries.values()) {
+                entry.event.setLevel(level--);
+            }
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#add(org.marketcetera.event.QuoteEvent)
+         */
+        @Override
+        public synchronized E add(E inEvent)
+        {
+            if(mEntries.containsKey(inEvent.getMessageId())) {
+                return null;
+            }
+            E oldestEvent = null;
+            if(mMaxDepth != UNLIMITED_DEPTH &&
+               mEntries.size() >= mMaxDepth) {
+                Iterator<BookEntry<E>> oldestIterator = mEntries.values().iterator();
+                BookEntry<E> oldestEntry = oldestIterator.next();
+                oldestIterator.remove();
+                removeFromLevel(oldestEntry);
+                oldestEvent = oldestEntry.event;
+            }
+            BookEntry<E> entry = new BookEntry<E>(inEvent,
+                                                  mSequence++);
+            mEntries.put(inEvent.getMessageId(),
+                         entry);
+            addToLevel(entry);
+            bookChanged();
+            return oldestEvent;
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#change(org.marketcetera.event.QuoteEvent)
+         */
+        @Override
+        public synchronized void change(E inEvent)
+        {
+            BookEntry<E> entry = mEntries.get(inEvent.getMessageId());
+            if(entry == null) {
+                return;
+            }
+            // the entry keeps its place in the index, so the age of the order is unchanged
+            removeFromLevel(entry);
+            entry.event = inEvent;
+            addToLevel(entry);
+            bookChanged();
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#remove(org.marketcetera.event.QuoteEvent)
+         */
+        @Override
+        public synchronized void remove(E inEvent)
+        {
+            BookEntry<E> entry = mEntries.remove(inEvent.getMessageId());
+            if(entry == null) {
+                return;
+            }
+            removeFromLevel(entry);
+            bookChanged();
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#getSortedView()
+         */
+        @Override
+        public synchronized List<E> getSortedView()
+        {
+            if(mSortedView == null) {
+                List<E> events = new ArrayList<E>(mEntries.size());
+                for(NavigableSet<BookEntry<E>> level : mLevels.values()) {
+                    for(BookEntry<E> entry : level) {
+                        events.add(entry.event);
+                    }
+                }
+                mSortedView = Collections.unmodifiableList(events);
+            }
+            return mSortedView;
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.OrderBook.BookSide#getBest()
+         */
+        @Override
+        public synchronized E getBest()
+        {
+            return mBest;
+        }
+        /**
+         * Adds the given entry to its price level.
+         *
+         * @param inEntry a <code>BookEntry&lt;E&gt;</code> value
+         */
+        private void addToLevel(BookEntry<E> inEntry)
+        {
+            BigDecimal price = inEntry.event.getPrice();
+            NavigableSet<BookEntry<E>> level = mLevels.get(price);
+            if(level == null) {
+                level = new TreeSet<BookEntry<E>>(mEntryComparator);
+                mLevels.put(price,
+                            level);
+            }
+            level.add(inEntry);
+        }
+        /**
+         * Removes the given entry from its price level, removing the level if it becomes empty.
+         *
+         * @param inEntry a <code>BookEntry&lt;E&gt;</code> value
+         */
+        private void removeFromLevel(BookEntry<E> inEntry)
+        {
+            BigDecimal price = inEntry.event.getPrice();
+            NavigableSet<BookEntry<E>> level = mLevels.get(price);
+            if(level != null) {
+                level.remove(inEntry);
+                if(level.isEmpty()) {
+                    mLevels.remove(price);
+                }
+            }
+        }
+        /**
+         * Updates the top of the book and discards the sorted view after the book changed.
+         */
+        private void bookChanged()
+        {
+            mSortedView = null;
+            Map.Entry<BigDecimal,NavigableSet<BookEntry<E>>> bestLevel = mLevels.firstEntry();
+            mBest = bestLevel == null ? null : bestLevel.getValue().first().event;
+        }
+    }
+    /**
+     * Holds an order on a {@link PriceLevelBookCollection}.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$") //$NON-NLS-1$
+    private static class BookEntry<E extends QuoteEvent>
+    {
+        /**
+         * Create a new BookEntry instance.
+         *
+         * @param inEvent an <code>E</code> value
+         * @param inSequence a <code>long</code> value
+         */
+        private BookEntry(E inEvent,
+                          long inSequence)
+        {
+            event = inEvent;
+            sequence = inSequence;
+        }
+        /**
+         * the current state of the order
+         */
+        private E event;
+        /**
+         * the arrival sequence of the order
+         */
+        private final long sequence;
     }
     /**
      * the instrument for this book
@@ -615,15 +1003,19 @@ public class OrderBook
     /**
      * the ask side of the book
      */
-    private final BookCollection<AskEvent> mAskBook;
+    private final BookSide<AskEvent> mAskBook;
     /**
      * the bid side of the book
      */
-    private final BookCollection<BidEvent> mBidBook;
+    private final BookSide<BidEvent> mBidBook;
     /**
      * the maximum depth of the order book 
      */
     private final int mMaxDepth;
+    /**
+     * the structure used to store the order book
+     */
+    private final OrderBookStructure mStructure;
     /**
      * indicates if the order book is lenient or not with respect to event validation
      */
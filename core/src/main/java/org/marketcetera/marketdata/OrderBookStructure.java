@@ -0,0 +1,28 @@
+package org.marketcetera.marketdata;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Indicates the data structure used to store each side of an {@link OrderBook}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum OrderBookStructure
+{
+    /**
+     * quotes are stored unordered by messageId and the book is sorted each time it is viewed
+     */
+    HASHED,
+    /**
+     * quotes are stored in sorted price levels, each of which holds its quotes in time priority, with an index by messageId
+     *
+     * <p>Add, change, and delete are O(log n), the top of the book is available in O(1), and the
+     * sorted view of the book is rebuilt only after the book changes.
+     */
+    PRICE_LEVEL;
+}
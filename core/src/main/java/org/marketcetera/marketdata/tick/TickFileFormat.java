@@ -0,0 +1,157 @@
+package org.marketcetera.marketdata.tick;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.marketcetera.symbol.PatternSymbolResolver;
+import org.marketcetera.symbol.SymbolResolver;
+import org.marketcetera.trade.ConvertibleBond;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.SecurityType;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Describes the binary tick file format.
+ *
+ * <p>A tick file is a sequence of fixed-width records of {@link #RECORD_SIZE} bytes in big-endian
+ * byte order. The first record is the file header:
+ * <table>
+ *   <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ *   <tr><td>0</td><td>int</td><td>{@link #MAGIC}</td></tr>
+ *   <tr><td>4</td><td>short</td><td>{@link #VERSION}</td></tr>
+ *   <tr><td>6</td><td>short</td><td>{@link #RECORD_SIZE}</td></tr>
+ * </table>
+ *
+ * <p>Instruments and exchanges are dictionary-encoded. The first time an instrument or exchange is
+ * written to a file, a {@link #INSTRUMENT_RECORD} or {@link #EXCHANGE_RECORD} is written that assigns
+ * it the next id of its kind, starting at zero. Dictionary records span as many records as needed
+ * to hold their value:
+ * <table>
+ *   <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ *   <tr><td>0</td><td>byte</td><td>record type</td></tr>
+ *   <tr><td>1</td><td>byte</td><td>security type ordinal, instruments only</td></tr>
+ *   <tr><td>2</td><td>short</td><td>length of the value in bytes</td></tr>
+ *   <tr><td>4</td><td>int</td><td>id</td></tr>
+ *   <tr><td>8</td><td>byte[]</td><td>value, UTF-8</td></tr>
+ * </table>
+ *
+ * <p>Each {@link #BID_RECORD}, {@link #ASK_RECORD}, or {@link #TRADE_RECORD} holds one event. Prices
+ * and sizes are stored as unscaled longs with their scales:
+ * <table>
+ *   <tr><th>Offset</th><th>Type</th><th>Value</th></tr>
+ *   <tr><td>0</td><td>byte</td><td>record type</td></tr>
+ *   <tr><td>1</td><td>byte</td><td>quote action ordinal, quotes only</td></tr>
+ *   <tr><td>2</td><td>byte</td><td>event type ordinal plus one, zero if none</td></tr>
+ *   <tr><td>3</td><td>byte</td><td>price scale</td></tr>
+ *   <tr><td>4</td><td>byte</td><td>size scale</td></tr>
+ *   <tr><td>8</td><td>int</td><td>instrument id</td></tr>
+ *   <tr><td>12</td><td>int</td><td>exchange id</td></tr>
+ *   <tr><td>16</td><td>long</td><td>message id</td></tr>
+ *   <tr><td>24</td><td>long</td><td>event timestamp in millis</td></tr>
+ *   <tr><td>32</td><td>long</td><td>exchange timestamp in millis</td></tr>
+ *   <tr><td>40</td><td>long</td><td>unscaled price</td></tr>
+ *   <tr><td>48</td><td>long</td><td>unscaled size</td></tr>
+ *   <tr><td>56</td><td>long</td><td>received timestamp in millis</td></tr>
+ * </table>
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@Immutable
+@ClassVersion("$Id$")
+public final class TickFileFormat
+{
+    /**
+     * identifies a tick file
+     */
+    public static final int MAGIC = 0x4d54434b;
+    /**
+     * version of the format
+     */
+    public static final short VERSION = 1;
+    /**
+     * size in bytes of each record
+     */
+    public static final int RECORD_SIZE = 64;
+    /**
+     * suffix used for tick files
+     */
+    public static final String SUFFIX = ".tick"; //$NON-NLS-1$
+    /**
+     * record that assigns an id to an instrument
+     */
+    public static final byte INSTRUMENT_RECORD = 1;
+    /**
+     * record that assigns an id to an exchange
+     */
+    public static final byte EXCHANGE_RECORD = 2;
+    /**
+     * record that holds a bid
+     */
+    public static final byte BID_RECORD = 3;
+    /**
+     * record that holds an ask
+     */
+    public static final byte ASK_RECORD = 4;
+    /**
+     * record that holds a trade
+     */
+    public static final byte TRADE_RECORD = 5;
+    /**
+     * offset of the value in a dictionary record
+     */
+    static final int DICTIONARY_VALUE_OFFSET = 8;
+    /**
+     * Gets the number of records needed to hold a dictionary value of the given length.
+     *
+     * @param inValueLength an <code>int</code> value
+     * @return an <code>int</code> value
+     */
+    static int getDictionaryRecordCount(int inValueLength)
+    {
+        return (DICTIONARY_VALUE_OFFSET + inValueLength + RECORD_SIZE - 1) / RECORD_SIZE;
+    }
+    /**
+     * Gets the symbol used to store the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @return a <code>String</code> value
+     */
+    static String getSymbol(Instrument inInstrument)
+    {
+        return symbolResolver.generateSymbol(inInstrument);
+    }
+    /**
+     * Gets the instrument stored with the given security type and symbol.
+     *
+     * @param inSecurityType a <code>SecurityType</code> value
+     * @param inSymbol a <code>String</code> value
+     * @return an <code>Instrument</code> value
+     */
+    static Instrument getInstrument(SecurityType inSecurityType,
+                                    String inSymbol)
+    {
+        switch(inSecurityType) {
+            case CommonStock:
+                return new Equity(inSymbol);
+            case ConvertibleBond:
+                return new ConvertibleBond(inSymbol);
+            default:
+                return symbolResolver.resolveSymbol(inSymbol);
+        }
+    }
+    /**
+     * Create a new TickFileFormat instance.
+     */
+    private TickFileFormat()
+    {
+        throw new UnsupportedOperationException();
+    }
+    /**
+     * translates between instruments and symbols
+     */
+    private static final SymbolResolver symbolResolver = new PatternSymbolResolver();
+}
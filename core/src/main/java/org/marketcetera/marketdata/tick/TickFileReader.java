@@ -0,0 +1,499 @@
+package org.marketcetera.marketdata.tick;
+
+import static org.marketcetera.marketdata.tick.TickFileFormat.ASK_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.BID_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.DICTIONARY_VALUE_OFFSET;
+import static org.marketcetera.marketdata.tick.TickFileFormat.EXCHANGE_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.INSTRUMENT_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.MAGIC;
+import static org.marketcetera.marketdata.tick.TickFileFormat.RECORD_SIZE;
+import static org.marketcetera.marketdata.tick.TickFileFormat.TRADE_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventType;
+import org.marketcetera.event.QuoteAction;
+import org.marketcetera.event.impl.QuoteEventBuilder;
+import org.marketcetera.event.impl.TradeEventBuilder;
+import org.marketcetera.marketdata.Messages;
+import org.marketcetera.options.ExpirationType;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.SecurityType;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Reads the events in a file in the {@link TickFileFormat binary tick format}.
+ *
+ * <p>The file is mapped into memory and read sequentially, so replaying a capture does not copy the
+ * file through the heap or parse text. Records appended to the file after the reader was created
+ * are not visible to the reader. A partial record at the end of the file, as left by a writer that did not
+ * finish, is ignored.
+ *
+ * <p>Options are read with the same defaults used by the CSV market data feed: an
+ * {@link ExpirationType#UNKNOWN unknown} expiration type, a multiplier of one, and the option root
+ * as the underlying equity.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@NotThreadSafe
+@ClassVersion("$Id$")
+public class TickFileReader
+        implements Closeable
+{
+    /**
+     * Create a new TickFileReader instance.
+     *
+     * @param inFile a <code>File</code> value
+     * @throws IOException if the file cannot be opened or is not a tick file
+     */
+    public TickFileReader(File inFile)
+            throws IOException
+    {
+        file = inFile;
+        channel = FileChannel.open(inFile.toPath(),
+                                   StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            limit = size - size % RECORD_SIZE;
+            if(limit < RECORD_SIZE) {
+                throw new IOException(Messages.INVALID_TICK_FILE.getText(inFile));
+            }
+            map(0);
+            if(segment.getInt(0) != MAGIC ||
+               segment.getShort(4) != VERSION ||
+               segment.getShort(6) != RECORD_SIZE) {
+                throw new IOException(Messages.INVALID_TICK_FILE.getText(inFile));
+            }
+            position = RECORD_SIZE;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    /**
+     * Reads the next event from the file.
+     *
+     * @return an <code>Event</code> value or <code>null</code> if there are no more events
+     * @throws IOException if the file cannot be read or contains a record that cannot be read
+     */
+    public Event next()
+            throws IOException
+    {
+        while(position < limit) {
+            int offset = prepare(RECORD_SIZE);
+            byte recordType = segment.get(offset);
+            switch(recordType) {
+                case INSTRUMENT_RECORD:
+                case EXCHANGE_RECORD:
+                    readDictionaryRecord(offset);
+                    break;
+                case BID_RECORD:
+                case ASK_RECORD:
+                case TRADE_RECORD:
+                    position += RECORD_SIZE;
+                    eventCount += 1;
+                    return readEvent(recordType,
+                                     offset);
+                default:
+                    throw new IOException(Messages.UNKNOWN_TICK_RECORD.getText(recordType,
+                                                                               position));
+            }
+        }
+        return null;
+    }
+    /**
+     * Gets the number of events read so far.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getEventCount()
+    {
+        return eventCount;
+    }
+    /**
+     * Get the file value.
+     *
+     * @return a <code>File</code> value
+     */
+    public File getFile()
+    {
+        return file;
+    }
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close()
+            throws IOException
+    {
+        segment = null;
+        channel.close();
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return file.toString();
+    }
+    /**
+     * Reads the rest of the file, collecting the instruments and exchanges it contains without building events.
+     *
+     * @throws IOException if the file cannot be read or contains a record that cannot be read
+     */
+    void readDictionaries()
+            throws IOException
+    {
+        while(position < limit) {
+            int offset = prepare(RECORD_SIZE);
+            byte recordType = segment.get(offset);
+            switch(recordType) {
+                case INSTRUMENT_RECORD:
+                case EXCHANGE_RECORD:
+                    readDictionaryRecord(offset);
+                    break;
+                case BID_RECORD:
+                case ASK_RECORD:
+                case TRADE_RECORD:
+                    position += RECORD_SIZE;
+                    break;
+                default:
+                    throw new IOException(Messages.UNKNOWN_TICK_RECORD.getText(recordType,
+                                                                               position));
+            }
+        }
+    }
+    /**
+     * Gets the instruments read so far, indexed by id.
+     *
+     * @return a <code>List&lt;Instrument&gt;</code> value
+     */
+    List<Instrument> getInstruments()
+    {
+        List<Instrument> result = new ArrayList<>();
+        for(InstrumentEntry entry : instruments) {
+            result.add(entry.instrument);
+        }
+        return Collections.unmodifiableList(result);
+    }
+    /**
+     * Gets the exchanges read so far, indexed by id.
+     *
+     * @return a <code>List&lt;String&gt;</code> value
+     */
+    List<String> getExchanges()
+    {
+        return Collections.unmodifiableList(exchanges);
+    }
+    /**
+     * Builds the event held in the record at the given offset of the current segment.
+     *
+     * @param inRecordType a <code>byte</code> value
+     * @param inOffset an <code>int</code> value
+     * @return an <code>Event</code> value
+     * @throws IOException if the record refers to an instrument or exchange not in the file
+     */
+    private Event readEvent(byte inRecordType,
+                            int inOffset)
+            throws IOException
+    {
+        int action = segment.get(inOffset + 1);
+        int eventType = segment.get(inOffset + 2);
+        int priceScale = segment.get(inOffset + 3);
+        int sizeScale = segment.get(inOffset + 4);
+        int instrumentId = segment.getInt(inOffset + 8);
+        int exchangeId = segment.getInt(inOffset + 12);
+        long messageId = segment.getLong(inOffset + 16);
+        Date timestamp = new Date(segment.getLong(inOffset + 24));
+        Date exchangeTimestamp = new Date(segment.getLong(inOffset + 32));
+        BigDecimal price = BigDecimal.valueOf(segment.getLong(inOffset + 40),
+                                              priceScale);
+        BigDecimal size = BigDecimal.valueOf(segment.getLong(inOffset + 48),
+                                             sizeScale);
+        long receivedTimestamp = segment.getLong(inOffset + 56);
+        if(instrumentId < 0 ||
+           instrumentId >= instruments.size() ||
+           exchangeId < -1 ||
+           exchangeId >= exchanges.size() ||
+           action < 0 ||
+           action >= QUOTE_ACTIONS.length ||
+           eventType < 0 ||
+           eventType > EVENT_TYPES.length) {
+            throw new IOException(Messages.UNKNOWN_TICK_RECORD.getText(inRecordType,
+                                                                       position - RECORD_SIZE));
+        }
+        InstrumentEntry entry = instruments.get(instrumentId);
+        String exchange = exchangeId == -1 ? null : exchanges.get(exchangeId);
+        EventType type = eventType == 0 ? null : EVENT_TYPES[eventType - 1];
+        switch(inRecordType) {
+            case BID_RECORD:
+            case ASK_RECORD:
+                QuoteEventBuilder<?> quoteBuilder = inRecordType == BID_RECORD ? entry.getBidBuilder() : entry.getAskBuilder();
+                quoteBuilder.withMessageId(messageId)
+                            .withTimestamp(timestamp)
+                            .withReceivedTimestamp(receivedTimestamp)
+                            .withQuoteDate(exchangeTimestamp)
+                            .withExchange(exchange)
+                            .withPrice(price)
+                            .withSize(size)
+                            .withAction(QUOTE_ACTIONS[action])
+                            .withEventType(type);
+                return quoteBuilder.create();
+            default:
+                TradeEventBuilder<?> tradeBuilder = entry.getTradeBuilder();
+                tradeBuilder.withMessageId(messageId)
+                            .withTimestamp(timestamp)
+                            .withReceivedTimestamp(receivedTimestamp)
+                            .withTradeDate(exchangeTimestamp)
+                            .withExchange(exchange)
+                            .withPrice(price)
+                            .withSize(size)
+                            .withEventType(type);
+                return tradeBuilder.create();
+        }
+    }
+    /**
+     * Reads the dictionary record at the given offset of the current segment and advances past it.
+     *
+     * @param inOffset an <code>int</code> value
+     * @throws IOException if the record cannot be read
+     */
+    private void readDictionaryRecord(int inOffset)
+            throws IOException
+    {
+        byte recordType = segment.get(inOffset);
+        int qualifier = segment.get(inOffset + 1);
+        int length = segment.getShort(inOffset + 2);
+        int id = segment.getInt(inOffset + 4);
+        int recordLength = TickFileFormat.getDictionaryRecordCount(length) * RECORD_SIZE;
+        List<?> dictionary = recordType == INSTRUMENT_RECORD ? instruments : exchanges;
+        if(length < 0 ||
+           position + recordLength > limit ||
+           id != dictionary.size() ||
+           (recordType == INSTRUMENT_RECORD && (qualifier < 0 || qualifier >= SECURITY_TYPES.length))) {
+            throw new IOException(Messages.UNKNOWN_TICK_RECORD.getText(recordType,
+                                                                       position));
+        }
+        inOffset = prepare(recordLength);
+        byte[] value = new byte[length];
+        for(int i=0;i<length;i++) {
+            value[i] = segment.get(inOffset + DICTIONARY_VALUE_OFFSET + i);
+        }
+        String text = new String(value,
+                                 StandardCharsets.UTF_8);
+        if(recordType == INSTRUMENT_RECORD) {
+            instruments.add(new InstrumentEntry(TickFileFormat.getInstrument(SECURITY_TYPES[qualifier],
+                                                                             text)));
+        } else {
+            exchanges.add(text);
+        }
+        position += recordLength;
+    }
+    /**
+     * Makes sure the given number of bytes at the current position are in the current segment.
+     *
+     * @param inLength an <code>int</code> value
+     * @return an <code>int</code> value containing the offset of the current position in the current segment
+     * @throws IOException if the file cannot be mapped
+     */
+    private int prepare(int inLength)
+            throws IOException
+    {
+        if(position < segmentStart ||
+           position + inLength > segmentStart + segment.limit()) {
+            map(position);
+        }
+        return (int)(position - segmentStart);
+    }
+    /**
+     * Maps the segment of the file that starts at the given position.
+     *
+     * @param inPosition a <code>long</code> value
+     * @throws IOException if the file cannot be mapped
+     */
+    private void map(long inPosition)
+            throws IOException
+    {
+        segmentStart = inPosition;
+        segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                              inPosition,
+                              Math.min(SEGMENT_SIZE,
+                                       limit - inPosition));
+    }
+    /**
+     * Holds an instrument in the file and the builders used to create its events.
+     *
+     * <p>Builders copy their attributes into each event they create, so a single builder can be
+     * reused for every event of its kind for the instrument.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @NotThreadSafe
+    private static class InstrumentEntry
+    {
+        /**
+         * Create a new InstrumentEntry instance.
+         *
+         * @param inInstrument an <code>Instrument</code> value
+         */
+        private InstrumentEntry(Instrument inInstrument)
+        {
+            instrument = inInstrument;
+        }
+        /**
+         * Gets the builder used to create bids for this instrument.
+         *
+         * @return a <code>QuoteEventBuilder&lt;?&gt;</code> value
+         */
+        private QuoteEventBuilder<?> getBidBuilder()
+        {
+            if(bidBuilder == null) {
+                bidBuilder = QuoteEventBuilder.bidEvent(instrument);
+                if(instrument instanceof Option) {
+                    bidBuilder.withExpirationType(ExpirationType.UNKNOWN)
+                              .withMultiplier(BigDecimal.ONE)
+                              .withUnderlyingInstrument(getUnderlying())
+                              .hasDeliverable(true);
+                }
+            }
+            return bidBuilder;
+        }
+        /**
+         * Gets the builder used to create asks for this instrument.
+         *
+         * @return a <code>QuoteEventBuilder&lt;?&gt;</code> value
+         */
+        private QuoteEventBuilder<?> getAskBuilder()
+        {
+            if(askBuilder == null) {
+                askBuilder = QuoteEventBuilder.askEvent(instrument);
+                if(instrument instanceof Option) {
+                    askBuilder.withExpirationType(ExpirationType.UNKNOWN)
+                              .withMultiplier(BigDecimal.ONE)
+                              .withUnderlyingInstrument(getUnderlying())
+                              .hasDeliverable(true);
+                }
+            }
+            return askBuilder;
+        }
+        /**
+         * Gets the builder used to create trades for this instrument.
+         *
+         * @return a <code>TradeEventBuilder&lt;?&gt;</code> value
+         */
+        private TradeEventBuilder<?> getTradeBuilder()
+        {
+            if(tradeBuilder == null) {
+                tradeBuilder = TradeEventBuilder.tradeEvent(instrument);
+                if(instrument instanceof Option) {
+                    tradeBuilder.withExpirationType(ExpirationType.UNKNOWN)
+                                .withMultiplier(BigDecimal.ONE)
+                                .withUnderlyingInstrument(getUnderlying())
+                                .hasDeliverable(true);
+                }
+            }
+            return tradeBuilder;
+        }
+        /**
+         * Gets the underlying instrument of this option.
+         *
+         * @return an <code>Instrument</code> value
+         */
+        private Instrument getUnderlying()
+        {
+            return new Equity(((Option)instrument).getSymbol());
+        }
+        /**
+         * instrument in the file
+         */
+        private final Instrument instrument;
+        /**
+         * creates bids for the instrument, created on first use
+         */
+        private QuoteEventBuilder<?> bidBuilder;
+        /**
+         * creates asks for the instrument, created on first use
+         */
+        private QuoteEventBuilder<?> askBuilder;
+        /**
+         * creates trades for the instrument, created on first use
+         */
+        private TradeEventBuilder<?> tradeBuilder;
+    }
+    /**
+     * largest portion of the file mapped at once
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    /**
+     * quote actions by ordinal
+     */
+    private static final QuoteAction[] QUOTE_ACTIONS = QuoteAction.values();
+    /**
+     * event types by ordinal
+     */
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    /**
+     * security types by ordinal
+     */
+    private static final SecurityType[] SECURITY_TYPES = SecurityType.values();
+    /**
+     * file from which ticks are read
+     */
+    private final File file;
+    /**
+     * channel used to map the file
+     */
+    private final FileChannel channel;
+    /**
+     * position in the file after the last complete record
+     */
+    private final long limit;
+    /**
+     * instruments in the file indexed by id
+     */
+    private final List<InstrumentEntry> instruments = new ArrayList<>();
+    /**
+     * exchanges in the file indexed by id
+     */
+    private final List<String> exchanges = new ArrayList<>();
+    /**
+     * currently mapped portion of the file
+     */
+    private MappedByteBuffer segment;
+    /**
+     * position in the file of the start of the current segment
+     */
+    private long segmentStart;
+    /**
+     * position in the file of the next record
+     */
+    private long position;
+    /**
+     * number of events read so far
+     */
+    private long eventCount;
+}
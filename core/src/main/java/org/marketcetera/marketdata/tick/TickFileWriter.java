@@ -0,0 +1,393 @@
+package org.marketcetera.marketdata.tick;
+
+import static org.marketcetera.marketdata.tick.TickFileFormat.ASK_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.BID_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.DICTIONARY_VALUE_OFFSET;
+import static org.marketcetera.marketdata.tick.TickFileFormat.EXCHANGE_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.INSTRUMENT_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.MAGIC;
+import static org.marketcetera.marketdata.tick.TickFileFormat.RECORD_SIZE;
+import static org.marketcetera.marketdata.tick.TickFileFormat.TRADE_RECORD;
+import static org.marketcetera.marketdata.tick.TickFileFormat.VERSION;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang.Validate;
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventType;
+import org.marketcetera.event.MarketDataEvent;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.marketdata.Messages;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Appends bids, asks, and trades to a file in the {@link TickFileFormat binary tick format}.
+ *
+ * <p>Records are collected in a buffer which is written to the file when it fills, when {@link #flush()}
+ * is invoked, and when the writer is closed. If the file already contains ticks, new ticks are appended
+ * to it and the instruments and exchanges already in the file are reused.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ThreadSafe
+@ClassVersion("$Id$")
+public class TickFileWriter
+        implements Closeable
+{
+    /**
+     * Create a new TickFileWriter instance.
+     *
+     * @param inFile a <code>File</code> value
+     * @throws IOException if the file cannot be opened or is not a tick file
+     */
+    public TickFileWriter(File inFile)
+            throws IOException
+    {
+        this(inFile,
+             DEFAULT_BUFFER_SIZE);
+    }
+    /**
+     * Create a new TickFileWriter instance.
+     *
+     * @param inFile a <code>File</code> value
+     * @param inBufferSize an <code>int</code> value containing the size in bytes of the buffer
+     * @throws IOException if the file cannot be opened or is not a tick file
+     * @throws IllegalArgumentException if the buffer cannot hold at least one record
+     */
+    public TickFileWriter(File inFile,
+                          int inBufferSize)
+            throws IOException
+    {
+        Validate.isTrue(inBufferSize >= RECORD_SIZE);
+        file = inFile;
+        if(inFile.length() > 0) {
+            try(TickFileReader reader = new TickFileReader(inFile)) {
+                reader.readDictionaries();
+                List<Instrument> existingInstruments = reader.getInstruments();
+                for(int i=0;i<existingInstruments.size();i++) {
+                    instruments.put(existingInstruments.get(i),
+                                    i);
+                }
+                List<String> existingExchanges = reader.getExchanges();
+                for(int i=0;i<existingExchanges.size();i++) {
+                    exchanges.put(existingExchanges.get(i),
+                                  i);
+                }
+            }
+        }
+        channel = FileChannel.open(inFile.toPath(),
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE);
+        // discard any partial record left behind by a writer that did not finish
+        long size = channel.size();
+        size -= size % RECORD_SIZE;
+        channel.truncate(size);
+        channel.position(size);
+        written = size;
+        buffer = ByteBuffer.allocateDirect(inBufferSize - inBufferSize % RECORD_SIZE);
+        if(size == 0) {
+            buffer.putInt(MAGIC);
+            buffer.putShort(VERSION);
+            buffer.putShort((short)RECORD_SIZE);
+            pad(RECORD_SIZE - 8);
+        }
+    }
+    /**
+     * Appends the given event to the file.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @throws IOException if the event cannot be written
+     * @throws IllegalArgumentException if the event is not a bid, ask, or trade, has no exchange timestamp, or its price or size cannot be stored
+     */
+    public synchronized void write(Event inEvent)
+            throws IOException
+    {
+        byte recordType;
+        byte action = 0;
+        if(inEvent instanceof BidEvent) {
+            recordType = BID_RECORD;
+            action = (byte)((QuoteEvent)inEvent).getAction().ordinal();
+        } else if(inEvent instanceof AskEvent) {
+            recordType = ASK_RECORD;
+            action = (byte)((QuoteEvent)inEvent).getAction().ordinal();
+        } else if(inEvent instanceof TradeEvent) {
+            recordType = TRADE_RECORD;
+        } else {
+            throw new IllegalArgumentException(Messages.UNSUPPORTED_TICK_EVENT.getText(inEvent));
+        }
+        MarketDataEvent event = (MarketDataEvent)inEvent;
+        // validated events always have one, there is no way to read back an event without it
+        Date exchangeTimestamp = event.getExchangeTimestamp();
+        if(exchangeTimestamp == null) {
+            throw new IllegalArgumentException(Messages.MISSING_TICK_EXCHANGE_TIMESTAMP.getText(inEvent));
+        }
+        BigDecimal price = event.getPrice();
+        BigDecimal size = event.getSize();
+        checkRange(price);
+        checkRange(size);
+        EventType eventType = event.getEventType();
+        int instrumentId = getInstrumentId(event.getInstrument());
+        int exchangeId = getExchangeId(event.getExchange());
+        if(buffer.remaining() < RECORD_SIZE) {
+            drain();
+        }
+        buffer.put(recordType);
+        buffer.put(action);
+        buffer.put(eventType == null ? 0 : (byte)(eventType.ordinal() + 1));
+        buffer.put((byte)price.scale());
+        buffer.put((byte)size.scale());
+        pad(3);
+        buffer.putInt(instrumentId);
+        buffer.putInt(exchangeId);
+        buffer.putLong(event.getMessageId());
+        buffer.putLong(event.getTimeMillis());
+        buffer.putLong(exchangeTimestamp.getTime());
+        buffer.putLong(price.unscaledValue().longValue());
+        buffer.putLong(size.unscaledValue().longValue());
+        buffer.putLong(event.getReceivedTimestamp());
+        eventCount += 1;
+    }
+    /**
+     * Writes the buffered records to the file.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void flush()
+            throws IOException
+    {
+        if(channel.isOpen()) {
+            drain();
+        }
+    }
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close()
+            throws IOException
+    {
+        if(!channel.isOpen()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+    /**
+     * Get the file value.
+     *
+     * @return a <code>File</code> value
+     */
+    public File getFile()
+    {
+        return file;
+    }
+    /**
+     * Gets the size of the file in bytes, including records not yet written.
+     *
+     * @return a <code>long</code> value
+     */
+    public synchronized long getSize()
+    {
+        return written + buffer.position();
+    }
+    /**
+     * Gets the number of events written by this writer.
+     *
+     * @return a <code>long</code> value
+     */
+    public synchronized long getEventCount()
+    {
+        return eventCount;
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return file.toString();
+    }
+    /**
+     * Gets the id of the given instrument, adding it to the dictionary if necessary.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @return an <code>int</code> value
+     * @throws IOException if the dictionary record cannot be written
+     */
+    private int getInstrumentId(Instrument inInstrument)
+            throws IOException
+    {
+        Integer id = instruments.get(inInstrument);
+        if(id == null) {
+            id = instruments.size();
+            writeDictionaryRecord(INSTRUMENT_RECORD,
+                                  (byte)inInstrument.getSecurityType().ordinal(),
+                                  id,
+                                  TickFileFormat.getSymbol(inInstrument));
+            instruments.put(inInstrument,
+                            id);
+        }
+        return id;
+    }
+    /**
+     * Gets the id of the given exchange, adding it to the dictionary if necessary.
+     *
+     * @param inExchange a <code>String</code> value
+     * @return an <code>int</code> value, <code>-1</code> if the given exchange is <code>null</code>
+     * @throws IOException if the dictionary record cannot be written
+     */
+    private int getExchangeId(String inExchange)
+            throws IOException
+    {
+        if(inExchange == null) {
+            return -1;
+        }
+        Integer id = exchanges.get(inExchange);
+        if(id == null) {
+            id = exchanges.size();
+            writeDictionaryRecord(EXCHANGE_RECORD,
+                                  (byte)0,
+                                  id,
+                                  inExchange);
+            exchanges.put(inExchange,
+                          id);
+        }
+        return id;
+    }
+    /**
+     * Writes a dictionary record with the given attributes.
+     *
+     * @param inRecordType a <code>byte</code> value
+     * @param inQualifier a <code>byte</code> value
+     * @param inId an <code>int</code> value
+     * @param inValue a <code>String</code> value
+     * @throws IOException if the record cannot be written
+     */
+    private void writeDictionaryRecord(byte inRecordType,
+                                       byte inQualifier,
+                                       int inId,
+                                       String inValue)
+            throws IOException
+    {
+        byte[] value = inValue.getBytes(StandardCharsets.UTF_8);
+        Validate.isTrue(value.length <= Short.MAX_VALUE);
+        int recordLength = TickFileFormat.getDictionaryRecordCount(value.length) * RECORD_SIZE;
+        if(buffer.remaining() < recordLength) {
+            drain();
+        }
+        if(buffer.remaining() < recordLength) {
+            // too big for the buffer, write it directly
+            ByteBuffer record = ByteBuffer.allocate(recordLength);
+            record.put(inRecordType).put(inQualifier).putShort((short)value.length).putInt(inId).put(value);
+            record.clear();
+            while(record.hasRemaining()) {
+                written += channel.write(record);
+            }
+            return;
+        }
+        buffer.put(inRecordType);
+        buffer.put(inQualifier);
+        buffer.putShort((short)value.length);
+        buffer.putInt(inId);
+        buffer.put(value);
+        pad(recordLength - DICTIONARY_VALUE_OFFSET - value.length);
+    }
+    /**
+     * Writes the given number of zero bytes to the buffer.
+     *
+     * @param inCount an <code>int</code> value
+     */
+    private void pad(int inCount)
+    {
+        for(int i=0;i<inCount;i++) {
+            buffer.put((byte)0);
+        }
+    }
+    /**
+     * Checks that the given value can be stored as a scaled long.
+     *
+     * @param inValue a <code>BigDecimal</code> value
+     * @throws IllegalArgumentException if the value cannot be stored
+     */
+    private static void checkRange(BigDecimal inValue)
+    {
+        if(inValue.scale() < Byte.MIN_VALUE ||
+           inValue.scale() > Byte.MAX_VALUE ||
+           inValue.unscaledValue().bitLength() > 63) {
+            throw new IllegalArgumentException(Messages.TICK_VALUE_OUT_OF_RANGE.getText(inValue));
+        }
+    }
+    /**
+     * Writes the contents of the buffer to the file.
+     *
+     * @throws IOException if the contents cannot be written
+     */
+    private void drain()
+            throws IOException
+    {
+        buffer.flip();
+        try {
+            while(buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+    /**
+     * default size in bytes of the buffer
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * RECORD_SIZE * 16;
+    /**
+     * file to which ticks are written
+     */
+    private final File file;
+    /**
+     * channel used to write to the file
+     */
+    private final FileChannel channel;
+    /**
+     * holds records not yet written to the file
+     */
+    private final ByteBuffer buffer;
+    /**
+     * ids of the instruments in the file
+     */
+    private final Map<Instrument,Integer> instruments = new HashMap<>();
+    /**
+     * ids of the exchanges in the file
+     */
+    private final Map<String,Integer> exchanges = new HashMap<>();
+    /**
+     * number of bytes written to the file
+     */
+    private long written;
+    /**
+     * number of events written by this writer
+     */
+    private long eventCount;
+}
@@ -0,0 +1,9 @@
+/* $License$ */
+/**
+ * Reads and writes market data in a compact binary tick format.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+package org.marketcetera.marketdata.tick;
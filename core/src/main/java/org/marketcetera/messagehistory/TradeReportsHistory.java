@@ -1,5 +1,6 @@
 package org.marketcetera.messagehistory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -51,10 +52,6 @@ public class TradeReportsHistory {
 
     private final EventList<ReportHolder> mReadOnlyAveragePriceList;
 
-    private final FilterList<ReportHolder> mLatestExecutionReportsList;
-
-    private final FilterList<ReportHolder> mLatestMessageList;
-
     private final EventList<ReportHolder> mOpenOrderList;
 
     private final EventList<ReportHolder> mReadOnlyOpenOrderList;
@@ -63,6 +60,32 @@ public class TradeReportsHistory {
 
     private final Map<OrderID, OrderID> mOrderIDToGroupMap;
 
+    /**
+     * The latest execution report of each order chain, keyed by group ID
+     */
+    private final Map<OrderID, ReportHolder> mLatestExecutionReports = new HashMap<OrderID, ReportHolder>();
+
+    /**
+     * The latest report of each order chain, keyed by group ID
+     */
+    private final Map<OrderID, ReportHolder> mLatestMessages = new HashMap<OrderID, ReportHolder>();
+
+    /**
+     * The report representing the status of each open order chain, keyed by group ID
+     */
+    private final Map<OrderID, ReportHolder> mOpenOrders = new HashMap<OrderID, ReportHolder>();
+
+    /**
+     * The reports of each order chain, keyed by group ID
+     */
+    private final Map<OrderID, List<ReportHolder>> mOrderChains = new HashMap<OrderID, List<ReportHolder>>();
+
+    private final LatestReportFunction mLatestReportFunction = new LatestReportFunction();
+
+    private final LatestExecutionReportFunction mLatestExecutionReportFunction = new LatestExecutionReportFunction();
+
+    private final OpenOrderListFunction mOpenOrderListFunction = new OpenOrderListFunction();
+
     private final Set<ReportID> mUniqueReportIds = new HashSet<ReportID>();
 
     private final ca.odell.glazedlists.util.concurrent.Lock mReadLock;
@@ -104,16 +127,10 @@ public class TradeReportsHistory {
                 new ReportFillMatcher()));
         GroupingList<ReportHolder> orderIDList = new GroupingList<ReportHolder>(mAllMessages,
                 new ReportGroupIDComparator());
-        mLatestExecutionReportsList = new FilterList<ReportHolder>(
-                new FunctionList<List<ReportHolder>, ReportHolder>(orderIDList,
-                        new LatestExecutionReportFunction()), new NotNullReportMatcher());
-        mLatestMessageList = new FilterList<ReportHolder>(
-                new FunctionList<List<ReportHolder>, ReportHolder>(orderIDList,
-                        new LatestReportFunction()), new NotNullReportMatcher());
         mAveragePriceList = new AveragePriceReportList(messageFactory, mAllMessages);
         mReadOnlyAveragePriceList = GlazedLists.readOnlyList(mAveragePriceList);
         mOpenOrderList = new FilterList<ReportHolder>(new FunctionList<List<ReportHolder>,ReportHolder>(orderIDList,
-                                                                                                        new OpenOrderListFunction()),
+                                                                                                        mOpenOrderListFunction),
                                                                                                         new NotNullReportMatcher());
         mReadOnlyOpenOrderList = GlazedLists.readOnlyList(mOpenOrderList);
 
@@ -146,6 +163,10 @@ public class TradeReportsHistory {
                 mUniqueReportIds.clear();
                 mOriginalOrderACKs.clear();
                 mOrderIDToGroupMap.clear();
+                mLatestExecutionReports.clear();
+                mLatestMessages.clear();
+                mOpenOrders.clear();
+                mOrderChains.clear();
             } finally {
                 mWriteLock.unlock();
             }
@@ -241,11 +262,58 @@ public class TradeReportsHistory {
             }
     
             mAllMessages.add(messageHolder);
+            updateIndexes(messageHolder);
         } finally {
             mWriteLock.unlock();
         }
     }
 
+    /**
+     * Updates the per order chain indexes with the given report so the latest
+     * reports and open order status can be looked up without scanning the lists.
+     * 
+     * @param inHolder the report just added
+     */
+    private void updateIndexes(ReportHolder inHolder) {
+        OrderID groupID = inHolder.getGroupID();
+        if (groupID == null) {
+            return;
+        }
+        updateLatestReport(mLatestMessages, mLatestReportFunction, inHolder);
+        updateLatestReport(mLatestExecutionReports, mLatestExecutionReportFunction, inHolder);
+        List<ReportHolder> chain = mOrderChains.get(groupID);
+        if (chain == null) {
+            chain = new ArrayList<ReportHolder>();
+            mOrderChains.put(groupID, chain);
+        }
+        chain.add(inHolder);
+        ReportHolder openOrder = mOpenOrderListFunction.evaluate(chain);
+        if (openOrder == null) {
+            mOpenOrders.remove(groupID);
+        } else {
+            mOpenOrders.put(groupID, openOrder);
+        }
+    }
+
+    /**
+     * Replaces the report held in the given index for the chain of the given report
+     * if the function considers the given report to be later.
+     * 
+     * @param inIndex the index to update
+     * @param inFunction the function that chooses the latest report
+     * @param inHolder the report just added
+     */
+    private static void updateLatestReport(Map<OrderID, ReportHolder> inIndex,
+            LatestReportFunction inFunction, ReportHolder inHolder) {
+        if (!inFunction.accept(inHolder)) {
+            return;
+        }
+        ReportHolder latest = inIndex.get(inHolder.getGroupID());
+        if (latest == null || inFunction.isLater(inHolder, latest)) {
+            inIndex.put(inHolder.getGroupID(), inHolder);
+        }
+    }
+
     private void updateOrderIDMappings(ReportBase inReport) {
         if (inReport.getOrderID() != null && inReport.getOriginalOrderID() != null)
         {
@@ -296,19 +364,16 @@ public class TradeReportsHistory {
     }
 
     public ExecutionReport getLatestExecutionReport(OrderID clOrdID) {
-        return (ExecutionReport) getReport(mLatestExecutionReportsList, clOrdID);
+        ReportHolder holder = getReport(mLatestExecutionReports, clOrdID);
+        return holder == null ? null : (ExecutionReport) holder.getReport();
     }
     
-    private ReportBase getReport(EventList<ReportHolder> list, OrderID clOrdID) {
+    private ReportHolder getReport(Map<OrderID, ReportHolder> index, OrderID clOrdID) {
         mReadLock.lock();
         try {
             OrderID groupID = getGroupID(clOrdID);
             if (groupID != null){
-                for (ReportHolder holder : list) {
-                    if (groupID.equals(holder.getGroupID())){
-                        return holder.getReport();
-                    }
-                }
+                return index.get(groupID);
             }
             return null;
         } finally {
@@ -321,29 +386,25 @@ public class TradeReportsHistory {
     }
 
     public Message getLatestMessage(OrderID inOrderID) {
-        mReadLock.lock();
-        try {
-            OrderID groupID = getGroupID(inOrderID);
-            if (groupID != null)
-            {
-                for (ReportHolder holder : mLatestMessageList)
-                {
-                    OrderID holderGroupID = holder.getGroupID();
-                    if (holderGroupID != null && groupID.equals(holderGroupID)){
-                        return holder.getMessage();
-                    }
-                }
-            }
-            return null;
-        } finally {
-            mReadLock.unlock();
-        }
+        ReportHolder holder = getReport(mLatestMessages, inOrderID);
+        return holder == null ? null : holder.getMessage();
     }
 
     public EventList<ReportHolder> getOpenOrdersList() {
         return mReadOnlyOpenOrderList;
     }
 
+    /**
+     * Returns the {@link ReportHolder} representing the status of the open order
+     * chain the given order belongs to, as it appears in {@link #getOpenOrdersList()}.
+     * 
+     * @param inOrderID the orderID
+     * @return the ReportHolder, or null if the order is not open
+     */
+    public ReportHolder getOpenOrder(OrderID inOrderID) {
+        return getReport(mOpenOrders, inOrderID);
+    }
+
     public void visitOpenOrdersExecutionReports(MessageVisitor visitor)
     {
         mReadLock.lock();
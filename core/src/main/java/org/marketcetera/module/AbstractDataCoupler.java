@@ -137,6 +137,32 @@ abstract class AbstractDataCoupler
         return mLastEmitError;
     }
 
+    /**
+     * The number of data instances emitted to this coupler that
+     * have not yet been delivered to the receiver.
+     *
+     * Couplers that deliver data within the emitter's thread
+     * always return zero.
+     *
+     * @return number of data instances waiting to be delivered.
+     */
+    public long getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * The number of data instances emitted to this coupler that
+     * were discarded without being delivered to the receiver.
+     *
+     * Couplers that deliver data within the emitter's thread
+     * always return zero.
+     *
+     * @return number of data instances discarded.
+     */
+    public long getDropped() {
+        return 0;
+    }
+
     /**
      * This method is implemented by the subclasses to receive
      * the data emitted by the emitter module. The implementation
@@ -147,6 +173,22 @@ abstract class AbstractDataCoupler
      */
     protected abstract void process(Object inData);
 
+    /**
+     * Invoked before the request is initiated with the emitter.
+     * Subclasses that deliver data in a separate thread start that
+     * thread from within this method.
+     */
+    protected void startDelivery() {
+    }
+
+    /**
+     * Invoked when the request is canceled or could not be
+     * initiated. Subclasses that deliver data in a separate thread
+     * stop that thread from within this method.
+     */
+    protected void stopDelivery() {
+    }
+
     /**
      * This method is invoked to supply the data emitted by
      * the emitter to the receiver of this data. This method
@@ -230,11 +272,17 @@ abstract class AbstractDataCoupler
     final void initiateRequest(RequestID inRequestID, DataRequest inRequest)
             throws RequestDataException {
         mRequestID = inRequestID;
+        startDelivery();
+        boolean failed = true;
         sNestedFlowCall.set(Boolean.TRUE);
         try {
             ((DataEmitter)mEmitter).requestData(inRequest, this);
+            failed = false;
         } finally {
             sNestedFlowCall.set(Boolean.FALSE);
+            if(failed) {
+                stopDelivery();
+            }
         }
     }
 
@@ -255,6 +303,7 @@ abstract class AbstractDataCoupler
                     this,t, mRequestID);
         } finally {
             mRequestCanceled = true;
+            stopDelivery();
         }
     }
 
@@ -0,0 +1,252 @@
+package org.marketcetera.module;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.marketcetera.core.BoundedRingBuffer;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * A coupler that delivers data to the receiving module in a separate
+ * thread from the one emitting it. Each coupler owns a bounded
+ * ring buffer and a single delivery thread, so that a slow receiver
+ * does not stall the emitter or the other receivers in the data flow.
+ *
+ * Data is delivered to the receiver in the order it was emitted. The
+ * behavior when the buffer is full is determined by the
+ * {@link AsyncOverflowPolicy overflow policy} and the behavior of the
+ * delivery thread when there is no data to deliver by the
+ * {@link AsyncWaitStrategy wait strategy}.
+ *
+ * Data that has not yet been delivered when the request is canceled
+ * is discarded.
+ *
+ * @author agent@local
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+class AsyncCoupler
+        extends AbstractDataCoupler
+        implements Runnable
+{
+    /**
+     * Creates an instance.
+     *
+     * @param inManager the module manager instance.
+     * @param inEmitter the emitter module instance.
+     * @param inReceiver the receiving module instance.
+     * @param inFlowID the data flow ID for this data flow.
+     * @param inExceptionHandler the optional exception handler for exceptions generated by the receiver of the data flow
+     * @param inCapacity the maximum number of data objects waiting to be delivered
+     * @param inWaitStrategy the wait strategy to use when there's no data to deliver
+     * @param inOverflowPolicy the action to take when the buffer is full
+     */
+    AsyncCoupler(ModuleManager inManager,
+                 Module inEmitter,
+                 Module inReceiver,
+                 DataFlowID inFlowID,
+                 DataFlowExceptionHandler inExceptionHandler,
+                 int inCapacity,
+                 AsyncWaitStrategy inWaitStrategy,
+                 AsyncOverflowPolicy inOverflowPolicy)
+    {
+        super(inManager,
+              inEmitter,
+              inReceiver,
+              inFlowID,
+              inExceptionHandler);
+        mBuffer = new BoundedRingBuffer<Object>(inCapacity);
+        mWaitStrategy = inWaitStrategy;
+        mOverflowPolicy = inOverflowPolicy;
+    }
+
+    @Override
+    protected void process(Object inData) {
+        Object data = inData == null
+                ? NULL_DATA
+                : inData;
+        switch(mOverflowPolicy) {
+            case BLOCK:
+                while(!mBuffer.offer(data)) {
+                    if(!mRunning) {
+                        return;
+                    }
+                    wakeUp();
+                    mWaitStrategy.idle();
+                }
+                break;
+            case DROP_OLDEST:
+                while(!mBuffer.offer(data)) {
+                    if(mBuffer.poll() != null) {
+                        mDropped.incrementAndGet();
+                    }
+                }
+                break;
+            case CONFLATE:
+                //once data has been set aside, all subsequently emitted
+                //data has to be set aside as well until the buffer is
+                //drained, to preserve the order of delivery.
+                if(mConflated.get() != null || !mBuffer.offer(data)) {
+                    if(mConflated.getAndSet(data) != null) {
+                        mDropped.incrementAndGet();
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException(mOverflowPolicy.name());
+        }
+        wakeUp();
+    }
+
+    @Override
+    public void run() {
+        SLF4JLoggerProxy.debug(this,
+                               "{} delivery thread started",  //$NON-NLS-1$
+                               this);
+        while(mRunning) {
+            Object data = mBuffer.poll();
+            if(data == null) {
+                data = mConflated.getAndSet(null);
+            }
+            if(data == null) {
+                if(mWaitStrategy == AsyncWaitStrategy.PARK) {
+                    //announce that we're about to park and check again so
+                    //that an emitter cannot slip in data unnoticed.
+                    mParked = true;
+                    if(mBuffer.isEmpty() && mConflated.get() == null && mRunning) {
+                        mWaitStrategy.idle();
+                    }
+                    mParked = false;
+                } else {
+                    mWaitStrategy.idle();
+                }
+                continue;
+            }
+            receive(data == NULL_DATA
+                    ? null
+                    : data);
+        }
+        mBuffer.clear();
+        mConflated.set(null);
+        SLF4JLoggerProxy.debug(this,
+                               "{} delivery thread stopped",  //$NON-NLS-1$
+                               this);
+    }
+
+    @Override
+    public long getQueueDepth() {
+        return mBuffer.size() + (mConflated.get() == null
+                ? 0
+                : 1);
+    }
+
+    @Override
+    public long getDropped() {
+        return mDropped.get();
+    }
+
+    @Override
+    protected void startDelivery() {
+        Thread thread = new DeliveryThread(this,
+                                           THREAD_NAME_PREFIX + "-" + getFlowID() + "-" + getReceiverURN());  //$NON-NLS-1$ //$NON-NLS-2$
+        thread.setDaemon(true);
+        mThread = thread;
+        mRunning = true;
+        thread.start();
+    }
+
+    /**
+     * Stops the delivery thread. Data that has not yet been delivered
+     * is discarded.
+     * <p>
+     * Unless invoked from a delivery thread, this method waits for the
+     * data currently being delivered, if any, to be received so that the
+     * receiver is not invoked once the request is canceled.
+     */
+    @Override
+    protected void stopDelivery() {
+        mRunning = false;
+        Thread thread = mThread;
+        if(thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        //the delivery thread cancels the data flow when the receiver
+        //throws a StopDataFlowException, it cannot wait for itself. The
+        //delivery thread of another coupler in a chained flow must not
+        //wait either, as that would stall the data flows it delivers.
+        if(Thread.currentThread() instanceof DeliveryThread) {
+            return;
+        }
+        try {
+            thread.join(STOP_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(thread.isAlive()) {
+            Messages.LOG_ASYNC_DELIVERY_NOT_STOPPED.warn(this,
+                    thread.getName(), STOP_TIMEOUT);
+        }
+    }
+
+    /**
+     * Wakes up the delivery thread if it's parked waiting for data.
+     */
+    private void wakeUp() {
+        if(mParked) {
+            LockSupport.unpark(mThread);
+        }
+    }
+
+    /**
+     * The thread delivering the data of a coupler.
+     */
+    private static class DeliveryThread extends Thread {
+        /**
+         * Creates an instance.
+         *
+         * @param inCoupler the coupler whose data is delivered.
+         * @param inName the thread name.
+         */
+        DeliveryThread(AsyncCoupler inCoupler,
+                       String inName) {
+            super(inCoupler, inName);
+        }
+    }
+
+    /**
+     * The prefix of the name of the delivery threads.
+    static final String THREAD_NAME_PREFIX = "AsyncCoupler";  //$NON-NLS-1$
+    /**
+     * The maximum time, in milliseconds, to wait for the delivery
+     * thread to stop.
+     */
+    static final long STOP_TIMEOUT = 10000;
+    /**
+     * Stands in for null data, which cannot be held in the buffer.
+     */
+    private static final Object NULL_DATA = new Object();
+    /**
+     * Holds the data waiting to be delivered.
+     */
+    private final BoundedRingBuffer<Object> mBuffer;
+    /**
+     * Holds the latest data that did not fit in the buffer when
+     * the overflow policy is {@link AsyncOverflowPolicy#CONFLATE}.
+     */
+    private final AtomicReference<Object> mConflated =
+            new AtomicReference<Object>();
+    /**
+     * The number of data objects discarded because the buffer was full.
+     */
+    private final AtomicLong mDropped = new AtomicLong(0);
+    private final AsyncWaitStrategy mWaitStrategy;
+    private final AsyncOverflowPolicy mOverflowPolicy;
+    private volatile Thread mThread;
+    private volatile boolean mRunning = false;
+    private volatile boolean mParked = false;
+}
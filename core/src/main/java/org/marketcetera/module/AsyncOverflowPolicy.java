@@ -0,0 +1,34 @@
+package org.marketcetera.module;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * The action taken by an {@link DataCoupling#ASYNC asynchronous}
+ * coupling when an emitter emits data and the coupling's buffer
+ * is full.
+ *
+ * @author agent@local
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum AsyncOverflowPolicy {
+    /**
+     * The emitter is blocked until the receiver has consumed enough
+     * data to make space available. No data is lost.
+     */
+    BLOCK,
+    /**
+     * The oldest data waiting to be delivered is discarded to make
+     * space for the newly emitted data.
+     */
+    DROP_OLDEST,
+    /**
+     * The newly emitted data is held aside and replaced by any data
+     * emitted after it until the buffer has been drained, so that the
+     * receiver only sees the latest value emitted while it was
+     * falling behind.
+     */
+    CONFLATE
+}
@@ -0,0 +1,61 @@
+package org.marketcetera.module;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * The strategy used by an {@link DataCoupling#ASYNC asynchronous}
+ * coupling when the thread delivering data to the receiver finds no
+ * data to deliver, or when an emitter is blocked waiting for space
+ * to become available.
+ *
+ * @author agent@local
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum AsyncWaitStrategy {
+    /**
+     * Busy-spins. Gives the lowest latency at the cost of a core
+     * per data flow hop.
+     */
+    SPIN {
+        @Override
+        void idle() {
+            //spin
+        }
+    },
+    /**
+     * Yields the processor to other threads between checks.
+     */
+    YIELD {
+        @Override
+        void idle() {
+            Thread.yield();
+        }
+    },
+    /**
+     * Parks the waiting thread. Emitters wake up the delivery thread
+     * as soon as data is available, the park timeout only bounds
+     * the latency of a missed wake-up.
+     */
+    PARK {
+        @Override
+        void idle() {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+    /**
+     * Waits as specified by this strategy.
+     */
+    abstract void idle();
+
+    /**
+     * The maximum time a thread is parked by the {@link #PARK} strategy.
+     */
+    static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+}
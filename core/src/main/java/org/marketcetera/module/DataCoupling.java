@@ -34,12 +34,18 @@ public enum DataCoupling {
     },
     /**
      * Data is communicated asynchronously, ie. the data receiver
-     * receivers the data in a separate thread from the one emitting
+     * receives the data in a separate thread from the one emitting
      * data.
      *
-     * <b>this coupling is currently not supported, attempts to use
-     * this coupling will result in {@link UnsupportedOperationException}</b>
+     * The size of the buffer between the emitter and the receiver,
+     * the {@link AsyncWaitStrategy wait strategy} and the
+     * {@link AsyncOverflowPolicy overflow policy} are determined by
+     * the module manager's current settings when the data flow
+     * is created.
      *
+     * @see ModuleManager#setAsyncCouplerCapacity(int)
+     * @see ModuleManager#setAsyncWaitStrategy(AsyncWaitStrategy)
+     * @see ModuleManager#setAsyncOverflowPolicy(AsyncOverflowPolicy)
      */
     ASYNC {
         AbstractDataCoupler createCoupler(ModuleManager inManager,
@@ -48,7 +54,14 @@ public enum DataCoupling {
                                           DataFlowID inFlowID,
                                           DataFlowExceptionHandler inExceptionHandler)
         {
-            throw new UnsupportedOperationException();
+            return new AsyncCoupler(inManager,
+                                    inEmitter,
+                                    inReceiver,
+                                    inFlowID,
+                                    inExceptionHandler,
+                                    inManager.getAsyncCouplerCapacity(),
+                                    inManager.getAsyncWaitStrategy(),
+                                    inManager.getAsyncOverflowPolicy());
         }
     };
 
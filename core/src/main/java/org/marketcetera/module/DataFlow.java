@@ -80,7 +80,13 @@ class DataFlow {
                             : null,
                     isReceiver
                             ? mCouplers[i - 1].getLastReceiveError()
-                            : null);
+                            : null,
+                    isReceiver
+                            ? mCouplers[i - 1].getQueueDepth()
+                            : 0,
+                    isReceiver
+                            ? mCouplers[i - 1].getDropped()
+                            : 0);
         }
         return new DataFlowInfo(steps, mFlowID, mRequesterURN,
                 mStopRequesterURN, mCreated, mStopped);
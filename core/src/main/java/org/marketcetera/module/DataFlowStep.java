@@ -123,6 +123,64 @@ public final class DataFlowStep implements Serializable {
         return mLastEmitError;
     }
 
+    /**
+     * Returns the number of data objects emitted to this module that
+     * are waiting to be delivered to it. This value is non-zero only
+     * if {@link #isReceiver()} is true and the module receives data
+     * via an {@link DataCoupling#ASYNC asynchronous} coupling.
+     *
+     * @return the number of data objects waiting to be delivered.
+     */
+    public long getNumPending() {
+        return mNumPending;
+    }
+
+    /**
+     * Returns the number of data objects emitted to this module that
+     * were discarded without being delivered to it. This value is
+     * non-zero only if {@link #isReceiver()} is true and the module
+     * receives data via an {@link DataCoupling#ASYNC asynchronous}
+     * coupling that is not able to keep up with the emitter.
+     *
+     * @return the number of data objects discarded.
+     *
+     * @see AsyncOverflowPolicy
+     */
+    public long getNumDropped() {
+        return mNumDropped;
+    }
+
+    /**
+     * Creates an instance.
+     *
+     * @param inRequest The original data request
+     * @param inModuleURN the module instance URN
+     * @param inEmitter if this module is emitting data in this data flow
+     * @param inReceiver if this module is receiving data in this data flow
+     * @param inNumEmitted number of data objects emitted
+     * @param inNumReceived number of data objects received
+     * @param inNumEmitErrors number of errors encountered when emitting
+     * data.
+     * @param inNumReceiveErrors number of errors encountered when
+     * receiving data
+     * @param inLastEmitError last error encountered when emitting data.
+     * @param inLastReceiveError last error encountered when receiving data
+     */
+    public DataFlowStep(StringDataRequest inRequest,
+                        ModuleURN inModuleURN,
+                        boolean inEmitter,
+                        boolean inReceiver,
+                        long inNumEmitted,
+                        long inNumReceived,
+                        long inNumEmitErrors,
+                        long inNumReceiveErrors,
+                        String inLastEmitError,
+                        String inLastReceiveError) {
+        this(inRequest, inModuleURN, inEmitter, inReceiver, inNumEmitted,
+                inNumReceived, inNumEmitErrors, inNumReceiveErrors,
+                inLastEmitError, inLastReceiveError, 0, 0);
+    }
+
     /**
      * Creates an instance.
      *
@@ -138,6 +196,9 @@ public final class DataFlowStep implements Serializable {
      * receiving data
      * @param inLastEmitError last error encountered when emitting data.
      * @param inLastReceiveError last error encountered when receiving data
+     * @param inNumPending number of data objects waiting to be received
+     * @param inNumDropped number of data objects discarded without being
+     * received
      */
     @ConstructorProperties({
             "request",          //$NON-NLS-1$
@@ -149,7 +210,9 @@ public final class DataFlowStep implements Serializable {
             "numEmitErrors",    //$NON-NLS-1$
             "numReceiveErrors", //$NON-NLS-1$
             "lastEmitError",    //$NON-NLS-1$
-            "lastReceiveError"  //$NON-NLS-1$
+            "lastReceiveError", //$NON-NLS-1$
+            "numPending",       //$NON-NLS-1$
+            "numDropped"        //$NON-NLS-1$
             })
     public DataFlowStep(StringDataRequest inRequest,
                         ModuleURN inModuleURN,
@@ -160,7 +223,9 @@ public final class DataFlowStep implements Serializable {
                         long inNumEmitErrors,
                         long inNumReceiveErrors,
                         String inLastEmitError,
-                        String inLastReceiveError) {
+                        String inLastReceiveError,
+                        long inNumPending,
+                        long inNumDropped) {
         mRequest = inRequest;
         mModuleURN = inModuleURN;
         mEmitter = inEmitter;
@@ -171,6 +236,8 @@ public final class DataFlowStep implements Serializable {
         mNumReceiveErrors = inNumReceiveErrors;
         mLastEmitError = inLastEmitError;
         mLastReceiveError = inLastReceiveError;
+        mNumPending = inNumPending;
+        mNumDropped = inNumDropped;
     }
 
     private final StringDataRequest mRequest;
@@ -183,5 +250,7 @@ public final class DataFlowStep implements Serializable {
     private final long mNumReceiveErrors;
     private final String mLastEmitError;
     private final String mLastReceiveError;
+    private final long mNumPending;
+    private final long mNumDropped;
     private static final long serialVersionUID = 2259786776527863195L;
 }
@@ -120,6 +120,8 @@ public interface Messages {
             new I18NMessage1P(LOGGER, "log_unexpected_error_canceling_req");   //$NON-NLS-1$
     static final I18NMessage2P LOG_UNEXPECTED_ERROR_CANCELING_FLOW =
             new I18NMessage2P(LOGGER, "log_unexpected_error_canceling_flow");   //$NON-NLS-1$
+    static final I18NMessage2P LOG_ASYNC_DELIVERY_NOT_STOPPED =
+            new I18NMessage2P(LOGGER, "log_async_delivery_not_stopped");   //$NON-NLS-1$
     static final I18NMessage1P INCORRECT_FACTORY_AUTO_INSTANTIATE =
             new I18NMessage1P(LOGGER, "incorrect_factory_auto_instantiate");  //$NON-NLS-1$
     static final I18NMessage3P MULTIPLE_MODULES_MATCH_URN =
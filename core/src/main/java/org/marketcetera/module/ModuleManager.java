@@ -29,6 +29,7 @@ import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
+import org.apache.commons.lang.Validate;
 import org.marketcetera.core.ApplicationContextProvider;
 import org.marketcetera.core.CloseableLock;
 import org.marketcetera.util.log.I18NBoundMessage1P;
@@ -1133,6 +1134,75 @@ public final class ModuleManager
         addToFlowHistory(null);
     }
 
+    /**
+     * The maximum number of data objects buffered by each
+     * {@link DataCoupling#ASYNC asynchronous} coupling waiting to be
+     * delivered to its receiver. The default value is set to
+     * {@link #DEFAULT_ASYNC_COUPLER_CAPACITY}.
+     *
+     * @return the buffer capacity of asynchronous couplings.
+     */
+    public int getAsyncCouplerCapacity() {
+        return mAsyncCouplerCapacity;
+    }
+
+    /**
+     * Sets the maximum number of data objects buffered by each
+     * {@link DataCoupling#ASYNC asynchronous} coupling. The value is
+     * rounded up to the next power of two. The new value only applies
+     * to data flows created after this call.
+     *
+     * @param inAsyncCouplerCapacity the buffer capacity, must be positive.
+     */
+    public void setAsyncCouplerCapacity(int inAsyncCouplerCapacity) {
+        Validate.isTrue(inAsyncCouplerCapacity > 0);
+        mAsyncCouplerCapacity = inAsyncCouplerCapacity;
+    }
+
+    /**
+     * The wait strategy used by {@link DataCoupling#ASYNC asynchronous}
+     * couplings. The default value is {@link AsyncWaitStrategy#PARK}.
+     *
+     * @return the wait strategy of asynchronous couplings.
+     */
+    public AsyncWaitStrategy getAsyncWaitStrategy() {
+        return mAsyncWaitStrategy;
+    }
+
+    /**
+     * Sets the wait strategy used by {@link DataCoupling#ASYNC asynchronous}
+     * couplings. The new value only applies to data flows created after
+     * this call.
+     *
+     * @param inAsyncWaitStrategy the wait strategy, cannot be null.
+     */
+    public void setAsyncWaitStrategy(AsyncWaitStrategy inAsyncWaitStrategy) {
+        Validate.notNull(inAsyncWaitStrategy);
+        mAsyncWaitStrategy = inAsyncWaitStrategy;
+    }
+
+    /**
+     * The overflow policy used by {@link DataCoupling#ASYNC asynchronous}
+     * couplings. The default value is {@link AsyncOverflowPolicy#BLOCK}.
+     *
+     * @return the overflow policy of asynchronous couplings.
+     */
+    public AsyncOverflowPolicy getAsyncOverflowPolicy() {
+        return mAsyncOverflowPolicy;
+    }
+
+    /**
+     * Sets the overflow policy used by {@link DataCoupling#ASYNC asynchronous}
+     * couplings. The new value only applies to data flows created after
+     * this call.
+     *
+     * @param inAsyncOverflowPolicy the overflow policy, cannot be null.
+     */
+    public void setAsyncOverflowPolicy(AsyncOverflowPolicy inAsyncOverflowPolicy) {
+        Validate.notNull(inAsyncOverflowPolicy);
+        mAsyncOverflowPolicy = inAsyncOverflowPolicy;
+    }
+
     /**
      * Returns the MBean server to use for all JMX operations.
      *
@@ -2102,6 +2172,11 @@ public final class ModuleManager
      */
     public static final int DEFAULT_MAX_FLOW_HISTORY = 10;
 
+    /**
+     * The default buffer capacity of asynchronous couplings.
+     */
+    public static final int DEFAULT_ASYNC_COUPLER_CAPACITY = 4096;
+
     /**
      * Array of listeners that listen to data received by the data sink
      */
@@ -2161,6 +2236,18 @@ public final class ModuleManager
      * Maximum number flow histories to keep a record of.
      */
     private volatile int mMaxFlowHistory = DEFAULT_MAX_FLOW_HISTORY;
+    /**
+     * Buffer capacity of asynchronous couplings.
+     */
+    private volatile int mAsyncCouplerCapacity = DEFAULT_ASYNC_COUPLER_CAPACITY;
+    /**
+     * Wait strategy of asynchronous couplings.
+     */
+    private volatile AsyncWaitStrategy mAsyncWaitStrategy = AsyncWaitStrategy.PARK;
+    /**
+     * Overflow policy of asynchronous couplings.
+     */
+    private volatile AsyncOverflowPolicy mAsyncOverflowPolicy = AsyncOverflowPolicy.BLOCK;
 
     /**
      * The MBean server to use for all JMX operations.
@@ -482,4 +482,75 @@ public interface ModuleManagerMXBean {
     void setMaxFlowHistory(
             @DisplayName("Maximum number of data flow records to retain in data flow history")
             int inMaxFlowHistory);
+
+    /**
+     * The maximum number of data objects buffered by each
+     * asynchronous coupling waiting to be delivered to its receiver.
+     *
+     * @return the buffer capacity of asynchronous couplings.
+     *
+     * @see ModuleManager#getAsyncCouplerCapacity()
+     */
+    @DisplayName("Maximum number of data objects buffered by each asynchronous coupling")
+    int getAsyncCouplerCapacity();
+
+    /**
+     * Sets the maximum number of data objects buffered by each
+     * asynchronous coupling. The new value only applies to data
+     * flows created after this call.
+     *
+     * @param inAsyncCouplerCapacity the buffer capacity.
+     *
+     * @see ModuleManager#setAsyncCouplerCapacity(int)
+     */
+    @DisplayName("Maximum number of data objects buffered by each asynchronous coupling")
+    void setAsyncCouplerCapacity(
+            @DisplayName("Maximum number of data objects buffered by each asynchronous coupling")
+            int inAsyncCouplerCapacity);
+
+    /**
+     * The wait strategy used by asynchronous couplings.
+     *
+     * @return the wait strategy of asynchronous couplings.
+     *
+     * @see ModuleManager#getAsyncWaitStrategy()
+     */
+    @DisplayName("Wait strategy used by asynchronous couplings")
+    AsyncWaitStrategy getAsyncWaitStrategy();
+
+    /**
+     * Sets the wait strategy used by asynchronous couplings. The new
+     * value only applies to data flows created after this call.
+     *
+     * @param inAsyncWaitStrategy the wait strategy.
+     *
+     * @see ModuleManager#setAsyncWaitStrategy(AsyncWaitStrategy)
+     */
+    @DisplayName("Wait strategy used by asynchronous couplings")
+    void setAsyncWaitStrategy(
+            @DisplayName("Wait strategy used by asynchronous couplings")
+            AsyncWaitStrategy inAsyncWaitStrategy);
+
+    /**
+     * The overflow policy used by asynchronous couplings.
+     *
+     * @return the overflow policy of asynchronous couplings.
+     *
+     * @see ModuleManager#getAsyncOverflowPolicy()
+     */
+    @DisplayName("Overflow policy used by asynchronous couplings")
+    AsyncOverflowPolicy getAsyncOverflowPolicy();
+
+    /**
+     * Sets the overflow policy used by asynchronous couplings. The new
+     * value only applies to data flows created after this call.
+     *
+     * @param inAsyncOverflowPolicy the overflow policy.
+     *
+     * @see ModuleManager#setAsyncOverflowPolicy(AsyncOverflowPolicy)
+     */
+    @DisplayName("Overflow policy used by asynchronous couplings")
+    void setAsyncOverflowPolicy(
+            @DisplayName("Overflow policy used by asynchronous couplings")
+            AsyncOverflowPolicy inAsyncOverflowPolicy);
 }
@@ -164,6 +164,36 @@ class ModuleManagerMXBeanImpl implements ModuleManagerMXBean {
         mManager.setMaxFlowHistory(inMaxFlowHistory);
     }
 
+    @Override
+    public int getAsyncCouplerCapacity() {
+        return mManager.getAsyncCouplerCapacity();
+    }
+
+    @Override
+    public void setAsyncCouplerCapacity(int inAsyncCouplerCapacity) {
+        mManager.setAsyncCouplerCapacity(inAsyncCouplerCapacity);
+    }
+
+    @Override
+    public AsyncWaitStrategy getAsyncWaitStrategy() {
+        return mManager.getAsyncWaitStrategy();
+    }
+
+    @Override
+    public void setAsyncWaitStrategy(AsyncWaitStrategy inAsyncWaitStrategy) {
+        mManager.setAsyncWaitStrategy(inAsyncWaitStrategy);
+    }
+
+    @Override
+    public AsyncOverflowPolicy getAsyncOverflowPolicy() {
+        return mManager.getAsyncOverflowPolicy();
+    }
+
+    @Override
+    public void setAsyncOverflowPolicy(AsyncOverflowPolicy inAsyncOverflowPolicy) {
+        mManager.setAsyncOverflowPolicy(inAsyncOverflowPolicy);
+    }
+
     /**
      * Creates an instance.
      *
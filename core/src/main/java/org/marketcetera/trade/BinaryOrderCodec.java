@@ -0,0 +1,764 @@
+package org.marketcetera.trade;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.marketcetera.algo.BrokerAlgo;
+import org.marketcetera.algo.BrokerAlgoSpec;
+import org.marketcetera.algo.BrokerAlgoTag;
+import org.marketcetera.algo.BrokerAlgoTagSpec;
+import org.marketcetera.util.misc.ClassVersion;
+
+import quickfix.InvalidMessage;
+import quickfix.Message;
+
+/* $License$ */
+
+/**
+ * Encodes orders and FIX messages in a compact binary form.
+ *
+ * <p>Orders are written field by field in a fixed sequence. Strings are written as a variable-length
+ * length prefix followed by UTF-8 bytes, enums as one byte and decimals as a scale plus unscaled
+ * bytes, with a zero prefix marking <code>null</code> in each case. FIX messages are written as a
+ * sequence of tag/value pairs with a variable-length tag and a length-prefixed value.
+ *
+ * <p>The order ID of a decoded order is the order ID that was encoded; no new ID is assigned.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public final class BinaryOrderCodec
+{
+    /**
+     * Writes the given order.
+     *
+     * @param inOrder an <code>Order</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the order cannot be written
+     * @throws IllegalArgumentException if the order or its instrument is of a type that cannot be encoded
+     */
+    public static void writeOrder(Order inOrder,
+                                  DataOutput inOutput)
+            throws IOException
+    {
+        if(inOrder instanceof FIXOrder) {
+            FIXOrder fixOrder = (FIXOrder)inOrder;
+            inOutput.writeByte(FIX_ORDER);
+            writeString(fixOrder.getBrokerID() == null ? null : fixOrder.getBrokerID().getValue(),
+                        inOutput);
+            writeFIXMessage(fixOrder.getMessage(),
+                            inOutput);
+        } else if(inOrder instanceof OrderSingle) {
+            inOutput.writeByte(ORDER_SINGLE);
+            writeOrderBase((OrderBase)inOrder,
+                           inOutput);
+            writeNewOrReplace((NewOrReplaceOrder)inOrder,
+                              inOutput);
+        } else if(inOrder instanceof OrderReplace) {
+            OrderReplace replace = (OrderReplace)inOrder;
+            inOutput.writeByte(ORDER_REPLACE);
+            writeOrderBase(replace,
+                           inOutput);
+            writeNewOrReplace(replace,
+                              inOutput);
+            writeString(replace.getOriginalOrderID() == null ? null : replace.getOriginalOrderID().getValue(),
+                        inOutput);
+            writeString(replace.getBrokerOrderID(),
+                        inOutput);
+        } else if(inOrder instanceof OrderCancel) {
+            OrderCancel cancel = (OrderCancel)inOrder;
+            inOutput.writeByte(ORDER_CANCEL);
+            writeOrderBase(cancel,
+                           inOutput);
+            writeString(cancel.getOriginalOrderID() == null ? null : cancel.getOriginalOrderID().getValue(),
+                        inOutput);
+            writeString(cancel.getBrokerOrderID(),
+                        inOutput);
+        } else {
+            throw new IllegalArgumentException(String.valueOf(inOrder));
+        }
+    }
+    /**
+     * Reads an order written by {@link #writeOrder(Order, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return an <code>Order</code> value
+     * @throws IOException if the order cannot be read
+     */
+    public static Order readOrder(DataInput inInput)
+            throws IOException
+    {
+        byte kind = inInput.readByte();
+        switch(kind) {
+            case FIX_ORDER: {
+                String brokerId = readString(inInput);
+                return new FIXOrderImpl(readFIXMessage(inInput),
+                                        brokerId == null ? null : new BrokerID(brokerId));
+            }
+            case ORDER_SINGLE: {
+                OrderSingleImpl order = new OrderSingleImpl();
+                readOrderBase(order,
+                              inInput);
+                readNewOrReplace(order,
+                                 inInput);
+                return order;
+            }
+            case ORDER_REPLACE: {
+                OrderReplaceImpl order = new OrderReplaceImpl();
+                readOrderBase(order,
+                              inInput);
+                readNewOrReplace(order,
+                                 inInput);
+                String originalOrderId = readString(inInput);
+                order.setOriginalOrderID(originalOrderId == null ? null : new OrderID(originalOrderId));
+                order.setBrokerOrderID(readString(inInput));
+                return order;
+            }
+            case ORDER_CANCEL: {
+                OrderCancelImpl order = new OrderCancelImpl();
+                readOrderBase(order,
+                              inInput);
+                String originalOrderId = readString(inInput);
+                order.setOriginalOrderID(originalOrderId == null ? null : new OrderID(originalOrderId));
+                order.setBrokerOrderID(readString(inInput));
+                return order;
+            }
+            default:
+                throw new IOException(Messages.INVALID_BINARY_ORDER.getText(kind));
+        }
+    }
+    /**
+     * Writes the given FIX message as a sequence of tag/value pairs.
+     *
+     * @param inMessage a <code>Message</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the message cannot be written
+     * @throws IllegalArgumentException if the message contains a field that is not of the form <code>tag=value</code>
+     */
+    public static void writeFIXMessage(Message inMessage,
+                                       DataOutput inOutput)
+            throws IOException
+    {
+        String message = inMessage.toString();
+        int start = 0;
+        while(start < message.length()) {
+            int end = message.indexOf(SOH,
+                                      start);
+            if(end == -1) {
+                end = message.length();
+            }
+            int separator = message.indexOf('=',
+                                            start);
+            if(separator <= start || separator > end) {
+                throw new IllegalArgumentException(message);
+            }
+            int tag = Integer.parseInt(message.substring(start,
+                                                         separator));
+            if(tag <= 0) {
+                throw new IllegalArgumentException(message);
+            }
+            writeVarInt(tag,
+                        inOutput);
+            writeString(message.substring(separator+1,
+                                          end),
+                        inOutput);
+            start = end + 1;
+        }
+        writeVarInt(0,
+                    inOutput);
+    }
+    /**
+     * Reads a FIX message written by {@link #writeFIXMessage(Message, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>Message</code> value
+     * @throws IOException if the message cannot be read or parsed
+     */
+    public static Message readFIXMessage(DataInput inInput)
+            throws IOException
+    {
+        StringBuilder message = new StringBuilder(256);
+        int tag;
+        while((tag = readVarInt(inInput)) != 0) {
+            message.append(tag).append('=').append(readString(inInput)).append(SOH);
+        }
+        try {
+            return new Message(message.toString());
+        } catch (InvalidMessage e) {
+            throw new IOException(e);
+        }
+    }
+    /**
+     * Writes the given string as a length-prefixed UTF-8 value.
+     *
+     * @param inValue a <code>String</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the value cannot be written
+     */
+    public static void writeString(String inValue,
+                                   DataOutput inOutput)
+            throws IOException
+    {
+        if(inValue == null) {
+            writeVarInt(0,
+                        inOutput);
+            return;
+        }
+        byte[] bytes = inValue.getBytes(UTF8);
+        writeVarInt(bytes.length+1,
+                    inOutput);
+        inOutput.write(bytes);
+    }
+    /**
+     * Reads a string written by {@link #writeString(String, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>String</code> value or <code>null</code>
+     * @throws IOException if the value cannot be read
+     */
+    public static String readString(DataInput inInput)
+            throws IOException
+    {
+        int length = readVarInt(inInput);
+        if(length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length-1];
+        inInput.readFully(bytes);
+        return new String(bytes,
+                          UTF8);
+    }
+    /**
+     * Writes the attributes common to all non-FIX orders.
+     *
+     * @param inOrder an <code>OrderBase</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the order cannot be written
+     */
+    private static void writeOrderBase(OrderBase inOrder,
+                                       DataOutput inOutput)
+            throws IOException
+    {
+        writeString(inOrder.getOrderID() == null ? null : inOrder.getOrderID().getValue(),
+                    inOutput);
+        writeString(inOrder.getBrokerID() == null ? null : inOrder.getBrokerID().getValue(),
+                    inOutput);
+        writeString(inOrder.getAccount(),
+                    inOutput);
+        writeString(inOrder.getText(),
+                    inOutput);
+        writeEnum(inOrder.getSide(),
+                  inOutput);
+        writeInstrument(inOrder.getInstrument(),
+                        inOutput);
+        writeDecimal(inOrder.getQuantity(),
+                     inOutput);
+        writeMap(inOrder.getCustomFields(),
+                 inOutput);
+    }
+    /**
+     * Reads the attributes common to all non-FIX orders into the given order.
+     *
+     * @param inOrder an <code>OrderBase</code> value
+     * @param inInput a <code>DataInput</code> value
+     * @throws IOException if the order cannot be read
+     */
+    private static void readOrderBase(OrderBase inOrder,
+                                      DataInput inInput)
+            throws IOException
+    {
+        String orderId = readString(inInput);
+        inOrder.setOrderID(orderId == null ? null : new OrderID(orderId));
+        String brokerId = readString(inInput);
+        inOrder.setBrokerID(brokerId == null ? null : new BrokerID(brokerId));
+        inOrder.setAccount(readString(inInput));
+        inOrder.setText(readString(inInput));
+        inOrder.setSide(readEnum(Side.class,
+                                 inInput));
+        inOrder.setInstrument(readInstrument(inInput));
+        inOrder.setQuantity(readDecimal(inInput));
+        inOrder.setCustomFields(readMap(inInput));
+    }
+    /**
+     * Writes the attributes common to new and replace orders.
+     *
+     * @param inOrder a <code>NewOrReplaceOrder</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the order cannot be written
+     */
+    private static void writeNewOrReplace(NewOrReplaceOrder inOrder,
+                                          DataOutput inOutput)
+            throws IOException
+    {
+        writeEnum(inOrder.getOrderType(),
+                  inOutput);
+        writeEnum(inOrder.getTimeInForce(),
+                  inOutput);
+        writeEnum(inOrder.getOrderCapacity(),
+                  inOutput);
+        writeEnum(inOrder.getPositionEffect(),
+                  inOutput);
+        writeDecimal(inOrder.getPrice(),
+                     inOutput);
+        writeDecimal(inOrder.getDisplayQuantity(),
+                     inOutput);
+        writeBrokerAlgo(inOrder.getBrokerAlgo(),
+                        inOutput);
+    }
+    /**
+     * Reads the attributes common to new and replace orders into the given order.
+     *
+     * @param inOrder a <code>NewOrReplaceOrder</code> value
+     * @param inInput a <code>DataInput</code> value
+     * @throws IOException if the order cannot be read
+     */
+    private static void readNewOrReplace(NewOrReplaceOrder inOrder,
+                                         DataInput inInput)
+            throws IOException
+    {
+        inOrder.setOrderType(readEnum(OrderType.class,
+                                      inInput));
+        inOrder.setTimeInForce(readEnum(TimeInForce.class,
+                                        inInput));
+        inOrder.setOrderCapacity(readEnum(OrderCapacity.class,
+                                          inInput));
+        inOrder.setPositionEffect(readEnum(PositionEffect.class,
+                                           inInput));
+        inOrder.setPrice(readDecimal(inInput));
+        inOrder.setDisplayQuantity(readDecimal(inInput));
+        inOrder.setBrokerAlgo(readBrokerAlgo(inInput));
+    }
+    /**
+     * Writes the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the instrument cannot be written
+     * @throws IllegalArgumentException if the instrument is of a type that cannot be encoded
+     */
+    private static void writeInstrument(Instrument inInstrument,
+                                        DataOutput inOutput)
+            throws IOException
+    {
+        if(inInstrument == null) {
+            writeEnum(null,
+                      inOutput);
+            return;
+        }
+        SecurityType securityType = inInstrument.getSecurityType();
+        if(securityType == null) {
+            throw new IllegalArgumentException(String.valueOf(inInstrument));
+        }
+        switch(securityType) {
+            case CommonStock:
+                writeEnum(securityType,
+                          inOutput);
+                writeString(inInstrument.getSymbol(),
+                            inOutput);
+                break;
+            case ConvertibleBond:
+                writeEnum(securityType,
+                          inOutput);
+                writeString(inInstrument.getSymbol(),
+                            inOutput);
+                break;
+            case Option: {
+                Option option = (Option)inInstrument;
+                writeEnum(securityType,
+                          inOutput);
+                writeString(option.getSymbol(),
+                            inOutput);
+                writeString(option.getExpiry(),
+                            inOutput);
+                writeDecimal(option.getStrikePrice(),
+                             inOutput);
+                writeEnum(option.getType(),
+                          inOutput);
+                break;
+            }
+            case Future: {
+                Future future = (Future)inInstrument;
+                writeEnum(securityType,
+                          inOutput);
+                writeString(future.getSymbol(),
+                            inOutput);
+                writeString(future.getExpiryAsString(),
+                            inOutput);
+                break;
+            }
+            case Currency: {
+                Currency currency = (Currency)inInstrument;
+                if(currency.getLeftCCY() == null || currency.getRightCCY() == null) {
+                    throw new IllegalArgumentException(String.valueOf(inInstrument));
+                }
+                writeEnum(securityType,
+                          inOutput);
+                writeString(currency.getLeftCCY(),
+                            inOutput);
+                writeString(currency.getRightCCY(),
+                            inOutput);
+                writeString(currency.getNearTenor(),
+                            inOutput);
+                writeString(currency.getFarTenor(),
+                            inOutput);
+                writeString(currency.getTradedCCY(),
+                            inOutput);
+                break;
+            }
+            default:
+                throw new IllegalArgumentException(String.valueOf(inInstrument));
+        }
+    }
+    /**
+     * Reads an instrument written by {@link #writeInstrument(Instrument, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return an <code>Instrument</code> value or <code>null</code>
+     * @throws IOException if the instrument cannot be read
+     */
+    private static Instrument readInstrument(DataInput inInput)
+            throws IOException
+    {
+        SecurityType securityType = readEnum(SecurityType.class,
+                                             inInput);
+        if(securityType == null) {
+            return null;
+        }
+        switch(securityType) {
+            case CommonStock:
+                return new Equity(readString(inInput));
+            case ConvertibleBond:
+                return new ConvertibleBond(readString(inInput));
+            case Option:
+                return new Option(readString(inInput),
+                                  readString(inInput),
+                                  readDecimal(inInput),
+                                  readEnum(OptionType.class,
+                                           inInput));
+            case Future:
+                return new Future(readString(inInput),
+                                  readString(inInput));
+            case Currency:
+                return new Currency(readString(inInput),
+                                    readString(inInput),
+                                    readString(inInput),
+                                    readString(inInput),
+                                    readString(inInput));
+            default:
+                throw new IOException(Messages.INVALID_BINARY_ORDER.getText(securityType));
+        }
+    }
+    /**
+     * Writes the given broker algo.
+     *
+     * @param inBrokerAlgo a <code>BrokerAlgo</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the algo cannot be written
+     */
+    private static void writeBrokerAlgo(BrokerAlgo inBrokerAlgo,
+                                        DataOutput inOutput)
+            throws IOException
+    {
+        if(inBrokerAlgo == null || inBrokerAlgo.getAlgoSpec() == null) {
+            inOutput.writeBoolean(false);
+            return;
+        }
+        inOutput.writeBoolean(true);
+        BrokerAlgoSpec algoSpec = inBrokerAlgo.getAlgoSpec();
+        writeString(algoSpec.getName(),
+                    inOutput);
+        Set<BrokerAlgoTagSpec> tagSpecs = algoSpec.getAlgoTagSpecs() == null ? Collections.<BrokerAlgoTagSpec>emptySet() : algoSpec.getAlgoTagSpecs();
+        writeVarInt(tagSpecs.size(),
+                    inOutput);
+        for(BrokerAlgoTagSpec tagSpec : tagSpecs) {
+            writeTagSpec(tagSpec,
+                         inOutput);
+        }
+        Set<BrokerAlgoTag> tags = inBrokerAlgo.getAlgoTags() == null ? Collections.<BrokerAlgoTag>emptySet() : inBrokerAlgo.getAlgoTags();
+        writeVarInt(tags.size(),
+                    inOutput);
+        for(BrokerAlgoTag tag : tags) {
+            writeTagSpec(tag.getTagSpec(),
+                         inOutput);
+            writeString(tag.getValue(),
+                        inOutput);
+        }
+    }
+    /**
+     * Reads a broker algo written by {@link #writeBrokerAlgo(BrokerAlgo, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>BrokerAlgo</code> value or <code>null</code>
+     * @throws IOException if the algo cannot be read
+     */
+    private static BrokerAlgo readBrokerAlgo(DataInput inInput)
+            throws IOException
+    {
+        if(!inInput.readBoolean()) {
+            return null;
+        }
+        BrokerAlgoSpec algoSpec = new BrokerAlgoSpec();
+        algoSpec.setName(readString(inInput));
+        int tagSpecCount = readVarInt(inInput);
+        Set<BrokerAlgoTagSpec> tagSpecs = new HashSet<>();
+        for(int i=0;i<tagSpecCount;i++) {
+            tagSpecs.add(readTagSpec(inInput));
+        }
+        algoSpec.setAlgoTagSpecs(tagSpecs);
+        int tagCount = readVarInt(inInput);
+        Set<BrokerAlgoTag> tags = new HashSet<>();
+        for(int i=0;i<tagCount;i++) {
+            BrokerAlgoTagSpec tagSpec = readTagSpec(inInput);
+            tags.add(new BrokerAlgoTag(tagSpec,
+                                       readString(inInput)));
+        }
+        return new BrokerAlgo(algoSpec,
+                              tags);
+    }
+    /**
+     * Writes the given broker algo tag spec.
+     *
+     * @param inTagSpec a <code>BrokerAlgoTagSpec</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the tag spec cannot be written
+     */
+    private static void writeTagSpec(BrokerAlgoTagSpec inTagSpec,
+                                     DataOutput inOutput)
+            throws IOException
+    {
+        writeVarInt(inTagSpec.getTag(),
+                    inOutput);
+        writeString(inTagSpec.getLabel(),
+                    inOutput);
+        writeString(inTagSpec.getDescription(),
+                    inOutput);
+        inOutput.writeBoolean(inTagSpec.getIsMandatory());
+        writeString(inTagSpec.getPattern(),
+                    inOutput);
+        writeMap(inTagSpec.getOptions(),
+                 inOutput);
+    }
+    /**
+     * Reads a broker algo tag spec written by {@link #writeTagSpec(BrokerAlgoTagSpec, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>BrokerAlgoTagSpec</code> value
+     * @throws IOException if the tag spec cannot be read
+     */
+    private static BrokerAlgoTagSpec readTagSpec(DataInput inInput)
+            throws IOException
+    {
+        BrokerAlgoTagSpec tagSpec = new BrokerAlgoTagSpec();
+        tagSpec.setTag(readVarInt(inInput));
+        tagSpec.setLabel(readString(inInput));
+        tagSpec.setDescription(readString(inInput));
+        tagSpec.setIsMandatory(inInput.readBoolean());
+        tagSpec.setPattern(readString(inInput));
+        tagSpec.setOptions(readMap(inInput));
+        return tagSpec;
+    }
+    /**
+     * Writes the given string map.
+     *
+     * @param inMap a <code>Map&lt;String,String&gt;</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the map cannot be written
+     */
+    private static void writeMap(Map<String,String> inMap,
+                                 DataOutput inOutput)
+            throws IOException
+    {
+        if(inMap == null) {
+            writeVarInt(0,
+                        inOutput);
+            return;
+        }
+        writeVarInt(inMap.size()+1,
+                    inOutput);
+        for(Map.Entry<String,String> entry : inMap.entrySet()) {
+            writeString(entry.getKey(),
+                        inOutput);
+            writeString(entry.getValue(),
+                        inOutput);
+        }
+    }
+    /**
+     * Reads a string map written by {@link #writeMap(Map, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>Map&lt;String,String&gt;</code> value or <code>null</code>
+     * @throws IOException if the map cannot be read
+     */
+    private static Map<String,String> readMap(DataInput inInput)
+            throws IOException
+    {
+        int size = readVarInt(inInput);
+        if(size == 0) {
+            return null;
+        }
+        Map<String,String> map = new HashMap<>();
+        for(int i=1;i<size;i++) {
+            map.put(readString(inInput),
+                    readString(inInput));
+        }
+        return map;
+    }
+    /**
+     * Writes the given decimal as a scale followed by its unscaled value.
+     *
+     * @param inValue a <code>BigDecimal</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the value cannot be written
+     */
+    private static void writeDecimal(BigDecimal inValue,
+                                     DataOutput inOutput)
+            throws IOException
+    {
+        if(inValue == null) {
+            writeVarInt(0,
+                        inOutput);
+            return;
+        }
+        byte[] unscaled = inValue.unscaledValue().toByteArray();
+        writeVarInt(unscaled.length+1,
+                    inOutput);
+        inOutput.write(unscaled);
+        int scale = inValue.scale();
+        writeVarInt((scale << 1) ^ (scale >> 31),
+                    inOutput);
+    }
+    /**
+     * Reads a decimal written by {@link #writeDecimal(BigDecimal, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return a <code>BigDecimal</code> value or <code>null</code>
+     * @throws IOException if the value cannot be read
+     */
+    private static BigDecimal readDecimal(DataInput inInput)
+            throws IOException
+    {
+        int length = readVarInt(inInput);
+        if(length == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length-1];
+        inInput.readFully(unscaled);
+        int scale = readVarInt(inInput);
+        return new BigDecimal(new BigInteger(unscaled),
+                              (scale >>> 1) ^ -(scale & 1));
+    }
+    /**
+     * Writes the given enum value as one byte.
+     *
+     * @param inValue an <code>Enum&lt;?&gt;</code> value or <code>null</code>
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the value cannot be written
+     */
+    private static void writeEnum(Enum<?> inValue,
+                                  DataOutput inOutput)
+            throws IOException
+    {
+        inOutput.writeByte(inValue == null ? 0 : inValue.ordinal()+1);
+    }
+    /**
+     * Reads an enum value written by {@link #writeEnum(Enum, DataOutput)}.
+     *
+     * @param inType a <code>Class&lt;E&gt;</code> value
+     * @param inInput a <code>DataInput</code> value
+     * @return an <code>E</code> value or <code>null</code>
+     * @throws IOException if the value cannot be read
+     */
+    private static <E extends Enum<E>> E readEnum(Class<E> inType,
+                                                  DataInput inInput)
+            throws IOException
+    {
+        int ordinal = inInput.readUnsignedByte();
+        if(ordinal == 0) {
+            return null;
+        }
+        E[] values = inType.getEnumConstants();
+        if(ordinal > values.length) {
+            throw new IOException(Messages.INVALID_BINARY_ORDER.getText(ordinal));
+        }
+        return values[ordinal-1];
+    }
+    /**
+     * Writes the given non-negative value using seven bits per byte.
+     *
+     * @param inValue an <code>int</code> value
+     * @param inOutput a <code>DataOutput</code> value
+     * @throws IOException if the value cannot be written
+     */
+    private static void writeVarInt(int inValue,
+                                    DataOutput inOutput)
+            throws IOException
+    {
+        while((inValue & ~0x7f) != 0) {
+            inOutput.writeByte((inValue & 0x7f) | 0x80);
+            inValue >>>= 7;
+        }
+        inOutput.writeByte(inValue);
+    }
+    /**
+     * Reads a value written by {@link #writeVarInt(int, DataOutput)}.
+     *
+     * @param inInput a <code>DataInput</code> value
+     * @return an <code>int</code> value
+     * @throws IOException if the value cannot be read
+     */
+    private static int readVarInt(DataInput inInput)
+            throws IOException
+    {
+        int value = 0;
+        for(int shift=0;shift<32;shift+=7) {
+            int b = inInput.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException(Messages.INVALID_BINARY_ORDER.getText(value));
+    }
+    /**
+     * Create a new BinaryOrderCodec instance.
+     */
+    private BinaryOrderCodec()
+    {
+        throw new UnsupportedOperationException();
+    }
+    /**
+     * identifies a {@link FIXOrder}
+     */
+    private static final byte FIX_ORDER = 1;
+    /**
+     * identifies an {@link OrderSingle}
+     */
+    private static final byte ORDER_SINGLE = 2;
+    /**
+     * identifies an {@link OrderReplace}
+     */
+    private static final byte ORDER_REPLACE = 3;
+    /**
+     * identifies an {@link OrderCancel}
+     */
+    private static final byte ORDER_CANCEL = 4;
+    /**
+     * FIX field separator
+     */
+    private static final char SOH = '\u0001';
+    /**
+     * charset used for all strings
+     */
+    private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+}
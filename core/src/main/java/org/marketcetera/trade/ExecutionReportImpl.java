@@ -24,107 +24,107 @@ import javax.xml.bind.annotation.XmlRootElement;
 public class ExecutionReportImpl extends ReportBaseImpl implements ExecutionReport {
 
     @Override
-    public synchronized Date getTransactTime() {
-        return FIXUtil.getTransactTime(getMessage());
+    public Date getTransactTime() {
+        return copy(getExecutionSnapshot().transactTime);
     }
 
     @Override
-    public synchronized ExecutionType getExecutionType() {
-        return FIXUtil.getExecOrExecTransType(getMessage());
+    public ExecutionType getExecutionType() {
+        return getExecutionSnapshot().executionType;
     }
 
     @Override
-    public synchronized String getExecutionID() {
-        return FIXUtil.getExecutionID(getMessage());
+    public String getExecutionID() {
+        return getExecutionSnapshot().executionID;
     }
 
     @Override
-    public synchronized Side getSide() {
-        return FIXUtil.getSide(getMessage());
+    public Side getSide() {
+        return getExecutionSnapshot().side;
     }
 
     @Override
-    public synchronized Instrument getInstrument() {
-        return FIXUtil.getInstrument(getMessage());
+    public Instrument getInstrument() {
+        return getExecutionSnapshot().instrument;
     }
 
     @Override
-    public synchronized BigDecimal getLastQuantity() {
-        return FIXUtil.getLastQuantity(getMessage());
+    public BigDecimal getLastQuantity() {
+        return getExecutionSnapshot().lastQuantity;
     }
 
     @Override
-    public synchronized BigDecimal getLastPrice() {
-        return FIXUtil.getLastPrice(getMessage());
+    public BigDecimal getLastPrice() {
+        return getExecutionSnapshot().lastPrice;
     }
 
     @Override
-    public synchronized String getLastMarket() {
-        return FIXUtil.getLastMarket(getMessage());
+    public String getLastMarket() {
+        return getExecutionSnapshot().lastMarket;
     }
 
     @Override
-    public synchronized BigDecimal getOrderQuantity() {
-        return FIXUtil.getOrderQuantity(getMessage());
+    public BigDecimal getOrderQuantity() {
+        return getExecutionSnapshot().orderQuantity;
     }
     
     @Override
-    public synchronized BigDecimal getOrderDisplayQuantity() {
-        return FIXUtil.getOrderDisplayQuantity(getMessage());
+    public BigDecimal getOrderDisplayQuantity() {
+        return getExecutionSnapshot().orderDisplayQuantity;
     }
 
     @Override
-    public synchronized BigDecimal getLeavesQuantity() {
-        return FIXUtil.getLeavesQuantity(getMessage());
+    public BigDecimal getLeavesQuantity() {
+        return getExecutionSnapshot().leavesQuantity;
     }
 
     @Override
-    public synchronized BigDecimal getCumulativeQuantity() {
-        return FIXUtil.getCumulativeQuantity(getMessage());
+    public BigDecimal getCumulativeQuantity() {
+        return getExecutionSnapshot().cumulativeQuantity;
     }
 
     @Override
-    public synchronized BigDecimal getAveragePrice() {
-        return FIXUtil.getAveragePrice(getMessage());
+    public BigDecimal getAveragePrice() {
+        return getExecutionSnapshot().averagePrice;
     }
 
     @Override
-    public synchronized String getAccount() {
-        return FIXUtil.getAccount(getMessage());
+    public String getAccount() {
+        return getExecutionSnapshot().account;
     }
 
     @Override
-    public synchronized OrderType getOrderType() {
-        return FIXUtil.getOrderType(getMessage());
+    public OrderType getOrderType() {
+        return getExecutionSnapshot().orderType;
     }
 
     @Override
-    public synchronized OrderCapacity getOrderCapacity() {
-        return FIXUtil.getOrderCapacity(getMessage());
+    public OrderCapacity getOrderCapacity() {
+        return getExecutionSnapshot().orderCapacity;
     }
 
     @Override
-    public synchronized PositionEffect getPositionEffect() {
-        return FIXUtil.getPositionEffect(getMessage());
+    public PositionEffect getPositionEffect() {
+        return getExecutionSnapshot().positionEffect;
     }
 
     @Override
-    public synchronized TimeInForce getTimeInForce() {
-        return FIXUtil.getTimeInForce(getMessage());
+    public TimeInForce getTimeInForce() {
+        return getExecutionSnapshot().timeInForce;
     }
 
     @Override
-    public synchronized boolean isCancelable() {
-        return FIXMessageUtil.isCancellable(getMessage());
+    public boolean isCancelable() {
+        return getExecutionSnapshot().cancelable;
     }
 
     @Override
     public BigDecimal getPrice() {
-    	return FIXUtil.getPrice(getMessage());
+        return getExecutionSnapshot().price;
     }
     
     @Override
-    public synchronized String toString() {
+    public String toString() {
         return Messages.EXECUTION_REPORT_TO_STRING.getText(
                 String.valueOf(getAccount()),
                 String.valueOf(getAveragePrice()),
@@ -159,6 +159,21 @@ public class ExecutionReportImpl extends ReportBaseImpl implements ExecutionRepo
                 String.valueOf(getMessage())
         );
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.trade.ReportBaseImpl#createSnapshot(quickfix.Message)
+     */
+    @Override
+    ReportSnapshot createSnapshot(Message inMessage) {
+        return new ExecutionReportSnapshot(inMessage);
+    }
+    /**
+     * Gets the fields of this report decoded from its FIX message.
+     *
+     * @return an <code>ExecutionReportSnapshot</code> value
+     */
+    private ExecutionReportSnapshot getExecutionSnapshot() {
+        return (ExecutionReportSnapshot)getSnapshot();
+    }
     /**
      * Creates an instance.
      *
@@ -213,5 +228,59 @@ public class ExecutionReportImpl extends ReportBaseImpl implements ExecutionRepo
         super();
     }
 
+    /**
+     * The fields of an execution report, decoded once from the FIX message.
+     */
+    static class ExecutionReportSnapshot extends ReportSnapshot {
+        /**
+         * Decodes the fields from the given FIX message.
+         *
+         * @param inMessage the FIX Message.
+         */
+        ExecutionReportSnapshot(Message inMessage) {
+            super(inMessage);
+            transactTime = FIXUtil.getTransactTime(inMessage);
+            executionType = FIXUtil.getExecOrExecTransType(inMessage);
+            executionID = FIXUtil.getExecutionID(inMessage);
+            side = FIXUtil.getSide(inMessage);
+            instrument = FIXUtil.getInstrument(inMessage);
+            lastQuantity = FIXUtil.getLastQuantity(inMessage);
+            lastPrice = FIXUtil.getLastPrice(inMessage);
+            lastMarket = FIXUtil.getLastMarket(inMessage);
+            orderQuantity = FIXUtil.getOrderQuantity(inMessage);
+            orderDisplayQuantity = FIXUtil.getOrderDisplayQuantity(inMessage);
+            leavesQuantity = FIXUtil.getLeavesQuantity(inMessage);
+            cumulativeQuantity = FIXUtil.getCumulativeQuantity(inMessage);
+            averagePrice = FIXUtil.getAveragePrice(inMessage);
+            account = FIXUtil.getAccount(inMessage);
+            orderType = FIXUtil.getOrderType(inMessage);
+            orderCapacity = FIXUtil.getOrderCapacity(inMessage);
+            positionEffect = FIXUtil.getPositionEffect(inMessage);
+            timeInForce = FIXUtil.getTimeInForce(inMessage);
+            price = FIXUtil.getPrice(inMessage);
+            cancelable = FIXMessageUtil.isCancellable(inMessage);
+        }
+        final Date transactTime;
+        final ExecutionType executionType;
+        final String executionID;
+        final Side side;
+        final Instrument instrument;
+        final BigDecimal lastQuantity;
+        final BigDecimal lastPrice;
+        final String lastMarket;
+        final BigDecimal orderQuantity;
+        final BigDecimal orderDisplayQuantity;
+        final BigDecimal leavesQuantity;
+        final BigDecimal cumulativeQuantity;
+        final BigDecimal averagePrice;
+        final String account;
+        final OrderType orderType;
+        final OrderCapacity orderCapacity;
+        final PositionEffect positionEffect;
+        final TimeInForce timeInForce;
+        final BigDecimal price;
+        final boolean cancelable;
+    }
+
     private static final long serialVersionUID = 1L;
 }
@@ -55,8 +55,9 @@ public class FIXMessageWrapper implements FIXMessageSupport {
     }
 
     @Override
-    public synchronized Map<Integer, String> getFields() {
-        if(mFields == null) {
+    public Map<Integer, String> getFields() {
+        Map<Integer,String> fields = mFields;
+        if(fields == null) {
             Map<Integer, String> map = new HashMap<Integer, String>();
             Iterator<Field<?>> iterator = getMessage().iterator();
             while(iterator.hasNext()) {
@@ -65,11 +66,12 @@ public class FIXMessageWrapper implements FIXMessageSupport {
                     map.put(f.getTag(),((StringField)f).getValue());
                 }
             }
-            mFields = Collections.unmodifiableMap(map);
+            fields = Collections.unmodifiableMap(map);
+            mFields = fields;
         }
-        return mFields;
+        return fields;
     }
-    private transient Map<Integer,String> mFields;
+    private transient volatile Map<Integer,String> mFields;
     @XmlJavaTypeAdapter(FIXMessageAdapter.class)
     private final Message mMessage;
     private static final long serialVersionUID = 1L;
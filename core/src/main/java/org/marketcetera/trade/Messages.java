@@ -147,4 +147,6 @@ public interface Messages {
         new I18NMessage1P(LOGGER,"invalid_expiry"); //$NON-NLS-1$
     static final I18NMessage1P SKIPPNG_MALFORMED_REPORT = new I18NMessage1P(LOGGER,
                                                                             "skipping_malformed_report"); //$NON-NLS-1$
+    static final I18NMessage1P INVALID_BINARY_ORDER = new I18NMessage1P(LOGGER,
+                                                                        "invalid_binary_order"); //$NON-NLS-1$
 }
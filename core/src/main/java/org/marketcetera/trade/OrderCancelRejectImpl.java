@@ -74,7 +74,7 @@ public class OrderCancelRejectImpl
     protected OrderCancelRejectImpl() {}
 
     @Override
-    public synchronized String toString() {
+    public String toString() {
         return Messages.ORDER_CANCEL_REJECT_TO_STRING.getText(String.valueOf(getBrokerID()),
                                                               String.valueOf(getOrderID()),
                                                               String.valueOf(getOrderStatus()),
@@ -26,23 +26,23 @@ public class ReportBaseImpl
 {
 
     @Override
-    public synchronized OrderID getOrderID() {
-        return FIXUtil.getOrderID(getMessage());
+    public OrderID getOrderID() {
+        return getSnapshot().orderID;
     }
 
     @Override
-    public synchronized OrderID getOriginalOrderID() {
-        return FIXUtil.getOriginalOrderID(getMessage());
+    public OrderID getOriginalOrderID() {
+        return getSnapshot().originalOrderID;
     }
 
     @Override
-    public synchronized OrderStatus getOrderStatus() {
-        return FIXUtil.getOrderStatus(getMessage());
+    public OrderStatus getOrderStatus() {
+        return getSnapshot().orderStatus;
     }
 
     @Override
-    public synchronized String getText() {
-        return FIXUtil.getText(getMessage());
+    public String getText() {
+        return getSnapshot().text;
     }
 
     @Override
@@ -51,13 +51,13 @@ public class ReportBaseImpl
     }
 
     @Override
-    public synchronized Date getSendingTime() {
-        return FIXUtil.getSendingTime(getMessage());
+    public Date getSendingTime() {
+        return copy(getSnapshot().sendingTime);
     }
 
     @Override
-    public synchronized String getBrokerOrderID() {
-        return FIXUtil.getBrokerOrderID(getMessage());
+    public String getBrokerOrderID() {
+        return getSnapshot().brokerOrderID;
     }
 
     @Override
@@ -100,6 +100,50 @@ public class ReportBaseImpl
         inInstance.mReportID = inReportID;
     }
 
+    /**
+     * Gets the fields of this report decoded from its FIX message.
+     *
+     * <p>The fields are decoded on first use and reused afterwards. The
+     * decoded fields are immutable, so they are published without locking;
+     * threads racing on first use may each decode the message, with the
+     * same result. The FIX message of a report must not be modified once
+     * its fields have been read.
+     *
+     * @return a <code>ReportSnapshot</code> value
+     */
+    ReportSnapshot getSnapshot() {
+        ReportSnapshot snapshot = mSnapshot;
+        if(snapshot == null) {
+            snapshot = createSnapshot(getMessage());
+            mSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Decodes the fields of this report from the given FIX message.
+     * Subclasses that expose more fields override this method.
+     *
+     * @param inMessage the FIX Message.
+     *
+     * @return a <code>ReportSnapshot</code> value
+     */
+    ReportSnapshot createSnapshot(Message inMessage) {
+        return new ReportSnapshot(inMessage);
+    }
+
+    /**
+     * Returns a copy of the given date, so callers cannot modify
+     * the decoded value.
+     *
+     * @param inDate a <code>Date</code> value or null.
+     *
+     * @return a <code>Date</code> value or null.
+     */
+    static Date copy(Date inDate) {
+        return inDate == null ? null : new Date(inDate.getTime());
+    }
+
     /**
      * Creates an instance.
      *
@@ -137,6 +181,32 @@ public class ReportBaseImpl
         mViewerID = null;
     }
 
+    /**
+     * The fields common to all reports, decoded once from the FIX message.
+     */
+    static class ReportSnapshot {
+        /**
+         * Decodes the fields from the given FIX message.
+         *
+         * @param inMessage the FIX Message.
+         */
+        ReportSnapshot(Message inMessage) {
+            orderID = FIXUtil.getOrderID(inMessage);
+            originalOrderID = FIXUtil.getOriginalOrderID(inMessage);
+            orderStatus = FIXUtil.getOrderStatus(inMessage);
+            text = FIXUtil.getText(inMessage);
+            sendingTime = FIXUtil.getSendingTime(inMessage);
+            brokerOrderID = FIXUtil.getBrokerOrderID(inMessage);
+        }
+        final OrderID orderID;
+        final OrderID originalOrderID;
+        final OrderStatus orderStatus;
+        final String text;
+        final Date sendingTime;
+        final String brokerOrderID;
+    }
+
+    private transient volatile ReportSnapshot mSnapshot;
     private ReportID mReportID = null;
     private final BrokerID mBrokerID;
     private static final long serialVersionUID = 2L;
@@ -0,0 +1,136 @@
+package org.marketcetera.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.marketcetera.module.ExpectedFailure;
+
+/* $License$ */
+
+/**
+ * Tests {@link BoundedRingBuffer}.
+ *
+ * @author agent@local
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class BoundedRingBufferTest
+{
+    /**
+     * Tests creating a buffer.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testCreate()
+            throws Exception
+    {
+        new ExpectedFailure<IllegalArgumentException>() {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                new BoundedRingBuffer<Object>(0);
+            }
+        };
+        assertEquals(1,
+                     new BoundedRingBuffer<Object>(1).capacity());
+        assertEquals(8,
+                     new BoundedRingBuffer<Object>(5).capacity());
+        assertEquals(16,
+                     new BoundedRingBuffer<Object>(16).capacity());
+    }
+    /**
+     * Tests {@link BoundedRingBuffer#offer(Object)} and {@link BoundedRingBuffer#poll()}.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testOfferAndPoll()
+            throws Exception
+    {
+        final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<Integer>(4);
+        new ExpectedFailure<NullPointerException>() {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                buffer.offer(null);
+            }
+        };
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+        // wrap around several times to exercise the sequence numbers
+        for(int round=0;round<5;round++) {
+            for(int i=0;i<4;i++) {
+                assertTrue(buffer.offer(i));
+                assertEquals(i+1,
+                             buffer.size());
+            }
+            assertFalse(buffer.offer(4));
+            assertEquals(4,
+                         buffer.size());
+            for(int i=0;i<4;i++) {
+                assertEquals(Integer.valueOf(i),
+                             buffer.poll());
+            }
+            assertNull(buffer.poll());
+            assertTrue(buffer.isEmpty());
+        }
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+    }
+    /**
+     * Tests that elements offered by one thread are polled in order by another.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testProducerConsumer()
+            throws Exception
+    {
+        final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<Integer>(256);
+        final int count = 10000;
+        final List<Integer> received = new ArrayList<Integer>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run()
+            {
+                while(received.size() < count) {
+                    Integer value = buffer.poll();
+                    if(value == null) {
+                        Thread.yield();
+                    } else {
+                        received.add(value);
+                    }
+                }
+                done.countDown();
+            }
+        });
+        consumer.start();
+        for(int i=0;i<count;i++) {
+            while(!buffer.offer(i)) {
+                Thread.yield();
+            }
+        }
+        done.await();
+        assertEquals(count,
+                     received.size());
+        for(int i=0;i<count;i++) {
+            assertEquals(Integer.valueOf(i),
+                         received.get(i));
+        }
+        assertTrue(buffer.isEmpty());
+    }
+}
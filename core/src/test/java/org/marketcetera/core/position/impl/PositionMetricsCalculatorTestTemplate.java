@@ -29,13 +29,19 @@ import org.marketcetera.util.log.SLF4JLoggerProxy;
 public abstract class PositionMetricsCalculatorTestTemplate implements Runnable {
 
     int numTests;
+    long seed;
 
     public PositionMetricsCalculatorTestTemplate(int numTests) {
+        this(numTests, 1);
+    }
+
+    public PositionMetricsCalculatorTestTemplate(int numTests, long seed) {
         this.numTests = numTests;
+        this.seed = seed;
     }
 
     public void run() {
-        Random random = new Random(1);
+        Random random = new Random(seed);
 
         BigDecimal incomingPosition = randomBigDecimal(random);
         BigDecimal closingPrice = randomBigDecimal(random);
@@ -72,7 +78,7 @@ public abstract class PositionMetricsCalculatorTestTemplate implements Runnable
         return new BasicCalculator(incomingPosition, closingPrice);
     }
 
-    private BigDecimal randomBigDecimal(Random random) {
+    protected BigDecimal randomBigDecimal(Random random) {
         return new BigDecimal(random.nextInt(10000)).divide(new BigDecimal(
                 "100"));
     }
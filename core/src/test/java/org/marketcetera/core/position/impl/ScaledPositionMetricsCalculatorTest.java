@@ -0,0 +1,123 @@
+package org.marketcetera.core.position.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+import org.marketcetera.core.position.MockTrade;
+import org.marketcetera.core.position.PositionKeyFactory;
+import org.marketcetera.trade.Equity;
+
+/* $License$ */
+
+/**
+ * Test {@link ScaledPositionMetricsCalculator}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class ScaledPositionMetricsCalculatorTest {
+
+    private static final int NUM_ITERATIONS = 1000;
+    private static final int NUM_SEEDS = 20;
+
+    @Test
+    public void stressTest() {
+        new PositionMetricsCalculatorTestTemplate(NUM_ITERATIONS) {
+
+            @Override
+            protected PositionMetricsCalculator createCalculator(BigDecimal incomingPosition, BigDecimal closingPrice) {
+                return new ScaledPositionMetricsCalculator(incomingPosition, closingPrice);
+            }
+        }.run();
+    }
+
+    @Test
+    public void compareWithImpl() {
+        for (int seed = 1; seed <= NUM_SEEDS; seed++) {
+            new PositionMetricsCalculatorTestTemplate(NUM_ITERATIONS, seed) {
+
+                @Override
+                protected PositionMetricsCalculator createCalculator(BigDecimal incomingPosition,
+                        BigDecimal closingPrice) {
+                    return new ScaledPositionMetricsCalculator(incomingPosition, closingPrice, 3, 3);
+                }
+
+                @Override
+                protected PositionMetricsCalculator createBenchmarkCalculator(
+                        BigDecimal incomingPosition, BigDecimal closingPrice) {
+                    return new PositionMetricsCalculatorImpl(incomingPosition, closingPrice);
+                }
+
+                @Override
+                protected BigDecimal randomBigDecimal(Random random) {
+                    // up to 3 decimal places and 5 integer digits, sometimes zero
+                    return new BigDecimal(random.nextInt(100000)).movePointLeft(random.nextInt(4));
+                }
+            }.run();
+        }
+    }
+
+    @Test
+    public void testScales() {
+        ScaledPositionMetricsCalculator calculator = new ScaledPositionMetricsCalculator(
+                BigDecimal.TEN, new BigDecimal("1.5"));
+        assertEquals(ScaledPositionMetricsCalculator.DEFAULT_QUANTITY_SCALE, calculator.getQuantityScale());
+        assertEquals(ScaledPositionMetricsCalculator.DEFAULT_PRICE_SCALE, calculator.getPriceScale());
+        calculator.tick(new BigDecimal("1.0001"));
+        try {
+            calculator.tick(new BigDecimal("1.00001"));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            calculator.trade(createTrade(new BigDecimal("0.001"), BigDecimal.ONE));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            new ScaledPositionMetricsCalculator(BigDecimal.ONE, new BigDecimal("0.1"), 2, 0);
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        try {
+            new ScaledPositionMetricsCalculator(BigDecimal.ONE, BigDecimal.ONE, -1, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testOverflow() {
+        ScaledPositionMetricsCalculator calculator = new ScaledPositionMetricsCalculator(
+                BigDecimal.ZERO, BigDecimal.ONE, 0, 0);
+        BigDecimal max = new BigDecimal(Long.MAX_VALUE);
+        try {
+            calculator.trade(createTrade(max.add(BigDecimal.ONE), BigDecimal.ONE));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        calculator = new ScaledPositionMetricsCalculator(BigDecimal.ZERO, BigDecimal.ONE, 0, 0);
+        try {
+            calculator.trade(createTrade(new BigDecimal(Integer.MAX_VALUE), new BigDecimal(Long.MAX_VALUE / 2)));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        calculator = new ScaledPositionMetricsCalculator(BigDecimal.ZERO, BigDecimal.ONE, 0, 0);
+        calculator.trade(createTrade(max, BigDecimal.ONE));
+        try {
+            calculator.trade(createTrade(max, BigDecimal.ONE));
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+    }
+
+    private MockTrade<Equity> createTrade(BigDecimal quantity, BigDecimal price) {
+        return new MockTrade<Equity>(PositionKeyFactory.createEquityKey("ABC", "asdf", "Yoram"),
+                quantity, price);
+    }
+}
@@ -1,11 +1,14 @@
 package org.marketcetera.core.publisher;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
@@ -212,6 +215,75 @@ public class PublisherEngineTest
         assertEquals(data, subscriber.getData());
     }
 
+    @Test(timeout = 10000)
+    public void testOrderedDelivery() throws Exception
+    {
+        PublisherEngine engine = new PublisherEngine("testOrderedDelivery", //$NON-NLS-1$
+                                                     16,
+                                                     OverflowPolicy.BLOCK);
+        assertFalse(engine.isSynchronousNotification());
+        assertTrue(engine.isOrderedNotification());
+        MockSubscriber subscriber1 = new MockSubscriber();
+        MockSubscriber subscriber2 = new MockSubscriber();
+        engine.subscribe(subscriber1);
+        engine.subscribe(subscriber2);
+        List<Object> expected = new ArrayList<Object>();
+        for(int i=0;i<1000;i++) {
+            expected.add(i);
+            engine.publish(i);
+        }
+        expected.add(1000);
+        engine.publishAndWait(1000);
+        assertEquals(expected, subscriber1.getPublications());
+        assertEquals(expected, subscriber2.getPublications());
+        assertNotSame(Thread.currentThread(), subscriber1.getPublishThread());
+        engine.unsubscribe(subscriber1);
+        engine.publishAndWait(1001);
+        assertEquals(1001, subscriber1.getPublishCount());
+        assertEquals(1002, subscriber2.getPublishCount());
+    }
+
+    @Test(timeout = 10000)
+    public void testOrderedOverflow() throws Exception
+    {
+        assertEquals(Arrays.<Object>asList(0, 1, 2),
+                     publishToFullMailbox(OverflowPolicy.DROP_NEWEST));
+        assertEquals(Arrays.<Object>asList(0, 2, 3),
+                     publishToFullMailbox(OverflowPolicy.DROP_OLDEST));
+    }
+
+    /**
+     * Publishes four events to a subscriber with a mailbox of two that is busy with the first one.
+     *
+     * @param inOverflowPolicy the overflow policy to use
+     * @return the events the subscriber received
+     */
+    private static List<Object> publishToFullMailbox(OverflowPolicy inOverflowPolicy)
+            throws Exception
+    {
+        MockSubscriber subscriber = new MockSubscriber();
+        Semaphore acquireSemaphore = new Semaphore(0);
+        subscriber.setAcquireSemaphore(acquireSemaphore);
+        PublisherEngine engine = new PublisherEngine("testOrderedOverflow", //$NON-NLS-1$
+                                                     2,
+                                                     inOverflowPolicy);
+        engine.subscribe(subscriber);
+        engine.publish(0);
+        //Wait for subscriber to be busy with the first event
+        while(!acquireSemaphore.hasQueuedThreads()) {
+            Thread.sleep(100);
+        }
+        engine.publish(1);
+        engine.publish(2);
+        engine.publish(3);
+        acquireSemaphore.release(4);
+        while(subscriber.getPublishCount() < 3) {
+            Thread.sleep(100);
+        }
+        engine.unsubscribe(subscriber);
+        return subscriber.getPublications();
+    }
+
     private static void checkPublishAndWait(PublisherEngine inEngine,
                                             boolean inSyncNotification)
             throws Exception
@@ -534,6 +534,114 @@ public class OrderBookTest
             }
         }
     }
+    /**
+     * Tests that a {@link OrderBookStructure#PRICE_LEVEL} book behaves the same as a {@link OrderBookStructure#HASHED} book.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void priceLevelBook()
+            throws Exception
+    {
+        OrderBook priceLevelBook = new OrderBook(symbol,
+                                                 true,
+                                                 OrderBookStructure.PRICE_LEVEL);
+        assertEquals(OrderBookStructure.PRICE_LEVEL,
+                     priceLevelBook.getStructure());
+        assertEquals(OrderBookStructure.HASHED,
+                     book.getStructure());
+        assertNull(priceLevelBook.getTopOfBook().getBid());
+        assertNull(priceLevelBook.getTopOfBook().getAsk());
+        assertTrue(priceLevelBook.getBidBook().isEmpty());
+        assertTrue(priceLevelBook.getAskBook().isEmpty());
+        verifySameBehavior(new OrderBook(symbol),
+                           priceLevelBook);
+        verifySameBehavior(new OrderBook(symbol,
+                                         5),
+                           new OrderBook(symbol,
+                                         5,
+                                         false,
+                                         OrderBookStructure.PRICE_LEVEL));
+        // the sorted view is kept until the book changes
+        List<BidEvent> bidBook = priceLevelBook.getBidBook();
+        assertTrue(bidBook == priceLevelBook.getBidBook());
+        priceLevelBook.process(EventTestBase.generateEquityBidEvent(symbol,
+                                                                    exchange));
+        assertFalse(bidBook == priceLevelBook.getBidBook());
+    }
+    /**
+     * Applies the same random sequence of adds, changes, and deletes to the given books and verifies that the books stay the same.
+     *
+     * @param inExpectedBook an <code>OrderBook</code> value
+     * @param inActualBook an <code>OrderBook</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    private void verifySameBehavior(OrderBook inExpectedBook,
+                                    OrderBook inActualBook)
+            throws Exception
+    {
+        Random random = new Random(System.nanoTime());
+        List<QuoteEvent> liveQuotes = new ArrayList<QuoteEvent>();
+        long timestamp = System.currentTimeMillis();
+        for(int i=0;i<2000;i++) {
+            int operation = random.nextInt(10);
+            QuoteEvent quote;
+            if(liveQuotes.isEmpty() ||
+               operation < 6) {
+                QuoteEventBuilder<? extends QuoteEvent> builder = random.nextBoolean() ? QuoteEventBuilder.bidEvent(symbol) : QuoteEventBuilder.askEvent(symbol);
+                quote = builder.withMessageId(i+1)
+                               .withTimestamp(new Date(timestamp++))
+                               .withPrice(new BigDecimal(100 + random.nextInt(20)).movePointLeft(1))
+                               .withSize(TEN)
+                               .withExchange(exchange)
+                               .withQuoteDate(new Date()).create();
+                liveQuotes.add(quote);
+            } else if(operation < 8) {
+                int index = random.nextInt(liveQuotes.size());
+                quote = QuoteEventBuilder.change(liveQuotes.get(index),
+                                                 new BigDecimal(100 + random.nextInt(20)).movePointLeft(1),
+                                                 new BigDecimal(random.nextInt(100) + 1),
+                                                 new Date());
+                liveQuotes.set(index,
+                               quote);
+            } else {
+                quote = QuoteEventBuilder.delete(liveQuotes.remove(random.nextInt(liveQuotes.size())));
+            }
+            QuoteEvent expectedDisplaced = inExpectedBook.process(quote);
+            QuoteEvent actualDisplaced = inActualBook.process(quote);
+            if(expectedDisplaced == null) {
+                assertNull(actualDisplaced);
+            } else {
+                assertEquals(expectedDisplaced.getMessageId(),
+                             actualDisplaced.getMessageId());
+                liveQuotes.remove(expectedDisplaced);
+            }
+            assertEquals(describe(inExpectedBook.getBidBook()),
+                         describe(inActualBook.getBidBook()));
+            assertEquals(describe(inExpectedBook.getAskBook()),
+                         describe(inActualBook.getAskBook()));
+            TopOfBookEvent expectedTop = inExpectedBook.getTopOfBook();
+            TopOfBookEvent actualTop = inActualBook.getTopOfBook();
+            assertEquals(describe(Collections.singletonList(expectedTop.getBid())),
+                         describe(Collections.singletonList(actualTop.getBid())));
+            assertEquals(describe(Collections.singletonList(expectedTop.getAsk())),
+                         describe(Collections.singletonList(actualTop.getAsk())));
+        }
+    }
+    /**
+     * Describes the given quotes by messageId, price, and size.
+     *
+     * @param inQuotes a <code>List&lt;? extends QuoteEvent&gt;</code> value
+     * @return a <code>List&lt;String&gt;</code> value
+     */
+    private static List<String> describe(List<? extends QuoteEvent> inQuotes)
+    {
+        List<String> descriptions = new ArrayList<String>();
+        for(QuoteEvent quote : inQuotes) {
+            descriptions.add(quote == null ? null : quote.getMessageId() + " " + quote.getPrice() + " " + quote.getSize());
+        }
+        return descriptions;
+    }
     /**
      * Verifies that the given {@link OrderBook} contains the given expected values.
      *
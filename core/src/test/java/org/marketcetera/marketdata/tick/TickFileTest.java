@@ -0,0 +1,390 @@
+package org.marketcetera.marketdata.tick;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventType;
+import org.marketcetera.event.MarketDataEvent;
+import org.marketcetera.event.OptionEvent;
+import org.marketcetera.event.QuoteAction;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.event.impl.LogEventBuilder;
+import org.marketcetera.event.impl.QuoteEventBuilder;
+import org.marketcetera.event.impl.TradeEventBuilder;
+import org.marketcetera.marketdata.Messages;
+import org.marketcetera.module.ExpectedFailure;
+import org.marketcetera.options.ExpirationType;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.OptionType;
+
+/* $License$ */
+
+/**
+ * Tests {@link TickFileWriter} and {@link TickFileReader}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class TickFileTest
+{
+    /**
+     * Run before each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Before
+    public void setup()
+            throws Exception
+    {
+        file = File.createTempFile("test",
+                                   TickFileFormat.SUFFIX);
+        file.delete();
+    }
+    /**
+     * Run after each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @After
+    public void cleanup()
+            throws Exception
+    {
+        file.delete();
+    }
+    /**
+     * Tests that events written to a tick file are read back unchanged.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testRoundTrip()
+            throws Exception
+    {
+        List<Event> expectedEvents = new ArrayList<>();
+        expectedEvents.add(bid(equity,
+                               "100.25",
+                               "1000",
+                               QuoteAction.ADD));
+        expectedEvents.add(ask(equity,
+                               "100.50",
+                               "500",
+                               QuoteAction.ADD));
+        expectedEvents.add(trade(equity,
+                                 "100.375",
+                                 "200"));
+        expectedEvents.add(bid(equity,
+                               "100.25",
+                               "1500",
+                               QuoteAction.CHANGE));
+        expectedEvents.add(ask(option,
+                               "1.05",
+                               "10",
+                               QuoteAction.ADD));
+        expectedEvents.add(trade(option,
+                                 "1.00",
+                                 "5"));
+        expectedEvents.add(ask(equity,
+                               "100.50",
+                               "500",
+                               QuoteAction.DELETE));
+        try(TickFileWriter writer = new TickFileWriter(file,
+                                                       TickFileFormat.RECORD_SIZE)) {
+            for(Event event : expectedEvents) {
+                writer.write(event);
+            }
+            assertEquals(expectedEvents.size(),
+                         writer.getEventCount());
+        }
+        verifyFile(expectedEvents);
+    }
+    /**
+     * Tests that a writer appends to an existing tick file and reuses its instruments and exchanges.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testAppend()
+            throws Exception
+    {
+        List<Event> expectedEvents = new ArrayList<>();
+        expectedEvents.add(bid(equity,
+                               "10",
+                               "100",
+                               QuoteAction.ADD));
+        try(TickFileWriter writer = new TickFileWriter(file)) {
+            writer.write(expectedEvents.get(0));
+        }
+        long size = file.length();
+        expectedEvents.add(trade(equity,
+                                 "10.01",
+                                 "50"));
+        try(TickFileWriter writer = new TickFileWriter(file)) {
+            writer.write(expectedEvents.get(1));
+        }
+        // no new dictionary records are written for the instrument or exchange
+        assertEquals(size + TickFileFormat.RECORD_SIZE,
+                     file.length());
+        verifyFile(expectedEvents);
+        // a partial record left behind is ignored by the reader and discarded by the next writer
+        try(FileOutputStream output = new FileOutputStream(file,
+                                                           true)) {
+            output.write(new byte[] { TickFileFormat.BID_RECORD, 0, 0 });
+        }
+        verifyFile(expectedEvents);
+        expectedEvents.add(ask(equity,
+                               "10.02",
+                               "75",
+                               QuoteAction.ADD));
+        try(TickFileWriter writer = new TickFileWriter(file)) {
+            writer.write(expectedEvents.get(2));
+        }
+        verifyFile(expectedEvents);
+    }
+    /**
+     * Tests the handling of values and files that cannot be read or written.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testInvalidInput()
+            throws Exception
+    {
+        try(final TickFileWriter writer = new TickFileWriter(file)) {
+            new ExpectedFailure<IllegalArgumentException>() {
+                @Override
+                protected void run()
+                        throws Exception
+                {
+                    writer.write(LogEventBuilder.info().withMessage(Messages.UNSUPPORTED_TICK_EVENT,
+                                                                  equity).create());
+                }
+            };
+            final BidEvent bid = bid(equity,
+                                     "1" + Long.MAX_VALUE,
+                                     "1",
+                                     QuoteAction.ADD);
+            new ExpectedFailure<IllegalArgumentException>(Messages.TICK_VALUE_OUT_OF_RANGE.getText(bid.getPrice())) {
+                @Override
+                protected void run()
+                        throws Exception
+                {
+                    writer.write(bid);
+                }
+            };
+            // an event that skipped validation, for example one unmarshalled from XML, may have no exchange timestamp
+            final TradeEvent trade = mock(TradeEvent.class);
+            new ExpectedFailure<IllegalArgumentException>(Messages.MISSING_TICK_EXCHANGE_TIMESTAMP.getText(trade)) {
+                @Override
+                protected void run()
+                        throws Exception
+                {
+                    writer.write(trade);
+                }
+            };
+            assertEquals(0,
+                         writer.getEventCount());
+        }
+        try(RandomAccessFile output = new RandomAccessFile(file,
+                                                           "rw")) {
+            output.writeInt(0);
+        }
+        new ExpectedFailure<IOException>(Messages.INVALID_TICK_FILE.getText(file)) {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                new TickFileReader(file).close();
+            }
+        };
+    }
+    /**
+     * Verifies that the test file contains the given events.
+     *
+     * @param inExpectedEvents a <code>List&lt;Event&gt;</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    private void verifyFile(List<Event> inExpectedEvents)
+            throws Exception
+    {
+        try(TickFileReader reader = new TickFileReader(file)) {
+            for(Event expectedEvent : inExpectedEvents) {
+                verifyEvent((MarketDataEvent)expectedEvent,
+                            (MarketDataEvent)reader.next());
+            }
+            assertNull(reader.next());
+            assertEquals(inExpectedEvents.size(),
+                         reader.getEventCount());
+        }
+    }
+    /**
+     * Verifies that the given actual event matches the given expected event.
+     *
+     * @param inExpectedEvent a <code>MarketDataEvent</code> value
+     * @param inActualEvent a <code>MarketDataEvent</code> value
+     */
+    private void verifyEvent(MarketDataEvent inExpectedEvent,
+                             MarketDataEvent inActualEvent)
+    {
+        assertEquals(inExpectedEvent.getClass(),
+                     inActualEvent.getClass());
+        assertEquals(inExpectedEvent.getMessageId(),
+                     inActualEvent.getMessageId());
+        assertEquals(inExpectedEvent.getTimestamp(),
+                     inActualEvent.getTimestamp());
+        assertEquals(inExpectedEvent.getExchangeTimestamp(),
+                     inActualEvent.getExchangeTimestamp());
+        assertEquals(inExpectedEvent.getInstrument(),
+                     inActualEvent.getInstrument());
+        assertEquals(inExpectedEvent.getExchange(),
+                     inActualEvent.getExchange());
+        assertEquals(inExpectedEvent.getPrice(),
+                     inActualEvent.getPrice());
+        assertEquals(inExpectedEvent.getSize(),
+                     inActualEvent.getSize());
+        assertEquals(inExpectedEvent.getEventType(),
+                     inActualEvent.getEventType());
+        if(inExpectedEvent instanceof QuoteEvent) {
+            assertEquals(((QuoteEvent)inExpectedEvent).getAction(),
+                         ((QuoteEvent)inActualEvent).getAction());
+        }
+        if(inExpectedEvent instanceof OptionEvent) {
+            assertEquals(((OptionEvent)inExpectedEvent).getUnderlyingInstrument(),
+                         ((OptionEvent)inActualEvent).getUnderlyingInstrument());
+            assertTrue(inActualEvent instanceof OptionEvent);
+        }
+    }
+    /**
+     * Creates a bid with the given attributes.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inPrice a <code>String</code> value
+     * @param inSize a <code>String</code> value
+     * @param inAction a <code>QuoteAction</code> value
+     * @return a <code>BidEvent</code> value
+     */
+    private BidEvent bid(Instrument inInstrument,
+                         String inPrice,
+                         String inSize,
+                         QuoteAction inAction)
+    {
+        QuoteEventBuilder<BidEvent> builder = QuoteEventBuilder.bidEvent(inInstrument);
+        populate(builder,
+                 inInstrument);
+        return builder.withPrice(new BigDecimal(inPrice))
+                      .withSize(new BigDecimal(inSize))
+                      .withAction(inAction)
+                      .create();
+    }
+    /**
+     * Creates an ask with the given attributes.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inPrice a <code>String</code> value
+     * @param inSize a <code>String</code> value
+     * @param inAction a <code>QuoteAction</code> value
+     * @return an <code>AskEvent</code> value
+     */
+    private AskEvent ask(Instrument inInstrument,
+                         String inPrice,
+                         String inSize,
+                         QuoteAction inAction)
+    {
+        QuoteEventBuilder<AskEvent> builder = QuoteEventBuilder.askEvent(inInstrument);
+        populate(builder,
+                 inInstrument);
+        return builder.withPrice(new BigDecimal(inPrice))
+                      .withSize(new BigDecimal(inSize))
+                      .withAction(inAction)
+                      .create();
+    }
+    /**
+     * Sets the attributes common to all test quotes.
+     *
+     * @param inBuilder a <code>QuoteEventBuilder&lt;?&gt;</code> value
+     * @param inInstrument an <code>Instrument</code> value
+     */
+    private void populate(QuoteEventBuilder<?> inBuilder,
+                          Instrument inInstrument)
+    {
+        inBuilder.withMessageId(++counter)
+                 .withTimestamp(new Date(counter * 1000))
+                 .withQuoteDate(new Date(counter * 1000 - 1))
+                 .withExchange(exchange)
+                 .withEventType(EventType.UPDATE_FINAL);
+        if(inInstrument instanceof Option) {
+            inBuilder.withUnderlyingInstrument(equity)
+                     .withExpirationType(ExpirationType.UNKNOWN)
+                     .withMultiplier(BigDecimal.ONE);
+        }
+    }
+    /**
+     * Creates a trade with the given attributes.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inPrice a <code>String</code> value
+     * @param inSize a <code>String</code> value
+     * @return a <code>TradeEvent</code> value
+     */
+    private TradeEvent trade(Instrument inInstrument,
+                             String inPrice,
+                             String inSize)
+    {
+        TradeEventBuilder<TradeEvent> builder = TradeEventBuilder.tradeEvent(inInstrument);
+        builder.withMessageId(++counter)
+               .withTimestamp(new Date(counter * 1000))
+               .withTradeDate(new Date(counter * 1000 - 1))
+               .withExchange(exchange)
+               .withPrice(new BigDecimal(inPrice))
+               .withSize(new BigDecimal(inSize));
+        if(inInstrument instanceof Option) {
+            builder.withUnderlyingInstrument(equity)
+                   .withExpirationType(ExpirationType.UNKNOWN)
+                   .withMultiplier(BigDecimal.ONE);
+        }
+        return builder.create();
+    }
+    /**
+     * test equity
+     */
+    private final Equity equity = new Equity("METC");
+    /**
+     * test option on the test equity
+     */
+    private final Option option = new Option("METC",
+                                             "20151219",
+                                             BigDecimal.TEN,
+                                             OptionType.Call);
+    /**
+     * test exchange
+     */
+    private final String exchange = "TEST";
+    /**
+     * generates message ids and timestamps
+     */
+    private long counter;
+    /**
+     * test tick file
+     */
+    private File file;
+}
@@ -303,6 +303,34 @@ public class TradeReportsHistoryTest extends FIXVersionedTestCase {
                 .getOrderStatus());
     }
 
+    public void testGetOpenOrder() throws Exception {
+        TradeReportsHistory history = createMessageHistory();
+        org.marketcetera.trade.OrderID orderID1 = new org.marketcetera.trade.OrderID("1");
+        org.marketcetera.trade.OrderID orderID2 = new org.marketcetera.trade.OrderID("2");
+        org.marketcetera.trade.OrderID orderID3 = new org.marketcetera.trade.OrderID("3");
+        assertNull(history.getOpenOrder(orderID1));
+        simulateOrderSingle(history, "1", Side.BUY, "10", "ASDF", "1");
+        assertSame(history.getOpenOrdersList().get(0), history.getOpenOrder(orderID1));
+        assertEquals(OrderStatus.New, history.getOpenOrder(orderID1).getReport().getOrderStatus());
+        // the replacement is found by either id in the chain
+        simulateReplace(history, "2", "1", Side.BUY, "10", "ASDF", "2");
+        assertEquals(1, history.getOpenOrdersList().size());
+        assertSame(history.getOpenOrdersList().get(0), history.getOpenOrder(orderID1));
+        assertSame(history.getOpenOrder(orderID1), history.getOpenOrder(orderID2));
+        assertEquals(orderID2, history.getOpenOrder(orderID1).getReport().getOrderID());
+        assertSame(history.getOpenOrder(orderID2).getReport(), history.getLatestExecutionReport(orderID1));
+        assertSame(history.getOpenOrder(orderID2).getMessage(), history.getLatestMessage(orderID1));
+        // a rejected cancel leaves the order open
+        simulateCancelReject(history, "3", "2");
+        assertSame(history.getOpenOrdersList().get(0), history.getOpenOrder(orderID3));
+        assertEquals(orderID2, history.getOpenOrder(orderID3).getReport().getOrderID());
+        simulateCancel(history, "4", "2");
+        assertThat(history.getOpenOrdersList().size(), is(0));
+        assertNull(history.getOpenOrder(orderID1));
+        assertNull(history.getOpenOrder(orderID2));
+        assertEquals(OrderStatus.Canceled, history.getLatestExecutionReport(orderID1).getOrderStatus());
+    }
+
     public void testOrderCancel() throws Exception {
         TradeReportsHistory history = createMessageHistory();
         simulateOrderSingle(history, "1", Side.BUY, "10", "ASDF", "1");
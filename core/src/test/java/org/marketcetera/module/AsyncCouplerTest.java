@@ -0,0 +1,355 @@
+package org.marketcetera.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * Tests {@link AsyncCoupler}.
+ *
+ * @author agent@local
+ */
+@ClassVersion("$Id$")
+public class AsyncCouplerTest {
+    @After
+    public void cleanup() {
+        if(mCoupler != null) {
+            mReceiver.release();
+            mCoupler.stopDelivery();
+        }
+    }
+
+    /**
+     * Verifies that data is delivered in order on the coupler's
+     * delivery thread, including null data.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void deliverInOrder() throws Exception {
+        for(AsyncWaitStrategy strategy: AsyncWaitStrategy.values()) {
+            mReceiver = new ReceiverModule(false);
+            mCoupler = createCoupler(4, strategy, AsyncOverflowPolicy.BLOCK);
+            mCoupler.startDelivery();
+            for(int i = 0; i < 100; i++) {
+                mCoupler.send(i);
+            }
+            mCoupler.send(null);
+            mReceiver.awaitReceived(101);
+            List<Object> received = mReceiver.getReceived();
+            for(int i = 0; i < 100; i++) {
+                assertEquals(i, received.get(i));
+            }
+            assertNull(received.get(100));
+            assertNotSame(Thread.currentThread(), mReceiver.getThread());
+            assertTrue(mReceiver.getThread().getName().startsWith(
+                    AsyncCoupler.THREAD_NAME_PREFIX));
+            assertEquals(101, mCoupler.getEmitted());
+            assertEquals(101, mCoupler.getReceived());
+            assertEquals(0, mCoupler.getDropped());
+            assertEquals(0, mCoupler.getQueueDepth());
+            mCoupler.stopDelivery();
+        }
+    }
+
+    /**
+     * Verifies that the emitter is blocked when the buffer is full.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void overflowBlock() throws Exception {
+        mReceiver = new ReceiverModule(true);
+        mCoupler = createCoupler(4, AsyncWaitStrategy.PARK,
+                AsyncOverflowPolicy.BLOCK);
+        mCoupler.startDelivery();
+        fillBuffer();
+        final CountDownLatch sent = new CountDownLatch(1);
+        Thread emitter = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mCoupler.send(5);
+                sent.countDown();
+            }
+        });
+        emitter.start();
+        assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(4, mCoupler.getQueueDepth());
+        mReceiver.release();
+        assertTrue(sent.await(10, TimeUnit.SECONDS));
+        mReceiver.awaitReceived(6);
+        assertEquals(0, mCoupler.getDropped());
+        assertEquals(list(0, 1, 2, 3, 4, 5), mReceiver.getReceived());
+    }
+
+    /**
+     * Verifies that the oldest data is discarded when the buffer is full.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void overflowDropOldest() throws Exception {
+        mReceiver = new ReceiverModule(true);
+        mCoupler = createCoupler(4, AsyncWaitStrategy.YIELD,
+                AsyncOverflowPolicy.DROP_OLDEST);
+        mCoupler.startDelivery();
+        fillBuffer();
+        mCoupler.send(5);
+        mCoupler.send(6);
+        assertEquals(4, mCoupler.getQueueDepth());
+        assertEquals(2, mCoupler.getDropped());
+        mReceiver.release();
+        mReceiver.awaitReceived(5);
+        assertEquals(list(0, 3, 4, 5, 6), mReceiver.getReceived());
+    }
+
+    /**
+     * Verifies that data is conflated when the buffer is full.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void overflowConflate() throws Exception {
+        mReceiver = new ReceiverModule(true);
+        mCoupler = createCoupler(4, AsyncWaitStrategy.SPIN,
+                AsyncOverflowPolicy.CONFLATE);
+        mCoupler.startDelivery();
+        fillBuffer();
+        mCoupler.send(5);
+        mCoupler.send(6);
+        mCoupler.send(7);
+        assertEquals(5, mCoupler.getQueueDepth());
+        assertEquals(2, mCoupler.getDropped());
+        mReceiver.release();
+        mReceiver.awaitReceived(6);
+        assertEquals(list(0, 1, 2, 3, 4, 7), mReceiver.getReceived());
+        //once drained, data flows through the buffer again
+        mCoupler.send(8);
+        mReceiver.awaitReceived(7);
+        assertEquals(8, mReceiver.getReceived().get(6));
+    }
+
+    /**
+     * Verifies that stopping delivery waits for the data being received,
+     * that the delivery thread exits and that pending data is discarded.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void stopDelivery() throws Exception {
+        mReceiver = new ReceiverModule(true);
+        mCoupler = createCoupler(4, AsyncWaitStrategy.PARK,
+                AsyncOverflowPolicy.BLOCK);
+        mCoupler.startDelivery();
+        fillBuffer();
+        Thread thread = mReceiver.getThread();
+        final CountDownLatch stopped = new CountDownLatch(1);
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                mCoupler.stopDelivery();
+                stopped.countDown();
+            }
+        }).start();
+        assertFalse(stopped.await(200, TimeUnit.MILLISECONDS));
+        mReceiver.release();
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertFalse(thread.isAlive());
+        assertEquals(list(0), mReceiver.getReceived());
+        assertEquals(0, mCoupler.getQueueDepth());
+    }
+
+    /**
+     * Verifies that stopping delivery from the delivery thread of
+     * another coupler, as in a chained data flow, does not wait for the
+     * data being received.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    @Test
+    public void stopDeliveryFromChainedCoupler() throws Exception {
+        mReceiver = new ReceiverModule(true);
+        mCoupler = createCoupler(4, AsyncWaitStrategy.PARK,
+                AsyncOverflowPolicy.BLOCK);
+        mCoupler.startDelivery();
+        fillBuffer();
+        final CountDownLatch stopped = new CountDownLatch(1);
+        AsyncCoupler upstream = new AsyncCoupler(null, new EmitterStub(),
+                new StoppingReceiver(stopped), new DataFlowID("upstream"),
+                null, 4, AsyncWaitStrategy.PARK, AsyncOverflowPolicy.BLOCK);
+        upstream.startDelivery();
+        try {
+            upstream.send(0);
+            assertTrue(stopped.await(1, TimeUnit.SECONDS));
+        } finally {
+            upstream.stopDelivery();
+        }
+        mReceiver.release();
+        mReceiver.awaitReceived(1);
+        assertEquals(list(0), mReceiver.getReceived());
+    }
+
+    /**
+     * Sends one data object that blocks the receiver and then fills
+     * up the coupler's buffer.
+     *
+     * @throws Exception if there were unexpected errors.
+     */
+    private void fillBuffer() throws Exception {
+        mCoupler.send(0);
+        mReceiver.awaitBlocked();
+        for(int i = 1; i <= 4; i++) {
+            mCoupler.send(i);
+        }
+        assertEquals(4, mCoupler.getQueueDepth());
+    }
+
+    private AsyncCoupler createCoupler(int inCapacity,
+                                       AsyncWaitStrategy inWaitStrategy,
+                                       AsyncOverflowPolicy inOverflowPolicy) {
+        return new AsyncCoupler(null, new EmitterStub(), mReceiver,
+                new DataFlowID("flow"), null, inCapacity, inWaitStrategy,
+                inOverflowPolicy);
+    }
+
+    private static List<Object> list(Object... inValues) {
+        List<Object> values = new ArrayList<Object>();
+        for(Object value: inValues) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * An emitter that is never asked to emit anything.
+     */
+    private static class EmitterStub extends Module {
+        EmitterStub() {
+            super(new ModuleURN("metc:test:async:emitter"), false);
+        }
+
+        @Override
+        protected void preStart() throws ModuleException {
+        }
+
+        @Override
+        protected void preStop() throws ModuleException {
+        }
+    }
+
+    /**
+     * A receiver that records the data it receives and that can be
+     * made to block upon receiving the first data object.
+     */
+    private static class ReceiverModule extends Module
+            implements DataReceiver {
+        ReceiverModule(boolean inBlockFirst) {
+            super(new ModuleURN("metc:test:async:receiver"), false);
+            if(!inBlockFirst) {
+                mRelease.countDown();
+            }
+        }
+
+        @Override
+        public void receiveData(DataFlowID inFlowID, Object inData)
+                throws ReceiveDataException {
+            mThread = Thread.currentThread();
+            mBlocked.countDown();
+            try {
+                mRelease.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            synchronized (mReceived) {
+                mReceived.add(inData);
+                mReceived.notifyAll();
+            }
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            assertTrue(mBlocked.await(10, TimeUnit.SECONDS));
+        }
+
+        void awaitReceived(int inCount) throws InterruptedException {
+            long end = System.currentTimeMillis() + 10000;
+            synchronized (mReceived) {
+                while(mReceived.size() < inCount &&
+                        System.currentTimeMillis() < end) {
+                    mReceived.wait(100);
+                }
+                assertEquals(inCount, mReceived.size());
+            }
+        }
+
+        void release() {
+            mRelease.countDown();
+        }
+
+        List<Object> getReceived() {
+            synchronized (mReceived) {
+                return new ArrayList<Object>(mReceived);
+            }
+        }
+
+        Thread getThread() {
+            return mThread;
+        }
+
+        @Override
+        protected void preStart() throws ModuleException {
+        }
+
+        @Override
+        protected void preStop() throws ModuleException {
+        }
+
+        private final List<Object> mReceived = new ArrayList<Object>();
+        private final CountDownLatch mBlocked = new CountDownLatch(1);
+        private final CountDownLatch mRelease = new CountDownLatch(1);
+        private volatile Thread mThread;
+    }
+
+    /**
+     * A receiver that stops the delivery of the coupler under test
+     * upon receiving data.
+     */
+    private class StoppingReceiver extends Module
+            implements DataReceiver {
+        StoppingReceiver(CountDownLatch inStopped) {
+            super(new ModuleURN("metc:test:async:stopper"), false);
+            mStopped = inStopped;
+        }
+
+        @Override
+        public void receiveData(DataFlowID inFlowID, Object inData)
+                throws ReceiveDataException {
+            mCoupler.stopDelivery();
+            mStopped.countDown();
+        }
+
+        @Override
+        protected void preStart() throws ModuleException {
+        }
+
+        @Override
+        protected void preStop() throws ModuleException {
+        }
+
+        private final CountDownLatch mStopped;
+    }
+
+    private volatile ReceiverModule mReceiver;
+    private volatile AsyncCoupler mCoupler;
+}
@@ -192,6 +192,49 @@ public class ExecutionReportTest extends TypesTestBase {
         assertSame(msg, ((FIXMessageSupport)report).getMessage());
     }
 
+    /**
+     * Verifies that the decoded fields are reused across reads and
+     * threads, and that returned dates cannot alter the report.
+     *
+     * @throws Exception if there were errors.
+     */
+    @Test
+    public void snapshot() throws Exception {
+        Message msg = getSystemMessageFactory().newExecutionReport("ord1",
+                "clord1", "exec1", OrderStatus.PartiallyFilled.getFIXValue(),
+                Side.Buy.getFIXValue(), new BigDecimal("100"),
+                new BigDecimal("10.5"), new BigDecimal("25"),
+                new BigDecimal("10.4"), new BigDecimal("25"),
+                new BigDecimal("10.4"), new Equity("METC"), "acc", "text");
+        Date transactTime = new Date(1000000L);
+        msg.setField(new TransactTime(transactTime));
+        final ExecutionReport report = sFactory.createExecutionReport(msg,
+                new BrokerID("bro"), Originator.Broker, null, null);
+        report.getTransactTime().setTime(0);
+        assertEquals(transactTime, report.getTransactTime());
+        assertSame(report.getLastQuantity(), report.getLastQuantity());
+        //Verify concurrent first reads decode the same values.
+        final ExecutionReport other = sFactory.createExecutionReport(msg,
+                new BrokerID("bro"), Originator.Broker, null, null);
+        Thread[] threads = new Thread[4];
+        final BigDecimal[] values = new BigDecimal[threads.length];
+        for(int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                public void run() {
+                    values[index] = other.getCumulativeQuantity();
+                }
+            };
+            threads[i].start();
+        }
+        for(int i = 0; i < threads.length; i++) {
+            threads[i].join();
+            assertEquals(new BigDecimal("25"), values[i]);
+        }
+        assertEquals(OrderStatus.PartiallyFilled, other.getOrderStatus());
+        assertEquals(new OrderID("clord1"), other.getOrderID());
+    }
+
     /**
      * Verifies translation of ExecTransType into ExecType.
      *
@@ -5,8 +5,12 @@ import org.marketcetera.module.*;
 import org.marketcetera.util.log.I18NBoundMessage1P;
 import org.marketcetera.util.misc.ClassVersion;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Simple straight-through implementation of the CEP module that
@@ -33,6 +37,10 @@ import java.util.Map;
  * <li>{@link #mRequestMap} - map of {@link RequestID} --> pair of {class, {@link DataEmitterSupport}}. Given a requestID,
  * we can get the class and corresponding emitter registered to listen on that type. For cancels,
  * we pull out all the classes, and remove the emitter subscribed to listen on that event type</li>
+ * <li>{@link #mDispatchTable} - an immutable snapshot of the requests plus a cache of concrete event class
+ * --&gt; matching {@link DataEmitterSupport}s. The snapshot is replaced whenever a request is added or
+ * canceled, which discards the cache, so received data is matched against each request at most once per
+ * event class</li>
  * </ul>
  *
  * @author anshul@marketcetera.com
@@ -49,6 +57,8 @@ public class CEPSystemProcessor extends Module
 
     private final HashMap<RequestID, Pair<Class<?>, DataEmitterSupport>> mRequestMap;
 
+    private volatile DispatchTable mDispatchTable = new DispatchTable(new ArrayList<Pair<Class<?>, DataEmitterSupport>>());
+
     private final static Map<String, Class<?>> mTypeLookupMap = new HashMap<String, Class<?>>(20);
 
     static {
@@ -70,22 +80,22 @@ public class CEPSystemProcessor extends Module
 
     @Override
     protected void preStop() throws ModuleException {
-        mRequestMap.clear();
+        synchronized (mRequestMap) {
+            mRequestMap.clear();
+            updateDispatchTable();
+        }
     }
 
     /** Map the incoming data to some type, find the list of all {@link DataEmitterSupport} objects
      * and send the data on its way there
      * Ignore the flowID
-     * This is a very inefficient implementation - just iterate over all known requests
-     * and if we find a match send the data that way
+     * The emitters for each concrete class are looked up once and cached until the next request or cancel
      */
     @Override
     public void receiveData(DataFlowID inFlowID, Object inData) throws ReceiveDataException {
         if(inData != null) {
-            for (Pair<Class<?>, DataEmitterSupport> classEmitterPair : mRequestMap.values()) {
-                if(classEmitterPair.getFirstMember().isAssignableFrom(inData.getClass())) {
-                    classEmitterPair.getSecondMember().send(inData);
-                }
+            for (DataEmitterSupport emitter : mDispatchTable.getEmitters(inData.getClass())) {
+                emitter.send(inData);
             }
         }
         //ignore null data
@@ -120,14 +130,28 @@ public class CEPSystemProcessor extends Module
             throw new RequestDataException(new I18NBoundMessage1P(Messages.UNSUPPORTED_TYPE, type));
         }
         Pair<Class<?>, DataEmitterSupport> request = new Pair<Class<?>, DataEmitterSupport>(theClass, inSupport);
-        mRequestMap.put(inSupport.getRequestID(), request);
+        synchronized (mRequestMap) {
+            mRequestMap.put(inSupport.getRequestID(), request);
+            updateDispatchTable();
+        }
     }
 
     /** Find the request, and go through all its types and remove all the {@link DataEmitterSupport}
      * object associated with it */
     @Override
     public void cancel(DataFlowID inFlowID, RequestID inRequestID) {
-        mRequestMap.remove(inRequestID);
+        synchronized (mRequestMap) {
+            if(mRequestMap.remove(inRequestID) != null) {
+                updateDispatchTable();
+            }
+        }
+    }
+
+    /** Replaces the dispatch table with one built from the current requests.
+     * Must be called while holding the lock on {@link #mRequestMap}
+     */
+    private void updateDispatchTable() {
+        mDispatchTable = new DispatchTable(new ArrayList<Pair<Class<?>, DataEmitterSupport>>(mRequestMap.values()));
     }
 
     /** Checks to see if we are looking at an alias or a fully-qualified class name.
@@ -144,4 +168,34 @@ public class CEPSystemProcessor extends Module
             return null;
         }
     }
+
+    /**
+     * Resolves the emitters for received data from a fixed set of requests.
+     * Lookups for each concrete data class are computed once and cached; a table is discarded
+     * rather than updated when the requests change, so a lookup never sees a partial change.
+     */
+    private static class DispatchTable {
+        private final List<Pair<Class<?>, DataEmitterSupport>> mRequests;
+        private final ConcurrentMap<Class<?>, List<DataEmitterSupport>> mEmitters =
+                new ConcurrentHashMap<Class<?>, List<DataEmitterSupport>>();
+
+        private DispatchTable(List<Pair<Class<?>, DataEmitterSupport>> inRequests) {
+            mRequests = inRequests;
+        }
+
+        /** Returns the emitters of all requests whose type is assignable from the given class */
+        private List<DataEmitterSupport> getEmitters(Class<?> inDataClass) {
+            List<DataEmitterSupport> emitters = mEmitters.get(inDataClass);
+            if(emitters == null) {
+                emitters = new ArrayList<DataEmitterSupport>();
+                for (Pair<Class<?>, DataEmitterSupport> classEmitterPair : mRequests) {
+                    if(classEmitterPair.getFirstMember().isAssignableFrom(inDataClass)) {
+                        emitters.add(classEmitterPair.getSecondMember());
+                    }
+                }
+                mEmitters.putIfAbsent(inDataClass, emitters);
+            }
+            return emitters;
+        }
+    }
 }
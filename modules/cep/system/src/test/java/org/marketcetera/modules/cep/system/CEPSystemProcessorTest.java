@@ -80,6 +80,25 @@ public class CEPSystemProcessorTest extends CEPTestBase {
         sManager.cancel(flowID);
     }
 
+    /** Verifies that a query on an interface receives every event class that implements it,
+     * including repeated events of classes that were already dispatched */
+    @Test(timeout=120000)
+    public void testSupertypeQuery() throws Exception {
+        DataFlowID flowID = sManager.createDataFlow(new DataRequest[] {
+                // Copier -> System: send 3 events
+                new DataRequest(CopierModuleFactory.INSTANCE_URN, new Event[] { bid1, trade1, trade2}),
+                // System -> Sink: get all 3 events
+                new DataRequest(TEST_URN, "select * from "+Event.class.getName())
+        });
+
+        assertSame("Didn't receive right bid event", bid1, sSink.getNextData());
+        assertSame("Didn't receive right trade event", trade1, sSink.getNextData());
+        assertSame("Didn't receive right trade event", trade2, sSink.getNextData());
+        assertEquals("Wrong number of emitted events", 3, sManager.getDataFlowInfo(flowID).getFlowSteps()[1].getNumEmitted());
+
+        sManager.cancel(flowID);
+    }
+
     @Test(timeout=120000)
     public void testInvalidStringArrReqeust() throws Exception {
         new ExpectedTestFailure(UnsupportedRequestParameterType.class) {
@@ -141,6 +141,15 @@ public class BasicCSVFeedEventTranslator
         }
         return events;
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedEventTranslator#getReplayTimestamp(org.marketcetera.marketdata.csv.CSVQuantum)
+     */
+    @Override
+    public Date getReplayTimestamp(CSVQuantum inData)
+            throws CoreException
+    {
+        return guessEventTimestamp(inData);
+    }
     /**
      * Validates the given line as a market statistic. 
      *
@@ -797,9 +806,11 @@ public class BasicCSVFeedEventTranslator
         if(symbol == null) {
             return null;
         }
-        Instrument instrument = ClientManager.getInstance().resolveSymbol(symbol);
-        if(instrument != null) {
-            return instrument;
+        if(ClientManager.isInitialized()) {
+            Instrument instrument = ClientManager.getInstance().resolveSymbol(symbol);
+            if(instrument != null) {
+                return instrument;
+            }
         }
         if(symbol.contains(":")) { //$NON-NLS-1$
             // assume the symbol contains a CFI (ISO10962) code
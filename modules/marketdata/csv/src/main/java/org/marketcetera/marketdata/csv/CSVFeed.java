@@ -13,6 +13,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
@@ -20,11 +21,14 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVStrategy;
+import org.marketcetera.core.CoreException;
 import org.marketcetera.core.NoMoreIDsException;
 import org.marketcetera.marketdata.AbstractMarketDataFeed;
 import org.marketcetera.marketdata.AssetClass;
@@ -35,6 +39,8 @@ import org.marketcetera.marketdata.MarketDataRequest;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.ClassVersion;
 
+import com.codahale.metrics.Meter;
+
 /**
  * Implementation of the market data feed that reads from a CSV file.
  *
@@ -43,6 +49,10 @@ import org.marketcetera.util.misc.ClassVersion;
  * name in the specified directory. Market data is read
  * from the file or files until exhausted.
  * 
+ * <p>The pace at which events are delivered is determined by the {@link CSVFeedReplayMode replay mode}.
+ * Events are delivered to subscribers on the thread that reads the file, so a replay can go no faster
+ * than the subscribers accept the events.
+ * 
  * @author toli kuznets
  * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
  * @since 2.1.0
@@ -248,6 +258,33 @@ public class CSVFeed
                                                e);
         }
     }
+    /**
+     * Gets the number of events replayed.
+     *
+     * @return a <code>long</code> value
+     */
+    long getEventsReplayed()
+    {
+        return replayMeter.getCount();
+    }
+    /**
+     * Gets the number of events replayed per second over the last minute.
+     *
+     * @return a <code>double</code> value
+     */
+    double getEventsPerSecond()
+    {
+        return replayMeter.getOneMinuteRate();
+    }
+    /**
+     * Gets the number of milliseconds by which the most recent event was delivered after its scheduled time.
+     *
+     * @return a <code>long</code> value
+     */
+    long getReplayLag()
+    {
+        return replayLag;
+    }
     /**
      * Sets the loggedIn value.
      *
@@ -273,6 +310,14 @@ public class CSVFeed
      * executes and manages market data requests
      */
     private ExecutorService requestExecutor;
+    /**
+     * measures the rate at which events are replayed
+     */
+    private final Meter replayMeter = new Meter();
+    /**
+     * number of milliseconds by which the most recent event was delivered after its scheduled time
+     */
+    private volatile long replayLag;
     /**
      * capabilities for CSVFeed - note that these are not dynamic as Bogus requires no provisioning
      */
@@ -314,10 +359,14 @@ public class CSVFeed
                 CSVParser parser = null;
                 long start = System.currentTimeMillis();
                 long count = 0;
-                long delay = credentials.getReplayRate();
-                if(delay < 0) {
-                    delay = 0;
-                }
+                CSVFeedReplayMode replayMode = credentials.getReplayMode();
+                long delay = TimeUnit.MILLISECONDS.toNanos(Math.max(credentials.getReplayRate(),
+                                                                    0));
+                double speed = credentials.getReplaySpeed();
+                // the time at which the current pass over the file began and the timestamp of its first event
+                long passStart = 0;
+                long firstTimestamp = Long.MIN_VALUE;
+                long deadline = 0;
                 while(isRunning.get()) {
                     if(parser == null) {
                         start = System.currentTimeMillis();
@@ -325,6 +374,9 @@ public class CSVFeed
                         parser = new CSVParser(new FileReader(new File(credentials.getMarketdataDirectory(),
                                                                        dataFilename)),
                                               CSVStrategy.EXCEL_STRATEGY);
+                        passStart = System.nanoTime();
+                        firstTimestamp = Long.MIN_VALUE;
+                        deadline = passStart;
                     }
                     String[] line = parser.getLine();
                     if(line == null) {
@@ -339,14 +391,35 @@ public class CSVFeed
                             break;
                         }
                     }
-                    if(delay != 0) {
-                        Thread.sleep(delay);
+                    CSVQuantum quantum = CSVQuantum.getQuantum(line,
+                                                               request,
+                                                               credentials.getReplayRate());
+                    switch(replayMode) {
+                        case TIMESTAMP:
+                            Date timestamp = getReplayTimestamp(quantum);
+                            if(timestamp != null) {
+                                if(firstTimestamp == Long.MIN_VALUE) {
+                                    firstTimestamp = timestamp.getTime();
+                                }
+                                // events that are out of order are delivered immediately rather than earlier than their predecessors
+                                deadline = Math.max(deadline,
+                                                    passStart + (long)(TimeUnit.MILLISECONDS.toNanos(timestamp.getTime() - firstTimestamp) / speed));
+                            }
+                            break;
+                        case ASAP:
+                            deadline = System.nanoTime();
+                            break;
+                        default:
+                            deadline = System.nanoTime() + delay;
+                            break;
                     }
+                    waitUntil(deadline);
+                    replayLag = TimeUnit.NANOSECONDS.toMillis(Math.max(System.nanoTime() - deadline,
+                                                                       0));
                     count += 1;
                     dataReceived(handle,
-                                 CSVQuantum.getQuantum(line,
-                                                       request,
-                                                       credentials.getReplayRate()));
+                                 quantum);
+                    replayMeter.mark();
                 }
             } catch (Exception e) {
                 REQUEST_FAILED.warn(org.marketcetera.core.Messages.USER_MSG_CATEGORY,
@@ -378,6 +451,45 @@ public class CSVFeed
             request = inRequest;
             dataFilename = inDataFilename;
         }
+        /**
+         * Waits until the given time or until the request is stopped.
+         * 
+         * <p>The wait is not subject to the granularity of {@link Thread#sleep(long)}.
+         *
+         * @param inDeadline a <code>long</code> value containing the time to wait for as given by {@link System#nanoTime()}
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        private void waitUntil(long inDeadline)
+                throws InterruptedException
+        {
+            long remaining = inDeadline - System.nanoTime();
+            while(remaining > 0 && isRunning.get()) {
+                LockSupport.parkNanos(remaining);
+                if(Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                remaining = inDeadline - System.nanoTime();
+            }
+        }
+        /**
+         * Gets the time at which the event in the given data occurred.
+         *
+         * @param inQuantum a <code>CSVQuantum</code> value
+         * @return a <code>Date</code> value or <code>null</code> if the time cannot be determined
+         */
+        private Date getReplayTimestamp(CSVQuantum inQuantum)
+        {
+            try {
+                return credentials.getEventTranslator().getReplayTimestamp(inQuantum);
+            } catch (CoreException e) {
+                // the line will be rejected when it is translated, deliver it without delay
+                SLF4JLoggerProxy.debug(CSVFeed.class,
+                                       e,
+                                       "Cannot determine the timestamp of {}", //$NON-NLS-1$
+                                       inQuantum);
+                return null;
+            }
+        }
         /**
          * Stops the currently running request as soon as possible. 
          */
@@ -1,6 +1,7 @@
 package org.marketcetera.marketdata.csv;
 
 import static org.marketcetera.marketdata.csv.Messages.INVALID_EVENT_TRANSLATOR;
+import static org.marketcetera.marketdata.csv.Messages.INVALID_REPLAY_SPEED;
 
 import java.io.File;
 
@@ -29,9 +30,11 @@ public final class CSVFeedCredentials
     @Override
     public String toString()
     {
-        return String.format("CSVFeedCredentials [eventTranslator=%s, millisecondDelay=%s]", //$NON-NLS-1$
+        return String.format("CSVFeedCredentials [eventTranslator=%s, millisecondDelay=%s, replayMode=%s, replaySpeed=%s]", //$NON-NLS-1$
                              eventTranslator,
-                             replayRate);
+                             replayRate,
+                             replayMode,
+                             replaySpeed);
     }
     /**
      * Retrieves an instance of <code>CSVFeedCredentials</code>.
@@ -48,16 +51,47 @@ public final class CSVFeedCredentials
                                           String inMarketdataDirectory,
                                           String inEventTranslatorClassname)
             throws FeedException
+    {
+        return getInstance(inReplayRate,
+                           inReplayEvents,
+                           CSVFeedReplayMode.FIXED_DELAY,
+                           1.0,
+                           inMarketdataDirectory,
+                           inEventTranslatorClassname);
+    }
+    /**
+     * Retrieves an instance of <code>CSVFeedCredentials</code>.
+     * 
+     * @param inReplayRate a <code>long</code> value containing the rate at which to replay marketdata
+     * @param inReplayEvents a <code>boolean</code> value indicating whether to replay events upon completion
+     * @param inReplayMode a <code>CSVFeedReplayMode</code> value indicating how to pace the replay of marketdata
+     * @param inReplaySpeed a <code>double</code> value by which to divide the interval between event timestamps
+     * @param inMarketdataDirectory a <code>String</code> value containing the marketdata files
+     * @param inEventTranslatorClassname a <code>String</code> value containing the fully-qualified name of the event translator class
+     * @return a <code>CSVFeedCredentials</code> value
+     * @throws FeedException if an error occurs while retrieving the credentials object
+     */
+    static CSVFeedCredentials getInstance(long inReplayRate,
+                                          boolean inReplayEvents,
+                                          CSVFeedReplayMode inReplayMode,
+                                          double inReplaySpeed,
+                                          String inMarketdataDirectory,
+                                          String inEventTranslatorClassname)
+            throws FeedException
     {
         SLF4JLoggerProxy.debug(CSVFeedCredentials.class,
-                               "Creating credentials at a replay rate of {}, replay events value of {}, marketdata directory {}, and event translator classname {}", //$NON-NLS-1$
+                               "Creating credentials at a replay rate of {}, replay events value of {}, replay mode {} at speed {}, marketdata directory {}, and event translator classname {}", //$NON-NLS-1$
                                inReplayRate,
                                inReplayEvents,
+                               inReplayMode,
+                               inReplaySpeed,
                                inMarketdataDirectory,
                                inEventTranslatorClassname);
         try {
             return new CSVFeedCredentials(inReplayRate,
                                           inReplayEvents,
+                                          inReplayMode,
+                                          inReplaySpeed,
                                           inMarketdataDirectory,
                                           inEventTranslatorClassname);
         } catch (FeedException e) {
@@ -85,18 +119,51 @@ public final class CSVFeedCredentials
                                           String inMarketdataDirectory,
                                           CSVFeedEventTranslator inEventTranslator)
             throws FeedException
+    {
+        return getInstance(inReplayRate,
+                           inReplayEvents,
+                           CSVFeedReplayMode.FIXED_DELAY,
+                           1.0,
+                           inMarketdataDirectory,
+                           inEventTranslator);
+    }
+    /**
+     * Retrieves an instance of <code>CSVFeedCredentials</code>.
+     * 
+     * @param inReplayRate a <code>long</code> value containing the rate at which to replay marketdata
+     * @param inReplayEvents a <code>boolean</code> value indicating whether to replay events upon completion
+     * @param inReplayMode a <code>CSVFeedReplayMode</code> value indicating how to pace the replay of marketdata
+     * @param inReplaySpeed a <code>double</code> value by which to divide the interval between event timestamps
+     * @param inMarketdataDirectory a <code>String</code> value containing the marketdata files
+     * @param inEventTranslator a <code>CSVFeedEventTranslator</code> value
+     * @return a <code>CSVFeedCredentials</code> value
+     * @throws FeedException if an error occurs while retrieving the credentials object
+     */
+    static CSVFeedCredentials getInstance(long inReplayRate,
+                                          boolean inReplayEvents,
+                                          CSVFeedReplayMode inReplayMode,
+                                          double inReplaySpeed,
+                                          String inMarketdataDirectory,
+                                          CSVFeedEventTranslator inEventTranslator)
+            throws FeedException
     {
         SLF4JLoggerProxy.debug(CSVFeedCredentials.class,
-                               "Creating credentials at a replay rate of {}, replay events value of {}, marketdata directory {}, and event translator classname {}", //$NON-NLS-1$
+                               "Creating credentials at a replay rate of {}, replay events value of {}, replay mode {} at speed {}, marketdata directory {}, and event translator classname {}", //$NON-NLS-1$
                                inReplayRate,
                                inReplayEvents,
+                               inReplayMode,
+                               inReplaySpeed,
                                inMarketdataDirectory,
                                inEventTranslator);
         try {
             return new CSVFeedCredentials(inReplayRate,
                                           inReplayEvents,
+                                          inReplayMode,
+                                          inReplaySpeed,
                                           inMarketdataDirectory,
                                           inEventTranslator);
+        } catch (FeedException e) {
+            throw e;
         } catch (Exception e) {
             INVALID_EVENT_TRANSLATOR.error(CSVFeedCredentials.class,
                                            e,
@@ -142,11 +209,31 @@ public final class CSVFeedCredentials
     {
         return replayEvents;
     }
+    /**
+     * Get the replayMode value.
+     *
+     * @return a <code>CSVFeedReplayMode</code> value
+     */
+    public CSVFeedReplayMode getReplayMode()
+    {
+        return replayMode;
+    }
+    /**
+     * Get the replaySpeed value.
+     *
+     * @return a <code>double</code> value
+     */
+    public double getReplaySpeed()
+    {
+        return replaySpeed;
+    }
     /**
      * Creates a new <code>CSVFeedCredentials</code> instance.
      * 
      * @param inReplayRate a <code>long</code> value containing the rate at which to replay marketdata
      * @param inReplayEvents a <code>boolean</code> value indicating whether to replay events upon completion
+     * @param inReplayMode a <code>CSVFeedReplayMode</code> value indicating how to pace the replay of marketdata
+     * @param inReplaySpeed a <code>double</code> value by which to divide the interval between event timestamps
      * @param inMarketdataDirectory a <code>String</code> value containing the marketdata files
      * @param inEventTranslatorClassname a <code>String</code> value containing the fully-qualified name of the event translator class
      * @throws ClassNotFoundException if the given classname does not exist in the classpath 
@@ -156,12 +243,16 @@ public final class CSVFeedCredentials
      */
 	private CSVFeedCredentials(long inReplayRate,
 	                           boolean inReplayEvents,
+	                           CSVFeedReplayMode inReplayMode,
+	                           double inReplaySpeed,
 	                           String inMarketdataDirectory,
 	                           String inEventTranslatorClassname)
 	        throws InstantiationException, IllegalAccessException, ClassNotFoundException, FeedException
 	{
         this(inReplayRate,
              inReplayEvents,
+             inReplayMode,
+             inReplaySpeed,
              inMarketdataDirectory,
              (CSVFeedEventTranslator)Class.forName(inEventTranslatorClassname).newInstance());
 	}
@@ -170,12 +261,16 @@ public final class CSVFeedCredentials
      * 
      * @param inReplayRate a <code>long</code> value containing the rate at which to replay marketdata
      * @param inReplayEvents a <code>boolean</code> value indicating whether to replay events upon completion
+     * @param inReplayMode a <code>CSVFeedReplayMode</code> value indicating how to pace the replay of marketdata
+     * @param inReplaySpeed a <code>double</code> value by which to divide the interval between event timestamps
      * @param inMarketdataDirectory a <code>String</code> value containing the marketdata files
      * @param inEventTranslatorClassname a <code>String</code> value containing the fully-qualified name of the event translator class
      * @throws FeedException if an error occurs while constructing the credentials object
      */
     private CSVFeedCredentials(long inReplayRate,
                                boolean inReplayEvents,
+                               CSVFeedReplayMode inReplayMode,
+                               double inReplaySpeed,
                                String inMarketdataDirectory,
                                CSVFeedEventTranslator inEventTranslator)
             throws FeedException 
@@ -183,8 +278,14 @@ public final class CSVFeedCredentials
         if(inEventTranslator == null) {
             throw new NullPointerException();
         }
+        if(!(inReplaySpeed > 0) || Double.isInfinite(inReplaySpeed)) {
+            throw new FeedException(new I18NBoundMessage1P(INVALID_REPLAY_SPEED,
+                                                           inReplaySpeed));
+        }
         replayRate = inReplayRate;
         replayEvents = inReplayEvents;
+        replayMode = inReplayMode == null ? CSVFeedReplayMode.FIXED_DELAY : inReplayMode;
+        replaySpeed = inReplaySpeed;
         marketdataDirectory = new File(inMarketdataDirectory);
         Validate.isTrue(marketdataDirectory.exists(),
                         "Marketdata directory does not exist");
@@ -204,6 +305,14 @@ public final class CSVFeedCredentials
      * indicates whether to replay events upon completion
      */
     private final boolean replayEvents;
+    /**
+     * indicates how to pace the replay of events
+     */
+    private final CSVFeedReplayMode replayMode;
+    /**
+     * value by which to divide the interval between event timestamps
+     */
+    private final double replaySpeed;
     /**
      * the event translator to use 
      */
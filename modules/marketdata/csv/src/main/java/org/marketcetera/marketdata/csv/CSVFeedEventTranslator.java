@@ -1,5 +1,6 @@
 package org.marketcetera.marketdata.csv;
 
+import java.util.Date;
 import java.util.List;
 
 import org.marketcetera.core.CoreException;
@@ -47,4 +48,20 @@ public class CSVFeedEventTranslator
     {
         throw new UnsupportedOperationException();
     }
+    /**
+     * Gets the time at which the event in the given data occurred.
+     * 
+     * <p>This value is used to pace the replay of events when the feed uses
+     * {@link CSVFeedReplayMode#TIMESTAMP}. The default implementation returns <code>null</code>,
+     * in which case the event is delivered without delay.
+     *
+     * @param inData a <code>CSVQuantum</code> value
+     * @return a <code>Date</code> value or <code>null</code> if the time of the event is not known
+     * @throws CoreException if the data could not be interpreted
+     */
+    public Date getReplayTimestamp(CSVQuantum inData)
+            throws CoreException
+    {
+        return null;
+    }
 }
@@ -76,4 +76,53 @@ public interface CSVFeedMXBean
      */
     @DisplayName("Indicates if events should be replayed upon completion")
     public void setReplayEvents(String inReplayEvents);
+    /**
+     * Gets the replay mode value.
+     *
+     * @return a <code>String</code> value
+     */
+    @DisplayName("How events are paced: FIXED_DELAY, TIMESTAMP, or ASAP")
+    public String getReplayMode();
+    /**
+     * Sets the replay mode value.
+     *
+     * @param inReplayMode a <code>String</code> value
+     */
+    @DisplayName("How events are paced: FIXED_DELAY, TIMESTAMP, or ASAP")
+    public void setReplayMode(@DisplayName("How events are paced: FIXED_DELAY, TIMESTAMP, or ASAP")String inReplayMode);
+    /**
+     * Gets the replay speed value.
+     *
+     * @return a <code>String</code> value
+     */
+    @DisplayName("The multiplier applied to the pace of event timestamps")
+    public String getReplaySpeed();
+    /**
+     * Sets the replay speed value.
+     *
+     * @param inReplaySpeed a <code>String</code> value
+     */
+    @DisplayName("The multiplier applied to the pace of event timestamps")
+    public void setReplaySpeed(@DisplayName("The multiplier applied to the pace of event timestamps")String inReplaySpeed);
+    /**
+     * Gets the number of events replayed per second.
+     *
+     * @return a <code>double</code> value
+     */
+    @DisplayName("The number of events replayed per second over the last minute")
+    public double getEventsPerSecond();
+    /**
+     * Gets the number of events replayed.
+     *
+     * @return a <code>long</code> value
+     */
+    @DisplayName("The number of events replayed")
+    public long getEventsReplayed();
+    /**
+     * Gets the number of milliseconds by which the most recent event was delivered after its scheduled time.
+     *
+     * @return a <code>long</code> value
+     */
+    @DisplayName("The number of milliseconds by which the most recent event was delivered late")
+    public long getReplayLag();
 }
@@ -83,6 +83,62 @@ public class CSVFeedModule
     {
         replayEvents = Boolean.valueOf(StringUtils.trimToNull(inReplayEvents));
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#getReplayMode()
+     */
+    @Override
+    public String getReplayMode()
+    {
+        return replayMode.name();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#setReplayMode(java.lang.String)
+     */
+    @Override
+    public void setReplayMode(String inReplayMode)
+    {
+        replayMode = CSVFeedReplayMode.valueOf(StringUtils.trimToNull(inReplayMode).toUpperCase());
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#getReplaySpeed()
+     */
+    @Override
+    public String getReplaySpeed()
+    {
+        return String.valueOf(replaySpeed);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#setReplaySpeed(java.lang.String)
+     */
+    @Override
+    public void setReplaySpeed(String inReplaySpeed)
+    {
+        replaySpeed = Double.parseDouble(StringUtils.trimToNull(inReplaySpeed));
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#getEventsPerSecond()
+     */
+    @Override
+    public double getEventsPerSecond()
+    {
+        return feed.getEventsPerSecond();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#getEventsReplayed()
+     */
+    @Override
+    public long getEventsReplayed()
+    {
+        return feed.getEventsReplayed();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedMXBean#getReplayLag()
+     */
+    @Override
+    public long getReplayLag()
+    {
+        return feed.getReplayLag();
+    }
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -99,9 +155,21 @@ public class CSVFeedModule
      */
     CSVFeedModule()
             throws CoreException
+    {
+        this(CSVFeedFactory.getInstance().getMarketDataFeed());
+    }
+    /**
+     * Create a new CSVFeedModule instance.
+     *
+     * @param inFeed a <code>CSVFeed</code> value
+     * @throws org.marketcetera.core.CoreException
+     */
+    private CSVFeedModule(CSVFeed inFeed)
+            throws CoreException
     {
         super(CSVFeedModuleFactory.INSTANCE_URN,
-              CSVFeedFactory.getInstance().getMarketDataFeed());
+              inFeed);
+        feed = inFeed;
     }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.AbstractMarketDataModule#getCredentials()
@@ -112,6 +180,8 @@ public class CSVFeedModule
     {
         return CSVFeedCredentials.getInstance(replayRate,
                                               replayEvents,
+                                              replayMode,
+                                              replaySpeed,
                                               marketdataDirectory,
                                               getEventTranslatorClassName());
     }
@@ -131,4 +201,16 @@ public class CSVFeedModule
      * indicates if events should be replayed upon completion
      */
     private volatile boolean replayEvents = false;
+    /**
+     * indicates how events are paced
+     */
+    private volatile CSVFeedReplayMode replayMode = CSVFeedReplayMode.FIXED_DELAY;
+    /**
+     * multiplier applied to the pace of event timestamps
+     */
+    private volatile double replaySpeed = 1.0;
+    /**
+     * the feed managed by this module
+     */
+    private final CSVFeed feed;
 }
@@ -0,0 +1,29 @@
+package org.marketcetera.marketdata.csv;
+
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Determines how {@link CSVFeed} paces the events it reads from a market data file.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public enum CSVFeedReplayMode
+{
+    /**
+     * events are delivered at a fixed interval given by the replay rate in milliseconds
+     */
+    FIXED_DELAY,
+    /**
+     * events are delivered with the same spacing as their timestamps, divided by the replay speed
+     */
+    TIMESTAMP,
+    /**
+     * events are delivered as fast as the subscribers accept them
+     */
+    ASAP
+}
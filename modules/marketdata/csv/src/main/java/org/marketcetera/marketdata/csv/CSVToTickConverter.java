@@ -0,0 +1,145 @@
+package org.marketcetera.marketdata.csv;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVStrategy;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.marketdata.tick.TickFileWriter;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+
+/* $License$ */
+
+/**
+ * Converts market data files in the CSV feed format to the binary tick format.
+ *
+ * <p>Each line is translated with a {@link CSVFeedEventTranslator}, {@link BasicCSVFeedEventTranslator} by default. Bids, asks,
+ * and trades are appended to the tick file. Other events and lines that cannot be translated are skipped.
+ *
+ * <p>Usage: <code>CSVToTickConverter &lt;csv file&gt; &lt;tick file&gt; [event translator classname]</code>
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ * @see org.marketcetera.marketdata.tick.TickFileFormat
+ */
+@NotThreadSafe
+public class CSVToTickConverter
+{
+    /**
+     * Converts the CSV file given on the command line.
+     *
+     * @param inArgs a <code>String[]</code> value
+     * @throws Exception if the file cannot be converted
+     */
+    public static void main(String[] inArgs)
+            throws Exception
+    {
+        if(inArgs.length < 2 || inArgs.length > 3) {
+            System.err.println(Messages.CONVERTER_USAGE.getText());
+            System.exit(1);
+            return;
+        }
+        CSVFeedEventTranslator translator;
+        if(inArgs.length == 3) {
+            translator = (CSVFeedEventTranslator)Class.forName(inArgs[2]).newInstance();
+        } else {
+            translator = new BasicCSVFeedEventTranslator();
+        }
+        CSVToTickConverter converter = new CSVToTickConverter(translator);
+        converter.convert(new File(inArgs[0]),
+                          new File(inArgs[1]));
+        Messages.CONVERSION_COMPLETE.info(CSVToTickConverter.class,
+                                          converter.getConvertedCount(),
+                                          inArgs[1],
+                                          converter.getSkippedCount());
+    }
+    /**
+     * Create a new CSVToTickConverter instance.
+     *
+     * @param inTranslator a <code>CSVFeedEventTranslator</code> value
+     */
+    public CSVToTickConverter(CSVFeedEventTranslator inTranslator)
+    {
+        translator = inTranslator;
+    }
+    /**
+     * Appends the events in the given CSV file to the given tick file.
+     *
+     * @param inCsvFile a <code>File</code> value
+     * @param inTickFile a <code>File</code> value
+     * @throws IOException if the files cannot be read or written
+     */
+    public void convert(File inCsvFile,
+                        File inTickFile)
+            throws IOException
+    {
+        try(Reader reader = new FileReader(inCsvFile);
+            TickFileWriter writer = new TickFileWriter(inTickFile)) {
+            CSVParser parser = new CSVParser(reader,
+                                             CSVStrategy.EXCEL_STRATEGY);
+            String[] line;
+            while((line = parser.getLine()) != null) {
+                try {
+                    for(Event event : translator.toEvent(CSVQuantum.getQuantum(line,
+                                                                               null,
+                                                                               0),
+                                                         inCsvFile.getName())) {
+                        if(event instanceof QuoteEvent || event instanceof TradeEvent) {
+                            writer.write(event);
+                            convertedCount += 1;
+                        } else {
+                            skippedCount += 1;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    SLF4JLoggerProxy.debug(CSVToTickConverter.class,
+                                           e,
+                                           "Skipping {}", //$NON-NLS-1$
+                                           Arrays.toString(line));
+                    skippedCount += 1;
+                }
+            }
+        }
+    }
+    /**
+     * Gets the number of events written to tick files.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getConvertedCount()
+    {
+        return convertedCount;
+    }
+    /**
+     * Gets the number of lines and events that were not written to tick files.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getSkippedCount()
+    {
+        return skippedCount;
+    }
+    /**
+     * translates lines to events
+     */
+    private final CSVFeedEventTranslator translator;
+    /**
+     * number of events written to tick files
+     */
+    private long convertedCount;
+    /**
+     * number of lines and events not written to tick files
+     */
+    private long skippedCount;
+}
@@ -73,4 +73,10 @@ public interface Messages
                                                                                          "unable_to_construct_marketstat"); //$NON-NLS-1$
     public static final I18NMessage0P EMPTY_LINE = new I18NMessage0P(LOGGER,
                                                                      "empty_line"); //$NON-NLS-1$
+    public static final I18NMessage0P CONVERTER_USAGE = new I18NMessage0P(LOGGER,
+                                                                          "converter_usage"); //$NON-NLS-1$
+    public static final I18NMessage3P CONVERSION_COMPLETE = new I18NMessage3P(LOGGER,
+                                                                              "conversion_complete"); //$NON-NLS-1$
+    public static final I18NMessage1P INVALID_REPLAY_SPEED = new I18NMessage1P(LOGGER,
+                                                                               "invalid_replay_speed"); //$NON-NLS-1$
 }
@@ -2,6 +2,7 @@ package org.marketcetera.marketdata.csv;
 
 import static org.junit.Assert.assertEquals;
 import static org.marketcetera.marketdata.csv.Messages.INVALID_EVENT_TRANSLATOR;
+import static org.marketcetera.marketdata.csv.Messages.INVALID_REPLAY_SPEED;
 
 import java.io.File;
 
@@ -48,6 +49,53 @@ public class CSVFeedCredentialsTest
 //                     CSVFeedCredentials.getInstance(Long.MAX_VALUE,
 //                                                    MockCSVFeedEventTranslator.class.getName()).getMillisecondDelay());
     }
+    /**
+     * Tests the replay mode and replay speed values.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testReplayMode()
+            throws Exception
+    {
+        final String marketdataDirectory = new File(System.getProperty("java.io.tmpdir")).getAbsolutePath();
+        CSVFeedCredentials credentials = CSVFeedCredentials.getInstance(0,
+                                                                        false,
+                                                                        marketdataDirectory,
+                                                                        MockCSVFeedEventTranslator.class.getName());
+        assertEquals(CSVFeedReplayMode.FIXED_DELAY,
+                     credentials.getReplayMode());
+        assertEquals(1.0,
+                     credentials.getReplaySpeed(),
+                     0.0);
+        credentials = CSVFeedCredentials.getInstance(0,
+                                                     false,
+                                                     CSVFeedReplayMode.TIMESTAMP,
+                                                     2.5,
+                                                     marketdataDirectory,
+                                                     MockCSVFeedEventTranslator.class.getName());
+        assertEquals(CSVFeedReplayMode.TIMESTAMP,
+                     credentials.getReplayMode());
+        assertEquals(2.5,
+                     credentials.getReplaySpeed(),
+                     0.0);
+        for(final double speed : new double[] { 0, -1, Double.NaN, Double.POSITIVE_INFINITY }) {
+            new ExpectedFailure<FeedException>(INVALID_REPLAY_SPEED,
+                                               speed) {
+                @Override
+                protected void run()
+                        throws Exception
+                {
+                    CSVFeedCredentials.getInstance(0,
+                                                   false,
+                                                   CSVFeedReplayMode.TIMESTAMP,
+                                                   speed,
+                                                   marketdataDirectory,
+                                                   new MockCSVFeedEventTranslator());
+                }
+            };
+        }
+    }
     /**
      * Tests the construction of the event translator by specifying the classname.
      *
@@ -145,6 +145,93 @@ public class CSVFeedModuleTest
         }
 
     }
+    /**
+     * Tests that events are paced by their timestamps and that the replay metrics are updated.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test(timeout = 60*1000)
+    public void testTimestampReplay()
+            throws Exception
+    {
+        final BlockingQueue<Event> events = new ArrayBlockingQueue<Event>(50);
+        moduleManager.addSinkListener(new SinkDataListener() {
+            @Override
+            public void receivedData(DataFlowID inFlowID, Object inData) {
+                events.add((Event) inData);
+            }
+        });
+        CSVFeed feed = CSVFeedFactory.getInstance().getMarketDataFeed();
+        // each millisecond between the sample events takes 200ms to replay
+        feed.doLogin(CSVFeedCredentials.getInstance(0,
+                                                    false,
+                                                    CSVFeedReplayMode.TIMESTAMP,
+                                                    0.005,
+                                                    DATA_DIR,
+                                                    MockCSVFeedEventTranslator.class.getName()));
+        long eventsReplayed = feed.getEventsReplayed();
+        DataFlowID dfid = moduleManager.createDataFlow(new DataRequest[] { new DataRequest(getInstanceURN(),
+                                                                                          MarketDataRequestBuilder.newRequest().withSymbols("GOOG.csv")
+                                                                                                                               .withContent("TOP_OF_BOOK").create()) });
+        try {
+            Event firstEvent = events.take();
+            long start = System.currentTimeMillis();
+            Event lastEvent = firstEvent;
+            for(int i=1;i<22;i++) {
+                lastEvent = events.take();
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            assertTrue("Replay took " + elapsed + "ms",
+                       elapsed >= 150);
+            assertEquals(12346,
+                         firstEvent.getTimeMillis());
+            assertEquals(12347,
+                         lastEvent.getTimeMillis());
+            assertTrue(feed.getEventsReplayed() - eventsReplayed >= 22);
+            assertTrue(feed.getReplayLag() >= 0);
+        } finally {
+            moduleManager.cancel(dfid);
+        }
+    }
+    /**
+     * Tests that events are delivered without delay.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test(timeout = 60*1000)
+    public void testAsapReplay()
+            throws Exception
+    {
+        final BlockingQueue<Event> events = new ArrayBlockingQueue<Event>(50);
+        moduleManager.addSinkListener(new SinkDataListener() {
+            @Override
+            public void receivedData(DataFlowID inFlowID, Object inData) {
+                events.add((Event) inData);
+            }
+        });
+        CSVFeed feed = CSVFeedFactory.getInstance().getMarketDataFeed();
+        // a replay rate that would take over 20s in the default mode is ignored
+        feed.doLogin(CSVFeedCredentials.getInstance(1000,
+                                                    false,
+                                                    CSVFeedReplayMode.ASAP,
+                                                    1.0,
+                                                    DATA_DIR,
+                                                    MockCSVFeedEventTranslator.class.getName()));
+        DataFlowID dfid = moduleManager.createDataFlow(new DataRequest[] { new DataRequest(getInstanceURN(),
+                                                                                          MarketDataRequestBuilder.newRequest().withSymbols("GOOG.csv")
+                                                                                                                               .withContent("TOP_OF_BOOK").create()) });
+        try {
+            long start = System.currentTimeMillis();
+            for(int i=0;i<22;i++) {
+                events.take();
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            assertTrue("Replay took " + elapsed + "ms",
+                       elapsed < 10000);
+        } finally {
+            moduleManager.cancel(dfid);
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.MarketDataModuleTestBase#dataRequestFromString()
      */
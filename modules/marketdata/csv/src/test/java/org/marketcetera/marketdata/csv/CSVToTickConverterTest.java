@@ -0,0 +1,116 @@
+package org.marketcetera.marketdata.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.marketdata.tick.TickFileFormat;
+import org.marketcetera.marketdata.tick.TickFileReader;
+import org.marketcetera.trade.Equity;
+
+/* $License$ */
+
+/**
+ * Tests {@link CSVToTickConverter}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class CSVToTickConverterTest
+{
+    /**
+     * Run before each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Before
+    public void setup()
+            throws Exception
+    {
+        csvFile = File.createTempFile("test",
+                                      ".csv");
+        tickFile = File.createTempFile("test",
+                                       TickFileFormat.SUFFIX);
+        tickFile.delete();
+    }
+    /**
+     * Run after each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @After
+    public void cleanup()
+            throws Exception
+    {
+        csvFile.delete();
+        tickFile.delete();
+    }
+    /**
+     * Tests converting a CSV file to a tick file.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testConvert()
+            throws Exception
+    {
+        StringBuilder csv = new StringBuilder();
+        csv.append("BID,1000,E:METC,1001,Q,10.01,100").append(System.lineSeparator());
+        csv.append("ASK,2000,E:METC,2001,Q,10.02,200").append(System.lineSeparator());
+        csv.append("this is not an event").append(System.lineSeparator());
+        csv.append("TRADE,3000,E:METC,3001,Q,10.015,50").append(System.lineSeparator());
+        FileUtils.writeStringToFile(csvFile,
+                                    csv.toString());
+        CSVToTickConverter converter = new CSVToTickConverter(new BasicCSVFeedEventTranslator());
+        converter.convert(csvFile,
+                          tickFile);
+        assertEquals(3,
+                     converter.getConvertedCount());
+        assertEquals(1,
+                     converter.getSkippedCount());
+        try(TickFileReader reader = new TickFileReader(tickFile)) {
+            BidEvent bid = (BidEvent)reader.next();
+            assertEquals(new Equity("METC"),
+                         bid.getInstrument());
+            assertEquals(1000,
+                         bid.getTimeMillis());
+            assertEquals(1001,
+                         bid.getExchangeTimestamp().getTime());
+            assertEquals("Q",
+                         bid.getExchange());
+            assertEquals(new BigDecimal("10.01"),
+                         bid.getPrice());
+            assertEquals(new BigDecimal("100"),
+                         bid.getSize());
+            AskEvent ask = (AskEvent)reader.next();
+            assertEquals(new BigDecimal("10.02"),
+                         ask.getPrice());
+            TradeEvent trade = (TradeEvent)reader.next();
+            assertEquals(new BigDecimal("10.015"),
+                         trade.getPrice());
+            assertEquals(new BigDecimal("50"),
+                         trade.getSize());
+            assertNull(reader.next());
+        }
+        assertTrue(tickFile.length() > 0);
+    }
+    /**
+     * test CSV file
+     */
+    private File csvFile;
+    /**
+     * test tick file
+     */
+    private File tickFile;
+}
@@ -83,4 +83,13 @@ public class MockCSVFeedEventTranslator
         }
         return events;
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.csv.CSVFeedEventTranslator#getReplayTimestamp(org.marketcetera.marketdata.csv.CSVQuantum)
+     */
+    @Override
+    public Date getReplayTimestamp(CSVQuantum inData)
+            throws CoreException
+    {
+        return new Date(Long.parseLong(inData.getLine()[0]));
+    }
 }
@@ -37,6 +37,36 @@ public interface MarketDataProviderMBean
      * @return an <code>int</code> value
      */
     public int getTotalEvents();
+    /**
+     * Gets the number of threads used to process and publish events.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getNotifierShards();
+    /**
+     * Gets the number of active market data requests which asked for conflated delivery.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getConflatingRequests();
+    /**
+     * Gets the total number of events replaced by a newer event before they could be delivered to a conflating request.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getConflatedEvents();
+    /**
+     * Gets the total number of events dropped before they could be delivered because too many events were waiting to be delivered to a conflating request.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getDroppedConflatedEvents();
+    /**
+     * Gets the number of events waiting to be delivered to conflating requests.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getPendingConflatedEvents();
     /**
      * Gets the status of the provider.
      *
@@ -47,4 +47,6 @@ public interface Messages
     static final I18NMessage2P BAD_FEED_STATUS = new I18NMessage2P(LOGGER,"bad_feed_status"); //$NON-NLS-1$
     static final I18NMessage2P CANNOT_RECONNECT_FEED = new I18NMessage2P(LOGGER,"cannot_reconnect_feed"); //$NON-NLS-1$
     static final I18NMessage1P CANNOT_DETERMINE_FEED_STATUS = new I18NMessage1P(LOGGER,"cannot_determine_feed_status"); //$NON-NLS-1$
+    static final I18NMessage3P STREAM_EVENTS_MISSED = new I18NMessage3P(LOGGER,"stream_events_missed"); //$NON-NLS-1$
+    static final I18NMessage1P STREAM_CLOSED = new I18NMessage1P(LOGGER,"stream_closed"); //$NON-NLS-1$
 }
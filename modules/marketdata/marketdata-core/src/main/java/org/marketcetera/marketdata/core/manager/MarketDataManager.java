@@ -40,6 +40,29 @@ public interface MarketDataManager
      */
     public long requestMarketData(MarketDataRequest inRequest,
                                   ISubscriber inSubscriber);
+    /**
+     * Executes the given market data request and publishes the current state of the requested market data followed by
+     * the updates to it to the given subscriber.
+     *
+     * <p>The subscriber receives {@link SequencedEvent} objects. For market data that was already being received when
+     * the request was submitted, the cached state, such as the order book, is published first as snapshot events.
+     * The updates follow with no update missing between the snapshot and the first update and no update reflected in
+     * the snapshot published again. The events of the request are numbered consecutively from 1, so the subscriber
+     * can detect an event that it failed to process.
+     *
+     * <p>Market data will be published to the given subscriber as it becomes available until
+     * the request is {@link #cancelMarketDataRequest(long) canceled}.
+     *
+     * @param inRequest a <code>MarketDataRequest</code> value
+     * @param inSubscriber an <code>ISubscriber</code> value
+     * @return a <code>long</code> value that identifies the request
+     * @throws MarketDataRequestFailed if the request could not be executed
+     * @throws MarketDataProviderNotAvailable if a specifically requested provider is not available
+     * @throws NoMarketDataProvidersAvailable if no specific provider was requested and no providers are available
+     * @throws MarketDataRequestTimedOut if the request could not be executed in a reasonable amount of time
+     */
+    public long requestMarketDataWithSnapshot(MarketDataRequest inRequest,
+                                              ISubscriber inSubscriber);
     /**
      * Gets the most pertinent snapshot for the given Instrument - Content tuple.
      * 
@@ -0,0 +1,90 @@
+package org.marketcetera.marketdata.core.manager;
+
+import java.io.Serializable;
+
+import javax.annotation.concurrent.Immutable;
+
+import org.marketcetera.event.Event;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * An event delivered for a market data request submitted with {@link MarketDataManager#requestMarketDataWithSnapshot(org.marketcetera.marketdata.MarketDataRequest, org.marketcetera.core.publisher.ISubscriber)}.
+ * 
+ * <p>The events of a request are numbered from 1 in the order in which they are delivered. The snapshot events come
+ * first, followed by the updates.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@Immutable
+@ClassVersion("$Id$")
+public class SequencedEvent
+        implements Serializable
+{
+    /**
+     * Create a new SequencedEvent instance.
+     *
+     * @param inSequence a <code>long</code> value
+     * @param inSnapshot a <code>boolean</code> value
+     * @param inEvent an <code>Event</code> value
+     */
+    public SequencedEvent(long inSequence,
+                          boolean inSnapshot,
+                          Event inEvent)
+    {
+        sequence = inSequence;
+        snapshot = inSnapshot;
+        event = inEvent;
+    }
+    /**
+     * Gets the sequence number of the event within its request.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+    /**
+     * Indicates if the event is part of the snapshot of the state of the market data when the request was submitted.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isSnapshot()
+    {
+        return snapshot;
+    }
+    /**
+     * Gets the event.
+     *
+     * @return an <code>Event</code> value
+     */
+    public Event getEvent()
+    {
+        return event;
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return new StringBuilder().append('[').append(sequence).append(snapshot ? " snapshot] " : "] ").append(event).toString(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+    /**
+     * sequence number of the event within its request
+     */
+    private final long sequence;
+    /**
+     * indicates if the event is part of the snapshot
+     */
+    private final boolean snapshot;
+    /**
+     * event value
+     */
+    private final Event event;
+    private static final long serialVersionUID = 1L;
+}
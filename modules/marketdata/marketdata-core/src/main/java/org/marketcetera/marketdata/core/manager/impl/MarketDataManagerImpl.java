@@ -50,12 +50,14 @@ import org.marketcetera.marketdata.core.manager.MarketDataProviderRegistry;
 import org.marketcetera.marketdata.core.manager.MarketDataRequestFailed;
 import org.marketcetera.marketdata.core.manager.MarketDataRequestTimedOut;
 import org.marketcetera.marketdata.core.manager.NoMarketDataProvidersAvailable;
+import org.marketcetera.marketdata.core.manager.SequencedEvent;
 import org.marketcetera.marketdata.core.module.MarketDataCoreModuleFactory;
 import org.marketcetera.marketdata.core.module.ReceiverModule;
 import org.marketcetera.marketdata.core.module.ReceiverModuleFactory;
 import org.marketcetera.marketdata.core.provider.AbstractMarketDataProvider;
 import org.marketcetera.marketdata.core.request.MarketDataRequestAtom;
 import org.marketcetera.marketdata.core.request.MarketDataRequestToken;
+import org.marketcetera.marketdata.core.request.SnapshotSubscriber;
 import org.marketcetera.module.DataFlowID;
 import org.marketcetera.module.DataFlowNotFoundException;
 import org.marketcetera.module.DataRequest;
@@ -219,6 +221,16 @@ public class MarketDataManagerImpl
         }
         return token.getId();
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.manager.MarketDataManager#requestMarketDataWithSnapshot(org.marketcetera.marketdata.MarketDataRequest, org.marketcetera.core.publisher.ISubscriber)
+     */
+    @Override
+    public long requestMarketDataWithSnapshot(MarketDataRequest inRequest,
+                                              ISubscriber inSubscriber)
+    {
+        return requestMarketData(inRequest,
+                                 inSubscriber == null ? null : new SequencingSubscriber(inSubscriber));
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.manager.MarketDataManager#cancelMarketDataRequest(org.marketcetera.api.systemmodel.Subscriber)
      */
@@ -497,6 +509,82 @@ public class MarketDataManagerImpl
         private final MarketDataRequest request;
         private static final long serialVersionUID = 1L;
     }
+    /**
+     * Numbers the snapshot events and updates for a request and publishes them to the requesting subscriber.
+     * 
+     * <p>Events for different instruments may arrive from different provider threads at the same time, so each event
+     * is numbered and published while holding the lock of this object. This keeps the sequence numbers received by
+     * the subscriber in order.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ThreadSafe
+    @ClassVersion("$Id$")
+    private static class SequencingSubscriber
+            implements SnapshotSubscriber
+    {
+        /* (non-Javadoc)
+         * @see org.marketcetera.core.publisher.ISubscriber#isInteresting(java.lang.Object)
+         */
+        @Override
+        public boolean isInteresting(Object inData)
+        {
+            return subscriber.isInteresting(inData);
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.core.publisher.ISubscriber#publishTo(java.lang.Object)
+         */
+        @Override
+        public void publishTo(Object inData)
+        {
+            publish(false,
+                    (Event)inData);
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.core.request.SnapshotSubscriber#publishSnapshot(org.marketcetera.event.Event)
+         */
+        @Override
+        public void publishSnapshot(Event inSnapshot)
+        {
+            if(subscriber.isInteresting(inSnapshot)) {
+                publish(true,
+                        inSnapshot);
+            }
+        }
+        /**
+         * Numbers the given event and publishes it.
+         *
+         * @param inSnapshot a <code>boolean</code> value
+         * @param inEvent an <code>Event</code> value
+         */
+        private synchronized void publish(boolean inSnapshot,
+                                          Event inEvent)
+        {
+            subscriber.publishTo(new SequencedEvent(++sequence,
+                                                    inSnapshot,
+                                                    inEvent));
+        }
+        /**
+         * Create a new SequencingSubscriber instance.
+         *
+         * @param inSubscriber an <code>ISubscriber</code> value
+         */
+        private SequencingSubscriber(ISubscriber inSubscriber)
+        {
+            subscriber = inSubscriber;
+        }
+        /**
+         * subscriber to which to publish the numbered events
+         */
+        private final ISubscriber subscriber;
+        /**
+         * sequence number of the last event published
+         */
+        @GuardedBy("this")
+        private long sequence = 0;
+    }
     /**
      * Creates an interface between the newer {@link MarketDataProvider} and the older, module-based {@link MarketDataFeed}.
      *
@@ -4,13 +4,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -21,6 +33,8 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 
+import org.apache.commons.lang.SerializationUtils;
+import org.apache.commons.lang.Validate;
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.lang.builder.ToStringBuilder;
@@ -42,12 +56,18 @@ import org.marketcetera.marketdata.core.manager.MarketDataProviderRegistry;
 import org.marketcetera.marketdata.core.manager.MarketDataRequestFailed;
 import org.marketcetera.marketdata.core.request.MarketDataRequestAtom;
 import org.marketcetera.marketdata.core.request.MarketDataRequestToken;
+import org.marketcetera.marketdata.core.request.SnapshotSubscriber;
+import org.marketcetera.metrics.MetricService;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.log.I18NBoundMessage2P;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.ClassVersion;
 import org.springframework.context.Lifecycle;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 
@@ -57,6 +77,21 @@ import com.google.common.collect.Multimap;
  * Provides common behavior for market data providers.
  * 
  * <p>To create a market data provider, extend this class.
+ * 
+ * <p>Events are published to subscribers by the notifier threads as they are processed. A request may
+ * instead ask for conflated delivery by setting the {@link #CONFLATE_PARAMETER} parameter to <code>true</code>.
+ * The events for such a request are handed to a delivery task of its own which publishes them as fast
+ * as the subscriber accepts them. While the subscriber is busy, a newer top-of-book, latest-tick, or
+ * marketstat event for an instrument replaces the pending one instead of queuing behind it, so a slow
+ * subscriber sees the latest values and does not hold up the notifier threads. Other content is
+ * delivered in full, in order. The {@link #CONFLATION_INTERVAL_PARAMETER} parameter sets a minimum
+ * number of milliseconds between deliveries, for subscribers such as displays that do not want updates
+ * more often than that.
+ * 
+ * <p>A request for market data which is already being received gets the cached state of the market data as
+ * a snapshot. The snapshot is taken and the request is added to the requests receiving updates while the cache
+ * cannot be updated, so a {@link SnapshotSubscriber} receives each update either in the snapshot or as an update,
+ * never both and never neither.
  *
  * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
  * @version $Id$
@@ -67,6 +102,14 @@ import com.google.common.collect.Multimap;
 public abstract class AbstractMarketDataProvider
         implements MarketDataProvider,MarketDataCache
 {
+    /**
+     * the name of the request parameter which, set to <code>true</code>, asks for conflated delivery
+     */
+    public static final String CONFLATE_PARAMETER = "conflate"; //$NON-NLS-1$
+    /**
+     * the name of the request parameter which sets the minimum number of milliseconds between conflated deliveries
+     */
+    public static final String CONFLATION_INTERVAL_PARAMETER = "conflationInterval"; //$NON-NLS-1$
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.cache.MarketdataCache#getSnapshot(org.marketcetera.core.trade.Instrument, org.marketcetera.marketdata.Content)
      */
@@ -77,7 +120,7 @@ public abstract class AbstractMarketDataProvider
         Lock snapshotLock = marketdataLock.readLock();
         try {
             snapshotLock.lockInterruptibly();
-            MarketdataCacheElement cachedData = cachedMarketdata.get(inInstrument);
+            MarketdataCacheElement cachedData = getCachedMarketdata(inInstrument);
             if(cachedData != null) {
                 return cachedData.getSnapshot(inContent);
             }
@@ -104,14 +147,30 @@ public abstract class AbstractMarketDataProvider
             doStart();
             totalRequests = 0;
             totalEvents = 0;
+            conflatedEvents.set(0);
+            droppedConflatedEvents.set(0);
+            conflatingDeliveries.clear();
+            conflationExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable inRunnable)
+                {
+                    Thread thread = new Thread(inRunnable,
+                                               "Market data conflated delivery thread " + conflationThreadCounter.incrementAndGet() + " for " + getProviderName()); //$NON-NLS-1$ //$NON-NLS-2$
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
             instrumentsBySymbol.clear();
-            cachedMarketdata.clear();
-            notifications.clear();
             requestsByInstrument.clear();
             requestsByAtom.clear();
             requestsBySymbol.clear();
-            notifier = new EventNotifier();
-            notifier.start();
+            EventNotifier[] newNotifiers = new EventNotifier[notifierShards];
+            for(int shard=0;shard<newNotifiers.length;shard++) {
+                newNotifiers[shard] = new EventNotifier(shard,
+                                                        newNotifiers.length);
+                newNotifiers[shard].start();
+            }
+            notifiers = newNotifiers;
             running.set(true);
             setFeedStatus(ProviderStatus.AVAILABLE);
         } catch (Exception e) {
@@ -136,10 +195,23 @@ public abstract class AbstractMarketDataProvider
         } catch (Exception e) {
             setFeedStatus(ProviderStatus.ERROR);
         } finally {
-            notifier.stop();
+            EventNotifier[] oldNotifiers = notifiers;
+            notifiers = null;
+            if(oldNotifiers != null) {
+                for(EventNotifier notifier : oldNotifiers) {
+                    notifier.stop();
+                }
+            }
+            for(ConflatingDelivery delivery : conflatingDeliveries.values()) {
+                delivery.cancel();
+            }
+            conflatingDeliveries.clear();
+            ExecutorService oldExecutor = conflationExecutor;
+            conflationExecutor = null;
+            if(oldExecutor != null) {
+                oldExecutor.shutdownNow();
+            }
             instrumentsBySymbol.clear();
-            cachedMarketdata.clear();
-            notifications.clear();
             requestsByInstrument.clear();
             requestsByAtom.clear();
             requestsBySymbol.clear();
@@ -181,6 +253,12 @@ public abstract class AbstractMarketDataProvider
                                "Acquired lock"); //$NON-NLS-1$
         try {
             mapRequestToInstruments(inRequestToken);
+            ConflatingDelivery conflatingDelivery = null;
+            if(isConflating(inRequestToken.getRequest())) {
+                conflatingDelivery = new ConflatingDelivery(inRequestToken);
+                conflatingDeliveries.put(inRequestToken,
+                                         conflatingDelivery);
+            }
             for(MarketDataRequestAtom atom : atoms) {
                 if(requestsByAtom.containsKey(atom)) {
                     SLF4JLoggerProxy.debug(this,
@@ -202,7 +280,17 @@ public abstract class AbstractMarketDataProvider
                             SLF4JLoggerProxy.debug(this,
                                                    "Sending snapshot: {}",
                                                    snapshotEvent);
-                            if(inRequestToken.getSubscriber() != null) {
+                            if(inRequestToken.getSubscriber() instanceof SnapshotSubscriber) {
+                                // updates cannot be published to this request until the lock is released, so the snapshot precedes them
+                                snapshotEvent.setSource(inRequestToken.getId());
+                                snapshotEvent.setProvider(getProviderName());
+                                ((SnapshotSubscriber)inRequestToken.getSubscriber()).publishSnapshot(snapshotEvent);
+                            } else if(conflatingDelivery != null) {
+                                conflatingDelivery.add(snapshotInstrument,
+                                                       atom.getContent(),
+                                                       snapshotEvent,
+                                                       0);
+                            } else if(inRequestToken.getSubscriber() != null) {
                                 inRequestToken.getSubscriber().publishTo(snapshotEvent);
                             }
                         } else {
@@ -266,6 +354,10 @@ public abstract class AbstractMarketDataProvider
     {
         // TODO re-exploding the request might cause problems if the request itself changed, better to associate the token ID
         //  with a set of atoms
+        ConflatingDelivery conflatingDelivery = conflatingDeliveries.remove(inRequestToken);
+        if(conflatingDelivery != null) {
+            conflatingDelivery.cancel();
+        }
         Lock cancelLock = marketdataLock.writeLock();
         try {
             cancelLock.lockInterruptibly();
@@ -289,7 +381,7 @@ public abstract class AbstractMarketDataProvider
                         instrumentRequests.remove(inRequestToken);
                         if(instrumentRequests.isEmpty()) {
                             // no more requests for this instrument, which means this instrument will no longer be updated - clear the cache for it
-                            cachedMarketdata.remove(mappedInstrument);
+                            removeCachedMarketdata(mappedInstrument);
                         }
                     }
                 }
@@ -361,6 +453,90 @@ public abstract class AbstractMarketDataProvider
     {
         return totalEvents;
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.MarketDataProviderMBean#getNotifierShards()
+     */
+    @Override
+    public int getNotifierShards()
+    {
+        return notifierShards;
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.MarketDataProviderMBean#getConflatingRequests()
+     */
+    @Override
+    public int getConflatingRequests()
+    {
+        return conflatingDeliveries.size();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.MarketDataProviderMBean#getConflatedEvents()
+     */
+    @Override
+    public long getConflatedEvents()
+    {
+        return conflatedEvents.get();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.MarketDataProviderMBean#getDroppedConflatedEvents()
+     */
+    @Override
+    public long getDroppedConflatedEvents()
+    {
+        return droppedConflatedEvents.get();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.MarketDataProviderMBean#getPendingConflatedEvents()
+     */
+    @Override
+    public int getPendingConflatedEvents()
+    {
+        int pending = 0;
+        for(ConflatingDelivery delivery : conflatingDeliveries.values()) {
+            pending += delivery.getPending();
+        }
+        return pending;
+    }
+    /**
+     * Sets the number of threads used to process and publish events.
+     *
+     * <p>Instruments are distributed among the threads by hash, so events for a given instrument are
+     * always processed in the order in which they were published by a single thread, while events
+     * for different instruments may be processed in parallel. The change takes effect the next time
+     * the provider is started. The default value is 1.
+     *
+     * @param inNotifierShards an <code>int</code> value
+     * @throws IllegalArgumentException if the given value is less than 1
+     */
+    public void setNotifierShards(int inNotifierShards)
+    {
+        Validate.isTrue(inNotifierShards > 0);
+        notifierShards = inNotifierShards;
+    }
+    /**
+     * Get the maxPendingConflatedEvents value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getMaxPendingConflatedEvents()
+    {
+        return maxPendingConflatedEvents;
+    }
+    /**
+     * Sets the maximum number of events waiting to be delivered to each conflating request.
+     *
+     * <p>Events which cannot be conflated, such as dividends or depth of book updates, accumulate while a
+     * subscriber is slow. Once the limit is reached, the oldest pending event is dropped to make room for
+     * each new one. The change applies to requests made afterwards. The default value is 10000.
+     *
+     * @param inMaxPendingConflatedEvents an <code>int</code> value
+     * @throws IllegalArgumentException if the given value is less than 1
+     */
+    public void setMaxPendingConflatedEvents(int inMaxPendingConflatedEvents)
+    {
+        Validate.isTrue(inMaxPendingConflatedEvents > 0);
+        maxPendingConflatedEvents = inMaxPendingConflatedEvents;
+    }
     /**
      * Indicates that the given events have been received by the provider and should be sent to interested subscribers.
      *
@@ -375,9 +551,14 @@ public abstract class AbstractMarketDataProvider
         // TODO validation: make sure each event has the proper content and instrument (don't do this every time, just if the provider requests validation)
         // TODO validation: make sure each instrument has a mapping
         totalEvents += inEvents.length;
-        notifications.add(new EventNotification(inContent,
-                                                inInstrument,
-                                                inEvents));
+        EventNotifier[] currentNotifiers = notifiers;
+        if(currentNotifiers == null) {
+            return;
+        }
+        currentNotifiers[getShard(inInstrument,
+                                  currentNotifiers.length)].add(new EventNotification(inContent,
+                                                                                      inInstrument,
+                                                                                      inEvents));
     }
     /**
      * Creates a link between the given symbol and the given instrument.
@@ -434,6 +615,77 @@ public abstract class AbstractMarketDataProvider
             }
         }
     }
+    /**
+     * Indicates if the given request asks for conflated delivery.
+     *
+     * @param inRequest a <code>MarketDataRequest</code> value
+     * @return a <code>boolean</code> value
+     */
+    private static boolean isConflating(MarketDataRequest inRequest)
+    {
+        Map<String,String> parameters = inRequest.getParameters();
+        return parameters != null && Boolean.parseBoolean(parameters.get(CONFLATE_PARAMETER));
+    }
+    /**
+     * Gets the minimum interval between conflated deliveries requested by the given request.
+     *
+     * @param inRequest a <code>MarketDataRequest</code> value
+     * @return a <code>long</code> value in milliseconds, 0 if deliveries are not to be spaced
+     * @throws IllegalArgumentException if the given request contains an invalid interval
+     */
+    private static long getConflationInterval(MarketDataRequest inRequest)
+    {
+        String value = inRequest.getParameters().get(CONFLATION_INTERVAL_PARAMETER);
+        if(value == null) {
+            return 0;
+        }
+        long interval = Long.parseLong(value);
+        Validate.isTrue(interval >= 0);
+        return interval;
+    }
+    /**
+     * Gets the cached market data for the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @return a <code>MarketdataCacheElement</code> value or <code>null</code>
+     */
+    private MarketdataCacheElement getCachedMarketdata(Instrument inInstrument)
+    {
+        EventNotifier[] currentNotifiers = notifiers;
+        if(currentNotifiers == null) {
+            return null;
+        }
+        return currentNotifiers[getShard(inInstrument,
+                                         currentNotifiers.length)].cachedMarketdata.get(inInstrument);
+    }
+    /**
+     * Removes the cached market data for the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     */
+    private void removeCachedMarketdata(Instrument inInstrument)
+    {
+        EventNotifier[] currentNotifiers = notifiers;
+        if(currentNotifiers != null) {
+            currentNotifiers[getShard(inInstrument,
+                                      currentNotifiers.length)].cachedMarketdata.remove(inInstrument);
+        }
+    }
+    /**
+     * Gets the notifier shard responsible for the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inShards an <code>int</code> value
+     * @return an <code>int</code> value
+     */
+    private static int getShard(Instrument inInstrument,
+                                int inShards)
+    {
+        if(inShards == 1) {
+            return 0;
+        }
+        return (inInstrument.hashCode() & Integer.MAX_VALUE) % inShards;
+    }
     /**
      * Sets the feed status value.
      *
@@ -646,6 +898,8 @@ public abstract class AbstractMarketDataProvider
     }
     /**
      * Processes events returned by the provider and publishes them to interested subscribers.
+     * 
+     * <p>Each notifier owns the cached market data for the instruments assigned to it.
      *
      * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
      * @version $Id$
@@ -666,26 +920,29 @@ public abstract class AbstractMarketDataProvider
                 while(keepAlive.get()) {
                     running.set(true);
                     EventNotification notification = notifications.take();
+                    queueDepth.dec();
                     Event[] events = notification.events;
                     if(events != null) {
                         // sort out where to apply these events. the key to the cached market data is the instrument
                         Instrument eventInstrument = notification.instrument;
-                        // there is at least one event to process. let the market data cache process each event
-                        MarketdataCacheElement marketdataCache = cachedMarketdata.get(eventInstrument);
-                        if(marketdataCache == null) {
-                            marketdataCache = new MarketdataCacheElement(eventInstrument);
-                            cachedMarketdata.put(eventInstrument,
-                                                 marketdataCache);
-                        }
-                        // we now have the market data cache object to use - give it the incoming events
-                        Collection<Event> outgoingEvents = marketdataCache.update(notification.content,
-                                                                                  events);
-                        // find subscribers to this instrument
+                        Collection<Event> outgoingEvents;
                         requests.clear();
+                        // update the cache and find the subscribers in one step so that a new request gets each update
+                        //  either in its snapshot or as an update
                         Lock requestLock = marketdataLock.readLock();
+                        requestLock.lockInterruptibly();
                         try {
-                            requestLock.lockInterruptibly();
-                            // defensive copy to avoid chance of CME if a cancel is called while the processing is ongoing
+                            // there is at least one event to process. let the market data cache process each event
+                            MarketdataCacheElement marketdataCache = cachedMarketdata.get(eventInstrument);
+                            if(marketdataCache == null) {
+                                marketdataCache = new MarketdataCacheElement(eventInstrument);
+                                cachedMarketdata.put(eventInstrument,
+                                                     marketdataCache);
+                            }
+                            // we now have the market data cache object to use - give it the incoming events
+                            outgoingEvents = marketdataCache.update(notification.content,
+                                                                    events);
+                            // find subscribers to this instrument, defensive copy to avoid chance of CME if a cancel is called while the processing is ongoing
                             requests.addAll(requestsByInstrument.get(eventInstrument));
                         } finally {
                             requestLock.unlock();
@@ -698,6 +955,17 @@ public abstract class AbstractMarketDataProvider
                         for(MarketDataRequestToken requestToken : requests) {
                             // for each subscriber, determine if the request contents justifies the update
                             if(requestToken.getRequest().getContent().contains(notification.content)) {
+                                ConflatingDelivery conflatingDelivery = conflatingDeliveries.get(requestToken);
+                                if(conflatingDelivery != null) {
+                                    // the subscriber is served by its own delivery task, hand the events off without waiting for it
+                                    for(Event outgoingEvent : outgoingEvents) {
+                                        conflatingDelivery.add(eventInstrument,
+                                                               notification.content,
+                                                               outgoingEvent,
+                                                               processedTimestamp);
+                                    }
+                                    continue;
+                                }
                                 // enclose the "publishTo" in a try/catch because we're ceding control to unknown code and
                                 //  we don't want a misbehaving subscriber to break the market data mechanism
                                 try {
@@ -721,6 +989,8 @@ public abstract class AbstractMarketDataProvider
                             }
                         }
                     }
+                    latencyMetric.update(System.nanoTime() - notification.created,
+                                         TimeUnit.NANOSECONDS);
                 }
             } catch (InterruptedException e) {
             } finally {
@@ -739,9 +1009,33 @@ public abstract class AbstractMarketDataProvider
             if(running.get()) {
                 return;
             }
+            MetricRegistry metrics = MetricService.getInstance().getMetrics();
+            String metricPrefix = MetricRegistry.name(AbstractMarketDataProvider.class,
+                                                      getProviderName(),
+                                                      "notifier", //$NON-NLS-1$
+                                                      String.valueOf(shard));
+            queueDepthMetricName = MetricRegistry.name(metricPrefix,
+                                                       "queueDepth"); //$NON-NLS-1$
+            latencyMetricName = MetricRegistry.name(metricPrefix,
+                                                    "latency"); //$NON-NLS-1$
+            metrics.remove(queueDepthMetricName);
+            metrics.register(queueDepthMetricName,
+                             new Gauge<Long>() {
+                                 @Override
+                                 public Long getValue()
+                                 {
+                                     return queueDepth.getCount();
+                                 }
+                             });
+            latencyMetric = metrics.timer(latencyMetricName);
             keepAlive.set(true);
+            StringBuilder threadName = new StringBuilder();
+            threadName.append("Market data notifier thread for ").append(getProviderName()); //$NON-NLS-1$
+            if(shards > 1) {
+                threadName.append(" (shard ").append(shard).append(')'); //$NON-NLS-1$
+            }
             thread = new Thread(this,
-                                "Market data notifier thread for " + getProviderName()); //$NON-NLS-1$
+                                threadName.toString());
             thread.start();
         }
         /* (non-Javadoc)
@@ -750,7 +1044,7 @@ public abstract class AbstractMarketDataProvider
         @Override
         public synchronized void stop()
         {
-            if(!running.get()) {
+            if(!keepAlive.get()) {
                 return;
             }
             keepAlive.set(false);
@@ -761,6 +1055,11 @@ public abstract class AbstractMarketDataProvider
                 } catch (InterruptedException ignored) {}
                 thread = null;
             }
+            notifications.clear();
+            cachedMarketdata.clear();
+            MetricRegistry metrics = MetricService.getInstance().getMetrics();
+            metrics.remove(queueDepthMetricName);
+            metrics.remove(latencyMetricName);
         }
         /* (non-Javadoc)
          * @see org.springframework.context.Lifecycle#isRunning()
@@ -770,6 +1069,60 @@ public abstract class AbstractMarketDataProvider
         {
             return running.get();
         }
+        /**
+         * Adds the given notification to the queue of notifications to process.
+         *
+         * @param inNotification an <code>EventNotification</code> value
+         */
+        private void add(EventNotification inNotification)
+        {
+            queueDepth.inc();
+            notifications.add(inNotification);
+        }
+        /**
+         * Create a new EventNotifier instance.
+         *
+         * @param inShard an <code>int</code> value indicating the shard processed by this notifier
+         * @param inShards an <code>int</code> value indicating the total number of shards
+         */
+        private EventNotifier(int inShard,
+                              int inShards)
+        {
+            shard = inShard;
+            shards = inShards;
+        }
+        /**
+         * shard processed by this notifier
+         */
+        private final int shard;
+        /**
+         * total number of shards
+         */
+        private final int shards;
+        /**
+         * notification collection that contains events to publish
+         */
+        private final BlockingDeque<EventNotification> notifications = new LinkedBlockingDeque<EventNotification>();
+        /**
+         * tracks cached market data by the instrument for instruments assigned to this shard
+         */
+        private final Map<Instrument,MarketdataCacheElement> cachedMarketdata = new ConcurrentHashMap<Instrument,MarketdataCacheElement>();
+        /**
+         * tracks the number of notifications waiting to be processed
+         */
+        private final Counter queueDepth = new Counter();
+        /**
+         * measures the time from publication of a notification to the completion of its processing
+         */
+        private volatile Timer latencyMetric;
+        /**
+         * name of the queue depth metric
+         */
+        private volatile String queueDepthMetricName;
+        /**
+         * name of the latency metric
+         */
+        private volatile String latencyMetricName;
         /**
          * keeps the event notifier running
          */
@@ -783,6 +1136,233 @@ public abstract class AbstractMarketDataProvider
          */
         private volatile Thread thread;
     }
+    /**
+     * Delivers the events for a request which asked for conflated delivery.
+     * 
+     * <p>Pending events are kept in arrival order. A conflatable event replaces the pending event with the same
+     * instrument, content, and type, if any, and takes its place in line. Once the maximum number of events are
+     * pending, the oldest pending event is dropped to make room for each new one. The delivery task is submitted
+     * when the first event becomes pending and runs until no events are pending.
+     *
+     * <p>Each pending event is a copy of the published event, stamped for this request on the notifier thread,
+     * since the published event is stamped for each of the other requests in turn while this one is delivered.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ThreadSafe
+    @ClassVersion("$Id$")
+    private class ConflatingDelivery
+            implements Runnable
+    {
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run()
+        {
+            try {
+                while(!canceled) {
+                    if(interval > 0) {
+                        long wait = lastDelivery + interval - System.currentTimeMillis();
+                        if(wait > 0) {
+                            Thread.sleep(wait);
+                        }
+                    }
+                    List<PendingEvent> events;
+                    synchronized(this) {
+                        if(canceled || pending.isEmpty()) {
+                            scheduled = false;
+                            return;
+                        }
+                        events = new ArrayList<PendingEvent>(pending.values());
+                        pending.clear();
+                    }
+                    ISubscriber subscriber = token.getSubscriber();
+                    for(PendingEvent pendingEvent : events) {
+                        if(canceled) {
+                            return;
+                        }
+                        // enclose the "publishTo" in a try/catch because we're ceding control to unknown code and
+                        //  we don't want a misbehaving subscriber to stop the delivery
+                        try {
+                            // the event is shared with the other requests, only the events that survived conflation are copied
+                            Event event = (Event)SerializationUtils.clone(pendingEvent.event);
+                            if(pendingEvent.processedTimestamp != 0 && event instanceof HasTimestamps) {
+                                ((HasTimestamps)event).setProcessedTimestamp(pendingEvent.processedTimestamp);
+                            }
+                            event.setSource(token.getId());
+                            event.setProvider(getProviderName());
+                            subscriber.publishTo(event);
+                        } catch (Exception e) {
+                            org.marketcetera.marketdata.core.Messages.EVENT_NOTIFICATION_FAILED.warn(AbstractMarketDataProvider.this,
+                                                                                                     e,
+                                                                                                     pendingEvent.event,
+                                                                                                     subscriber);
+                        }
+                    }
+                    lastDelivery = System.currentTimeMillis();
+                }
+            } catch (InterruptedException ignored) {
+            } finally {
+                synchronized(this) {
+                    if(canceled) {
+                        scheduled = false;
+                        pending.clear();
+                    }
+                }
+            }
+        }
+        /**
+         * Adds the given event to the events pending delivery.
+         *
+         * @param inInstrument an <code>Instrument</code> value
+         * @param inContent a <code>Content</code> value
+         * @param inEvent an <code>Event</code> value
+         * @param inProcessedTimestamp a <code>long</code> value or 0 to leave the processed timestamp of the event as is
+         */
+        private void add(Instrument inInstrument,
+                         Content inContent,
+                         Event inEvent,
+                         long inProcessedTimestamp)
+        {
+            ISubscriber subscriber = token.getSubscriber();
+            if(subscriber == null || !subscriber.isInteresting(inEvent)) {
+                return;
+            }
+            Object key;
+            if(conflatableContent.contains(inContent)) {
+                // bids and asks, for example, are distinguished by type
+                key = Arrays.asList(inInstrument,
+                                    inContent,
+                                    inEvent.getClass());
+            } else {
+                key = new Object();
+            }
+            synchronized(this) {
+                if(canceled) {
+                    return;
+                }
+                if(pending.put(key,
+                               new PendingEvent(inEvent,
+                                                inProcessedTimestamp)) != null) {
+                    conflatedEvents.incrementAndGet();
+                } else if(pending.size() > capacity) {
+                    Iterator<PendingEvent> oldest = pending.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                    droppedConflatedEvents.incrementAndGet();
+                }
+                if(scheduled) {
+                    return;
+                }
+                ExecutorService executor = conflationExecutor;
+                if(executor == null) {
+                    pending.clear();
+                    return;
+                }
+                try {
+                    executor.execute(this);
+                    scheduled = true;
+                } catch (RejectedExecutionException e) {
+                    // the provider is stopping
+                    pending.clear();
+                }
+            }
+        }
+        /**
+         * Gets the number of events pending delivery.
+         *
+         * @return an <code>int</code> value
+         */
+        private synchronized int getPending()
+        {
+            return pending.size();
+        }
+        /**
+         * Stops the delivery, discarding pending events.
+         */
+        private synchronized void cancel()
+        {
+            canceled = true;
+            pending.clear();
+        }
+        /**
+         * Create a new ConflatingDelivery instance.
+         *
+         * @param inToken a <code>MarketDataRequestToken</code> value
+         * @throws IllegalArgumentException if the request contains an invalid conflation interval
+         */
+        private ConflatingDelivery(MarketDataRequestToken inToken)
+        {
+            token = inToken;
+            interval = getConflationInterval(inToken.getRequest());
+            capacity = maxPendingConflatedEvents;
+        }
+        /**
+         * request token whose events are delivered
+         */
+        private final MarketDataRequestToken token;
+        /**
+         * minimum number of milliseconds between deliveries
+         */
+        private final long interval;
+        /**
+         * maximum number of events pending delivery
+         */
+        private final int capacity;
+        /**
+         * events pending delivery in arrival order
+         */
+        @GuardedBy("this")
+        private final Map<Object,PendingEvent> pending = new LinkedHashMap<Object,PendingEvent>();
+        /**
+         * indicates if the delivery task has been submitted and has not yet finished
+         */
+        @GuardedBy("this")
+        private boolean scheduled = false;
+        /**
+         * indicates if the delivery has been canceled
+         */
+        private volatile boolean canceled = false;
+        /**
+         * time of the last delivery in milliseconds
+         */
+        private volatile long lastDelivery = 0;
+    }
+    /**
+     * Holds an event waiting to be delivered to a conflating request.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @Immutable
+    @ClassVersion("$Id$")
+    private static class PendingEvent
+    {
+        /**
+         * Create a new PendingEvent instance.
+         *
+         * @param inEvent an <code>Event</code> value
+         * @param inProcessedTimestamp a <code>long</code> value or 0 to leave the processed timestamp of the event as is
+         */
+        private PendingEvent(Event inEvent,
+                             long inProcessedTimestamp)
+        {
+            event = inEvent;
+            processedTimestamp = inProcessedTimestamp;
+        }
+        /**
+         * event to deliver, shared with the other requests
+         */
+        private final Event event;
+        /**
+         * processed timestamp to stamp on the delivered event or 0
+         */
+        private final long processedTimestamp;
+    }
     /**
      * Represents an event notification to be published.
      *
@@ -816,6 +1396,7 @@ public abstract class AbstractMarketDataProvider
             events = inEvents;
             content = inContent;
             instrument = inInstrument;
+            created = System.nanoTime();
         }
         /**
          * content value
@@ -829,6 +1410,10 @@ public abstract class AbstractMarketDataProvider
          * events to notify
          */
         private final Event[] events;
+        /**
+         * time the notification was created in nanoseconds
+         */
+        private final long created;
     }
     /**
      * feed status value
@@ -851,13 +1436,37 @@ public abstract class AbstractMarketDataProvider
      */
     private volatile int totalEvents;
     /**
-     * notification collection that contains events to publish
+     * number of notifier threads to use when the provider is started
+     */
+    private volatile int notifierShards = 1;
+    /**
+     * process events to be published and publish them, each responsible for a subset of instruments
+     */
+    private volatile EventNotifier[] notifiers;
+    /**
+     * delivery tasks by the requests which asked for conflated delivery
+     */
+    private final Map<MarketDataRequestToken,ConflatingDelivery> conflatingDeliveries = new ConcurrentHashMap<MarketDataRequestToken,ConflatingDelivery>();
+    /**
+     * runs the conflated delivery tasks while the provider is started
      */
-    private final BlockingDeque<EventNotification> notifications = new LinkedBlockingDeque<EventNotification>();
+    private volatile ExecutorService conflationExecutor;
     /**
-     * processes events to be published and publishes them
+     * number of conflated delivery threads created, used to name them
      */
-    private volatile EventNotifier notifier;
+    private final AtomicInteger conflationThreadCounter = new AtomicInteger(0);
+    /**
+     * total number of events replaced by a newer event before delivery
+     */
+    private final AtomicLong conflatedEvents = new AtomicLong(0);
+    /**
+     * total number of events dropped before delivery because too many events were pending for a conflating request
+     */
+    private final AtomicLong droppedConflatedEvents = new AtomicLong(0);
+    /**
+     * maximum number of events pending delivery to each conflating request
+     */
+    private volatile int maxPendingConflatedEvents = 10000;
     /**
      * used to protect the market data collections
      */
@@ -883,10 +1492,11 @@ public abstract class AbstractMarketDataProvider
     @GuardedBy("marketdataLock")
     private final Multimap<String,MarketDataRequestToken> requestsBySymbol = HashMultimap.create();
     /**
-     * tracks cached market data by the instrument
+     * content whose events are replaced by newer events for conflated delivery
      */
-    @GuardedBy("marketdataLock")
-    private final Map<Instrument,MarketdataCacheElement> cachedMarketdata = new HashMap<Instrument,MarketdataCacheElement>();
+    private static final Set<Content> conflatableContent = Collections.unmodifiableSet(EnumSet.of(Content.TOP_OF_BOOK,
+                                                                                                  Content.LATEST_TICK,
+                                                                                                  Content.MARKET_STAT));
     /**
      * maps the capabilities needed to honor a request of a particular content type
      */
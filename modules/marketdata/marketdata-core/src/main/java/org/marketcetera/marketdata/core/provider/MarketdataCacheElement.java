@@ -11,6 +11,7 @@ import org.marketcetera.event.impl.QuoteEventBuilder;
 import org.marketcetera.event.util.MarketstatEventCache;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.OrderBook;
+import org.marketcetera.marketdata.OrderBookStructure;
 import org.marketcetera.marketdata.core.Messages;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.misc.ClassVersion;
@@ -210,7 +211,8 @@ public class MarketdataCacheElement
         OrderBook book = orderbooks.get(inContent);
         if(book == null) {
             book = new OrderBook(instrument,
-                                 true);
+                                 true,
+                                 OrderBookStructure.PRICE_LEVEL);
             orderbooks.put(inContent,
                            book);
         }
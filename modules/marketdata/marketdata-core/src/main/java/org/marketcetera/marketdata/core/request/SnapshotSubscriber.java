@@ -0,0 +1,31 @@
+package org.marketcetera.marketdata.core.request;
+
+import org.marketcetera.core.publisher.ISubscriber;
+import org.marketcetera.event.Event;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Receives market data for a request, distinguishing the snapshot of the current state from the updates that follow.
+ * 
+ * <p>When a request with a subscriber of this type is submitted to a provider, the provider delivers the cached
+ * state of the requested market data with {@link #publishSnapshot(Event)} before the request is added to the
+ * requests that receive updates. Each update published afterward with {@link #publishTo(Object)} follows the
+ * snapshot, and no update reflected in the snapshot is published again.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public interface SnapshotSubscriber
+        extends ISubscriber
+{
+    /**
+     * Publishes an event describing the current state of the requested market data.
+     *
+     * @param inSnapshot an <code>Event</code> value
+     */
+    public void publishSnapshot(Event inSnapshot);
+}
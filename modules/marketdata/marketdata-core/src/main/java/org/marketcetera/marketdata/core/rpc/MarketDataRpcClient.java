@@ -18,6 +18,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -42,15 +43,20 @@ import org.marketcetera.marketdata.MarketDataRequest;
 import org.marketcetera.marketdata.core.Messages;
 import org.marketcetera.marketdata.core.manager.MarketDataRequestFailed;
 import org.marketcetera.marketdata.core.manager.NoMarketDataProvidersAvailable;
+import org.marketcetera.marketdata.core.manager.SequencedEvent;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.Locale;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.LoginRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.LoginResponse;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.LogoutRequest;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataListener;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService.BlockingInterface;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamedEventsRequest;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamedEventsResponse;
 import org.marketcetera.marketdata.core.webservice.ConnectionException;
 import org.marketcetera.marketdata.core.webservice.MarketDataServiceClient;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.log.I18NBoundMessage1P;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
@@ -183,6 +189,57 @@ public class MarketDataRpcClient
             throw new ConnectionException(e);
         }
     }
+    /**
+     * Requests the given market data and publishes it to the given subscriber as the server pushes it.
+     *
+     * <p>The subscriber receives {@link SequencedEvent} values, starting with the current state of the
+     * requested market data, until the request is {@link #cancel(long) canceled}. The events are pushed
+     * over the connection to the server as they are published, so the request does not need to be polled
+     * with {@link #getEvents(long)}. The server pushes no more than {@link #getStreamCredit() stream credit}
+     * events ahead of the subscriber.
+     * 
+     * <p>The request ends if the connection to the server is lost. Subscribers to
+     * {@link #addServerStatusListener(ServerStatusListener) server status} may submit it again when the
+     * connection is restored.
+     *
+     * @param inRequest a <code>MarketDataRequest</code> value
+     * @param inSubscriber an <code>ISubscriber</code> value
+     * @return a <code>long</code> value that identifies the request
+     */
+    public long request(MarketDataRequest inRequest,
+                        ISubscriber inSubscriber)
+    {
+        SLF4JLoggerProxy.debug(this,
+                               "MarketDataRequest stream: {}", //$NON-NLS-1$
+                               inRequest);
+        ClientStream stream = new ClientStream(streamCounter.incrementAndGet(),
+                                               inSubscriber);
+        streamsByStreamId.put(stream.streamId,
+                              stream);
+        try(CloseableLock requestLock = CloseableLock.create(serviceLock.readLock())) {
+            requestLock.lock();
+            RpcMarketdata.StreamResponse response = clientService.stream(controller,
+                                                                         RpcMarketdata.StreamRequest.newBuilder().setSessionId(sessionId.getValue())
+                                                                             .setRequest(inRequest.toString())
+                                                                             .setStreamId(stream.streamId)
+                                                                             .setCredit(streamCredit)
+                                                                             .setNativeEvents(true).build());
+            SLF4JLoggerProxy.debug(this,
+                                   "StreamResponse: {}", //$NON-NLS-1$
+                                   response.getId());
+            validateResponse(response.getFailed(),
+                             response.getMessage());
+            streamsByRequestId.put(response.getId(),
+                                   stream);
+            return response.getId();
+        } catch (ServiceException e) {
+            streamsByStreamId.remove(stream.streamId);
+            throw new ConnectionException(e);
+        } catch (RuntimeException e) {
+            streamsByStreamId.remove(stream.streamId);
+            throw e;
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.webservice.MarketDataServiceClient#getLastUpdate(long)
      */
@@ -214,6 +271,10 @@ public class MarketDataRpcClient
         SLF4JLoggerProxy.debug(this,
                                "Cancel: {}", //$NON-NLS-1$
                                inRequestId);
+        ClientStream stream = streamsByRequestId.remove(inRequestId);
+        if(stream != null) {
+            streamsByStreamId.remove(stream.streamId);
+        }
         try(CloseableLock requestLock = CloseableLock.create(serviceLock.readLock())) {
             requestLock.lock();
             RpcMarketdata.CancelResponse response = clientService.cancel(controller,
@@ -240,11 +301,15 @@ public class MarketDataRpcClient
             requestLock.lock();
             RpcMarketdata.EventsResponse response = clientService.getEvents(controller,
                                                                             RpcMarketdata.EventsRequest.newBuilder().setSessionId(sessionId.getValue())
-                                                                                .setId(inRequestId).build());
+                                                                                .setId(inRequestId)
+                                                                                .setNativeEvents(true).build());
             Deque<Event> events = Lists.newLinkedList();
             for(String payload : response.getPayloadList()) {
                 events.add((Event)unmarshall(payload));
             }
+            for(RpcMarketdata.EventData eventData : response.getEventList()) {
+                events.add(decode(eventData));
+            }
             SLF4JLoggerProxy.debug(this,
                                    "GetEventsResponse: {}", //$NON-NLS-1$
                                    events);
@@ -266,13 +331,17 @@ public class MarketDataRpcClient
             requestLock.lock();
             RpcMarketdata.AllEventsResponse response = clientService.getAllEvents(controller,
                                                                                   RpcMarketdata.AllEventsRequest.newBuilder().setSessionId(sessionId.getValue())
-                                                                                      .addAllId(inRequestIds).build());
+                                                                                      .addAllId(inRequestIds)
+                                                                                      .setNativeEvents(true).build());
             Map<Long,LinkedList<Event>> events = Maps.newHashMap();
             for(RpcMarketdata.EventsResponse eventResponse : response.getEventsList()) {
                 LinkedList<Event> eventList = new LinkedList<>();
                 for(String payload : eventResponse.getPayloadList()) {
                     eventList.add((Event)unmarshall(payload));
                 }
+                for(RpcMarketdata.EventData eventData : eventResponse.getEventList()) {
+                    eventList.add(decode(eventData));
+                }
                 events.put(eventResponse.getId(),
                            eventList);
             }
@@ -284,6 +353,49 @@ public class MarketDataRpcClient
             throw new ConnectionException(e);
         }
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.webservice.MarketDataServiceClient#getSnapshotUpdates(java.util.Map)
+     */
+    @Override
+    public Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions)
+    {
+        SLF4JLoggerProxy.debug(this,
+                               "GetSnapshotUpdates: {}", //$NON-NLS-1$
+                               inVersions);
+        try(CloseableLock requestLock = CloseableLock.create(serviceLock.readLock())) {
+            requestLock.lock();
+            RpcMarketdata.SnapshotUpdatesRequest.Builder requestBuilder = RpcMarketdata.SnapshotUpdatesRequest.newBuilder().setSessionId(sessionId.getValue())
+                    .setNativeEvents(true);
+            for(Map.Entry<Long,Long> entry : inVersions.entrySet()) {
+                requestBuilder.addVersion(RpcMarketdata.RequestVersion.newBuilder().setId(entry.getKey())
+                                          .setVersion(entry.getValue()));
+            }
+            RpcMarketdata.SnapshotUpdatesResponse response = clientService.getSnapshotUpdates(controller,
+                                                                                              requestBuilder.build());
+            validateResponse(response.getFailed(),
+                             response.getMessage());
+            Map<Long,SnapshotUpdate> updates = Maps.newHashMap();
+            for(RpcMarketdata.SnapshotUpdate updateResponse : response.getUpdateList()) {
+                LinkedList<Event> eventList = new LinkedList<>();
+                for(String payload : updateResponse.getPayloadList()) {
+                    eventList.add((Event)unmarshall(payload));
+                }
+                for(RpcMarketdata.EventData eventData : updateResponse.getEventList()) {
+                    eventList.add(decode(eventData));
+                }
+                updates.put(updateResponse.getId(),
+                            new SnapshotUpdate(updateResponse.getId(),
+                                               updateResponse.getVersion(),
+                                               eventList));
+            }
+            SLF4JLoggerProxy.debug(this,
+                                   "GetSnapshotUpdatesResponse: {}", //$NON-NLS-1$
+                                   updates);
+            return updates;
+        } catch (ServiceException | JAXBException e) {
+            throw new ConnectionException(e);
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.webservice.MarketDataServiceClient#getSnapshot(org.marketcetera.trade.Instrument, org.marketcetera.marketdata.Content, java.lang.String)
      */
@@ -299,7 +411,8 @@ public class MarketDataRpcClient
                                inProvider);
         try(CloseableLock requestLock = CloseableLock.create(serviceLock.readLock())) {
             requestLock.lock();
-            RpcMarketdata.SnapshotRequest.Builder requestBuilder = RpcMarketdata.SnapshotRequest.newBuilder().setSessionId(sessionId.getValue());
+            RpcMarketdata.SnapshotRequest.Builder requestBuilder = RpcMarketdata.SnapshotRequest.newBuilder().setSessionId(sessionId.getValue())
+                    .setNativeEvents(true);
             requestBuilder.setContent(RpcMarketdata.ContentAndCapability.valueOf(inContent.name()))
                 .setInstrument(RpcMarketdata.Instrument.newBuilder().setPayload(marshall(inInstrument)));
             if(inProvider != null){
@@ -311,6 +424,9 @@ public class MarketDataRpcClient
             for(String payload : response.getPayloadList()) {
                 events.add((Event)unmarshall(payload));
             }
+            for(RpcMarketdata.EventData eventData : response.getEventList()) {
+                events.add(decode(eventData));
+            }
             SLF4JLoggerProxy.debug(this,
                                    "GetSnapshotResponse: {}", //$NON-NLS-1$
                                    events);
@@ -336,7 +452,8 @@ public class MarketDataRpcClient
                                inPage);
         try(CloseableLock requestLock = CloseableLock.create(serviceLock.readLock())) {
             requestLock.lock();
-            RpcMarketdata.SnapshotPageRequest.Builder requestBuilder = RpcMarketdata.SnapshotPageRequest.newBuilder().setSessionId(sessionId.getValue());
+            RpcMarketdata.SnapshotPageRequest.Builder requestBuilder = RpcMarketdata.SnapshotPageRequest.newBuilder().setSessionId(sessionId.getValue())
+                    .setNativeEvents(true);
             requestBuilder.setContent(RpcMarketdata.ContentAndCapability.valueOf(inContent.name()))
                 .setInstrument(RpcMarketdata.Instrument.newBuilder().setPayload(marshall(inInstrument)))
                 .setPage(RpcMarketdata.PageRequest.newBuilder().setPage(inPage.getPage()).setSize(inPage.getSize()));
@@ -349,6 +466,9 @@ public class MarketDataRpcClient
             for(String payload : response.getPayloadList()) {
                 events.add((Event)unmarshall(payload));
             }
+            for(RpcMarketdata.EventData eventData : response.getEventList()) {
+                events.add(decode(eventData));
+            }
             SLF4JLoggerProxy.debug(this,
                                    "GetSnapshotPageResponse: {}", //$NON-NLS-1$
                                    events);
@@ -436,6 +556,24 @@ public class MarketDataRpcClient
     {
         contextClassProvider = inContextClassProvider;
     }
+    /**
+     * Get the streamCredit value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getStreamCredit()
+    {
+        return streamCredit;
+    }
+    /**
+     * Sets the number of events the server may push to a stream ahead of its subscriber.
+     *
+     * @param inStreamCredit an <code>int</code> value
+     */
+    public void setStreamCredit(int inStreamCredit)
+    {
+        streamCredit = inStreamCredit;
+    }
     /**
      * Marshals the given object to an XML stream.
      *
@@ -468,6 +606,22 @@ public class MarketDataRpcClient
             return (Clazz)unmarshaller.unmarshal(new StringReader(inData));
         }
     }
+    /**
+     * Decodes an event from the given data, which holds either the native representation of the event or XML.
+     *
+     * @param inEventData an <code>RpcMarketdata.EventData</code> value
+     * @return an <code>Event</code> value
+     * @throws JAXBException if an error occurs unmarshalling the data
+     */
+    private Event decode(RpcMarketdata.EventData inEventData)
+            throws JAXBException
+    {
+        Event event = RpcEventConverter.fromEventData(inEventData);
+        if(event == null) {
+            event = unmarshall(inEventData.getPayload());
+        }
+        return event;
+    }
     /**
      * Sets the server status to the given value.
      *
@@ -509,6 +663,8 @@ public class MarketDataRpcClient
                 } catch (Exception ignored) {}
             }
         } finally {
+            streamsByStreamId.clear();
+            streamsByRequestId.clear();
             executor = null;
             controller = null;
             clientService = null;
@@ -556,6 +712,7 @@ public class MarketDataRpcClient
             logger.setLogRequestProto(false);
             logger.setLogResponseProto(false);
             clientFactory.setRpcLogger(logger);
+            clientFactory.getRpcServiceRegistry().registerService(RpcMarketDataListener.newReflectiveBlockingService(new StreamListener()));
             channel = clientFactory.peerWith(server,
                                              bootstrap);
             clientService = RpcMarketDataService.newBlockingStub(channel);
@@ -632,6 +789,97 @@ public class MarketDataRpcClient
             }
         }
     }
+    /**
+     * Receives the events the server pushes for market data streams.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private class StreamListener
+            implements RpcMarketDataListener.BlockingInterface
+    {
+        /* (non-Javadoc)
+         * @see org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataListener.BlockingInterface#events(com.google.protobuf.RpcController, org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamedEventsRequest)
+         */
+        @Override
+        public StreamedEventsResponse events(RpcController inController,
+                                             StreamedEventsRequest inRequest)
+                throws ServiceException
+        {
+            StreamedEventsResponse.Builder responseBuilder = StreamedEventsResponse.newBuilder().setCredit(inRequest.getEventCount());
+            ClientStream stream = streamsByStreamId.get(inRequest.getStreamId());
+            if(stream == null) {
+                return responseBuilder.setFailed(true).setMessage(String.valueOf(inRequest.getStreamId())).build();
+            }
+            for(RpcMarketdata.StreamedEvent streamedEvent : inRequest.getEventList()) {
+                try {
+                    stream.publish(new SequencedEvent(streamedEvent.getSequence(),
+                                                      streamedEvent.getSnapshot(),
+                                                      streamedEvent.hasEvent()?decode(streamedEvent.getEvent()):(Event)unmarshall(streamedEvent.getPayload())));
+                } catch (Exception e) {
+                    SLF4JLoggerProxy.warn(MarketDataRpcClient.this,
+                                          e);
+                }
+            }
+            return responseBuilder.build();
+        }
+    }
+    /**
+     * Tracks a market data request whose events are pushed by the server.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class ClientStream
+    {
+        /**
+         * Publishes the given event to the subscriber of the stream.
+         *
+         * @param inEvent a <code>SequencedEvent</code> value
+         */
+        private synchronized void publish(SequencedEvent inEvent)
+        {
+            if(inEvent.getSequence() > lastSequence+1) {
+                Messages.STREAM_EVENTS_MISSED.warn(MarketDataRpcClient.class,
+                                                   streamId,
+                                                   lastSequence+1,
+                                                   inEvent.getSequence()-1);
+            }
+            lastSequence = inEvent.getSequence();
+            if(subscriber.isInteresting(inEvent)) {
+                subscriber.publishTo(inEvent);
+            }
+        }
+        /**
+         * Create a new ClientStream instance.
+         *
+         * @param inStreamId a <code>long</code> value
+         * @param inSubscriber an <code>ISubscriber</code> value
+         */
+        private ClientStream(long inStreamId,
+                             ISubscriber inSubscriber)
+        {
+            streamId = inStreamId;
+            subscriber = inSubscriber;
+        }
+        /**
+         * identifies the stream to the server
+         */
+        private final long streamId;
+        /**
+         * receives the events of the stream
+         */
+        private final ISubscriber subscriber;
+        /**
+         * sequence number of the last event received
+         */
+        @GuardedBy("this")
+        private long lastSequence;
+    }
     /**
      * indicates that a shutdown has been requested
      */
@@ -724,6 +972,22 @@ public class MarketDataRpcClient
      * interval at which to execute heartbeats
      */
     private long heartbeatInterval = 10000;
+    /**
+     * number of events the server may push to a stream ahead of its subscriber
+     */
+    private volatile int streamCredit = 1000;
+    /**
+     * generates stream ids
+     */
+    private final AtomicLong streamCounter = new AtomicLong(0);
+    /**
+     * active streams by stream id
+     */
+    private final Map<Long,ClientStream> streamsByStreamId = Maps.newConcurrentMap();
+    /**
+     * active streams by market data request id
+     */
+    private final Map<Long,ClientStream> streamsByRequestId = Maps.newConcurrentMap();
     /**
      * The client's application ID: the application name.
      */
@@ -7,13 +7,18 @@ import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
 import javax.xml.bind.JAXBException;
 
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.Event;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
+import org.marketcetera.marketdata.core.Messages;
+import org.marketcetera.marketdata.core.manager.SequencedEvent;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.AllEventsRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.AllEventsResponse;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.AvailableCapabilityRequest;
@@ -32,12 +37,20 @@ import org.marketcetera.marketdata.core.rpc.RpcMarketdata.LogoutRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.LogoutResponse;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.MarketDataRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.MarketDataResponse;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataListener;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotPageRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotPageResponse;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotRequest;
 import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotResponse;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotUpdatesRequest;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotUpdatesResponse;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamRequest;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamResponse;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamedEventsRequest;
+import org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamedEventsResponse;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.ClassVersion;
@@ -46,14 +59,26 @@ import org.marketcetera.util.rpc.RpcServerServices;
 import org.marketcetera.util.rpc.RpcServiceSpec;
 import org.marketcetera.util.ws.tags.SessionId;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.protobuf.BlockingService;
+import com.google.protobuf.RpcCallback;
 import com.google.protobuf.RpcController;
 import com.google.protobuf.ServiceException;
+import com.googlecode.protobuf.pro.duplex.RpcClientChannel;
+import com.googlecode.protobuf.pro.duplex.execute.ServerRpcController;
 
 /* $License$ */
 
 /**
  * Provides market data RPC server-side services.
+ * 
+ * <p>Market data requested with {@link #stream(RpcController, StreamRequest)} is pushed to the client
+ * over the channel on which the request was received instead of being held for the client to poll.
+ * The client grants credit for a number of events with the request and again with each response to
+ * a push, and no more events than the outstanding credit are pushed. Events that arrive while the
+ * client has no credit are queued up to {@link #getMaxStreamQueueSize() a limit}, beyond which the
+ * oldest queued events are discarded, which the client sees as a gap in the event sequence numbers.
  *
  * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
  * @version $Id$
@@ -106,6 +131,11 @@ public class MarketDataRpcService<SessionClazz>
                                inRequest.getSessionId());
         RpcMarketdata.LogoutResponse.Builder responseBuilder = RpcMarketdata.LogoutResponse.newBuilder();
         try {
+            for(StreamSubscriber stream : Lists.newArrayList(streamsByRequestId.values())) {
+                if(stream.sessionId.equals(inRequest.getSessionId())) {
+                    cancelStream(stream.requestId);
+                }
+            }
             serverServices.logout(inRequest.getSessionId());
             return responseBuilder.build();
         } catch (Exception e) {
@@ -171,6 +201,10 @@ public class MarketDataRpcService<SessionClazz>
         RpcMarketdata.CancelResponse.Builder responseBuilder = RpcMarketdata.CancelResponse.newBuilder();
         try {
             serverServices.validateAndReturnSession(inRequest.getSessionId());
+            StreamSubscriber stream = streamsByRequestId.remove(inRequest.getId());
+            if(stream != null) {
+                stream.close();
+            }
             serviceAdapter.cancel(inRequest.getId());
             return responseBuilder.build();
         } catch (Exception e) {
@@ -191,7 +225,11 @@ public class MarketDataRpcService<SessionClazz>
             Deque<Event> events = serviceAdapter.getEvents(inRequest.getId());
             responseBuilder.setId(inRequest.getId());
             for(Event event : events) {
-                responseBuilder.addPayload(serverServices.marshal(event));
+                if(inRequest.getNativeEvents()) {
+                    responseBuilder.addEvent(encode(event));
+                } else {
+                    responseBuilder.addPayload(serverServices.marshal(event));
+                }
             }
             return responseBuilder.build();
         } catch (Exception e) {
@@ -213,7 +251,11 @@ public class MarketDataRpcService<SessionClazz>
             for(Map.Entry<Long,LinkedList<Event>> entry : events.entrySet()) {
                 RpcMarketdata.EventsResponse.Builder entryBuilder = RpcMarketdata.EventsResponse.newBuilder().setId(entry.getKey());
                 for(Event event : entry.getValue()) {
-                    entryBuilder.addPayload(serverServices.marshal(event));
+                    if(inRequest.getNativeEvents()) {
+                        entryBuilder.addEvent(encode(event));
+                    } else {
+                        entryBuilder.addPayload(serverServices.marshal(event));
+                    }
                 }
                 responseBuilder.addEvents(entryBuilder.build());
             }
@@ -222,6 +264,40 @@ public class MarketDataRpcService<SessionClazz>
             return responseBuilder.setFailed(true).setMessage(e.getMessage()==null?"":e.getMessage()).build();
         }
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService.BlockingInterface#getSnapshotUpdates(com.google.protobuf.RpcController, org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotUpdatesRequest)
+     */
+    @Override
+    public SnapshotUpdatesResponse getSnapshotUpdates(RpcController inController,
+                                                      SnapshotUpdatesRequest inRequest)
+            throws ServiceException
+    {
+        RpcMarketdata.SnapshotUpdatesResponse.Builder responseBuilder = RpcMarketdata.SnapshotUpdatesResponse.newBuilder();
+        try {
+            serverServices.validateAndReturnSession(inRequest.getSessionId());
+            Map<Long,Long> versions = Maps.newLinkedHashMap();
+            for(RpcMarketdata.RequestVersion version : inRequest.getVersionList()) {
+                versions.put(version.getId(),
+                             version.getVersion());
+            }
+            Map<Long,SnapshotUpdate> updates = serviceAdapter.getSnapshotUpdates(versions);
+            for(SnapshotUpdate update : updates.values()) {
+                RpcMarketdata.SnapshotUpdate.Builder updateBuilder = RpcMarketdata.SnapshotUpdate.newBuilder().setId(update.getRequestId())
+                        .setVersion(update.getVersion());
+                for(Event event : update.getEvents()) {
+                    if(inRequest.getNativeEvents()) {
+                        updateBuilder.addEvent(encode(event));
+                    } else {
+                        updateBuilder.addPayload(serverServices.marshal(event));
+                    }
+                }
+                responseBuilder.addUpdate(updateBuilder.build());
+            }
+            return responseBuilder.build();
+        } catch (Exception e) {
+            return responseBuilder.setFailed(true).setMessage(e.getMessage()==null?"":e.getMessage()).build();
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService.BlockingInterface#getSnapshot(com.google.protobuf.RpcController, org.marketcetera.marketdata.core.rpc.RpcMarketdata.SnapshotRequest)
      */
@@ -243,7 +319,11 @@ public class MarketDataRpcService<SessionClazz>
                                                              content,
                                                              provider);
             for(Event event : events) {
-                responseBuilder.addPayload(serverServices.marshal(event));
+                if(inRequest.getNativeEvents()) {
+                    responseBuilder.addEvent(encode(event));
+                } else {
+                    responseBuilder.addPayload(serverServices.marshal(event));
+                }
             }
             return responseBuilder.build();
         } catch (Exception e) {
@@ -273,7 +353,11 @@ public class MarketDataRpcService<SessionClazz>
                                                                  new PageRequest(inRequest.getPage().getPage(),
                                                                                  inRequest.getPage().getSize()));
             for(Event event : events) {
-                responseBuilder.addPayload(serverServices.marshal(event));
+                if(inRequest.getNativeEvents()) {
+                    responseBuilder.addEvent(encode(event));
+                } else {
+                    responseBuilder.addPayload(serverServices.marshal(event));
+                }
             }
             return responseBuilder.build();
         } catch (JAXBException e) {
@@ -300,6 +384,32 @@ public class MarketDataRpcService<SessionClazz>
             return responseBuilder.setFailed(true).setMessage(e.getMessage()==null?"":e.getMessage()).build();
         }
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.RpcMarketdata.RpcMarketDataService.BlockingInterface#stream(com.google.protobuf.RpcController, org.marketcetera.marketdata.core.rpc.RpcMarketdata.StreamRequest)
+     */
+    @Override
+    public StreamResponse stream(RpcController inController,
+                                 StreamRequest inRequest)
+            throws ServiceException
+    {
+        RpcMarketdata.StreamResponse.Builder responseBuilder = RpcMarketdata.StreamResponse.newBuilder();
+        try {
+            serverServices.validateAndReturnSession(inRequest.getSessionId());
+            StreamSubscriber stream = new StreamSubscriber(ServerRpcController.getRpcChannel(inController),
+                                                           inRequest.getSessionId(),
+                                                           inRequest.getStreamId(),
+                                                           inRequest.getCredit(),
+                                                           inRequest.getNativeEvents());
+            long requestId = serviceAdapter.request(org.marketcetera.marketdata.MarketDataRequestBuilder.newRequestFromString(inRequest.getRequest()),
+                                                    stream);
+            streamsByRequestId.put(requestId,
+                                   stream);
+            stream.start(requestId);
+            return responseBuilder.setId(requestId).build();
+        } catch (Exception e) {
+            return responseBuilder.setFailed(true).setId(-1).setMessage(ExceptionUtils.getRootCauseMessage(e)).build();
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.util.rpc.RpcServiceSpec#getDescription()
      */
@@ -333,6 +443,8 @@ public class MarketDataRpcService<SessionClazz>
     public void validate()
     {
         Validate.notNull(serviceAdapter);
+        Validate.isTrue(maxStreamQueueSize > 0);
+        Validate.isTrue(maxStreamBatchSize > 0);
     }
     /**
      * Get the serviceAdapter value.
@@ -352,6 +464,273 @@ public class MarketDataRpcService<SessionClazz>
     {
         serviceAdapter = inServiceAdapter;
     }
+    /**
+     * Get the maxStreamQueueSize value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getMaxStreamQueueSize()
+    {
+        return maxStreamQueueSize;
+    }
+    /**
+     * Sets the maximum number of events queued for a stream while the client has no credit.
+     *
+     * @param inMaxStreamQueueSize an <code>int</code> value
+     */
+    public void setMaxStreamQueueSize(int inMaxStreamQueueSize)
+    {
+        maxStreamQueueSize = inMaxStreamQueueSize;
+    }
+    /**
+     * Get the maxStreamBatchSize value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getMaxStreamBatchSize()
+    {
+        return maxStreamBatchSize;
+    }
+    /**
+     * Sets the maximum number of events pushed to a stream in a single call.
+     *
+     * @param inMaxStreamBatchSize an <code>int</code> value
+     */
+    public void setMaxStreamBatchSize(int inMaxStreamBatchSize)
+    {
+        maxStreamBatchSize = inMaxStreamBatchSize;
+    }
+    /**
+     * Encodes the given event in its native representation or, if it has none, as XML.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @return an <code>RpcMarketdata.EventData</code> value
+     * @throws JAXBException if the event cannot be marshalled
+     */
+    private RpcMarketdata.EventData encode(Event inEvent)
+            throws JAXBException
+    {
+        RpcMarketdata.EventData eventData = RpcEventConverter.toEventData(inEvent);
+        if(eventData == null) {
+            eventData = RpcMarketdata.EventData.newBuilder().setPayload(serverServices.marshal(inEvent)).build();
+        }
+        return eventData;
+    }
+    /**
+     * Cancels the stream with the given request id.
+     *
+     * @param inRequestId a <code>long</code> value
+     */
+    private void cancelStream(long inRequestId)
+    {
+        StreamSubscriber stream = streamsByRequestId.remove(inRequestId);
+        if(stream != null) {
+            stream.close();
+            try {
+                serviceAdapter.cancel(inRequestId);
+            } catch (Exception e) {
+                SLF4JLoggerProxy.warn(this,
+                                      e);
+            }
+        }
+    }
+    /**
+     * Pushes the events of a market data request to the client that made it.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ThreadSafe
+    @ClassVersion("$Id$")
+    private class StreamSubscriber
+            implements ISubscriber,RpcCallback<StreamedEventsResponse>
+    {
+        /* (non-Javadoc)
+         * @see org.marketcetera.core.publisher.ISubscriber#isInteresting(java.lang.Object)
+         */
+        @Override
+        public boolean isInteresting(Object inData)
+        {
+            return true;
+        }
+        /* (non-Javadoc)
+         * @see org.marketcetera.core.publisher.ISubscriber#publishTo(java.lang.Object)
+         */
+        @Override
+        public void publishTo(Object inData)
+        {
+            if(!(inData instanceof SequencedEvent)) {
+                SLF4JLoggerProxy.warn(MarketDataRpcService.this,
+                                      "Stream {} ignoring unexpected data: {}", //$NON-NLS-1$
+                                      streamId,
+                                      inData);
+                return;
+            }
+            synchronized(this) {
+                if(closed) {
+                    return;
+                }
+                if(queue.size() >= maxStreamQueueSize) {
+                    queue.removeFirst();
+                }
+                queue.addLast((SequencedEvent)inData);
+            }
+            send();
+        }
+        /* (non-Javadoc)
+         * @see com.google.protobuf.RpcCallback#run(java.lang.Object)
+         */
+        @Override
+        public void run(StreamedEventsResponse inResponse)
+        {
+            if(inResponse == null || inResponse.getFailed()) {
+                Messages.STREAM_CLOSED.warn(MarketDataRpcService.this,
+                                            requestId);
+                cancelStream(requestId);
+                return;
+            }
+            synchronized(this) {
+                credit += inResponse.getCredit();
+                sending = false;
+            }
+            send();
+        }
+        /**
+         * Starts pushing events for the given request.
+         *
+         * @param inRequestId a <code>long</code> value
+         */
+        private void start(long inRequestId)
+        {
+            synchronized(this) {
+                requestId = inRequestId;
+                started = true;
+            }
+            send();
+        }
+        /**
+         * Stops pushing events and discards the events not yet pushed.
+         */
+        private synchronized void close()
+        {
+            closed = true;
+            queue.clear();
+        }
+        /**
+         * Pushes as many queued events as the client has credit for, unless a push is already outstanding.
+         */
+        private void send()
+        {
+            StreamedEventsRequest.Builder requestBuilder = StreamedEventsRequest.newBuilder().setStreamId(streamId);
+            synchronized(this) {
+                if(!started || closed || sending || credit <= 0 || queue.isEmpty()) {
+                    return;
+                }
+                int count = Math.min(credit,
+                                     Math.min(maxStreamBatchSize,
+                                              queue.size()));
+                for(int i=0;i<count;i++) {
+                    SequencedEvent event = queue.removeFirst();
+                    try {
+                        RpcMarketdata.StreamedEvent.Builder eventBuilder = RpcMarketdata.StreamedEvent.newBuilder().setSequence(event.getSequence())
+                                .setSnapshot(event.isSnapshot());
+                        if(nativeEvents) {
+                            eventBuilder.setEvent(encode(event.getEvent()));
+                        } else {
+                            eventBuilder.setPayload(serverServices.marshal(event.getEvent()));
+                        }
+                        requestBuilder.addEvent(eventBuilder);
+                    } catch (JAXBException e) {
+                        SLF4JLoggerProxy.warn(MarketDataRpcService.this,
+                                              e);
+                    }
+                }
+                credit -= count;
+                sending = true;
+            }
+            try {
+                listener.events(channel.newRpcController(),
+                                requestBuilder.build(),
+                                this);
+            } catch (RuntimeException e) {
+                SLF4JLoggerProxy.warn(MarketDataRpcService.this,
+                                      e);
+                run(null);
+            }
+        }
+        /**
+         * Create a new StreamSubscriber instance.
+         *
+         * @param inChannel an <code>RpcClientChannel</code> value
+         * @param inSessionId a <code>String</code> value
+         * @param inStreamId a <code>long</code> value
+         * @param inCredit an <code>int</code> value
+         * @param inNativeEvents a <code>boolean</code> value
+         */
+        private StreamSubscriber(RpcClientChannel inChannel,
+                                 String inSessionId,
+                                 long inStreamId,
+                                 int inCredit,
+                                 boolean inNativeEvents)
+        {
+            channel = inChannel;
+            listener = RpcMarketDataListener.newStub(inChannel);
+            sessionId = inSessionId;
+            streamId = inStreamId;
+            credit = inCredit;
+            nativeEvents = inNativeEvents;
+        }
+        /**
+         * channel to the client
+         */
+        private final RpcClientChannel channel;
+        /**
+         * receives pushed events on the client
+         */
+        private final RpcMarketDataListener.Interface listener;
+        /**
+         * session which made the request
+         */
+        private final String sessionId;
+        /**
+         * stream id assigned by the client
+         */
+        private final long streamId;
+        /**
+         * indicates if the client accepts events in their native representation
+         */
+        private final boolean nativeEvents;
+        /**
+         * market data request id
+         */
+        private volatile long requestId;
+        /**
+         * number of events the client is prepared to receive
+         */
+        @GuardedBy("this")
+        private int credit;
+        /**
+         * indicates if events may be pushed
+         */
+        @GuardedBy("this")
+        private boolean started;
+        /**
+         * indicates if a push is outstanding
+         */
+        @GuardedBy("this")
+        private boolean sending;
+        /**
+         * indicates if the stream has been canceled
+         */
+        @GuardedBy("this")
+        private boolean closed;
+        /**
+         * events not yet pushed
+         */
+        @GuardedBy("this")
+        private final Deque<SequencedEvent> queue = Lists.newLinkedList();
+    }
     /**
      * provides a link to the service provider for market data services
      */
@@ -360,6 +739,18 @@ public class MarketDataRpcService<SessionClazz>
      * provides RPC Server services
      */
     private RpcServerServices<SessionClazz> serverServices;
+    /**
+     * active streams by market data request id
+     */
+    private final Map<Long,StreamSubscriber> streamsByRequestId = Maps.newConcurrentMap();
+    /**
+     * maximum number of events queued for a stream
+     */
+    private int maxStreamQueueSize = 10000;
+    /**
+     * maximum number of events pushed in a single call
+     */
+    private int maxStreamBatchSize = 500;
     /**
      * description of the service
      */
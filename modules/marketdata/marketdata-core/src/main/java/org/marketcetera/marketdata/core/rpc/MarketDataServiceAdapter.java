@@ -6,11 +6,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.Event;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataRequest;
+import org.marketcetera.marketdata.core.manager.SequencedEvent;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.misc.ClassVersion;
 
@@ -35,6 +38,18 @@ public interface MarketDataServiceAdapter
      */
     long request(MarketDataRequest inRequest,
                  boolean inStreamEvents);
+    /**
+     * Requests the given market data and publishes it to the given subscriber as it arrives.
+     *
+     * <p>The subscriber receives {@link SequencedEvent} values, starting with the current state
+     * of the requested market data, until the request is {@link #cancel(long) canceled}.
+     *
+     * @param inRequest a <code>MarketDataRequest</code> value
+     * @param inSubscriber an <code>ISubscriber</code> value
+     * @return a <code>long</code> value
+     */
+    long request(MarketDataRequest inRequest,
+                 ISubscriber inSubscriber);
     /**
      * Gets the timestamp of the most recent update for the given request.
      *
@@ -62,6 +77,13 @@ public interface MarketDataServiceAdapter
      * @return a <code>Map&lt;Long,LinkedList&lt;Event&gt;&gt;</code> value
      */
     Map<Long,LinkedList<Event>> getAllEvents(List<Long> inRequestIds);
+    /**
+     * Gets the current snapshot of each of the given requests that changed since the given version.
+     *
+     * @param inVersions a <code>Map&lt;Long,Long&gt;</code> value containing the version the caller has by request id
+     * @return a <code>Map&lt;Long,SnapshotUpdate&gt;</code> value
+     */
+    Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions);
     /**
      * Gets the most recent snapshot for the given attributes.
      *
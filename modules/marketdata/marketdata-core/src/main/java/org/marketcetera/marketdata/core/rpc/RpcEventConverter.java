@@ -0,0 +1,935 @@
+package org.marketcetera.marketdata.core.rpc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.List;
+
+import org.marketcetera.event.AskEvent;
+import org.marketcetera.event.AuctionType;
+import org.marketcetera.event.BidEvent;
+import org.marketcetera.event.DepthOfBookEvent;
+import org.marketcetera.event.DividendEvent;
+import org.marketcetera.event.DividendFrequency;
+import org.marketcetera.event.DividendStatus;
+import org.marketcetera.event.DividendType;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventType;
+import org.marketcetera.event.FutureEvent;
+import org.marketcetera.event.HasEventType;
+import org.marketcetera.event.HasTimestamps;
+import org.marketcetera.event.ImbalanceEvent;
+import org.marketcetera.event.ImbalanceType;
+import org.marketcetera.event.InstrumentStatus;
+import org.marketcetera.event.MarketStatus;
+import org.marketcetera.event.MarketstatEvent;
+import org.marketcetera.event.OptionEvent;
+import org.marketcetera.event.OptionMarketstatEvent;
+import org.marketcetera.event.QuoteAction;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TopOfBookEvent;
+import org.marketcetera.event.TradeEvent;
+import org.marketcetera.event.impl.DepthOfBookEventBuilder;
+import org.marketcetera.event.impl.DividendEventBuilder;
+import org.marketcetera.event.impl.FutureEventBuilder;
+import org.marketcetera.event.impl.ImbalanceEventBuilder;
+import org.marketcetera.event.impl.MarketstatEventBuilder;
+import org.marketcetera.event.impl.OptionEventBuilder;
+import org.marketcetera.event.impl.QuoteEventBuilder;
+import org.marketcetera.event.impl.TopOfBookEventBuilder;
+import org.marketcetera.event.impl.TradeEventBuilder;
+import org.marketcetera.options.ExpirationType;
+import org.marketcetera.trade.DeliveryType;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Future;
+import org.marketcetera.trade.FutureType;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.OptionType;
+import org.marketcetera.trade.StandardType;
+import org.marketcetera.util.misc.ClassVersion;
+
+import com.google.common.collect.Lists;
+
+/* $License$ */
+
+/**
+ * Converts market data events to and from their native RPC representation.
+ *
+ * <p>Quote, trade, top-of-book, depth-of-book, marketstat, dividend, and imbalance events for equities,
+ * options, and futures are supported. Prices and sizes are carried as unscaled <code>long</code> values
+ * with a scale, so a value that needs more than 63 bits cannot be converted. Events that cannot be
+ * converted must be sent as XML instead.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class RpcEventConverter
+{
+    /**
+     * Converts the given event to its native RPC representation.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @return an <code>RpcMarketdata.EventData</code> value or <code>null</code> if the event cannot be converted
+     */
+    public static RpcMarketdata.EventData toEventData(Event inEvent)
+    {
+        RpcMarketdata.EventData.Builder eventBuilder = RpcMarketdata.EventData.newBuilder();
+        try {
+            if(inEvent instanceof QuoteEvent) {
+                eventBuilder.setQuote(toQuoteEventData((QuoteEvent)inEvent));
+            } else if(inEvent instanceof TradeEvent) {
+                eventBuilder.setTrade(toTradeEventData((TradeEvent)inEvent));
+            } else if(inEvent instanceof TopOfBookEvent) {
+                eventBuilder.setTopOfBook(toTopOfBookEventData((TopOfBookEvent)inEvent));
+            } else if(inEvent instanceof DepthOfBookEvent) {
+                eventBuilder.setDepthOfBook(toDepthOfBookEventData((DepthOfBookEvent)inEvent));
+            } else if(inEvent instanceof MarketstatEvent) {
+                eventBuilder.setMarketstat(toMarketstatEventData((MarketstatEvent)inEvent));
+            } else if(inEvent instanceof DividendEvent) {
+                eventBuilder.setDividend(toDividendEventData((DividendEvent)inEvent));
+            } else if(inEvent instanceof ImbalanceEvent) {
+                eventBuilder.setImbalance(toImbalanceEventData((ImbalanceEvent)inEvent));
+            } else {
+                return null;
+            }
+        } catch (NotConvertibleException e) {
+            return null;
+        }
+        return eventBuilder.build();
+    }
+    /**
+     * Converts the given native RPC representation to an event.
+     *
+     * @param inEventData an <code>RpcMarketdata.EventData</code> value
+     * @return an <code>Event</code> value or <code>null</code> if the given value holds an XML payload instead
+     * @throws IllegalArgumentException if the given value cannot be converted
+     */
+    public static Event fromEventData(RpcMarketdata.EventData inEventData)
+    {
+        if(inEventData.hasQuote()) {
+            return fromQuoteEventData(inEventData.getQuote());
+        } else if(inEventData.hasTrade()) {
+            return fromTradeEventData(inEventData.getTrade());
+        } else if(inEventData.hasTopOfBook()) {
+            return fromTopOfBookEventData(inEventData.getTopOfBook());
+        } else if(inEventData.hasDepthOfBook()) {
+            return fromDepthOfBookEventData(inEventData.getDepthOfBook());
+        } else if(inEventData.hasMarketstat()) {
+            return fromMarketstatEventData(inEventData.getMarketstat());
+        } else if(inEventData.hasDividend()) {
+            return fromDividendEventData(inEventData.getDividend());
+        } else if(inEventData.hasImbalance()) {
+            return fromImbalanceEventData(inEventData.getImbalance());
+        } else if(inEventData.hasPayload()) {
+            return null;
+        }
+        throw new IllegalArgumentException(String.valueOf(inEventData));
+    }
+    /**
+     * Converts the given quote event.
+     *
+     * @param inEvent a <code>QuoteEvent</code> value
+     * @return an <code>RpcMarketdata.QuoteEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.QuoteEventData toQuoteEventData(QuoteEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.QuoteEventData.Builder builder = RpcMarketdata.QuoteEventData.newBuilder().setHeader(toHeader(inEvent))
+                .setInstrument(toInstrumentData(inEvent.getInstrument()))
+                .setBid(inEvent instanceof BidEvent)
+                .setLevel(inEvent.getLevel())
+                .setCount(inEvent.getCount());
+        RpcMarketdata.InstrumentAttributes attributes = toInstrumentAttributes(inEvent);
+        if(attributes != null) {
+            builder.setAttributes(attributes);
+        }
+        if(inEvent.getExchange() != null) {
+            builder.setExchange(inEvent.getExchange());
+        }
+        if(inEvent.getPrice() != null) {
+            builder.setPrice(toDecimal(inEvent.getPrice()));
+        }
+        if(inEvent.getSize() != null) {
+            builder.setSize(toDecimal(inEvent.getSize()));
+        }
+        if(inEvent.getQuoteDate() != null) {
+            builder.setQuoteDate(inEvent.getQuoteDate().getTime());
+        }
+        if(inEvent.getAction() != null) {
+            builder.setAction(inEvent.getAction().name());
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given quote event data.
+     *
+     * @param inData an <code>RpcMarketdata.QuoteEventData</code> value
+     * @return a <code>QuoteEvent</code> value
+     */
+    private static QuoteEvent fromQuoteEventData(RpcMarketdata.QuoteEventData inData)
+    {
+        Instrument instrument = fromInstrumentData(inData.getInstrument());
+        if(inData.getBid()) {
+            QuoteEventBuilder<BidEvent> builder = QuoteEventBuilder.bidEvent(instrument);
+            populateQuoteBuilder(builder,
+                                 inData);
+            return setHeader(builder.create(),
+                             inData.getHeader());
+        }
+        QuoteEventBuilder<AskEvent> builder = QuoteEventBuilder.askEvent(instrument);
+        populateQuoteBuilder(builder,
+                             inData);
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Sets the attributes of the given quote event data on the given builder.
+     *
+     * @param inBuilder a <code>QuoteEventBuilder&lt;E&gt;</code> value
+     * @param inData an <code>RpcMarketdata.QuoteEventData</code> value
+     */
+    private static <E extends QuoteEvent> void populateQuoteBuilder(QuoteEventBuilder<E> inBuilder,
+                                                                    RpcMarketdata.QuoteEventData inData)
+    {
+        inBuilder.withMessageId(inData.getHeader().getMessageId())
+                 .withTimestamp(new Date(inData.getHeader().getTimestamp()))
+                 .withLevel(inData.getLevel())
+                 .withCount(inData.getCount());
+        if(inData.hasAttributes()) {
+            applyInstrumentAttributes(inBuilder,
+                                      inData.getAttributes());
+        }
+        if(inData.hasExchange()) {
+            inBuilder.withExchange(inData.getExchange());
+        }
+        if(inData.hasPrice()) {
+            inBuilder.withPrice(fromDecimal(inData.getPrice()));
+        }
+        if(inData.hasSize()) {
+            inBuilder.withSize(fromDecimal(inData.getSize()));
+        }
+        if(inData.hasQuoteDate()) {
+            inBuilder.withQuoteDate(new Date(inData.getQuoteDate()));
+        }
+        if(inData.hasAction()) {
+            inBuilder.withAction(QuoteAction.valueOf(inData.getAction()));
+        }
+    }
+    /**
+     * Converts the given trade event.
+     *
+     * @param inEvent a <code>TradeEvent</code> value
+     * @return an <code>RpcMarketdata.TradeEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.TradeEventData toTradeEventData(TradeEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.TradeEventData.Builder builder = RpcMarketdata.TradeEventData.newBuilder().setHeader(toHeader(inEvent))
+                .setInstrument(toInstrumentData(inEvent.getInstrument()));
+        RpcMarketdata.InstrumentAttributes attributes = toInstrumentAttributes(inEvent);
+        if(attributes != null) {
+            builder.setAttributes(attributes);
+        }
+        if(inEvent.getExchange() != null) {
+            builder.setExchange(inEvent.getExchange());
+        }
+        if(inEvent.getPrice() != null) {
+            builder.setPrice(toDecimal(inEvent.getPrice()));
+        }
+        if(inEvent.getSize() != null) {
+            builder.setSize(toDecimal(inEvent.getSize()));
+        }
+        if(inEvent.getTradeDate() != null) {
+            builder.setTradeDate(inEvent.getTradeDate().getTime());
+        }
+        if(inEvent.getTradeCondition() != null) {
+            builder.setTradeCondition(inEvent.getTradeCondition());
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given trade event data.
+     *
+     * @param inData an <code>RpcMarketdata.TradeEventData</code> value
+     * @return a <code>TradeEvent</code> value
+     */
+    private static TradeEvent fromTradeEventData(RpcMarketdata.TradeEventData inData)
+    {
+        TradeEventBuilder<TradeEvent> builder = TradeEventBuilder.tradeEvent(fromInstrumentData(inData.getInstrument()))
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()));
+        if(inData.hasAttributes()) {
+            applyInstrumentAttributes(builder,
+                                      inData.getAttributes());
+        }
+        if(inData.hasExchange()) {
+            builder.withExchange(inData.getExchange());
+        }
+        if(inData.hasPrice()) {
+            builder.withPrice(fromDecimal(inData.getPrice()));
+        }
+        if(inData.hasSize()) {
+            builder.withSize(fromDecimal(inData.getSize()));
+        }
+        if(inData.hasTradeDate()) {
+            builder.withTradeDate(new Date(inData.getTradeDate()));
+        }
+        if(inData.hasTradeCondition()) {
+            builder.withTradeCondition(inData.getTradeCondition());
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Converts the given top-of-book event.
+     *
+     * @param inEvent a <code>TopOfBookEvent</code> value
+     * @return an <code>RpcMarketdata.TopOfBookEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.TopOfBookEventData toTopOfBookEventData(TopOfBookEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.TopOfBookEventData.Builder builder = RpcMarketdata.TopOfBookEventData.newBuilder().setHeader(toHeader(inEvent));
+        if(inEvent.getInstrument() != null) {
+            builder.setInstrument(toInstrumentData(inEvent.getInstrument()));
+        }
+        if(inEvent.getBid() != null) {
+            builder.setBid(toQuoteEventData(inEvent.getBid()));
+        }
+        if(inEvent.getAsk() != null) {
+            builder.setAsk(toQuoteEventData(inEvent.getAsk()));
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given top-of-book event data.
+     *
+     * @param inData an <code>RpcMarketdata.TopOfBookEventData</code> value
+     * @return a <code>TopOfBookEvent</code> value
+     */
+    private static TopOfBookEvent fromTopOfBookEventData(RpcMarketdata.TopOfBookEventData inData)
+    {
+        TopOfBookEventBuilder builder = TopOfBookEventBuilder.topOfBookEvent()
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()));
+        if(inData.hasInstrument()) {
+            builder.withInstrument(fromInstrumentData(inData.getInstrument()));
+        }
+        if(inData.hasBid()) {
+            builder.withBid((BidEvent)fromQuoteEventData(inData.getBid()));
+        }
+        if(inData.hasAsk()) {
+            builder.withAsk((AskEvent)fromQuoteEventData(inData.getAsk()));
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Converts the given depth-of-book event.
+     *
+     * @param inEvent a <code>DepthOfBookEvent</code> value
+     * @return an <code>RpcMarketdata.DepthOfBookEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.DepthOfBookEventData toDepthOfBookEventData(DepthOfBookEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.DepthOfBookEventData.Builder builder = RpcMarketdata.DepthOfBookEventData.newBuilder().setHeader(toHeader(inEvent));
+        if(inEvent.getInstrument() != null) {
+            builder.setInstrument(toInstrumentData(inEvent.getInstrument()));
+        }
+        for(BidEvent bid : inEvent.getBids()) {
+            builder.addBid(toQuoteEventData(bid));
+        }
+        for(AskEvent ask : inEvent.getAsks()) {
+            builder.addAsk(toQuoteEventData(ask));
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given depth-of-book event data.
+     *
+     * @param inData an <code>RpcMarketdata.DepthOfBookEventData</code> value
+     * @return a <code>DepthOfBookEvent</code> value
+     */
+    private static DepthOfBookEvent fromDepthOfBookEventData(RpcMarketdata.DepthOfBookEventData inData)
+    {
+        List<BidEvent> bids = Lists.newArrayList();
+        for(RpcMarketdata.QuoteEventData bid : inData.getBidList()) {
+            bids.add((BidEvent)fromQuoteEventData(bid));
+        }
+        List<AskEvent> asks = Lists.newArrayList();
+        for(RpcMarketdata.QuoteEventData ask : inData.getAskList()) {
+            asks.add((AskEvent)fromQuoteEventData(ask));
+        }
+        DepthOfBookEventBuilder builder = DepthOfBookEventBuilder.depthOfBook()
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()))
+                .withBids(bids)
+                .withAsks(asks);
+        if(inData.hasInstrument()) {
+            builder.withInstrument(fromInstrumentData(inData.getInstrument()));
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Converts the given marketstat event.
+     *
+     * @param inEvent a <code>MarketstatEvent</code> value
+     * @return an <code>RpcMarketdata.MarketstatEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.MarketstatEventData toMarketstatEventData(MarketstatEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.MarketstatEventData.Builder builder = RpcMarketdata.MarketstatEventData.newBuilder().setHeader(toHeader(inEvent))
+                .setInstrument(toInstrumentData(inEvent.getInstrument()));
+        RpcMarketdata.InstrumentAttributes attributes = toInstrumentAttributes(inEvent);
+        if(attributes != null) {
+            builder.setAttributes(attributes);
+        }
+        if(inEvent.getOpen() != null) {
+            builder.setOpen(toDecimal(inEvent.getOpen()));
+        }
+        if(inEvent.getHigh() != null) {
+            builder.setHigh(toDecimal(inEvent.getHigh()));
+        }
+        if(inEvent.getLow() != null) {
+            builder.setLow(toDecimal(inEvent.getLow()));
+        }
+        if(inEvent.getClose() != null) {
+            builder.setClose(toDecimal(inEvent.getClose()));
+        }
+        if(inEvent.getPreviousClose() != null) {
+            builder.setPreviousClose(toDecimal(inEvent.getPreviousClose()));
+        }
+        if(inEvent.getVolume() != null) {
+            builder.setVolume(toDecimal(inEvent.getVolume()));
+        }
+        if(inEvent.getValue() != null) {
+            builder.setValue(toDecimal(inEvent.getValue()));
+        }
+        if(inEvent.getCloseDate() != null) {
+            builder.setCloseDate(inEvent.getCloseDate());
+        }
+        if(inEvent.getPreviousCloseDate() != null) {
+            builder.setPreviousCloseDate(inEvent.getPreviousCloseDate());
+        }
+        if(inEvent.getTradeHighTime() != null) {
+            builder.setTradeHighTime(inEvent.getTradeHighTime());
+        }
+        if(inEvent.getTradeLowTime() != null) {
+            builder.setTradeLowTime(inEvent.getTradeLowTime());
+        }
+        if(inEvent.getOpenExchange() != null) {
+            builder.setOpenExchange(inEvent.getOpenExchange());
+        }
+        if(inEvent.getHighExchange() != null) {
+            builder.setHighExchange(inEvent.getHighExchange());
+        }
+        if(inEvent.getLowExchange() != null) {
+            builder.setLowExchange(inEvent.getLowExchange());
+        }
+        if(inEvent.getCloseExchange() != null) {
+            builder.setCloseExchange(inEvent.getCloseExchange());
+        }
+        if(inEvent instanceof OptionMarketstatEvent) {
+            OptionMarketstatEvent optionEvent = (OptionMarketstatEvent)inEvent;
+            if(optionEvent.getVolumeChange() != null) {
+                builder.setVolumeChange(toDecimal(optionEvent.getVolumeChange()));
+            }
+            if(optionEvent.getInterestChange() != null) {
+                builder.setInterestChange(toDecimal(optionEvent.getInterestChange()));
+            }
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given marketstat event data.
+     *
+     * @param inData an <code>RpcMarketdata.MarketstatEventData</code> value
+     * @return a <code>MarketstatEvent</code> value
+     */
+    private static MarketstatEvent fromMarketstatEventData(RpcMarketdata.MarketstatEventData inData)
+    {
+        MarketstatEventBuilder builder = MarketstatEventBuilder.marketstat(fromInstrumentData(inData.getInstrument()))
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()));
+        if(inData.hasAttributes()) {
+            applyInstrumentAttributes(builder,
+                                      inData.getAttributes());
+        }
+        if(inData.hasOpen()) {
+            builder.withOpenPrice(fromDecimal(inData.getOpen()));
+        }
+        if(inData.hasHigh()) {
+            builder.withHighPrice(fromDecimal(inData.getHigh()));
+        }
+        if(inData.hasLow()) {
+            builder.withLowPrice(fromDecimal(inData.getLow()));
+        }
+        if(inData.hasClose()) {
+            builder.withClosePrice(fromDecimal(inData.getClose()));
+        }
+        if(inData.hasPreviousClose()) {
+            builder.withPreviousClosePrice(fromDecimal(inData.getPreviousClose()));
+        }
+        if(inData.hasVolume()) {
+            builder.withVolume(fromDecimal(inData.getVolume()));
+        }
+        if(inData.hasValue()) {
+            builder.withValue(fromDecimal(inData.getValue()));
+        }
+        if(inData.hasCloseDate()) {
+            builder.withCloseDate(inData.getCloseDate());
+        }
+        if(inData.hasPreviousCloseDate()) {
+            builder.withPreviousCloseDate(inData.getPreviousCloseDate());
+        }
+        if(inData.hasTradeHighTime()) {
+            builder.withTradeHighTime(inData.getTradeHighTime());
+        }
+        if(inData.hasTradeLowTime()) {
+            builder.withTradeLowTime(inData.getTradeLowTime());
+        }
+        if(inData.hasOpenExchange()) {
+            builder.withOpenExchange(inData.getOpenExchange());
+        }
+        if(inData.hasHighExchange()) {
+            builder.withHighExchange(inData.getHighExchange());
+        }
+        if(inData.hasLowExchange()) {
+            builder.withLowExchange(inData.getLowExchange());
+        }
+        if(inData.hasCloseExchange()) {
+            builder.withCloseExchange(inData.getCloseExchange());
+        }
+        if(inData.hasVolumeChange()) {
+            builder.withVolumeChange(fromDecimal(inData.getVolumeChange()));
+        }
+        if(inData.hasInterestChange()) {
+            builder.withInterestChange(fromDecimal(inData.getInterestChange()));
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Converts the given dividend event.
+     *
+     * @param inEvent a <code>DividendEvent</code> value
+     * @return an <code>RpcMarketdata.DividendEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.DividendEventData toDividendEventData(DividendEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.DividendEventData.Builder builder = RpcMarketdata.DividendEventData.newBuilder().setHeader(toHeader(inEvent))
+                .setEquity(toInstrumentData(inEvent.getEquity()));
+        if(inEvent.getAmount() != null) {
+            builder.setAmount(toDecimal(inEvent.getAmount()));
+        }
+        if(inEvent.getCurrency() != null) {
+            builder.setCurrency(inEvent.getCurrency());
+        }
+        if(inEvent.getDeclareDate() != null) {
+            builder.setDeclareDate(inEvent.getDeclareDate());
+        }
+        if(inEvent.getExecutionDate() != null) {
+            builder.setExecutionDate(inEvent.getExecutionDate());
+        }
+        if(inEvent.getPaymentDate() != null) {
+            builder.setPaymentDate(inEvent.getPaymentDate());
+        }
+        if(inEvent.getRecordDate() != null) {
+            builder.setRecordDate(inEvent.getRecordDate());
+        }
+        if(inEvent.getFrequency() != null) {
+            builder.setFrequency(inEvent.getFrequency().name());
+        }
+        if(inEvent.getStatus() != null) {
+            builder.setStatus(inEvent.getStatus().name());
+        }
+        if(inEvent.getType() != null) {
+            builder.setType(inEvent.getType().name());
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given dividend event data.
+     *
+     * @param inData an <code>RpcMarketdata.DividendEventData</code> value
+     * @return a <code>DividendEvent</code> value
+     */
+    private static DividendEvent fromDividendEventData(RpcMarketdata.DividendEventData inData)
+    {
+        DividendEventBuilder builder = DividendEventBuilder.dividend()
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()))
+                .withEquity((Equity)fromInstrumentData(inData.getEquity()));
+        if(inData.hasAmount()) {
+            builder.withAmount(fromDecimal(inData.getAmount()));
+        }
+        if(inData.hasCurrency()) {
+            builder.withCurrency(inData.getCurrency());
+        }
+        if(inData.hasDeclareDate()) {
+            builder.withDeclareDate(inData.getDeclareDate());
+        }
+        if(inData.hasExecutionDate()) {
+            builder.withExecutionDate(inData.getExecutionDate());
+        }
+        if(inData.hasPaymentDate()) {
+            builder.withPaymentDate(inData.getPaymentDate());
+        }
+        if(inData.hasRecordDate()) {
+            builder.withRecordDate(inData.getRecordDate());
+        }
+        if(inData.hasFrequency()) {
+            builder.withFrequency(DividendFrequency.valueOf(inData.getFrequency()));
+        }
+        if(inData.hasStatus()) {
+            builder.withStatus(DividendStatus.valueOf(inData.getStatus()));
+        }
+        if(inData.hasType()) {
+            builder.withType(DividendType.valueOf(inData.getType()));
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Converts the given imbalance event.
+     *
+     * @param inEvent an <code>ImbalanceEvent</code> value
+     * @return an <code>RpcMarketdata.ImbalanceEventData</code> value
+     * @throws NotConvertibleException if the event cannot be converted
+     */
+    private static RpcMarketdata.ImbalanceEventData toImbalanceEventData(ImbalanceEvent inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.ImbalanceEventData.Builder builder = RpcMarketdata.ImbalanceEventData.newBuilder().setHeader(toHeader(inEvent))
+                .setInstrument(toInstrumentData(inEvent.getInstrument()))
+                .setShortSaleRestricted(inEvent.isShortSaleRestricted());
+        RpcMarketdata.InstrumentAttributes attributes = toInstrumentAttributes(inEvent);
+        if(attributes != null) {
+            builder.setAttributes(attributes);
+        }
+        if(inEvent.getAuctionType() != null) {
+            builder.setAuctionType(inEvent.getAuctionType().name());
+        }
+        if(inEvent.getExchange() != null) {
+            builder.setExchange(inEvent.getExchange());
+        }
+        if(inEvent.getFarPrice() != null) {
+            builder.setFarPrice(toDecimal(inEvent.getFarPrice()));
+        }
+        if(inEvent.getImbalanceVolume() != null) {
+            builder.setImbalanceVolume(toDecimal(inEvent.getImbalanceVolume()));
+        }
+        if(inEvent.getInstrumentStatus() != null) {
+            builder.setInstrumentStatus(inEvent.getInstrumentStatus().name());
+        }
+        if(inEvent.getMarketStatus() != null) {
+            builder.setMarketStatus(inEvent.getMarketStatus().name());
+        }
+        if(inEvent.getNearPrice() != null) {
+            builder.setNearPrice(toDecimal(inEvent.getNearPrice()));
+        }
+        if(inEvent.getPairedVolume() != null) {
+            builder.setPairedVolume(toDecimal(inEvent.getPairedVolume()));
+        }
+        if(inEvent.getReferencePrice() != null) {
+            builder.setReferencePrice(toDecimal(inEvent.getReferencePrice()));
+        }
+        if(inEvent.getImbalanceType() != null) {
+            builder.setImbalanceType(inEvent.getImbalanceType().name());
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given imbalance event data.
+     *
+     * @param inData an <code>RpcMarketdata.ImbalanceEventData</code> value
+     * @return an <code>ImbalanceEvent</code> value
+     */
+    private static ImbalanceEvent fromImbalanceEventData(RpcMarketdata.ImbalanceEventData inData)
+    {
+        ImbalanceEventBuilder builder = ImbalanceEventBuilder.Imbalance(fromInstrumentData(inData.getInstrument()))
+                .withMessageId(inData.getHeader().getMessageId())
+                .withTimestamp(new Date(inData.getHeader().getTimestamp()))
+                .withShortSaleRestricted(inData.getShortSaleRestricted());
+        if(inData.hasAttributes()) {
+            applyInstrumentAttributes(builder,
+                                      inData.getAttributes());
+        }
+        if(inData.hasAuctionType()) {
+            builder.withAuctionType(AuctionType.valueOf(inData.getAuctionType()));
+        }
+        if(inData.hasExchange()) {
+            builder.withExchange(inData.getExchange());
+        }
+        if(inData.hasFarPrice()) {
+            builder.withFarPrice(fromDecimal(inData.getFarPrice()));
+        }
+        if(inData.hasImbalanceVolume()) {
+            builder.withImbalanceVolume(fromDecimal(inData.getImbalanceVolume()));
+        }
+        if(inData.hasInstrumentStatus()) {
+            builder.withInstrumentStatus(InstrumentStatus.valueOf(inData.getInstrumentStatus()));
+        }
+        if(inData.hasMarketStatus()) {
+            builder.withMarketStatus(MarketStatus.valueOf(inData.getMarketStatus()));
+        }
+        if(inData.hasNearPrice()) {
+            builder.withNearPrice(fromDecimal(inData.getNearPrice()));
+        }
+        if(inData.hasPairedVolume()) {
+            builder.withPairedVolume(fromDecimal(inData.getPairedVolume()));
+        }
+        if(inData.hasReferencePrice()) {
+            builder.withReferencePrice(fromDecimal(inData.getReferencePrice()));
+        }
+        if(inData.hasImbalanceType()) {
+            builder.withImbalanceType(ImbalanceType.valueOf(inData.getImbalanceType()));
+        }
+        return setHeader(builder.create(),
+                         inData.getHeader());
+    }
+    /**
+     * Creates the attributes common to all events.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @return an <code>RpcMarketdata.EventHeader</code> value
+     */
+    private static RpcMarketdata.EventHeader toHeader(Event inEvent)
+    {
+        RpcMarketdata.EventHeader.Builder builder = RpcMarketdata.EventHeader.newBuilder().setMessageId(inEvent.getMessageId())
+                .setTimestamp(inEvent.getTimestamp().getTime());
+        if(inEvent.getProvider() != null) {
+            builder.setProvider(inEvent.getProvider());
+        }
+        if(inEvent instanceof HasEventType && ((HasEventType)inEvent).getEventType() != null) {
+            builder.setEventType(((HasEventType)inEvent).getEventType().name());
+        }
+        if(inEvent instanceof HasTimestamps) {
+            builder.setReceivedTimestamp(((HasTimestamps)inEvent).getReceivedTimestamp())
+                   .setProcessedTimestamp(((HasTimestamps)inEvent).getProcessedTimestamp());
+        }
+        return builder.build();
+    }
+    /**
+     * Sets the attributes common to all events that the event builders do not set.
+     *
+     * @param inEvent an <code>E</code> value
+     * @param inHeader an <code>RpcMarketdata.EventHeader</code> value
+     * @return an <code>E</code> value
+     */
+    private static <E extends Event> E setHeader(E inEvent,
+                                                 RpcMarketdata.EventHeader inHeader)
+    {
+        if(inHeader.hasProvider()) {
+            inEvent.setProvider(inHeader.getProvider());
+        }
+        if(inHeader.hasEventType() && inEvent instanceof HasEventType) {
+            ((HasEventType)inEvent).setEventType(EventType.valueOf(inHeader.getEventType()));
+        }
+        if(inEvent instanceof HasTimestamps) {
+            if(inHeader.hasReceivedTimestamp()) {
+                ((HasTimestamps)inEvent).setReceivedTimestamp(inHeader.getReceivedTimestamp());
+            }
+            if(inHeader.hasProcessedTimestamp()) {
+                ((HasTimestamps)inEvent).setProcessedTimestamp(inHeader.getProcessedTimestamp());
+            }
+        }
+        return inEvent;
+    }
+    /**
+     * Creates the option or future attributes of the given event.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @return an <code>RpcMarketdata.InstrumentAttributes</code> value or <code>null</code> if the event has none
+     * @throws NotConvertibleException if the attributes cannot be converted
+     */
+    private static RpcMarketdata.InstrumentAttributes toInstrumentAttributes(Event inEvent)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.InstrumentAttributes.Builder builder = RpcMarketdata.InstrumentAttributes.newBuilder();
+        if(inEvent instanceof OptionEvent) {
+            OptionEvent optionEvent = (OptionEvent)inEvent;
+            if(optionEvent.getUnderlyingInstrument() != null) {
+                builder.setUnderlyingInstrument(toInstrumentData(optionEvent.getUnderlyingInstrument()));
+            }
+            if(optionEvent.getExpirationType() != null) {
+                builder.setExpirationType(optionEvent.getExpirationType().name());
+            }
+            if(optionEvent.getMultiplier() != null) {
+                builder.setMultiplier(toDecimal(optionEvent.getMultiplier()));
+            }
+            if(optionEvent.getProviderSymbol() != null) {
+                builder.setProviderSymbol(optionEvent.getProviderSymbol());
+            }
+            builder.setHasDeliverable(optionEvent.hasDeliverable());
+        } else if(inEvent instanceof FutureEvent) {
+            FutureEvent futureEvent = (FutureEvent)inEvent;
+            if(futureEvent.getUnderylingAssetType() != null) {
+                // the underlying asset type has no representation that can be converted back
+                throw new NotConvertibleException();
+            }
+            if(futureEvent.getType() != null) {
+                builder.setFutureType(futureEvent.getType().name());
+            }
+            if(futureEvent.getDeliveryType() != null) {
+                builder.setDeliveryType(futureEvent.getDeliveryType().name());
+            }
+            if(futureEvent.getStandardType() != null) {
+                builder.setStandardType(futureEvent.getStandardType().name());
+            }
+            if(futureEvent.getProviderSymbol() != null) {
+                builder.setProviderSymbol(futureEvent.getProviderSymbol());
+            }
+            builder.setContractSize(futureEvent.getContractSize());
+        } else {
+            return null;
+        }
+        return builder.build();
+    }
+    /**
+     * Sets the given option or future attributes on the given builder.
+     *
+     * @param inBuilder a <code>B</code> value
+     * @param inAttributes an <code>RpcMarketdata.InstrumentAttributes</code> value
+     */
+    private static <B extends OptionEventBuilder<B> & FutureEventBuilder<B>> void applyInstrumentAttributes(B inBuilder,
+                                                                                                           RpcMarketdata.InstrumentAttributes inAttributes)
+    {
+        if(inAttributes.hasUnderlyingInstrument()) {
+            inBuilder.withUnderlyingInstrument(fromInstrumentData(inAttributes.getUnderlyingInstrument()));
+        }
+        if(inAttributes.hasExpirationType()) {
+            inBuilder.withExpirationType(ExpirationType.valueOf(inAttributes.getExpirationType()));
+        }
+        if(inAttributes.hasMultiplier()) {
+            inBuilder.withMultiplier(fromDecimal(inAttributes.getMultiplier()));
+        }
+        if(inAttributes.hasHasDeliverable()) {
+            inBuilder.hasDeliverable(inAttributes.getHasDeliverable());
+        }
+        if(inAttributes.hasProviderSymbol()) {
+            inBuilder.withProviderSymbol(inAttributes.getProviderSymbol());
+        }
+        if(inAttributes.hasFutureType()) {
+            inBuilder.withFutureType(FutureType.valueOf(inAttributes.getFutureType()));
+        }
+        if(inAttributes.hasDeliveryType()) {
+            inBuilder.withDeliveryType(DeliveryType.valueOf(inAttributes.getDeliveryType()));
+        }
+        if(inAttributes.hasStandardType()) {
+            inBuilder.withStandardType(StandardType.valueOf(inAttributes.getStandardType()));
+        }
+        if(inAttributes.hasContractSize()) {
+            inBuilder.withContractSize(inAttributes.getContractSize());
+        }
+    }
+    /**
+     * Converts the given instrument.
+     *
+     * @param inInstrument an <code>Instrument</code> value
+     * @return an <code>RpcMarketdata.InstrumentData</code> value
+     * @throws NotConvertibleException if the instrument is not an equity, option, or future
+     */
+    private static RpcMarketdata.InstrumentData toInstrumentData(Instrument inInstrument)
+            throws NotConvertibleException
+    {
+        RpcMarketdata.InstrumentData.Builder builder = RpcMarketdata.InstrumentData.newBuilder();
+        if(inInstrument instanceof Equity) {
+            builder.setType(RpcMarketdata.InstrumentType.EQUITY)
+                   .setSymbol(inInstrument.getSymbol());
+        } else if(inInstrument instanceof Option) {
+            Option option = (Option)inInstrument;
+            builder.setType(RpcMarketdata.InstrumentType.OPTION)
+                   .setSymbol(option.getSymbol())
+                   .setExpiry(option.getExpiry())
+                   .setStrikePrice(toDecimal(option.getStrikePrice()))
+                   .setOptionType(option.getType().name());
+        } else if(inInstrument instanceof Future) {
+            Future future = (Future)inInstrument;
+            builder.setType(RpcMarketdata.InstrumentType.FUTURE)
+                   .setSymbol(future.getSymbol())
+                   .setExpiry(future.getExpiryAsString());
+        } else {
+            throw new NotConvertibleException();
+        }
+        return builder.build();
+    }
+    /**
+     * Converts the given instrument data.
+     *
+     * @param inData an <code>RpcMarketdata.InstrumentData</code> value
+     * @return an <code>Instrument</code> value
+     * @throws IllegalArgumentException if the instrument type is not supported
+     */
+    private static Instrument fromInstrumentData(RpcMarketdata.InstrumentData inData)
+    {
+        switch(inData.getType()) {
+            case EQUITY:
+                return new Equity(inData.getSymbol());
+            case OPTION:
+                return new Option(inData.getSymbol(),
+                                  inData.getExpiry(),
+                                  fromDecimal(inData.getStrikePrice()),
+                                  OptionType.valueOf(inData.getOptionType()));
+            case FUTURE:
+                return new Future(inData.getSymbol(),
+                                  inData.getExpiry());
+            default:
+                throw new IllegalArgumentException(String.valueOf(inData.getType()));
+        }
+    }
+    /**
+     * Converts the given value to an unscaled <code>long</code> value and a scale.
+     *
+     * @param inValue a <code>BigDecimal</code> value
+     * @return an <code>RpcMarketdata.Decimal</code> value
+     * @throws NotConvertibleException if the unscaled value does not fit in a <code>long</code>
+     */
+    private static RpcMarketdata.Decimal toDecimal(BigDecimal inValue)
+            throws NotConvertibleException
+    {
+        BigInteger unscaledValue = inValue.unscaledValue();
+        if(unscaledValue.bitLength() > 63) {
+            throw new NotConvertibleException();
+        }
+        return RpcMarketdata.Decimal.newBuilder().setUnscaled(unscaledValue.longValue())
+                .setScale(inValue.scale()).build();
+    }
+    /**
+     * Converts the given unscaled value and scale.
+     *
+     * @param inValue an <code>RpcMarketdata.Decimal</code> value
+     * @return a <code>BigDecimal</code> value
+     */
+    private static BigDecimal fromDecimal(RpcMarketdata.Decimal inValue)
+    {
+        return BigDecimal.valueOf(inValue.getUnscaled(),
+                                  inValue.getScale());
+    }
+    /**
+     * Indicates that an event has no native RPC representation and must be sent as XML instead.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class NotConvertibleException
+            extends Exception
+    {
+        private static final long serialVersionUID = 5307735093452871014L;
+    }
+}
@@ -91,6 +91,17 @@ public interface MarketDataService
     Map<Long,LinkedList<Event>> getAllEvents(@WebParam(name="context")ClientContext inContext,
                                              @WebParam(name="id")List<Long> inRequestIds)
             throws RemoteException;
+    /**
+     * Gets the current snapshots of the given requests that changed since the given versions.
+     *
+     * @param inContext a <code>ClientContext</code> value
+     * @param inVersions a <code>Map&lt;Long,Long&gt;</code> value containing the version the caller has by request id
+     * @return a <code>Map&lt;Long,SnapshotUpdate&gt;</code> value
+     * @throws RemoteException if an error occurs retrieving the snapshots
+     */
+    Map<Long,SnapshotUpdate> getSnapshotUpdates(@WebParam(name="context")ClientContext inContext,
+                                                @WebParam(name="versions")Map<Long,Long> inVersions)
+            throws RemoteException;
     /**
      * Gets the most recent snapshot of the given market data.
      * 
@@ -67,6 +67,17 @@ public interface MarketDataServiceClient
      * @return a <code>Map&lt;Long,LinkedList&lt;Event&gt;&gt;</code> value
      */
     Map<Long,LinkedList<Event>> getAllEvents(List<Long> inRequestIds);
+    /**
+     * Gets the current snapshots of multiple market data requests at the same time.
+     *
+     * <p>The given map holds the snapshot version the caller already has for each request, or <code>0</code>
+     * if it has none. The returned map holds an update for each request whose market data has changed since
+     * that version and for each request not known to the server. Requests that have not changed are omitted.
+     *
+     * @param inVersions a <code>Map&lt;Long,Long&gt;</code> value
+     * @return a <code>Map&lt;Long,SnapshotUpdate&gt;</code> value
+     */
+    Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions);
     /**
      * Gets the most recent snapshot of the given market data.
      * 
@@ -0,0 +1,139 @@
+package org.marketcetera.marketdata.core.webservice;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.marketcetera.event.Event;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Contains the current snapshot of a market data request whose contents have changed.
+ *
+ * <p>The version of a request increases each time its market data changes. A client passes the version of the
+ * snapshot it already has to receive a new snapshot only when the market data has changed since.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@XmlAccessorType(XmlAccessType.NONE)
+@XmlRootElement(name="snapshotUpdate")
+@ClassVersion("$Id$")
+public class SnapshotUpdate
+        implements Serializable
+{
+    /**
+     * Create a new SnapshotUpdate instance.
+     *
+     * @param inRequestId a <code>long</code> value
+     * @param inVersion a <code>long</code> value
+     * @param inEvents a <code>Collection&lt;Event&gt;</code> value containing the snapshot, most recent first
+     */
+    public SnapshotUpdate(long inRequestId,
+                          long inVersion,
+                          Collection<Event> inEvents)
+    {
+        requestId = inRequestId;
+        version = inVersion;
+        events.addAll(inEvents);
+    }
+    /**
+     * Creates an update indicating that the given request is not known to the server.
+     *
+     * @param inRequestId a <code>long</code> value
+     * @return a <code>SnapshotUpdate</code> value
+     */
+    public static SnapshotUpdate unknownRequest(long inRequestId)
+    {
+        return new SnapshotUpdate(inRequestId,
+                                  UNKNOWN_REQUEST,
+                                  new LinkedList<Event>());
+    }
+    /**
+     * Get the requestId value.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getRequestId()
+    {
+        return requestId;
+    }
+    /**
+     * Get the version value.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getVersion()
+    {
+        return version;
+    }
+    /**
+     * Indicates if the request is not known to the server, either because it was never made or because it was canceled.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isUnknownRequest()
+    {
+        return version == UNKNOWN_REQUEST;
+    }
+    /**
+     * Gets the snapshot events, most recent first.
+     *
+     * @return a <code>Deque&lt;Event&gt;</code> value
+     */
+    public Deque<Event> getEvents()
+    {
+        Deque<Event> eventsToReturn = new LinkedList<>();
+        for(Object event : events) {
+            eventsToReturn.add((Event)event);
+        }
+        return eventsToReturn;
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return new StringBuilder().append("SnapshotUpdate [requestId=").append(requestId).append(", version=").append(version) //$NON-NLS-1$ //$NON-NLS-2$
+                .append(", events=").append(events.size()).append("]").toString(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+    /**
+     * Create a new SnapshotUpdate instance.
+     */
+    @SuppressWarnings("unused")
+    private SnapshotUpdate() {}
+    /**
+     * version value of a request not known to the server
+     */
+    public static final long UNKNOWN_REQUEST = -1;
+    /**
+     * market data request id
+     */
+    @XmlAttribute
+    private long requestId;
+    /**
+     * version of the snapshot
+     */
+    @XmlAttribute
+    private long version;
+    /**
+     * snapshot events, most recent first
+     */
+    @XmlElementWrapper(name="events")
+    @XmlAnyElement(lax=true)
+    private final List<Object> events = new LinkedList<>();
+    private static final long serialVersionUID = 2374935166502883473L;
+}
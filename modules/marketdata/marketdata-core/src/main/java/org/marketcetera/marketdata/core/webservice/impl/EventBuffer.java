@@ -0,0 +1,238 @@
+package org.marketcetera.marketdata.core.webservice.impl;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang.Validate;
+import org.marketcetera.event.Event;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Holds the events of a market data request until they are retrieved.
+ *
+ * <p>The buffer holds at most a fixed number of events. When it is full, the oldest event is dropped to make
+ * room for a new one. An event added with a conflation key replaces the event with the same key that has not
+ * yet been retrieved, if any, and takes its place in line. Events added without a key are all kept.
+ *
+ * <p>Adding and retrieving events do not block, so a request whose events are not retrieved does not hold up
+ * the threads that publish market data.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ThreadSafe
+@ClassVersion("$Id$")
+public class EventBuffer
+{
+    /**
+     * Create a new EventBuffer instance.
+     *
+     * @param inCapacity an <code>int</code> value
+     * @throws IllegalArgumentException if the given capacity is not positive
+     */
+    public EventBuffer(int inCapacity)
+    {
+        Validate.isTrue(inCapacity > 0);
+        capacity = inCapacity;
+    }
+    /**
+     * Adds the given event.
+     *
+     * @param inEvent an <code>Event</code> value
+     * @param inConflationKey an <code>Object</code> value identifying the events the given event replaces or <code>null</code> if the event replaces no other
+     */
+    public void add(Event inEvent,
+                    Object inConflationKey)
+    {
+        if(inConflationKey == null) {
+            enqueue(inEvent);
+            return;
+        }
+        Slot slot = slotsByKey.get(inConflationKey);
+        if(slot != null) {
+            Event pendingEvent = slot.event.get();
+            // the compare fails if the slot has been retrieved or dropped in the meantime, in which case a new slot is needed
+            if(pendingEvent != null && slot.event.compareAndSet(pendingEvent,
+                                                                inEvent)) {
+                conflatedEvents.incrementAndGet();
+                return;
+            }
+        }
+        slot = new Slot(inConflationKey,
+                        inEvent);
+        slotsByKey.put(inConflationKey,
+                       slot);
+        enqueue(slot);
+    }
+    /**
+     * Removes and returns the events held by the buffer.
+     *
+     * <p>The events are returned newest first.
+     *
+     * @return a <code>LinkedList&lt;Event&gt;</code> value
+     */
+    public LinkedList<Event> drain()
+    {
+        LinkedList<Event> events = new LinkedList<>();
+        // events added while draining are left for the next call so a busy publisher cannot keep the caller here
+        int remaining = size.get();
+        Object entry;
+        while(remaining-- > 0 && (entry = queue.poll()) != null) {
+            size.decrementAndGet();
+            Event event = take(entry);
+            if(event != null) {
+                events.addFirst(event);
+            }
+        }
+        return events;
+    }
+    /**
+     * Discards the events held by the buffer.
+     */
+    public void clear()
+    {
+        Object entry;
+        while((entry = queue.poll()) != null) {
+            size.decrementAndGet();
+            take(entry);
+        }
+    }
+    /**
+     * Gets the number of events held by the buffer.
+     *
+     * @return an <code>int</code> value
+     */
+    public int size()
+    {
+        return Math.max(0,
+                        size.get());
+    }
+    /**
+     * Gets the capacity value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+    /**
+     * Gets the number of events dropped because the buffer was full.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getDroppedEvents()
+    {
+        return droppedEvents.get();
+    }
+    /**
+     * Gets the number of events replaced by a newer event with the same conflation key before they were retrieved.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getConflatedEvents()
+    {
+        return conflatedEvents.get();
+    }
+    /**
+     * Adds the given entry to the end of the line, dropping the oldest entry if the buffer is full.
+     *
+     * @param inEntry an <code>Object</code> value
+     */
+    private void enqueue(Object inEntry)
+    {
+        queue.offer(inEntry);
+        if(size.incrementAndGet() > capacity) {
+            Object oldestEntry = queue.poll();
+            if(oldestEntry != null) {
+                size.decrementAndGet();
+                if(take(oldestEntry) != null) {
+                    droppedEvents.incrementAndGet();
+                }
+            }
+        }
+    }
+    /**
+     * Takes the event from the given entry.
+     *
+     * @param inEntry an <code>Object</code> value
+     * @return an <code>Event</code> value or <code>null</code> if the entry no longer holds an event
+     */
+    private Event take(Object inEntry)
+    {
+        if(inEntry instanceof Slot) {
+            Slot slot = (Slot)inEntry;
+            slotsByKey.remove(slot.key,
+                              slot);
+            return slot.event.getAndSet(null);
+        }
+        return (Event)inEntry;
+    }
+    /**
+     * Holds the pending event for a conflation key.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ThreadSafe
+    @ClassVersion("$Id$")
+    private static class Slot
+    {
+        /**
+         * Create a new Slot instance.
+         *
+         * @param inKey an <code>Object</code> value
+         * @param inEvent an <code>Event</code> value
+         */
+        private Slot(Object inKey,
+                     Event inEvent)
+        {
+            key = inKey;
+            event = new AtomicReference<Event>(inEvent);
+        }
+        /**
+         * conflation key of the slot
+         */
+        private final Object key;
+        /**
+         * pending event, <code>null</code> once the event has been taken
+         */
+        private final AtomicReference<Event> event;
+    }
+    /**
+     * maximum number of events held
+     */
+    private final int capacity;
+    /**
+     * events and slots in arrival order
+     */
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * number of entries in the queue
+     */
+    private final AtomicInteger size = new AtomicInteger(0);
+    /**
+     * slots not yet taken by conflation key
+     */
+    private final ConcurrentMap<Object,Slot> slotsByKey = new ConcurrentHashMap<>();
+    /**
+     * number of events dropped because the buffer was full
+     */
+    private final AtomicLong droppedEvents = new AtomicLong(0);
+    /**
+     * number of events replaced before they were retrieved
+     */
+    private final AtomicLong conflatedEvents = new AtomicLong(0);
+}
@@ -123,6 +123,20 @@ public class MarketDataServiceClientImpl
             throw handleException(e);
         }
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.webservice.MarketDataServiceClient#getSnapshotUpdates(java.util.Map)
+     */
+    @Override
+    public Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions)
+    {
+        try {
+            checkConnection();
+            return marketDataService.getSnapshotUpdates(serviceClient.getContext(),
+                                                        inVersions);
+        } catch (Exception e) {
+            throw handleException(e);
+        }
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.webservice.MarketDataServiceClient#getSnapshot(org.marketcetera.trade.Instrument, org.marketcetera.marketdata.Content, java.lang.String)
      */
@@ -1,26 +1,33 @@
 package org.marketcetera.marketdata.core.webservice.impl;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.apache.commons.lang.Validate;
-import org.marketcetera.core.CloseableLock;
 import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.AggregateEvent;
+import org.marketcetera.event.DividendEvent;
 import org.marketcetera.event.Event;
+import org.marketcetera.event.HasInstrument;
+import org.marketcetera.event.ImbalanceEvent;
+import org.marketcetera.event.MarketstatEvent;
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.event.TradeEvent;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataRequest;
@@ -29,6 +36,7 @@ import org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter;
 import org.marketcetera.marketdata.core.webservice.ConnectionException;
 import org.marketcetera.marketdata.core.webservice.MarketDataService;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.marketdata.core.webservice.UnknownRequestException;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
@@ -51,6 +59,11 @@ import com.google.common.collect.Maps;
 
 /**
  * Provides Market Data Nexus services.
+ * 
+ * <p>The events of a request whose events are retrieved by polling are held in a bounded {@link EventBuffer} until
+ * they are retrieved. When the buffer is full, the oldest event is dropped. Events of the content types in
+ * {@link #getConflatedContent()}, top-of-book and marketstat by default, are conflated: a newer event for the same
+ * instrument replaces the one not yet retrieved. Events of other content types, such as trades, are all kept.
  *
  * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
  * @version $Id$
@@ -141,6 +154,22 @@ public class MarketDataServiceImpl
         return doRequest(inRequest,
                          inStreamEvents);
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#request(org.marketcetera.marketdata.MarketDataRequest, org.marketcetera.core.publisher.ISubscriber)
+     */
+    @Override
+    public long request(MarketDataRequest inRequest,
+                        ISubscriber inSubscriber)
+    {
+        ServiceSubscriber subscriber = new ServiceSubscriber(inRequest,
+                                                             inSubscriber);
+        long requestId = marketDataManager.requestMarketDataWithSnapshot(inRequest,
+                                                                         subscriber);
+        subscriber.setRequestId(requestId);
+        subscribersByRequestId.put(requestId,
+                                   subscriber);
+        return requestId;
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.webservice.MarketDataService#getAllEvents(org.marketcetera.util.ws.stateful.ClientContext, java.util.List)
      */
@@ -162,9 +191,8 @@ public class MarketDataServiceImpl
                 checkConnection();
                 Map<Long,LinkedList<Event>> eventsToReturn = Maps.newLinkedHashMap();
                 for(Long requestId : inRequestIds) {
-                    LinkedList<Event> events = Lists.newLinkedList(doGetEvents(requestId));
                     eventsToReturn.put(requestId,
-                                       events);
+                                       doGetEvents(requestId));
                 }
                 return eventsToReturn;
             }
@@ -178,12 +206,42 @@ public class MarketDataServiceImpl
     {
         Map<Long,LinkedList<Event>> eventsToReturn = Maps.newLinkedHashMap();
         for(Long requestId : inRequestIds) {
-            LinkedList<Event> events = Lists.newLinkedList(doGetEvents(requestId));
             eventsToReturn.put(requestId,
-                               events);
+                               doGetEvents(requestId));
         }
         return eventsToReturn;
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.webservice.MarketDataService#getSnapshotUpdates(org.marketcetera.util.ws.stateful.ClientContext, java.util.Map)
+     */
+    @Override
+    public Map<Long,SnapshotUpdate> getSnapshotUpdates(ClientContext inContext,
+                                                       final Map<Long,Long> inVersions)
+            throws RemoteException
+    {
+        return new RemoteCaller<Object,Map<Long,SnapshotUpdate>>(getSessionManager()) {
+            @Override
+            protected Map<Long,SnapshotUpdate> call(ClientContext inContext,
+                                                    SessionHolder<Object> inSessionHolder)
+                    throws Exception
+            {
+                SLF4JLoggerProxy.debug(this,
+                                       "{} requesting snapshot updates for {}",
+                                       inContext.getSessionId(),
+                                       inVersions);
+                checkConnection();
+                return doGetSnapshotUpdates(inVersions);
+            }
+        }.execute(inContext);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#getSnapshotUpdates(java.util.Map)
+     */
+    @Override
+    public Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions)
+    {
+        return doGetSnapshotUpdates(inVersions);
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.webservice.MarketDataWebService#getEvents(org.marketcetera.util.ws.stateful.ClientContext, long)
      */
@@ -508,6 +566,94 @@ public class MarketDataServiceImpl
     {
         maxSubscriptionInterval = inMaxSubscriptionInterval;
     }
+    /**
+     * Get the maxBufferedEvents value.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getMaxBufferedEvents()
+    {
+        return maxBufferedEvents;
+    }
+    /**
+     * Sets the maximum number of events held for a request until they are retrieved.
+     * 
+     * <p>The new value applies to requests submitted afterwards.
+     *
+     * @param inMaxBufferedEvents an <code>int</code> value
+     * @throws IllegalArgumentException if the given value is not positive
+     */
+    public void setMaxBufferedEvents(int inMaxBufferedEvents)
+    {
+        Validate.isTrue(inMaxBufferedEvents > 0);
+        maxBufferedEvents = inMaxBufferedEvents;
+    }
+    /**
+     * Get the conflatedContent value.
+     *
+     * @return a <code>Set&lt;Content&gt;</code> value
+     */
+    public Set<Content> getConflatedContent()
+    {
+        return conflatedContent;
+    }
+    /**
+     * Sets the content types for which only the latest event per instrument is held until it is retrieved.
+     * 
+     * <p>The new value applies to requests submitted afterwards.
+     *
+     * @param inConflatedContent a <code>Set&lt;Content&gt;</code> value
+     */
+    public void setConflatedContent(Set<Content> inConflatedContent)
+    {
+        Validate.notNull(inConflatedContent);
+        conflatedContent = inConflatedContent.isEmpty() ? Collections.<Content>emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(inConflatedContent));
+    }
+    /**
+     * Gets the number of events dropped because they were not retrieved before the buffer of their request filled.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getDroppedEvents()
+    {
+        long droppedEvents = retiredDroppedEvents.get();
+        for(ServiceSubscriber subscriber : subscribersByRequestId.values()) {
+            if(subscriber.buffer != null) {
+                droppedEvents += subscriber.buffer.getDroppedEvents();
+            }
+        }
+        return droppedEvents;
+    }
+    /**
+     * Gets the number of events replaced by a newer event before they were retrieved.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getConflatedEvents()
+    {
+        long conflatedEvents = retiredConflatedEvents.get();
+        for(ServiceSubscriber subscriber : subscribersByRequestId.values()) {
+            if(subscriber.buffer != null) {
+                conflatedEvents += subscriber.buffer.getConflatedEvents();
+            }
+        }
+        return conflatedEvents;
+    }
+    /**
+     * Gets the number of events waiting to be retrieved.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getBufferedEvents()
+    {
+        long bufferedEvents = 0;
+        for(ServiceSubscriber subscriber : subscribersByRequestId.values()) {
+            if(subscriber.buffer != null) {
+                bufferedEvents += subscriber.buffer.size();
+            }
+        }
+        return bufferedEvents;
+    }
     /**
      * Executes the given market data request.
      *
@@ -518,7 +664,8 @@ public class MarketDataServiceImpl
     private long doRequest(MarketDataRequest inRequest,
                            boolean inStreamEvents)
     {
-        ServiceSubscriber subscriber = new ServiceSubscriber(inStreamEvents);
+        ServiceSubscriber subscriber = new ServiceSubscriber(inRequest,
+                                                             inStreamEvents);
         long requestId = marketDataManager.requestMarketData(inRequest,
                                                              subscriber);
         subscriber.setRequestId(requestId);
@@ -545,10 +692,10 @@ public class MarketDataServiceImpl
      * Retrieves the events for the given request.
      *
      * @param inRequestId a <code>long</code> value
-     * @return a <code>Deque&lt;Event&gt;</code> value
+     * @return a <code>LinkedList&lt;Event&gt;</code> value
      * @throws UnknownRequestException if the given request is invalid
      */
-    private Deque<Event> doGetEvents(long inRequestId)
+    private LinkedList<Event> doGetEvents(long inRequestId)
     {
         ServiceSubscriber subscriber = subscribersByRequestId.get(inRequestId);
         if(subscriber == null) {
@@ -556,6 +703,44 @@ public class MarketDataServiceImpl
         }
         return subscriber.getEvents();
     }
+    /**
+     * Gets the current snapshot of each of the given requests that changed since the given version.
+     *
+     * @param inVersions a <code>Map&lt;Long,Long&gt;</code> value containing the version the caller has by request id
+     * @return a <code>Map&lt;Long,SnapshotUpdate&gt;</code> value
+     */
+    private Map<Long,SnapshotUpdate> doGetSnapshotUpdates(Map<Long,Long> inVersions)
+    {
+        Map<Long,SnapshotUpdate> updates = Maps.newLinkedHashMap();
+        for(Map.Entry<Long,Long> entry : inVersions.entrySet()) {
+            long requestId = entry.getKey();
+            ServiceSubscriber subscriber = subscribersByRequestId.get(requestId);
+            if(subscriber == null) {
+                updates.put(requestId,
+                            SnapshotUpdate.unknownRequest(requestId));
+                continue;
+            }
+            // read the version before the snapshot so a change made while building it is reported next time
+            long version = subscriber.getVersion();
+            if(version <= entry.getValue()) {
+                continue;
+            }
+            Deque<Event> events = Lists.newLinkedList();
+            MarketDataRequest request = subscriber.getRequest();
+            for(Instrument instrument : subscriber.getInstruments()) {
+                for(Content content : request.getContent()) {
+                    events.addAll(doGetSnapshot(instrument,
+                                                content,
+                                                request.getProvider()));
+                }
+            }
+            updates.put(requestId,
+                        new SnapshotUpdate(requestId,
+                                           version,
+                                           events));
+        }
+        return updates;
+    }
     /**
      * Cancels the market data request with the given id.
      *
@@ -567,6 +752,10 @@ public class MarketDataServiceImpl
         if(subscriber != null) {
             marketDataManager.cancelMarketDataRequest(inRequestId);
             subscriber.cancel();
+            if(subscriber.buffer != null) {
+                retiredDroppedEvents.addAndGet(subscriber.buffer.getDroppedEvents());
+                retiredConflatedEvents.addAndGet(subscriber.buffer.getConflatedEvents());
+            }
         }
     }
     /**
@@ -650,11 +839,43 @@ public class MarketDataServiceImpl
         /**
          * Create a new ServiceSubscriber instance.
          *
+         * @param inRequest a <code>MarketDataRequest</code> value
          * @param inStreamEvents a <code>boolean</code> value
          */
-        public ServiceSubscriber(boolean inStreamEvents)
+        public ServiceSubscriber(MarketDataRequest inRequest,
+                                 boolean inStreamEvents)
         {
+            request = inRequest;
             storeEvents = inStreamEvents;
+            delegate = null;
+            buffer = inStreamEvents ? new EventBuffer(maxBufferedEvents) : null;
+            conflatedContent = MarketDataServiceImpl.this.conflatedContent;
+            // quotes can be attributed to a content type only if the request asks for a single book
+            Content bookContent = null;
+            int bookCount = 0;
+            for(Content content : inRequest.getContent()) {
+                if(content == Content.TOP_OF_BOOK || content == Content.NBBO || content.isDepth()) {
+                    bookContent = content;
+                    bookCount += 1;
+                }
+            }
+            quoteContent = bookCount == 1 ? bookContent : null;
+        }
+        /**
+         * Create a new ServiceSubscriber instance that passes updates to the given subscriber instead of storing them.
+         *
+         * @param inRequest a <code>MarketDataRequest</code> value
+         * @param inDelegate an <code>ISubscriber</code> value
+         */
+        public ServiceSubscriber(MarketDataRequest inRequest,
+                                 ISubscriber inDelegate)
+        {
+            request = inRequest;
+            storeEvents = false;
+            delegate = inDelegate;
+            buffer = null;
+            conflatedContent = Collections.emptySet();
+            quoteContent = null;
         }
         /* (non-Javadoc)
          * @see org.marketcetera.core.publisher.ISubscriber#isInteresting(java.lang.Object)
@@ -670,28 +891,35 @@ public class MarketDataServiceImpl
         @Override
         public void publishTo(Object inData)
         {
-            try(CloseableLock publishEventLock = CloseableLock.create(lock.writeLock())) {
-                publishEventLock.lock();
-                updateTimestamp = System.currentTimeMillis();
-                if(!storeEvents) {
-                    return;
+            updateTimestamp = System.currentTimeMillis();
+            version.incrementAndGet();
+            recordInstruments(inData);
+            if(delegate != null) {
+                synchronized(this) {
+                    delegate.publishTo(inData);
                 }
-                if(inData instanceof Event) {
-                    events.addFirst((Event)inData);
-                } else if(inData instanceof AggregateEvent) {
-                    for(Event event : ((AggregateEvent)inData).decompose()) {
-                        events.addFirst(event);
-                    }
-                } else if(inData instanceof Collection<?>) {
-                    Collection<?> collectionData = (Collection<?>)inData;
-                    for(Object data : collectionData) {
-                        publishTo(data);
-                    }
-                } else {
-                    SLF4JLoggerProxy.warn(this,
-                                          "Unknown data type: " + inData.getClass().getName()); // TODO message
-                    throw new UnsupportedOperationException();
+                return;
+            }
+            if(!storeEvents) {
+                return;
+            }
+            if(inData instanceof Event) {
+                buffer.add((Event)inData,
+                           getConflationKey((Event)inData));
+            } else if(inData instanceof AggregateEvent) {
+                for(Event event : ((AggregateEvent)inData).decompose()) {
+                    buffer.add(event,
+                               getConflationKey(event));
+                }
+            } else if(inData instanceof Collection<?>) {
+                Collection<?> collectionData = (Collection<?>)inData;
+                for(Object data : collectionData) {
+                    publishTo(data);
                 }
+            } else {
+                SLF4JLoggerProxy.warn(this,
+                                      "Unknown data type: " + inData.getClass().getName()); // TODO message
+                throw new UnsupportedOperationException();
             }
         }
         /**
@@ -699,26 +927,73 @@ public class MarketDataServiceImpl
          */
         private void cancel()
         {
-            try(CloseableLock publishEventLock = CloseableLock.create(lock.writeLock())) {
-                publishEventLock.lock();
-                events.clear();
+            if(buffer != null) {
+                buffer.clear();
             }
         }
         /**
-         * Get the events value.
+         * Removes and returns the events not yet retrieved, newest first.
          *
-         * @return a <code>Deque&lt;Event&gt;</code> value
+         * @return a <code>LinkedList&lt;Event&gt;</code> value
          */
-        private Deque<Event> getEvents()
+        private LinkedList<Event> getEvents()
         {
             retrieveTimestamp = System.currentTimeMillis();
-            Deque<Event> eventsToReturn = Lists.newLinkedList();
-            try(CloseableLock getEventLock = CloseableLock.create(lock.writeLock())) {
-                getEventLock.lock();
-                eventsToReturn.addAll(events);
-                events.clear();
+            if(buffer == null) {
+                return new LinkedList<>();
             }
-            return eventsToReturn;
+            return buffer.drain();
+        }
+        /**
+         * Records the instruments of the given data.
+         *
+         * @param inData an <code>Object</code> value
+         */
+        private void recordInstruments(Object inData)
+        {
+            if(inData instanceof HasInstrument) {
+                Instrument instrument = ((HasInstrument)inData).getInstrument();
+                if(instrument != null && !instruments.contains(instrument)) {
+                    instruments.add(instrument);
+                }
+            } else if(inData instanceof Collection<?>) {
+                for(Object data : (Collection<?>)inData) {
+                    recordInstruments(data);
+                }
+            }
+        }
+        /**
+         * Gets the key which identifies the events the given event replaces.
+         *
+         * @param inEvent an <code>Event</code> value
+         * @return an <code>Object</code> value or <code>null</code> if the event does not replace other events
+         */
+        private Object getConflationKey(Event inEvent)
+        {
+            if(conflatedContent.isEmpty() || !(inEvent instanceof HasInstrument)) {
+                return null;
+            }
+            Content content;
+            if(inEvent instanceof QuoteEvent) {
+                content = quoteContent;
+            } else if(inEvent instanceof TradeEvent) {
+                content = Content.LATEST_TICK;
+            } else if(inEvent instanceof MarketstatEvent) {
+                content = Content.MARKET_STAT;
+            } else if(inEvent instanceof ImbalanceEvent) {
+                content = Content.IMBALANCE;
+            } else if(inEvent instanceof DividendEvent) {
+                content = Content.DIVIDEND;
+            } else {
+                return null;
+            }
+            if(content == null || !conflatedContent.contains(content)) {
+                return null;
+            }
+            // bids and asks, for example, are distinguished by type
+            return Arrays.asList(((HasInstrument)inEvent).getInstrument(),
+                                 content,
+                                 inEvent.getClass());
         }
         /**
          * Get the updateTimestamp value.
@@ -729,6 +1004,33 @@ public class MarketDataServiceImpl
         {
             return updateTimestamp;
         }
+        /**
+         * Gets the version of the subscription, which increases each time the subscription is updated.
+         *
+         * @return a <code>long</code> value
+         */
+        private long getVersion()
+        {
+            return version.get();
+        }
+        /**
+         * Gets the instruments for which the subscription has received updates.
+         *
+         * @return a <code>Set&lt;Instrument&gt;</code> value
+         */
+        private Set<Instrument> getInstruments()
+        {
+            return instruments;
+        }
+        /**
+         * Get the request value.
+         *
+         * @return a <code>MarketDataRequest</code> value
+         */
+        private MarketDataRequest getRequest()
+        {
+            return request;
+        }
         /**
          * Get the requestId value.
          *
@@ -751,6 +1053,18 @@ public class MarketDataServiceImpl
          * market data request id
          */
         private volatile long requestId;
+        /**
+         * market data request of this subscription
+         */
+        private final MarketDataRequest request;
+        /**
+         * number of updates to the subscription
+         */
+        private final AtomicLong version = new AtomicLong(0);
+        /**
+         * instruments for which the subscription has received updates
+         */
+        private final Set<Instrument> instruments = Collections.newSetFromMap(new ConcurrentHashMap<Instrument,Boolean>());
         /**
          * last time this subscription was harvested
          */
@@ -759,19 +1073,26 @@ public class MarketDataServiceImpl
          * indicates whether the subscriber should store updates or not
          */
         private final boolean storeEvents;
+        /**
+         * subscriber to which updates are passed, may be <code>null</code>
+         */
+        private final ISubscriber delegate;
         /**
          * tracks the time of the most recent update to the subscription
          */
         private volatile long updateTimestamp;
         /**
-         * controls access to critical data
+         * contains events not yet seen for this subscriber, <code>null</code> if events are not stored
+         */
+        private final EventBuffer buffer;
+        /**
+         * content types whose events are conflated
          */
-        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Set<Content> conflatedContent;
         /**
-         * contains events not yet seen for this subscriber
+         * content type of the quotes of this subscription, <code>null</code> if it cannot be determined
          */
-        @GuardedBy("lock")
-        private final Deque<Event> events = Lists.newLinkedList();
+        private final Content quoteContent;
     }
     /**
      * Retires market data subscriptions that have not been checked in a while.
@@ -818,6 +1139,23 @@ public class MarketDataServiceImpl
      * max life of a subscription that has not been harvested
      */
     private long maxSubscriptionInterval = 10000;
+    /**
+     * max number of events held for a subscription until they are retrieved
+     */
+    private volatile int maxBufferedEvents = 10000;
+    /**
+     * content types for which only the latest event per instrument is held
+     */
+    private volatile Set<Content> conflatedContent = Collections.unmodifiableSet(EnumSet.of(Content.TOP_OF_BOOK,
+                                                                                            Content.MARKET_STAT));
+    /**
+     * number of events dropped by canceled subscriptions
+     */
+    private final AtomicLong retiredDroppedEvents = new AtomicLong(0);
+    /**
+     * number of events conflated by canceled subscriptions
+     */
+    private final AtomicLong retiredConflatedEvents = new AtomicLong(0);
     /**
      * executes repear jobs
      */
@@ -21,13 +21,16 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.marketcetera.core.notifications.ServerStatusListener;
+import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.Event;
 import org.marketcetera.event.EventTestBase;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataFeedTestBase;
 import org.marketcetera.marketdata.MarketDataRequestBuilder;
+import org.marketcetera.marketdata.core.manager.SequencedEvent;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.marketdata.core.webservice.impl.MarketDataContextClassProvider;
 import org.marketcetera.options.OptionUtils;
 import org.marketcetera.trade.Currency;
@@ -42,6 +45,7 @@ import org.marketcetera.util.rpc.RpcServer;
 import org.marketcetera.util.ws.stateful.SessionManager;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /* $License$ */
 
@@ -186,6 +190,72 @@ public class MarketDataRpcClientServerTest
         assertEquals(1,
                      serviceAdapter.getCanceledIds().size());
     }
+    /**
+     * Tests {@link MarketDataRpcClient#request(org.marketcetera.marketdata.MarketDataRequest, ISubscriber)}.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testStream()
+            throws Exception
+    {
+        client.setStreamCredit(3);
+        final List<SequencedEvent> receivedEvents = Lists.newCopyOnWriteArrayList();
+        ISubscriber subscriber = new ISubscriber() {
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+            @Override
+            public void publishTo(Object inData)
+            {
+                receivedEvents.add((SequencedEvent)inData);
+            }
+        };
+        long id = client.request(MarketDataRequestBuilder.newRequestFromString("SYMBOLS=METC"),
+                                 subscriber);
+        assertEquals(1,
+                     serviceAdapter.getStreamRequests().size());
+        ISubscriber serverSubscriber = serviceAdapter.getStreamRequests().get(id).getSecondMember();
+        // publish more events than the client has credit for, the rest are pushed as the client returns credit
+        Equity equity = new Equity("METC");
+        final List<Event> sentEvents = Lists.newArrayList();
+        for(int i=1;i<=10;i++) {
+            Event event = EventTestBase.generateTradeEvent(equity);
+            sentEvents.add(event);
+            serverSubscriber.publishTo(new SequencedEvent(i,
+                                                          i == 1,
+                                                          event));
+        }
+        MarketDataFeedTestBase.wait(new Callable<Boolean>() {
+            @Override
+            public Boolean call()
+                    throws Exception
+            {
+                return receivedEvents.size() == sentEvents.size();
+            }
+        });
+        for(int i=0;i<sentEvents.size();i++) {
+            SequencedEvent receivedEvent = receivedEvents.get(i);
+            assertEquals(i+1,
+                         receivedEvent.getSequence());
+            assertEquals(i == 0,
+                         receivedEvent.isSnapshot());
+            assertEquals(sentEvents.get(i).getMessageId(),
+                         receivedEvent.getEvent().getMessageId());
+        }
+        // events published after cancel are not pushed
+        client.cancel(id);
+        assertEquals(Lists.newArrayList(id),
+                     serviceAdapter.getCanceledIds());
+        serverSubscriber.publishTo(new SequencedEvent(11,
+                                                      false,
+                                                      EventTestBase.generateTradeEvent(equity)));
+        Thread.sleep(250);
+        assertEquals(sentEvents.size(),
+                     receivedEvents.size());
+    }
     /**
      * Tests {@link MarketDataRpcClient#getEvents(long)}.
      *
@@ -301,6 +371,62 @@ public class MarketDataRpcClientServerTest
         assertEquals(eventsToReturn.get(id2).size(),
                      events.get(id2).size());
     }
+    /**
+     * Tests {@link MarketDataRpcClient#getSnapshotUpdates(Map)}.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testGetSnapshotUpdates()
+            throws Exception
+    {
+        assertTrue(serviceAdapter.getSnapshotUpdatesRequests().isEmpty());
+        long id1 = System.nanoTime();
+        long id2 = id1 + 1;
+        long id3 = id1 + 2;
+        Map<Long,Long> versions = Maps.newLinkedHashMap();
+        versions.put(id1,
+                     0l);
+        versions.put(id2,
+                     10l);
+        versions.put(id3,
+                     20l);
+        Map<Long,SnapshotUpdate> updates = client.getSnapshotUpdates(versions);
+        assertTrue(updates.isEmpty());
+        assertEquals(1,
+                     serviceAdapter.getSnapshotUpdatesRequests().size());
+        assertEquals(versions,
+                     serviceAdapter.getSnapshotUpdatesRequests().get(0));
+        // the first request changed, the second is unknown, and the third is unchanged and omitted
+        Equity equity = new Equity("AAPL");
+        LinkedList<Event> events = new LinkedList<>();
+        events.add(EventTestBase.generateAskEvent(equity));
+        events.add(EventTestBase.generateBidEvent(equity));
+        events.add(EventTestBase.generateTradeEvent(new Currency("USD/BTC")));
+        serviceAdapter.getSnapshotUpdatesToReturn().put(id1,
+                                                        new SnapshotUpdate(id1,
+                                                                           5,
+                                                                           events));
+        serviceAdapter.getSnapshotUpdatesToReturn().put(id2,
+                                                        SnapshotUpdate.unknownRequest(id2));
+        updates = client.getSnapshotUpdates(versions);
+        assertEquals(2,
+                     updates.size());
+        SnapshotUpdate update = updates.get(id1);
+        assertEquals(id1,
+                     update.getRequestId());
+        assertEquals(5,
+                     update.getVersion());
+        assertFalse(update.isUnknownRequest());
+        assertEquals(events.size(),
+                     update.getEvents().size());
+        assertEquals(events.getFirst().getMessageId(),
+                     update.getEvents().getFirst().getMessageId());
+        assertEquals(events.getLast().getMessageId(),
+                     update.getEvents().getLast().getMessageId());
+        assertTrue(updates.get(id2).isUnknownRequest());
+        assertTrue(updates.get(id2).getEvents().isEmpty());
+    }
     /**
      * Tests {@link MarketDataRpcClient#getSnapshot(Instrument, org.marketcetera.marketdata.Content, String)}.
      *
@@ -8,11 +8,13 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.marketcetera.core.Pair;
+import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.Event;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataRequest;
 import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.trade.Instrument;
 
 import com.google.common.collect.Lists;
@@ -42,6 +44,19 @@ public class MockMarketDataServiceAdapter
                                  inStreamEvents));
         return System.nanoTime();
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#request(org.marketcetera.marketdata.MarketDataRequest, org.marketcetera.core.publisher.ISubscriber)
+     */
+    @Override
+    public long request(MarketDataRequest inRequest,
+                        ISubscriber inSubscriber)
+    {
+        long id = System.nanoTime();
+        streamRequests.put(id,
+                           Pair.create(inRequest,
+                                       inSubscriber));
+        return id;
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#getLastUpdate(long)
      */
@@ -77,6 +92,15 @@ public class MockMarketDataServiceAdapter
         allEventsRequests.add(inRequestIds);
         return allEventsToReturn;
     }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#getSnapshotUpdates(java.util.Map)
+     */
+    @Override
+    public Map<Long,SnapshotUpdate> getSnapshotUpdates(Map<Long,Long> inVersions)
+    {
+        snapshotUpdatesRequests.add(inVersions);
+        return snapshotUpdatesToReturn;
+    }
     /* (non-Javadoc)
      * @see org.marketcetera.marketdata.core.rpc.MarketDataServiceAdapter#getSnapshot(org.marketcetera.trade.Instrument, org.marketcetera.marketdata.Content, java.lang.String)
      */
@@ -123,6 +147,15 @@ public class MockMarketDataServiceAdapter
     {
         return requests;
     }
+    /**
+     * Get the streamRequests value.
+     *
+     * @return a <code>Map&lt;Long,Pair&lt;MarketDataRequest,ISubscriber&gt;&gt;</code> value
+     */
+    public Map<Long,Pair<MarketDataRequest,ISubscriber>> getStreamRequests()
+    {
+        return streamRequests;
+    }
     /**
      * Get the lastUpdateRequests value.
      *
@@ -177,6 +210,24 @@ public class MockMarketDataServiceAdapter
     {
         return allEventsToReturn;
     }
+    /**
+     * Get the snapshotUpdatesRequests value.
+     *
+     * @return a <code>List&lt;Map&lt;Long,Long&gt;&gt;</code> value
+     */
+    public List<Map<Long,Long>> getSnapshotUpdatesRequests()
+    {
+        return snapshotUpdatesRequests;
+    }
+    /**
+     * Get the snapshotUpdatesToReturn value.
+     *
+     * @return a <code>Map&lt;Long,SnapshotUpdate&gt;</code> value
+     */
+    public Map<Long,SnapshotUpdate> getSnapshotUpdatesToReturn()
+    {
+        return snapshotUpdatesToReturn;
+    }
     /**
      * Get the snapshotEventsToReturn value.
      *
@@ -221,12 +272,15 @@ public class MockMarketDataServiceAdapter
     public void reset()
     {
         requests.clear();
+        streamRequests.clear();
         lastUpdateRequests.clear();
         canceledIds.clear();
         eventsRequests.clear();
         eventsToReturn.clear();
         allEventsRequests.clear();
         allEventsToReturn.clear();
+        snapshotUpdatesRequests.clear();
+        snapshotUpdatesToReturn.clear();
         snapshotEventsToReturn.clear();
         snapshotRequests.clear();
         capabilitiesToReturn.clear();
@@ -336,6 +390,14 @@ public class MockMarketDataServiceAdapter
      * value to return from {@link #getAllEvents(List)}.
      */
     private final Map<Long,LinkedList<Event>> allEventsToReturn = Maps.newHashMap();
+    /**
+     * stores calls to {@link #getSnapshotUpdates(Map)}.
+     */
+    private final List<Map<Long,Long>> snapshotUpdatesRequests = Lists.newArrayList();
+    /**
+     * value to return from {@link #getSnapshotUpdates(Map)}.
+     */
+    private final Map<Long,SnapshotUpdate> snapshotUpdatesToReturn = Maps.newHashMap();
     /**
      * events to return from {@link #getEvents(long)}
      */
@@ -348,6 +410,10 @@ public class MockMarketDataServiceAdapter
      * stores calls to {@link #request(MarketDataRequest, boolean)}
      */
     private final List<Pair<MarketDataRequest,Boolean>> requests = Lists.newArrayList();
+    /**
+     * stores calls to {@link #request(MarketDataRequest, ISubscriber)} by the id returned
+     */
+    private final Map<Long,Pair<MarketDataRequest,ISubscriber>> streamRequests = Maps.newConcurrentMap();
     /**
      * stores calls to {@link #getLastUpdate(long)}
      */
@@ -0,0 +1,139 @@
+package org.marketcetera.marketdata.core.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+import org.marketcetera.event.AuctionType;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventTestBase;
+import org.marketcetera.event.EventType;
+import org.marketcetera.event.HasEventType;
+import org.marketcetera.event.ImbalanceType;
+import org.marketcetera.event.InstrumentStatus;
+import org.marketcetera.event.MarketStatus;
+import org.marketcetera.event.impl.DepthOfBookEventBuilder;
+import org.marketcetera.event.impl.ImbalanceEventBuilder;
+import org.marketcetera.event.impl.TopOfBookEventBuilder;
+import org.marketcetera.event.impl.TradeEventBuilder;
+import org.marketcetera.options.OptionUtils;
+import org.marketcetera.trade.Currency;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Future;
+import org.marketcetera.trade.Option;
+
+import com.google.common.collect.Lists;
+
+/* $License$ */
+
+/**
+ * Tests {@link RpcEventConverter}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class RpcEventConverterTest
+{
+    /**
+     * Tests that each supported event type survives conversion to and from its native representation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testRoundTrip()
+            throws Exception
+    {
+        Equity equity = new Equity("AAPL");
+        Option option = OptionUtils.getOsiOptionFromString("MSFT  001022P12345123");
+        Future future = Future.fromString("AAPL-201306");
+        List<Event> events = Lists.newArrayList();
+        events.add(EventTestBase.generateDividendEvent());
+        events.add(EventTestBase.generateAskEvent(equity));
+        events.add(EventTestBase.generateBidEvent(equity));
+        events.add(EventTestBase.generateTradeEvent(equity));
+        events.add(EventTestBase.generateMarketstatEvent(equity));
+        events.add(EventTestBase.generateAskEvent(future));
+        events.add(EventTestBase.generateBidEvent(future));
+        events.add(EventTestBase.generateTradeEvent(future));
+        events.add(EventTestBase.generateMarketstatEvent(future));
+        events.add(EventTestBase.generateOptionAskEvent(option,
+                                                        equity));
+        events.add(EventTestBase.generateOptionBidEvent(option,
+                                                        equity));
+        events.add(EventTestBase.generateOptionTradeEvent(option,
+                                                          equity));
+        events.add(EventTestBase.generateOptionMarketstatEvent(option,
+                                                               equity));
+        events.add(TopOfBookEventBuilder.topOfBookEvent().withInstrument(equity)
+                   .withTimestamp(new Date())
+                   .withBid(EventTestBase.generateEquityBidEvent(equity,
+                                                                 "Q"))
+                   .withAsk(EventTestBase.generateEquityAskEvent(equity,
+                                                                 "Q")).create());
+        events.add(DepthOfBookEventBuilder.depthOfBook().withInstrument(equity)
+                   .withTimestamp(new Date())
+                   .withBids(EventTestBase.generateEquityBidEvents(equity,
+                                                                   "Q",
+                                                                   5))
+                   .withAsks(EventTestBase.generateEquityAskEvents(equity,
+                                                                   "Q",
+                                                                   5)).create());
+        events.add(ImbalanceEventBuilder.Imbalance(equity).withMessageId(System.nanoTime())
+                   .withTimestamp(new Date())
+                   .withAuctionType(AuctionType.OPEN)
+                   .withExchange("Q")
+                   .withFarPrice(new BigDecimal("100.25"))
+                   .withNearPrice(new BigDecimal("100.50"))
+                   .withReferencePrice(new BigDecimal("100.375"))
+                   .withImbalanceVolume(new BigDecimal("1000"))
+                   .withPairedVolume(new BigDecimal("2500"))
+                   .withImbalanceType(ImbalanceType.BUY)
+                   .withInstrumentStatus(InstrumentStatus.OPEN_REGULAR)
+                   .withMarketStatus(MarketStatus.OPEN_REGULAR)
+                   .withShortSaleRestricted(true).create());
+        for(Event event : events) {
+            event.setProvider("test");
+            if(event instanceof HasEventType) {
+                ((HasEventType)event).setEventType(EventType.SNAPSHOT_FINAL);
+            }
+            RpcMarketdata.EventData eventData = RpcEventConverter.toEventData(event);
+            assertNotNull(String.valueOf(event),
+                          eventData);
+            Event convertedEvent = RpcEventConverter.fromEventData(eventData);
+            assertEquals(event.getClass(),
+                         convertedEvent.getClass());
+            assertEquals(event.getMessageId(),
+                         convertedEvent.getMessageId());
+            assertEquals(event.getTimestamp(),
+                         convertedEvent.getTimestamp());
+            assertEquals(event.getProvider(),
+                         convertedEvent.getProvider());
+            assertEquals(eventData,
+                         RpcEventConverter.toEventData(convertedEvent));
+        }
+    }
+    /**
+     * Tests that events without a native representation are not converted.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testUnsupportedEvents()
+            throws Exception
+    {
+        assertNull(RpcEventConverter.toEventData(EventTestBase.generateTradeEvent(new Currency("USD/BTC"))));
+        assertNull(RpcEventConverter.toEventData(TradeEventBuilder.tradeEvent(new Equity("AAPL")).withMessageId(System.nanoTime())
+                                                 .withTimestamp(new Date())
+                                                 .withExchange("Q")
+                                                 .withPrice(new BigDecimal("123456789012345678901234567890.5"))
+                                                 .withSize(BigDecimal.ONE)
+                                                 .withTradeDate(new Date()).create()));
+        assertNull(RpcEventConverter.fromEventData(RpcMarketdata.EventData.newBuilder().setPayload("<xml/>").build()));
+    }
+}
@@ -0,0 +1,152 @@
+package org.marketcetera.marketdata.core.webservice.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventTestBase;
+import org.marketcetera.trade.Equity;
+
+/* $License$ */
+
+/**
+ * Tests {@link EventBuffer}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class EventBufferTest
+{
+    /**
+     * Tests that events are returned newest first and that the oldest events are dropped when the buffer is full.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testCapacity()
+            throws Exception
+    {
+        EventBuffer buffer = new EventBuffer(3);
+        Event[] events = new Event[5];
+        for(int i=0;i<events.length;i++) {
+            events[i] = EventTestBase.generateTradeEvent(equity);
+            buffer.add(events[i],
+                       null);
+        }
+        assertEquals(3,
+                     buffer.size());
+        assertEquals(2,
+                     buffer.getDroppedEvents());
+        LinkedList<Event> drained = buffer.drain();
+        assertEquals(3,
+                     drained.size());
+        assertSame(events[4],
+                   drained.get(0));
+        assertSame(events[3],
+                   drained.get(1));
+        assertSame(events[2],
+                   drained.get(2));
+        assertEquals(0,
+                     buffer.size());
+        assertTrue(buffer.drain().isEmpty());
+    }
+    /**
+     * Tests that an event with a conflation key replaces the pending event with the same key in place.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testConflation()
+            throws Exception
+    {
+        EventBuffer buffer = new EventBuffer(10);
+        Event stat1 = EventTestBase.generateMarketstatEvent(equity);
+        Event trade = EventTestBase.generateTradeEvent(equity);
+        Event stat2 = EventTestBase.generateMarketstatEvent(equity);
+        buffer.add(stat1,
+                   "stat");
+        buffer.add(trade,
+                   null);
+        buffer.add(stat2,
+                   "stat");
+        assertEquals(1,
+                     buffer.getConflatedEvents());
+        LinkedList<Event> drained = buffer.drain();
+        assertEquals(2,
+                     drained.size());
+        assertSame(trade,
+                   drained.get(0));
+        assertSame(stat2,
+                   drained.get(1));
+        // once retrieved, the next event with the same key is held again
+        Event stat3 = EventTestBase.generateMarketstatEvent(equity);
+        buffer.add(stat3,
+                   "stat");
+        drained = buffer.drain();
+        assertEquals(1,
+                     drained.size());
+        assertSame(stat3,
+                   drained.get(0));
+        assertEquals(1,
+                     buffer.getConflatedEvents());
+        assertEquals(0,
+                     buffer.getDroppedEvents());
+    }
+    /**
+     * Tests that events added concurrently with retrieval are each retrieved, dropped, or replaced exactly once.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testConcurrentAccess()
+            throws Exception
+    {
+        final EventBuffer buffer = new EventBuffer(100);
+        final int eventCount = 10000;
+        final Event event = EventTestBase.generateTradeEvent(equity);
+        final CountDownLatch done = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for(int i=0;i<2;i++) {
+                final String key = i == 0 ? null : "key";
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run()
+                    {
+                        for(int j=0;j<eventCount;j++) {
+                            buffer.add(event,
+                                       key);
+                        }
+                        done.countDown();
+                    }
+                });
+            }
+            long retrieved = 0;
+            while(done.getCount() > 0) {
+                retrieved += buffer.drain().size();
+            }
+            assertTrue(done.await(10,
+                                  TimeUnit.SECONDS));
+            retrieved += buffer.drain().size();
+            assertEquals(2 * eventCount,
+                         retrieved + buffer.getDroppedEvents() + buffer.getConflatedEvents());
+            assertEquals(0,
+                         buffer.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    /**
+     * test equity
+     */
+    private final Equity equity = new Equity("METC");
+}
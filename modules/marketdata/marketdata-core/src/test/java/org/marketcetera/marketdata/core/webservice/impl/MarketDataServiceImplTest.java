@@ -1,12 +1,21 @@
 package org.marketcetera.marketdata.core.webservice.impl;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -15,10 +24,12 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.event.AskEvent;
 import org.marketcetera.event.BidEvent;
 import org.marketcetera.event.DividendEvent;
 import org.marketcetera.event.Event;
+import org.marketcetera.event.EventTestBase;
 import org.marketcetera.event.MarketstatEvent;
 import org.marketcetera.event.QuoteEvent;
 import org.marketcetera.event.TradeEvent;
@@ -28,6 +39,8 @@ import org.marketcetera.marketdata.MarketDataFeedTestBase;
 import org.marketcetera.marketdata.MarketDataRequest;
 import org.marketcetera.marketdata.MarketDataRequestBuilder;
 import org.marketcetera.marketdata.bogus.BogusFeedModuleFactory;
+import org.marketcetera.marketdata.core.manager.MarketDataManager;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.marketdata.core.webservice.MarketDataServiceClient;
 import org.marketcetera.marketdata.core.webservice.MarketDataServiceClientFactory;
 import org.marketcetera.module.ModuleManager;
@@ -40,12 +53,16 @@ import org.marketcetera.trade.Instrument;
 import org.marketcetera.trade.Option;
 import org.marketcetera.trade.OptionType;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /* $License$ */
@@ -179,6 +196,96 @@ public class MarketDataServiceImplTest
             });
         }
     }
+    /**
+     * Tests {@link MarketDataServiceImpl#getSnapshotUpdates(Map)}.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testGetSnapshotUpdates()
+            throws Exception
+    {
+        MarketDataManager marketDataManager = mock(MarketDataManager.class);
+        MarketDataServiceImpl service = new MarketDataServiceImpl(null);
+        service.setMarketDataManager(marketDataManager);
+        MarketDataRequest request = MarketDataRequestBuilder.newRequest().withSymbols(equity.getSymbol(),goog.getSymbol())
+                                                            .withContent(Content.LATEST_TICK,Content.MARKET_STAT).create();
+        when(marketDataManager.requestMarketData(eq(request),
+                                                 any(ISubscriber.class))).thenReturn(1L);
+        long requestId = service.request(request,
+                                         false);
+        ArgumentCaptor<ISubscriber> subscriberCaptor = ArgumentCaptor.forClass(ISubscriber.class);
+        verify(marketDataManager).requestMarketData(eq(request),
+                                                    subscriberCaptor.capture());
+        final ISubscriber subscriber = subscriberCaptor.getValue();
+        // nothing has been published yet, the unknown request is reported
+        Map<Long,Long> versions = Maps.newHashMap();
+        versions.put(requestId,
+                     0L);
+        versions.put(requestId + 1,
+                     0L);
+        Map<Long,SnapshotUpdate> updates = service.getSnapshotUpdates(versions);
+        assertEquals(1,
+                     updates.size());
+        assertTrue(updates.get(requestId + 1).isUnknownRequest());
+        // the snapshot is built from the current market data of the instruments published so far
+        TradeEvent equityTrade = EventTestBase.generateEquityTradeEvent(equity);
+        when(marketDataManager.requestMarketDataSnapshot(equity,
+                                                         Content.LATEST_TICK,
+                                                         null)).thenReturn(equityTrade);
+        subscriber.publishTo(EventTestBase.generateEquityTradeEvent(equity));
+        versions.clear();
+        versions.put(requestId,
+                     0L);
+        updates = service.getSnapshotUpdates(versions);
+        SnapshotUpdate update = updates.get(requestId);
+        assertFalse(update.isUnknownRequest());
+        assertEquals(requestId,
+                     update.getRequestId());
+        assertEquals(1,
+                     update.getVersion());
+        assertEquals(1,
+                     update.getEvents().size());
+        assertEquals(equityTrade.getMessageId(),
+                     update.getEvents().getFirst().getMessageId());
+        // unchanged requests are left out
+        versions.put(requestId,
+                     1L);
+        assertTrue(service.getSnapshotUpdates(versions).isEmpty());
+        // an update published while the snapshot is built is reported next time
+        final TradeEvent googTrade = EventTestBase.generateEquityTradeEvent(goog);
+        when(marketDataManager.requestMarketDataSnapshot(goog,
+                                                         Content.LATEST_TICK,
+                                                         null)).thenAnswer(new Answer<Event>() {
+            @Override
+            public Event answer(InvocationOnMock inInvocation)
+                    throws Throwable
+            {
+                subscriber.publishTo(EventTestBase.generateEquityTradeEvent(equity));
+                return googTrade;
+            }
+        });
+        subscriber.publishTo(Arrays.asList(EventTestBase.generateEquityTradeEvent(goog)));
+        update = service.getSnapshotUpdates(versions).get(requestId);
+        assertEquals(2,
+                     update.getVersion());
+        Set<Long> messageIds = new HashSet<Long>();
+        for(Event event : update.getEvents()) {
+            messageIds.add(event.getMessageId());
+        }
+        assertEquals(Sets.newHashSet(equityTrade.getMessageId(),
+                                     googTrade.getMessageId()),
+                     messageIds);
+        versions.put(requestId,
+                     2L);
+        assertEquals(3,
+                     service.getSnapshotUpdates(versions).get(requestId).getVersion());
+        // canceled requests are reported as unknown
+        service.cancel(requestId);
+        versions.put(requestId,
+                     3L);
+        assertTrue(service.getSnapshotUpdates(versions).get(requestId).isUnknownRequest());
+    }
     /**
      * Validates the the given event contains expected, non-null values.
      *
@@ -303,6 +410,10 @@ public class MarketDataServiceImplTest
      * test equity value
      */
     private Equity equity = new Equity("METC");
+    /**
+     * another test equity value
+     */
+    private Equity goog = new Equity("GOOG");
     /**
      * test convertible bond value
      */
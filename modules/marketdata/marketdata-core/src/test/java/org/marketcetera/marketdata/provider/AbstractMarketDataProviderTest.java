@@ -2,16 +2,26 @@ package org.marketcetera.marketdata.provider;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.marketcetera.core.publisher.ISubscriber;
+import org.marketcetera.event.Event;
+import org.marketcetera.event.EventTestBase;
+import org.marketcetera.event.TradeEvent;
 import org.marketcetera.marketdata.Capability;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataRequest;
@@ -23,7 +33,10 @@ import org.marketcetera.marketdata.core.manager.MarketDataRequestFailed;
 import org.marketcetera.marketdata.core.provider.AbstractMarketDataProvider;
 import org.marketcetera.marketdata.core.request.MarketDataRequestAtom;
 import org.marketcetera.marketdata.core.request.MarketDataRequestToken;
+import org.marketcetera.marketdata.core.request.SnapshotSubscriber;
 import org.marketcetera.module.ExpectedFailure;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.Instrument;
 
 /* $License$ */
 
@@ -161,6 +174,430 @@ public class AbstractMarketDataProviderTest
 //        assertSame(provider.getRequestedAtoms().get(0),
 //                   provider.getCanceledAtoms().get(0));
     }
+    /**
+     * Tests publishing events with more than one notifier thread.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testShardedNotifier()
+            throws Exception
+    {
+        provider.stop();
+        new ExpectedFailure<IllegalArgumentException>() {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                provider.setNotifierShards(0);
+            }
+        };
+        assertEquals(1,
+                     provider.getNotifierShards());
+        provider.setNotifierShards(4);
+        provider.start();
+        assertEquals(4,
+                     provider.getNotifierShards());
+        String[] symbols = new String[] { "AAPL","GOOG","METC","MSFT","IBM","ORCL","YHOO","INTC" };
+        final Map<Instrument,List<Object>> receivedEvents = new HashMap<Instrument,List<Object>>();
+        Map<Instrument,List<Object>> sentEvents = new HashMap<Instrument,List<Object>>();
+        for(String symbol : symbols) {
+            Equity equity = new Equity(symbol);
+            receivedEvents.put(equity,
+                               new ArrayList<Object>());
+            sentEvents.put(equity,
+                           new ArrayList<Object>());
+        }
+        provider.requestMarketData(generateRequestToken(generateRequest(symbols,
+                                                                        EnumSet.of(Content.LATEST_TICK)),
+                                                        new ISubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                synchronized(receivedEvents) {
+                    receivedEvents.get(((TradeEvent)inData).getInstrument()).add(inData);
+                    receivedEvents.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+        }));
+        for(Instrument instrument : sentEvents.keySet()) {
+            provider.mapSymbol(instrument.getSymbol(),
+                               instrument);
+        }
+        int count = 0;
+        for(int i=0;i<100;i++) {
+            for(Map.Entry<Instrument,List<Object>> entry : sentEvents.entrySet()) {
+                TradeEvent trade = EventTestBase.generateEquityTradeEvent((Equity)entry.getKey());
+                entry.getValue().add(trade);
+                provider.publish(Content.LATEST_TICK,
+                                 entry.getKey(),
+                                 trade);
+                count += 1;
+            }
+        }
+        long timeout = System.currentTimeMillis() + 10000;
+        synchronized(receivedEvents) {
+            while(countEvents(receivedEvents) < count && System.currentTimeMillis() < timeout) {
+                receivedEvents.wait(100);
+            }
+        }
+        // each instrument sees its events in the order they were published
+        for(Map.Entry<Instrument,List<Object>> entry : sentEvents.entrySet()) {
+            assertEquals(entry.getValue(),
+                         receivedEvents.get(entry.getKey()));
+            List<Object> events = entry.getValue();
+            assertSame(events.get(events.size()-1),
+                       provider.getSnapshot(entry.getKey(),
+                                            Content.LATEST_TICK));
+        }
+        provider.stop();
+        for(Instrument instrument : sentEvents.keySet()) {
+            assertNull(provider.getSnapshot(instrument,
+                                            Content.LATEST_TICK));
+        }
+    }
+    /**
+     * Tests conflated delivery to a slow subscriber.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testConflation()
+            throws Exception
+    {
+        final MarketDataRequest badRequest = MarketDataRequestBuilder.newRequest().withSymbols("METC")
+                                                                     .withContent(Content.LATEST_TICK)
+                                                                     .withParameter(AbstractMarketDataProvider.CONFLATE_PARAMETER,"true")
+                                                                     .withParameter(AbstractMarketDataProvider.CONFLATION_INTERVAL_PARAMETER,"-1").create();
+        new ExpectedFailure<MarketDataRequestFailed>() {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                provider.requestMarketData(generateRequestToken(badRequest));
+            }
+        };
+        assertEquals(0,
+                     provider.getConflatingRequests());
+        Equity metc = new Equity("METC");
+        provider.mapSymbol(metc.getSymbol(),
+                           metc);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Object> slowEvents = new ArrayList<Object>();
+        final List<Object> fastEvents = new ArrayList<Object>();
+        MarketDataRequest request = MarketDataRequestBuilder.newRequest().withSymbols(metc.getSymbol())
+                                                            .withContent(Content.LATEST_TICK)
+                                                            .withParameter(AbstractMarketDataProvider.CONFLATE_PARAMETER,"true").create();
+        MarketDataRequestToken slowToken = generateRequestToken(request,
+                                                                new ISubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                synchronized(slowEvents) {
+                    slowEvents.add(inData);
+                    slowEvents.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+        });
+        provider.requestMarketData(slowToken);
+        provider.requestMarketData(generateRequestToken(generateRequest(new String[] { metc.getSymbol() },
+                                                                        EnumSet.of(Content.LATEST_TICK)),
+                                                        new ISubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                synchronized(fastEvents) {
+                    fastEvents.add(inData);
+                    fastEvents.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+        }));
+        assertEquals(1,
+                     provider.getConflatingRequests());
+        TradeEvent first = EventTestBase.generateEquityTradeEvent(metc);
+        provider.publish(Content.LATEST_TICK,
+                         metc,
+                         first);
+        blocked.await();
+        // the slow subscriber is busy with the first trade, the others are conflated
+        List<TradeEvent> sent = new ArrayList<TradeEvent>();
+        sent.add(first);
+        for(int i=0;i<100;i++) {
+            TradeEvent trade = EventTestBase.generateEquityTradeEvent(metc);
+            sent.add(trade);
+            provider.publish(Content.LATEST_TICK,
+                             metc,
+                             trade);
+        }
+        // the notifier is not held up by the slow subscriber
+        long timeout = System.currentTimeMillis() + 10000;
+        synchronized(fastEvents) {
+            while(fastEvents.size() < sent.size() && System.currentTimeMillis() < timeout) {
+                fastEvents.wait(100);
+            }
+        }
+        assertEquals(sent,
+                     fastEvents);
+        assertEquals(1,
+                     provider.getPendingConflatedEvents());
+        assertEquals(99,
+                     provider.getConflatedEvents());
+        release.countDown();
+        synchronized(slowEvents) {
+            while(slowEvents.size() < 2 && System.currentTimeMillis() < timeout) {
+                slowEvents.wait(100);
+            }
+        }
+        assertEquals(2,
+                     slowEvents.size());
+        assertEquals(first.getMessageId(),
+                     ((Event)slowEvents.get(0)).getMessageId());
+        assertEquals(sent.get(sent.size()-1).getMessageId(),
+                     ((Event)slowEvents.get(1)).getMessageId());
+        // the slow subscriber receives its own copies, stamped for its request
+        for(Object event : slowEvents) {
+            assertEquals(slowToken.getId(),
+                         ((Event)event).getSource());
+        }
+        assertEquals(0,
+                     provider.getPendingConflatedEvents());
+        provider.cancelMarketDataRequest(slowToken);
+        assertEquals(0,
+                     provider.getConflatingRequests());
+    }
+    /**
+     * Tests that the events waiting to be delivered to a slow conflating subscriber are bounded.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testConflationCapacity()
+            throws Exception
+    {
+        new ExpectedFailure<IllegalArgumentException>() {
+            @Override
+            protected void run()
+                    throws Exception
+            {
+                provider.setMaxPendingConflatedEvents(0);
+            }
+        };
+        provider.setMaxPendingConflatedEvents(10);
+        Equity metc = new Equity("METC");
+        provider.mapSymbol(metc.getSymbol(),
+                           metc);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Object> received = new ArrayList<Object>();
+        // dividends cannot be conflated
+        MarketDataRequest request = MarketDataRequestBuilder.newRequest().withSymbols(metc.getSymbol())
+                                                            .withContent(Content.DIVIDEND)
+                                                            .withParameter(AbstractMarketDataProvider.CONFLATE_PARAMETER,"true").create();
+        provider.requestMarketData(generateRequestToken(request,
+                                                        new ISubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                synchronized(received) {
+                    received.add(inData);
+                    received.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+        }));
+        List<Event> sent = new ArrayList<Event>();
+        for(int i=0;i<31;i++) {
+            Event dividend = EventTestBase.generateDividendEvent(metc);
+            sent.add(dividend);
+            provider.publish(Content.DIVIDEND,
+                             metc,
+                             dividend);
+            if(i == 0) {
+                blocked.await();
+            }
+        }
+        // the subscriber is busy with the first dividend, the oldest of the others are dropped
+        long timeout = System.currentTimeMillis() + 10000;
+        while(provider.getDroppedConflatedEvents() < 20 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(20,
+                     provider.getDroppedConflatedEvents());
+        assertEquals(10,
+                     provider.getPendingConflatedEvents());
+        assertEquals(0,
+                     provider.getConflatedEvents());
+        release.countDown();
+        synchronized(received) {
+            while(received.size() < 11 && System.currentTimeMillis() < timeout) {
+                received.wait(100);
+            }
+        }
+        assertEquals(11,
+                     received.size());
+        List<Event> expected = new ArrayList<Event>();
+        expected.add(sent.get(0));
+        expected.addAll(sent.subList(21,
+                                     31));
+        for(int i=0;i<expected.size();i++) {
+            assertEquals(expected.get(i).getMessageId(),
+                         ((Event)received.get(i)).getMessageId());
+        }
+    }
+    /**
+     * Tests that a {@link SnapshotSubscriber} receives each update either in its snapshot or as an update.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testSnapshotSubscriber()
+            throws Exception
+    {
+        Equity metc = new Equity("METC");
+        provider.mapSymbol(metc.getSymbol(),
+                           metc);
+        MarketDataRequest request = generateRequest(new String[] { metc.getSymbol() },
+                                                    EnumSet.of(Content.LATEST_TICK));
+        final List<Object> events = new ArrayList<Object>();
+        provider.requestMarketData(generateRequestToken(request,
+                                                        new ISubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                synchronized(events) {
+                    events.add(inData);
+                    events.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+        }));
+        List<TradeEvent> sent = new ArrayList<TradeEvent>();
+        sent.add(EventTestBase.generateEquityTradeEvent(metc));
+        provider.publish(Content.LATEST_TICK,
+                         metc,
+                         sent.get(0));
+        long timeout = System.currentTimeMillis() + 10000;
+        synchronized(events) {
+            while(events.isEmpty() && System.currentTimeMillis() < timeout) {
+                events.wait(100);
+            }
+        }
+        for(int i=0;i<250;i++) {
+            TradeEvent trade = EventTestBase.generateEquityTradeEvent(metc);
+            sent.add(trade);
+            provider.publish(Content.LATEST_TICK,
+                             metc,
+                             trade);
+        }
+        // subscribe while the updates are being processed
+        final List<Event> snapshots = new ArrayList<Event>();
+        final List<Object> updates = new ArrayList<Object>();
+        provider.requestMarketData(generateRequestToken(request,
+                                                        new SnapshotSubscriber() {
+            @Override
+            public void publishTo(Object inData)
+            {
+                synchronized(updates) {
+                    updates.add(inData);
+                    updates.notifyAll();
+                }
+            }
+            @Override
+            public boolean isInteresting(Object inData)
+            {
+                return true;
+            }
+            @Override
+            public void publishSnapshot(Event inSnapshot)
+            {
+                synchronized(updates) {
+                    assertTrue(updates.isEmpty());
+                    snapshots.add(inSnapshot);
+                }
+            }
+        }));
+        for(int i=0;i<250;i++) {
+            TradeEvent trade = EventTestBase.generateEquityTradeEvent(metc);
+            sent.add(trade);
+            provider.publish(Content.LATEST_TICK,
+                             metc,
+                             trade);
+        }
+        synchronized(events) {
+            while(events.size() < sent.size() && System.currentTimeMillis() < timeout) {
+                events.wait(100);
+            }
+        }
+        assertEquals(sent,
+                     events);
+        assertEquals(1,
+                     snapshots.size());
+        int snapshotIndex = -1;
+        for(int i=0;i<sent.size();i++) {
+            if(sent.get(i) == snapshots.get(0)) {
+                snapshotIndex = i;
+            }
+        }
+        assertTrue(snapshotIndex >= 0);
+        synchronized(updates) {
+            while(updates.size() < sent.size()-snapshotIndex-1 && System.currentTimeMillis() < timeout) {
+                updates.wait(100);
+            }
+            assertEquals(sent.subList(snapshotIndex+1,
+                                      sent.size()),
+                         updates);
+        }
+    }
+    /**
+     * Counts the events in the given collection.
+     *
+     * @param inEvents a <code>Map&lt;Instrument,List&lt;Object&gt;&gt;</code> value
+     * @return an <code>int</code> value
+     */
+    private static int countEvents(Map<Instrument,List<Object>> inEvents)
+    {
+        int count = 0;
+        for(List<Object> events : inEvents.values()) {
+            count += events.size();
+        }
+        return count;
+    }
     private MarketDataRequest generateRequest(String[] inSymbols,
                                               Set<Content> inContent)
     {
@@ -5,11 +5,14 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
+import org.marketcetera.event.Event;
 import org.marketcetera.marketdata.Capability;
+import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.IFeedComponent.FeedType;
 import org.marketcetera.marketdata.MarketDataRequest;
 import org.marketcetera.marketdata.core.provider.AbstractMarketDataProvider;
 import org.marketcetera.marketdata.core.request.MarketDataRequestAtom;
+import org.marketcetera.trade.Instrument;
 
 /* $License$ */
 
@@ -173,6 +176,33 @@ public class MockMarketDataProvider
     {
         return feedType;
     }
+    /**
+     * Publishes the given events as if they had been received by the provider.
+     *
+     * @param inContent a <code>Content</code> value
+     * @param inInstrument an <code>Instrument</code> value
+     * @param inEvents an <code>Event[]</code> value
+     */
+    public void publish(Content inContent,
+                        Instrument inInstrument,
+                        Event...inEvents)
+    {
+        publishEvents(inContent,
+                      inInstrument,
+                      inEvents);
+    }
+    /**
+     * Maps the given symbol to the given instrument.
+     *
+     * @param inSymbol a <code>String</code> value
+     * @param inInstrument an <code>Instrument</code> value
+     */
+    public void mapSymbol(String inSymbol,
+                          Instrument inInstrument)
+    {
+        addSymbolMapping(inSymbol,
+                         inInstrument);
+    }
     /**
      * Resets the test-related mutable state.
      */
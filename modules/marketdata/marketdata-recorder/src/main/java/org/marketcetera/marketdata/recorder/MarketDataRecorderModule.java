@@ -14,11 +14,17 @@ import static org.marketcetera.core.time.TimeFactoryImpl.YEAR;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
@@ -33,6 +39,7 @@ import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormatter;
 import org.joda.time.format.DateTimeFormatterBuilder;
 import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.marketdata.tick.TickFileFormat;
 import org.marketcetera.metrics.MetricService;
 import org.marketcetera.module.AbstractDataReemitterModule;
 import org.marketcetera.module.AutowiredModule;
@@ -53,12 +60,18 @@ import com.codahale.metrics.MetricRegistry;
 /**
  * Provides an implementation that writes market data to files in a given directory.
  * <p>
+ * By default, each event is appended to its file as soon as it is received. If the module is
+ * {@link MarketDataRecorderModuleConfiguration#isBuffered() configured} to buffer events, a file is
+ * kept open for each symbol, events are written to the file in batches, and recordings move on to
+ * a new file when they reach a configured size or age. If the module is configured to record in the
+ * {@link MarketDataRecorderModuleConfiguration#isBinary() binary} tick format, events are always buffered.
+ * <p>
  * Module Features
  * <table>
  * <tr><th>Capabilities</th><td>Data Receiver,Data Emitter</td></tr>
  * <tr><th>Stops data flows</th><td>No</td></tr>
  * <tr><th>Start Operation</th><td>Checks that the directory exists and is writable</td></tr>
- * <tr><th>Stop Operation</th><td>None</td></tr>
+ * <tr><th>Stop Operation</th><td>Writes buffered events and closes open files</td></tr>
  * <tr><th>Management Interface</th><td>None</td></tr>
  * <tr><th>MX Notification</th><td>None</td></tr>
  * <tr><th>Factory</th><td>{@link MarketDataRecorderModule}</td></tr>
@@ -147,6 +160,23 @@ public class MarketDataRecorderModule
                                       "recordedEvents", //$NON-NLS-1$
                                       "count"); //$NON-NLS-1$
         eventCounterMetric = metrics.histogram(eventCounterMetricName);
+        binary = config.isBinary();
+        suffix = binary ? TickFileFormat.SUFFIX : csvSuffix;
+        buffered = config.isBuffered() || binary;
+        if(buffered) {
+            indexOrdinals();
+            flushService = Executors.newSingleThreadScheduledExecutor();
+            flushService.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run()
+                {
+                    flushFiles();
+                }
+            },
+                                                config.getFlushInterval(),
+                                                config.getFlushInterval(),
+                                                TimeUnit.MILLISECONDS);
+        }
     }
     /* (non-Javadoc)
      * @see org.marketcetera.module.Module#preStop()
@@ -155,6 +185,22 @@ public class MarketDataRecorderModule
     protected void preStop()
             throws ModuleException
     {
+        if(flushService != null) {
+            flushService.shutdown();
+            try {
+                flushService.awaitTermination(config.getFlushInterval(),
+                                              TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushService = null;
+        }
+        synchronized(openFiles) {
+            for(RecordingFile recordingFile : openFiles.values()) {
+                closeFile(recordingFile);
+            }
+            openFiles.clear();
+        }
         snapshotsInProgress.clear();
         currentOrdinal.clear();
         MetricRegistry metrics = MetricService.getInstance().getMetrics();
@@ -182,24 +228,135 @@ public class MarketDataRecorderModule
     private void processQuoteEvent(QuoteEvent inQuote)
             throws IOException
     {
-        StringBuilder builder = new StringBuilder();
         File outputFile = getOutputFile(inQuote);
-        writeQuoteEvent(inQuote,
-                        builder);
-        FileUtils.write(outputFile,
-                        builder.toString(),
-                        true);
-        builder.setLength(0);
+        if(buffered) {
+            getRecordingFile(getSymbolKey(inQuote),
+                             outputFile).write(inQuote);
+        } else {
+            StringBuilder builder = new StringBuilder();
+            writeQuoteEvent(inQuote,
+                            builder);
+            FileUtils.write(outputFile,
+                            builder.toString(),
+                            true);
+        }
         eventCounterMetric.update(1);
     }
+    /**
+     * Gets the open file to use to record to the given file for the given symbol key.
+     * 
+     * <p>If a different file is open for the symbol key, that file is closed first.
+     *
+     * @param inSymbolKey a <code>String</code> value
+     * @param inFile a <code>File</code> value
+     * @return a <code>RecordingFile</code> value
+     * @throws IOException if the file cannot be opened
+     */
+    private RecordingFile getRecordingFile(String inSymbolKey,
+                                           File inFile)
+            throws IOException
+    {
+        synchronized(openFiles) {
+            RecordingFile recordingFile = openFiles.get(inSymbolKey);
+            if(recordingFile != null && !recordingFile.getFile().equals(inFile)) {
+                openFiles.remove(inSymbolKey);
+                recordingFile.close();
+                recordingFile = null;
+            }
+            if(recordingFile == null) {
+                SLF4JLoggerProxy.debug(this,
+                                       "Opening {}", //$NON-NLS-1$
+                                       inFile);
+                if(binary) {
+                    recordingFile = new TickRecordingFile(inFile,
+                                                          config.getBufferSize());
+                } else {
+                    recordingFile = new TextRecordingFile(inFile,
+                                                          config.getBufferSize());
+                }
+                openFiles.put(inSymbolKey,
+                              recordingFile);
+            }
+            return recordingFile;
+        }
+    }
+    /**
+     * Writes buffered events of all open files to their files.
+     */
+    private void flushFiles()
+    {
+        List<RecordingFile> filesToFlush;
+        synchronized(openFiles) {
+            filesToFlush = new ArrayList<>(openFiles.values());
+        }
+        for(RecordingFile recordingFile : filesToFlush) {
+            try {
+                recordingFile.flush();
+            } catch (IOException e) {
+                Messages.CANNOT_FLUSH_FILE.warn(this,
+                                                e,
+                                                recordingFile);
+            }
+        }
+    }
+    /**
+     * Closes the given file, logging any error.
+     *
+     * @param inRecordingFile a <code>RecordingFile</code> value
+     */
+    private void closeFile(RecordingFile inRecordingFile)
+    {
+        try {
+            inRecordingFile.close();
+        } catch (IOException e) {
+            Messages.CANNOT_FLUSH_FILE.warn(this,
+                                            e,
+                                            inRecordingFile);
+        }
+    }
+    /**
+     * Indicates if the recording to the given file for the given symbol key should move on to a new file.
+     *
+     * @param inSymbolKey a <code>String</code> value
+     * @param inCurrentFile a <code>File</code> value
+     * @return a <code>boolean</code> value
+     */
+    private boolean isRollDue(String inSymbolKey,
+                              File inCurrentFile)
+    {
+        long maxFileSize = config.getMaxFileSize();
+        if(maxFileSize > 0) {
+            RecordingFile recordingFile;
+            synchronized(openFiles) {
+                recordingFile = openFiles.get(inSymbolKey);
+            }
+            long size;
+            if(recordingFile != null && recordingFile.getFile().equals(inCurrentFile)) {
+                size = recordingFile.getSize();
+            } else {
+                size = inCurrentFile.length();
+            }
+            if(size >= maxFileSize) {
+                return true;
+            }
+        }
+        long rollInterval = config.getRollInterval();
+        if(rollInterval > 0) {
+            Long started = recordingStarted.get(inSymbolKey);
+            if(started != null && System.currentTimeMillis() - started >= rollInterval) {
+                return true;
+            }
+        }
+        return false;
+    }
     /**
      * Writes the given quote event to the given buffer.
      *
      * @param inQuote a <code>QuoteEvent</code> value
      * @param inBuffer a <code>StringBuilder</code> value
      */
-    private void writeQuoteEvent(QuoteEvent inQuote,
-                                 StringBuilder inBuffer)
+    static void writeQuoteEvent(QuoteEvent inQuote,
+                                StringBuilder inBuffer)
     {
         inBuffer.append(inQuote.getAction()).append(',');
         inBuffer.append(inQuote.getInstrument().getFullSymbol()).append(',');
@@ -228,6 +385,7 @@ public class MarketDataRecorderModule
         String timestampValue = timestampFormatter.print(getFileTimestamp());
         filename.append(symbolKey).append('-').append(timestampValue).append('-');
         File currentFile = currentFiles.get(symbolKey);
+        File previousFile = currentFile;
         if(currentFile != null) {
             if(currentFile.getName().contains(timestampValue)) {
                 // still in same session
@@ -279,6 +437,26 @@ public class MarketDataRecorderModule
                 }
             }
         }
+        if(buffered) {
+            if(currentFile.equals(previousFile)) {
+                // keep snapshots together in one file
+                if(!snapshotsInProgress.contains(symbolKey) && isRollDue(symbolKey,
+                                                                         currentFile)) {
+                    SLF4JLoggerProxy.debug(this,
+                                           "Rolling over {}", //$NON-NLS-1$
+                                           currentFile);
+                    int ordinal = getNextOrdinal(filename.toString());
+                    filename.append(ordinal).append(suffix);
+                    currentFile = new File(outputDirectoryFile,
+                                           filename.toString());
+                    recordingStarted.put(symbolKey,
+                                         System.currentTimeMillis());
+                }
+            } else {
+                recordingStarted.put(symbolKey,
+                                     System.currentTimeMillis());
+            }
+        }
         SLF4JLoggerProxy.debug(this,
                                "Current file is {}", //$NON-NLS-1$
                                currentFile);
@@ -294,6 +472,14 @@ public class MarketDataRecorderModule
      */
     private int getNextOrdinal(String inPattern)
     {
+        if(buffered) {
+            // ordinals were indexed when the module started, no need to look at the directory again
+            Integer lastOrdinal = currentOrdinal.get(inPattern);
+            int ordinal = lastOrdinal == null ? 1 : lastOrdinal + 1;
+            currentOrdinal.put(inPattern,
+                               ordinal);
+            return ordinal;
+        }
         Pattern fileNamePattern = Pattern.compile(inPattern+"[0-9]{1,}\\"+suffix); //$NON-NLS-1$
         SLF4JLoggerProxy.debug(this,
                                "Using filename pattern: {}", //$NON-NLS-1$
@@ -317,6 +503,40 @@ public class MarketDataRecorderModule
         }
         return ordinal;
     }
+    /**
+     * Records the highest ordinal in use for each filename pattern in the output directory.
+     */
+    private void indexOrdinals()
+    {
+        File[] existingFiles = outputDirectoryFile.listFiles();
+        if(existingFiles == null) {
+            return;
+        }
+        for(File existingFile : existingFiles) {
+            String thisFilename = existingFile.getName();
+            int finalDashPos = thisFilename.lastIndexOf('-');
+            if(finalDashPos == -1 || !thisFilename.endsWith(suffix)) {
+                continue;
+            }
+            int thisOrdinal;
+            try {
+                thisOrdinal = Integer.parseInt(thisFilename.substring(finalDashPos+1,
+                                                                      thisFilename.length()-suffix.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            String pattern = thisFilename.substring(0,
+                                                    finalDashPos+1);
+            Integer lastOrdinal = currentOrdinal.get(pattern);
+            if(lastOrdinal == null || lastOrdinal < thisOrdinal) {
+                currentOrdinal.put(pattern,
+                                   thisOrdinal);
+            }
+        }
+        SLF4JLoggerProxy.debug(this,
+                               "Indexed ordinals: {}", //$NON-NLS-1$
+                               currentOrdinal);
+    }
     /**
      * Determine the timestamp to use as part of the current session.
      *
@@ -366,6 +586,41 @@ public class MarketDataRecorderModule
      * indicates the current ordinal in use to identify output files
      */
     private final Map<String,Integer> currentOrdinal = new HashMap<>();
+    /**
+     * indicates when the current file of each symbol key was started, used when buffering
+     */
+    private final Map<String,Long> recordingStarted = new HashMap<>();
+    /**
+     * files open for each symbol key, least recently used first, used when buffering
+     */
+    private final Map<String,RecordingFile> openFiles = new LinkedHashMap<String,RecordingFile>(16,0.75f,true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String,RecordingFile> inEldest)
+        {
+            if(size() > config.getMaxOpenFiles()) {
+                closeFile(inEldest.getValue());
+                return true;
+            }
+            return false;
+        }
+        private static final long serialVersionUID = 1L;
+    };
+    /**
+     * writes buffered events periodically, used when buffering
+     */
+    private ScheduledExecutorService flushService;
+    /**
+     * indicates if events are buffered
+     */
+    private boolean buffered;
+    /**
+     * indicates if events are recorded in the binary tick format
+     */
+    private boolean binary;
+    /**
+     * suffix to use for output files
+     */
+    private String suffix = csvSuffix;
     /**
      * directory to which to write event files to
      */
@@ -400,9 +655,9 @@ public class MarketDataRecorderModule
     private static final DateTimeFormatter marketDataTimestampFormatter = new DateTimeFormatterBuilder().append(YEAR).append(MONTH).append(DAY).append(DASH)
             .append(HOUR).append(COLON).append(MINUTE).append(COLON).append(SECOND).append(PERIOD).append(MILLISECOND).toFormatter();
     /**
-     * suffix to use for output files
+     * suffix to use for text output files
      */
-    private static final String suffix = ".csv"; //$NON-NLS-1$
+    private static final String csvSuffix = ".csv"; //$NON-NLS-1$
     /**
      * identifier to use for URNs
      */
@@ -38,6 +38,14 @@ public class MarketDataRecorderModuleConfiguration
             throw new IllegalArgumentException(Messages.SESSION_RESET_REQUIRED.getText(),
                                                e);
         }
+        if(buffered || binary) {
+            Validate.isTrue(bufferSize > 0,
+                            Messages.BUFFER_SIZE_REQUIRED.getText());
+            Validate.isTrue(flushInterval > 0,
+                            Messages.FLUSH_INTERVAL_REQUIRED.getText());
+            Validate.isTrue(maxOpenFiles > 0,
+                            Messages.MAX_OPEN_FILES_REQUIRED.getText());
+        }
     }
     /**
      * Get the timestampGenerator value.
@@ -89,6 +97,144 @@ public class MarketDataRecorderModuleConfiguration
     {
         sessionReset = inSessionReset;
     }
+    /**
+     * Indicates if recorded events are buffered.
+     * 
+     * <p>If <code>false</code>, the default, each event is appended to its file as soon as
+     * it is received. If <code>true</code>, a file is kept open for each symbol and events are
+     * written to the file when its buffer fills, every {@link #getFlushInterval() flush interval},
+     * and when the recorder stops.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isBuffered()
+    {
+        return buffered;
+    }
+    /**
+     * Sets the buffered value.
+     *
+     * @param a <code>boolean</code> value
+     */
+    public void setBuffered(boolean inBuffered)
+    {
+        buffered = inBuffered;
+    }
+    /**
+     * Indicates if events are recorded in the binary tick format rather than as text.
+     * 
+     * <p>Binary recordings are always buffered and are written to files with the
+     * {@link org.marketcetera.marketdata.tick.TickFileFormat#SUFFIX tick suffix}. They can be
+     * replayed with {@link MarketDataReplayModule}.
+     *
+     * @return a <code>boolean</code> value
+     */
+    public boolean isBinary()
+    {
+        return binary;
+    }
+    /**
+     * Sets the binary value.
+     *
+     * @param a <code>boolean</code> value
+     */
+    public void setBinary(boolean inBinary)
+    {
+        binary = inBinary;
+    }
+    /**
+     * Get the size in bytes of the buffer of each open file.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+    /**
+     * Sets the bufferSize value.
+     *
+     * @param an <code>int</code> value
+     */
+    public void setBufferSize(int inBufferSize)
+    {
+        bufferSize = inBufferSize;
+    }
+    /**
+     * Get the interval in milliseconds at which buffered events are written to their files.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getFlushInterval()
+    {
+        return flushInterval;
+    }
+    /**
+     * Sets the flushInterval value.
+     *
+     * @param a <code>long</code> value
+     */
+    public void setFlushInterval(long inFlushInterval)
+    {
+        flushInterval = inFlushInterval;
+    }
+    /**
+     * Get the size in bytes at which a buffered recording moves on to a new file, zero for no limit.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getMaxFileSize()
+    {
+        return maxFileSize;
+    }
+    /**
+     * Sets the maxFileSize value.
+     *
+     * @param a <code>long</code> value
+     */
+    public void setMaxFileSize(long inMaxFileSize)
+    {
+        maxFileSize = inMaxFileSize;
+    }
+    /**
+     * Get the age in milliseconds at which a buffered recording moves on to a new file, zero for no limit.
+     *
+     * @return a <code>long</code> value
+     */
+    public long getRollInterval()
+    {
+        return rollInterval;
+    }
+    /**
+     * Sets the rollInterval value.
+     *
+     * @param a <code>long</code> value
+     */
+    public void setRollInterval(long inRollInterval)
+    {
+        rollInterval = inRollInterval;
+    }
+    /**
+     * Get the maximum number of files a buffered recorder keeps open at once.
+     * 
+     * <p>When the limit is reached, the least recently written file is closed. The file is
+     * reopened for appending if more events arrive for it.
+     *
+     * @return an <code>int</code> value
+     */
+    public int getMaxOpenFiles()
+    {
+        return maxOpenFiles;
+    }
+    /**
+     * Sets the maxOpenFiles value.
+     *
+     * @param an <code>int</code> value
+     */
+    public void setMaxOpenFiles(int inMaxOpenFiles)
+    {
+        maxOpenFiles = inMaxOpenFiles;
+    }
     /**
      * generates timestamps
      */
@@ -97,6 +243,34 @@ public class MarketDataRecorderModuleConfiguration
      * indicates the time time the session should reset
      */
     private String sessionReset;
+    /**
+     * indicates if recorded events are buffered
+     */
+    private boolean buffered = false;
+    /**
+     * indicates if events are recorded in the binary tick format
+     */
+    private boolean binary = false;
+    /**
+     * size in bytes of the buffer of each open file
+     */
+    private int bufferSize = 16384;
+    /**
+     * interval in milliseconds at which buffered events are written
+     */
+    private long flushInterval = 1000;
+    /**
+     * size in bytes at which a buffered recording moves on to a new file, zero for no limit
+     */
+    private long maxFileSize = 0;
+    /**
+     * age in milliseconds at which a buffered recording moves on to a new file, zero for no limit
+     */
+    private long rollInterval = 0;
+    /**
+     * maximum number of files a buffered recorder keeps open at once
+     */
+    private int maxOpenFiles = 1024;
     /**
      * used to parse the {@link #sessionReset} value
      */
@@ -0,0 +1,197 @@
+package org.marketcetera.marketdata.recorder;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.marketcetera.event.Event;
+import org.marketcetera.marketdata.tick.TickFileReader;
+import org.marketcetera.module.DataEmitter;
+import org.marketcetera.module.DataEmitterSupport;
+import org.marketcetera.module.DataFlowID;
+import org.marketcetera.module.DataRequest;
+import org.marketcetera.module.IllegalRequestParameterValue;
+import org.marketcetera.module.Module;
+import org.marketcetera.module.ModuleException;
+import org.marketcetera.module.RequestDataException;
+import org.marketcetera.module.RequestID;
+import org.marketcetera.module.UnsupportedRequestParameterType;
+import org.marketcetera.util.log.I18NBoundMessage1P;
+import org.marketcetera.util.log.I18NBoundMessage2P;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+import org.marketcetera.util.misc.NamedThreadFactory;
+
+/* $License$ */
+
+/**
+ * Replays market data recorded in the binary tick format.
+ * <p>
+ * Each data flow replays one file from start to finish as fast as the data flow accepts the events,
+ * then stops. The file is read through a memory mapping, so replay does not parse text or copy the
+ * file through the heap.
+ * <p>
+ * Module Features
+ * <table>
+ * <tr><th>Capabilities</th><td>Data Emitter</td></tr>
+ * <tr><th>DataFlow Request Parameters</th><td><code>String</code> or <code>File</code>: the tick file to replay</td></tr>
+ * <tr><th>Stops data flows</th><td>Yes, when the end of the file is reached or the file cannot be read</td></tr>
+ * <tr><th>Start Operation</th><td>Starts the replay threads</td></tr>
+ * <tr><th>Stop Operation</th><td>Stops the replay threads</td></tr>
+ * <tr><th>Management Interface</th><td>None</td></tr>
+ * <tr><th>MX Notification</th><td>None</td></tr>
+ * <tr><th>Factory</th><td>{@link MarketDataReplayModuleFactory}</td></tr>
+ * </table>
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ * @see org.marketcetera.marketdata.tick.TickFileFormat
+ */
+public class MarketDataReplayModule
+        extends Module
+        implements DataEmitter
+{
+    /* (non-Javadoc)
+     * @see org.marketcetera.module.DataEmitter#requestData(org.marketcetera.module.DataRequest, org.marketcetera.module.DataEmitterSupport)
+     */
+    @Override
+    public void requestData(DataRequest inRequest,
+                            DataEmitterSupport inSupport)
+            throws RequestDataException
+    {
+        Object requestPayload = inRequest.getData();
+        File file;
+        if(requestPayload instanceof String) {
+            file = new File((String)requestPayload);
+        } else if(requestPayload instanceof File) {
+            file = (File)requestPayload;
+        } else if(requestPayload == null) {
+            throw new IllegalRequestParameterValue(getURN(),
+                                                   null);
+        } else {
+            throw new UnsupportedRequestParameterType(getURN(),
+                                                      requestPayload);
+        }
+        if(!file.canRead()) {
+            throw new IllegalRequestParameterValue(getURN(),
+                                                   requestPayload);
+        }
+        replays.put(inSupport.getRequestID(),
+                    replayService.submit(new Replay(file,
+                                                    inSupport)));
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.module.DataEmitter#cancel(org.marketcetera.module.DataFlowID, org.marketcetera.module.RequestID)
+     */
+    @Override
+    public void cancel(DataFlowID inFlowID,
+                       RequestID inRequestID)
+    {
+        Future<?> replay = replays.remove(inRequestID);
+        if(replay != null) {
+            replay.cancel(true);
+        }
+    }
+    /**
+     * Create a new MarketDataReplayModule instance.
+     */
+    MarketDataReplayModule()
+    {
+        super(MarketDataReplayModuleFactory.INSTANCE_URN,
+              true);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.module.Module#preStart()
+     */
+    @Override
+    protected void preStart()
+            throws ModuleException
+    {
+        replayService = Executors.newCachedThreadPool(new NamedThreadFactory("MarketDataReplay-")); //$NON-NLS-1$
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.module.Module#preStop()
+     */
+    @Override
+    protected void preStop()
+            throws ModuleException
+    {
+        replayService.shutdownNow();
+        replays.clear();
+    }
+    /**
+     * Replays a single file to a data flow.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    private class Replay
+            implements Runnable
+    {
+        /* (non-Javadoc)
+         * @see java.lang.Runnable#run()
+         */
+        @Override
+        public void run()
+        {
+            try(TickFileReader reader = new TickFileReader(file)) {
+                Event event;
+                while((event = reader.next()) != null) {
+                    if(Thread.currentThread().isInterrupted()) {
+                        SLF4JLoggerProxy.debug(MarketDataReplayModule.this,
+                                               "Replay of {} canceled after {} event(s)", //$NON-NLS-1$
+                                               file,
+                                               reader.getEventCount());
+                        return;
+                    }
+                    support.send(event);
+                }
+                SLF4JLoggerProxy.debug(MarketDataReplayModule.this,
+                                       "Replayed {} event(s) from {}", //$NON-NLS-1$
+                                       reader.getEventCount(),
+                                       file);
+                support.dataEmitError(new I18NBoundMessage1P(Messages.REPLAY_COMPLETE,
+                                                             file),
+                                      true);
+            } catch (Exception e) {
+                support.dataEmitError(new I18NBoundMessage2P(Messages.REPLAY_FAILED,
+                                                             file,
+                                                             ExceptionUtils.getRootCauseMessage(e)),
+                                      true);
+            }
+        }
+        /**
+         * Create a new Replay instance.
+         *
+         * @param inFile a <code>File</code> value
+         * @param inSupport a <code>DataEmitterSupport</code> value
+         */
+        private Replay(File inFile,
+                       DataEmitterSupport inSupport)
+        {
+            file = inFile;
+            support = inSupport;
+        }
+        /**
+         * file to replay
+         */
+        private final File file;
+        /**
+         * provides access to the data flow
+         */
+        private final DataEmitterSupport support;
+    }
+    /**
+     * replays in progress by request id
+     */
+    private final Map<RequestID,Future<?>> replays = new ConcurrentHashMap<>();
+    /**
+     * runs replays
+     */
+    private ExecutorService replayService;
+}
@@ -0,0 +1,59 @@
+package org.marketcetera.marketdata.recorder;
+
+import org.marketcetera.module.Module;
+import org.marketcetera.module.ModuleCreationException;
+import org.marketcetera.module.ModuleFactory;
+import org.marketcetera.module.ModuleURN;
+
+/* $License$ */
+
+/**
+ * Provides a market data replay module factory implementation.
+ * <p>
+ * The factory has the following characteristics.
+ * <table>
+ * <tr><th>Provider URN:</th><td><code>metc:mdata:replay</code></td></tr>
+ * <tr><th>Cardinality:</th><td>Singleton</td></tr>
+ * <tr><th>InstanceURN:</th><td><code>metc:mdata:replay:single</code></td></tr>
+ * <tr><th>Auto-Instantiated:</th><td>No</td></tr>
+ * <tr><th>Auto-Started:</th><td>Yes</td></tr>
+ * <tr><th>Instantiation Arguments:</th><td>None</td></tr>
+ * <tr><th>Module Type:</th><td>{@link MarketDataReplayModule}</td></tr>
+ * </table>
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class MarketDataReplayModuleFactory
+        extends ModuleFactory
+{
+    /**
+     * Create a new MarketDataReplayModuleFactory instance.
+     */
+    public MarketDataReplayModuleFactory()
+    {
+        super(PROVIDER_URN,
+              Messages.REPLAY_PROVIDER_DESCRIPTION,
+              false,
+              false);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.module.ModuleFactory#create(java.lang.Object[])
+     */
+    @Override
+    public Module create(Object... inParameters)
+            throws ModuleCreationException
+    {
+        return new MarketDataReplayModule();
+    }
+    /**
+     * unique provider URN for the replay module
+     */
+    public static final ModuleURN PROVIDER_URN = new ModuleURN("metc:mdata:replay");  //$NON-NLS-1$
+    /**
+     * instance URN for the replay module
+     */
+    public static final ModuleURN INSTANCE_URN = new ModuleURN(PROVIDER_URN,
+                                                               "single");  //$NON-NLS-1$
+}
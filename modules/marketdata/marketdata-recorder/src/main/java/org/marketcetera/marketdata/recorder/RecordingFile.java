@@ -0,0 +1,53 @@
+package org.marketcetera.marketdata.recorder;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.marketcetera.event.QuoteEvent;
+
+/* $License$ */
+
+/**
+ * Records market data to a file that is kept open between events.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+interface RecordingFile
+{
+    /**
+     * Appends the given quote to the file.
+     *
+     * @param inQuote a <code>QuoteEvent</code> value
+     * @throws IOException if the quote cannot be written
+     */
+    void write(QuoteEvent inQuote)
+            throws IOException;
+    /**
+     * Writes the buffered data to the file.
+     *
+     * @throws IOException if the data cannot be written
+     */
+    void flush()
+            throws IOException;
+    /**
+     * Writes the buffered data to the file and closes the file.
+     *
+     * @throws IOException if the data cannot be written
+     */
+    void close()
+            throws IOException;
+    /**
+     * Get the file value.
+     *
+     * @return a <code>File</code> value
+     */
+    File getFile();
+    /**
+     * Gets the number of bytes written to the file, including data not yet flushed.
+     *
+     * @return a <code>long</code> value
+     */
+    long getSize();
+}
@@ -0,0 +1,172 @@
+package org.marketcetera.marketdata.recorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.marketcetera.event.QuoteEvent;
+
+/* $License$ */
+
+/**
+ * Appends recorded market data as text to a file through a buffer that is written to the file only when it fills or is flushed.
+ *
+ * <p>The file is opened once when the object is created and remains open until {@link #close()} is invoked.
+ * Writes and flushes may be issued from different threads.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ThreadSafe
+class TextRecordingFile
+        implements RecordingFile
+{
+    /**
+     * Create a new TextRecordingFile instance.
+     *
+     * @param inFile a <code>File</code> value
+     * @param inBufferSize an <code>int</code> value
+     * @throws IOException if the file cannot be opened
+     */
+    TextRecordingFile(File inFile,
+                      int inBufferSize)
+            throws IOException
+    {
+        file = inFile;
+        channel = FileChannel.open(inFile.toPath(),
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE,
+                                   StandardOpenOption.APPEND);
+        size = channel.size();
+        buffer = ByteBuffer.allocateDirect(inBufferSize);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#write(org.marketcetera.event.QuoteEvent)
+     */
+    @Override
+    public synchronized void write(QuoteEvent inQuote)
+            throws IOException
+    {
+        line.setLength(0);
+        MarketDataRecorderModule.writeQuoteEvent(inQuote,
+                                                 line);
+        CharBuffer input = CharBuffer.wrap(line);
+        encoder.reset();
+        while(true) {
+            CoderResult result = encoder.encode(input,
+                                                buffer,
+                                                true);
+            if(result.isOverflow()) {
+                drain();
+            } else if(result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        while(encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#flush()
+     */
+    @Override
+    public synchronized void flush()
+            throws IOException
+    {
+        if(channel.isOpen()) {
+            drain();
+        }
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#close()
+     */
+    @Override
+    public synchronized void close()
+            throws IOException
+    {
+        if(!channel.isOpen()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#getFile()
+     */
+    @Override
+    public File getFile()
+    {
+        return file;
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#getSize()
+     */
+    @Override
+    public synchronized long getSize()
+    {
+        return size + buffer.position();
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return file.toString();
+    }
+    /**
+     * Writes the contents of the buffer to the file.
+     *
+     * @throws IOException if the data cannot be written
+     */
+    private void drain()
+            throws IOException
+    {
+        buffer.flip();
+        try {
+            while(buffer.hasRemaining()) {
+                size += channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+    /**
+     * file to which data is recorded
+     */
+    private final File file;
+    /**
+     * channel used to write to the file
+     */
+    private final FileChannel channel;
+    /**
+     * holds data not yet written to the file
+     */
+    private final ByteBuffer buffer;
+    /**
+     * holds the text of the event being written
+     */
+    private final StringBuilder line = new StringBuilder();
+    /**
+     * encodes data into the buffer
+     */
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    /**
+     * number of bytes written to the file
+     */
+    private long size;
+}
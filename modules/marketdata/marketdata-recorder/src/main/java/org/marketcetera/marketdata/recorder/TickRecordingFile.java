@@ -0,0 +1,94 @@
+package org.marketcetera.marketdata.recorder;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.marketcetera.event.QuoteEvent;
+import org.marketcetera.marketdata.tick.TickFileWriter;
+
+/* $License$ */
+
+/**
+ * Appends recorded market data to a file in the binary tick format.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ * @see org.marketcetera.marketdata.tick.TickFileFormat
+ */
+@ThreadSafe
+class TickRecordingFile
+        implements RecordingFile
+{
+    /**
+     * Create a new TickRecordingFile instance.
+     *
+     * @param inFile a <code>File</code> value
+     * @param inBufferSize an <code>int</code> value
+     * @throws IOException if the file cannot be opened
+     */
+    TickRecordingFile(File inFile,
+                      int inBufferSize)
+            throws IOException
+    {
+        writer = new TickFileWriter(inFile,
+                                    inBufferSize);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#write(org.marketcetera.event.QuoteEvent)
+     */
+    @Override
+    public void write(QuoteEvent inQuote)
+            throws IOException
+    {
+        writer.write(inQuote);
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#flush()
+     */
+    @Override
+    public void flush()
+            throws IOException
+    {
+        writer.flush();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#close()
+     */
+    @Override
+    public void close()
+            throws IOException
+    {
+        writer.close();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#getFile()
+     */
+    @Override
+    public File getFile()
+    {
+        return writer.getFile();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.marketdata.recorder.RecordingFile#getSize()
+     */
+    @Override
+    public long getSize()
+    {
+        return writer.getSize();
+    }
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return writer.toString();
+    }
+    /**
+     * writes ticks to the file
+     */
+    private final TickFileWriter writer;
+}
@@ -17,6 +17,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.builder.CompareToBuilder;
@@ -36,16 +37,19 @@ import org.marketcetera.event.impl.QuoteEventBuilder;
 import org.marketcetera.marketdata.AssetClass;
 import org.marketcetera.marketdata.Content;
 import org.marketcetera.marketdata.MarketDataRequest;
+import org.marketcetera.marketdata.MarketDataFeedTestBase;
 import org.marketcetera.marketdata.MarketDataRequestBuilder;
 import org.marketcetera.marketdata.bogus.BogusFeedModuleFactory;
 import org.marketcetera.marketdata.module.TestFeed;
 import org.marketcetera.marketdata.module.TestFeedModuleFactory;
+import org.marketcetera.marketdata.tick.TickFileFormat;
 import org.marketcetera.module.DataFlowExceptionHandler;
 import org.marketcetera.module.DataFlowID;
 import org.marketcetera.module.DataRequest;
 import org.marketcetera.module.ExpectedFailure;
 import org.marketcetera.module.ModuleManager;
 import org.marketcetera.module.ModuleURN;
+import org.marketcetera.module.SinkDataListener;
 import org.marketcetera.trade.Future;
 import org.marketcetera.trade.Instrument;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
@@ -414,6 +418,174 @@ public class MarketDataRecorderModuleTest
         assertEquals(counter,
                      actualEventCount);
     }
+    /**
+     * Tests that buffered events are written when the module stops and that buffered recordings roll over by size.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testBufferedRollover()
+            throws Exception
+    {
+        MarketDataRecorderModuleConfiguration config = generateConfig(sessionReset);
+        config.setBuffered(true);
+        config.setFlushInterval(60000);
+        config.setMaxFileSize(1000);
+        ModuleURN instanceUrn = getRecorderModule(testDirectory.getAbsolutePath(),
+                                                  config);
+        DataFlowID flowId = establishDataFlow(generateMarketDataRequest(Lists.newArrayList(gcInstrument.getFullSymbol()),
+                                                                        Lists.newArrayList(Content.TOP_OF_BOOK),
+                                                                        AssetClass.FUTURE),
+                                              TestFeedModuleFactory.PROVIDER_URN,
+                                              instanceUrn);
+        verifyNoFiles();
+        int expectedEventCounter = 0;
+        AskEvent ask = generateAskEvent(gcInstrument,
+                                        "EX");
+        ask.setEventType(EventType.SNAPSHOT_FINAL);
+        testMarketDataFeed.sendEvents(Lists.newArrayList((Event)ask));
+        expectedEventCounter += 1;
+        for(int i=0;i<100;i++) {
+            ask = generateAskEvent(gcInstrument,
+                                   "EX");
+            ask.setEventType(EventType.UPDATE_FINAL);
+            testMarketDataFeed.sendEvents(Lists.newArrayList((Event)ask));
+            expectedEventCounter += 1;
+        }
+        // the current file has not been written yet
+        assertEquals(0,
+                     getEventCount(getFiles().last()));
+        moduleManager.cancel(flowId);
+        moduleManager.stop(instanceUrn);
+        Collection<File> testFiles = getFiles();
+        assertTrue(testFiles.size() > 1);
+        int expectedSuffix = 1;
+        int actualEventCount = 0;
+        for(File dataFile : testFiles) {
+            assertTrue("Expected " + dataFile.getName() + " to end with ''-"+expectedSuffix+".csv''",
+                       dataFile.getAbsolutePath().endsWith("-"+expectedSuffix+++".csv"));
+            actualEventCount += getEventCount(dataFile);
+        }
+        assertEquals(expectedEventCounter,
+                     actualEventCount);
+    }
+    /**
+     * Tests that buffered events are written periodically.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testBufferedFlush()
+            throws Exception
+    {
+        MarketDataRecorderModuleConfiguration config = generateConfig(sessionReset);
+        config.setBuffered(true);
+        config.setFlushInterval(100);
+        ModuleURN instanceUrn = getRecorderModule(testDirectory.getAbsolutePath(),
+                                                  config);
+        establishDataFlow(generateMarketDataRequest(Lists.newArrayList(gcInstrument.getFullSymbol()),
+                                                    Lists.newArrayList(Content.TOP_OF_BOOK),
+                                                    AssetClass.FUTURE),
+                          TestFeedModuleFactory.PROVIDER_URN,
+                          instanceUrn);
+        verifyNoFiles();
+        AskEvent ask = generateAskEvent(gcInstrument,
+                                        "EX");
+        ask.setEventType(EventType.SNAPSHOT_FINAL);
+        testMarketDataFeed.sendEvents(Lists.newArrayList((Event)ask));
+        ask = generateAskEvent(gcInstrument,
+                               "EX");
+        ask.setEventType(EventType.UPDATE_FINAL);
+        testMarketDataFeed.sendEvents(Lists.newArrayList((Event)ask));
+        final File dataFile = getFiles().first();
+        MarketDataFeedTestBase.wait(new Callable<Boolean>() {
+            @Override
+            public Boolean call()
+                    throws Exception
+            {
+                return getEventCount(dataFile) == 2;
+            }
+        });
+        assertEquals(1,
+                     getFiles().size());
+        assertTrue(dataFile.getAbsolutePath().endsWith("-1.csv"));
+    }
+    /**
+     * Tests that events recorded in the binary tick format can be replayed.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testBinaryRecordingAndReplay()
+            throws Exception
+    {
+        MarketDataRecorderModuleConfiguration config = generateConfig(sessionReset);
+        config.setBinary(true);
+        config.setFlushInterval(60000);
+        ModuleURN instanceUrn = getRecorderModule(testDirectory.getAbsolutePath(),
+                                                  config);
+        DataFlowID flowId = establishDataFlow(generateMarketDataRequest(Lists.newArrayList(gcInstrument.getFullSymbol()),
+                                                                        Lists.newArrayList(Content.TOP_OF_BOOK),
+                                                                        AssetClass.FUTURE),
+                                              TestFeedModuleFactory.PROVIDER_URN,
+                                              instanceUrn);
+        verifyNoFiles();
+        List<AskEvent> expectedEvents = new ArrayList<>();
+        for(int i=0;i<10;i++) {
+            AskEvent ask = generateAskEvent(gcInstrument,
+                                            "EX");
+            ask.setEventType(i == 0 ? EventType.SNAPSHOT_FINAL : EventType.UPDATE_FINAL);
+            expectedEvents.add(ask);
+            testMarketDataFeed.sendEvents(Lists.newArrayList((Event)ask));
+        }
+        moduleManager.cancel(flowId);
+        moduleManager.stop(instanceUrn);
+        Collection<File> testFiles = FileUtils.listFiles(testDirectory,
+                                                         null,
+                                                         false);
+        assertEquals(1,
+                     testFiles.size());
+        File dataFile = testFiles.iterator().next();
+        assertTrue("Expected " + dataFile.getName() + " to end with ''-1" + TickFileFormat.SUFFIX + "''",
+                   dataFile.getName().endsWith("-1" + TickFileFormat.SUFFIX));
+        final List<Object> replayedEvents = new ArrayList<>();
+        moduleManager.addSinkListener(new SinkDataListener() {
+            @Override
+            public void receivedData(DataFlowID inFlowID,
+                                     Object inData)
+            {
+                synchronized(replayedEvents) {
+                    replayedEvents.add(inData);
+                }
+            }
+        });
+        moduleManager.createDataFlow(new DataRequest[] { new DataRequest(MarketDataReplayModuleFactory.INSTANCE_URN,
+                                                                         dataFile) });
+        MarketDataFeedTestBase.wait(new Callable<Boolean>() {
+            @Override
+            public Boolean call()
+                    throws Exception
+            {
+                synchronized(replayedEvents) {
+                    return replayedEvents.size() == 10;
+                }
+            }
+        });
+        for(int i=0;i<expectedEvents.size();i++) {
+            AskEvent expectedEvent = expectedEvents.get(i);
+            AskEvent actualEvent = (AskEvent)replayedEvents.get(i);
+            assertEquals(expectedEvent.getInstrument(),
+                         actualEvent.getInstrument());
+            assertEquals(expectedEvent.getPrice(),
+                         actualEvent.getPrice());
+            assertEquals(expectedEvent.getSize(),
+                         actualEvent.getSize());
+            assertEquals(expectedEvent.getExchange(),
+                         actualEvent.getExchange());
+            assertEquals(expectedEvent.getEventType(),
+                         actualEvent.getEventType());
+        }
+    }
     /**
      * Tests that ordinal logic works when running beyond one digit.
      *
@@ -800,7 +972,20 @@ public class MarketDataRecorderModuleTest
     private ModuleURN getRecorderModule(String inDirectoryName,
                                         String inSessionReset)
     {
-        ApplicationContext applicationContext = generateApplicationContext(generateConfig(inSessionReset));
+        return getRecorderModule(inDirectoryName,
+                                 generateConfig(inSessionReset));
+    }
+    /**
+     * Creates and starts a recorder module instance with the given configuration.
+     *
+     * @param inDirectoryName a <code>String</code> value
+     * @param inConfig a <code>MarketDataRecorderModuleConfiguration</code> value
+     * @return a <code>ModuleURN</code> value
+     */
+    private ModuleURN getRecorderModule(String inDirectoryName,
+                                        MarketDataRecorderModuleConfiguration inConfig)
+    {
+        ApplicationContext applicationContext = generateApplicationContext(inConfig);
         moduleManager.setApplicationContext(applicationContext);
         ModuleURN recorderUrn = moduleManager.createModule(MarketDataRecorderModuleFactory.PROVIDER_URN,
                                                            inDirectoryName);
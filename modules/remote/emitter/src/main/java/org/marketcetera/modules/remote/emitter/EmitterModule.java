@@ -148,6 +148,8 @@ class EmitterModule extends Module
      * receiver.
      * <p>
      * The received object is delivered to all the data flows sequentially.
+     * Objects that the receiver transmitted in a batch have already been
+     * unpacked by {@link RemoteDataEmitter} and arrive here one at a time.
      *
      * @param inObject the received object.
      */
@@ -1,5 +1,6 @@
 package org.marketcetera.modules.remote.emitter;
 
+import org.marketcetera.jms.ObjectBatch;
 import org.marketcetera.util.misc.ClassVersion;
 import org.marketcetera.util.spring.SpringUtils;
 import org.springframework.context.support.StaticApplicationContext;
@@ -116,12 +117,20 @@ public class RemoteDataEmitter {
 
     /**
      * Receives the data received from the remote source.
-     * The received data is handed off to the adapter.
+     * The received data is handed off to the adapter. If the data is
+     * a {@link ObjectBatch batch} of objects, each object in the batch
+     * is handed off to the adapter, in order.
      *
      * @param inObject the data received from the remote source.
      */
     void receive(Object inObject) {
-        mAdapter.receiveData(inObject);
+        if(inObject instanceof ObjectBatch) {
+            for(Object object: ((ObjectBatch)inObject).getObjects()) {
+                mAdapter.receiveData(object);
+            }
+        } else {
+            mAdapter.receiveData(inObject);
+        }
     }
 
     /**
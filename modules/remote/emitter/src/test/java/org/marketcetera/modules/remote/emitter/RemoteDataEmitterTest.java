@@ -27,6 +27,7 @@ import org.marketcetera.module.CopierModuleFactory;
 import org.marketcetera.module.DataFlowID;
 import org.marketcetera.module.DataRequest;
 import org.marketcetera.module.ExpectedFailure;
+import org.marketcetera.module.MockConfigProvider;
 import org.marketcetera.modules.remote.receiver.ReceiverFactory;
 import org.marketcetera.trade.Equity;
 import org.marketcetera.trade.ExecutionReport;
@@ -250,6 +251,58 @@ public class RemoteDataEmitterTest extends RemoteEmitterTestBase {
         mManager.cancel(rFlowID);
     }
 
+    /**
+     * Receives data that the receiver transmits in batches.
+     *
+     * @throws Exception if there were unexpected failures.
+     */
+    @Test
+    public void receiveBatchedData() throws Exception {
+        //Init manager to create a receiver that batches the data it sends.
+        MockConfigProvider prov = configProviderWithURLValue(DEFAULT_URL);
+        prov.addDefault(ReceiverFactory.INSTANCE_URN, "BatchSize", "4");
+        prov.addDefault(ReceiverFactory.INSTANCE_URN, "BatchInterval", "100000");
+        initManager(prov);
+        //Now connect to it
+        MyAdapter adapter = new MyAdapter();
+        RemoteDataEmitter emitter = new RemoteDataEmitter(DEFAULT_URL,
+                DEFAULT_CREDENTIAL, DEFAULT_CREDENTIAL, adapter);
+        assertTrue(emitter.isConnected());
+        assertEquals(new Pair<Boolean,Boolean>(false,true), adapter.getNextStatus());
+        //Two full batches and a partial one that is sent when the
+        //batch interval elapses.
+        Object [] data = {
+                EventTestBase.generateEquityAskEvent(1, 2, new Equity("asym"), "ex", BigDecimal.ONE, BigDecimal.TEN),
+                EventTestBase.generateEquityBidEvent(3, 4, new Equity("bsym"), "ex", BigDecimal.ONE, BigDecimal.TEN),
+                "one",
+                new NonSerializable(),
+                BigInteger.ONE,
+                "two",
+                EventTestBase.generateEquityTradeEvent(5, 6, new Equity("csym"), "ex", BigDecimal.ONE, BigDecimal.TEN),
+                BigInteger.TEN,
+                "three",
+                "four"
+        };
+        DataFlowID rFlowID = mManager.createDataFlow(new DataRequest[]{
+                new DataRequest(CopierModuleFactory.INSTANCE_URN, data),
+                new DataRequest(ReceiverFactory.INSTANCE_URN)
+        }, false);
+        for(Object expected: data) {
+            if(expected instanceof NonSerializable) {
+                //non serializable object shouldn't have been transmitted
+                continue;
+            }
+            assertEquals(expected, adapter.getNextObject());
+        }
+        //Verify we have no extra objects
+        assertTrue(adapter.toString(), adapter.hasNoObjects());
+        //Verify we didn't get any failures etc.
+        assertNull(emitter.getLastFailure());
+        assertTrue(adapter.toString(), adapter.hasNoStatus());
+
+        mManager.cancel(rFlowID);
+        emitter.close();
+    }
 
     /**
      * Tests connection status notifications when the receiver disconnects.
@@ -109,7 +109,7 @@ public class RemoteEmitterTestBase extends ModuleTestBase {
      *
      * @throws Exception if there were errors.
      */
-    private void initManager(MockConfigProvider inProvider) throws Exception {
+    protected void initManager(MockConfigProvider inProvider) throws Exception {
         mManager = new ModuleManager();
         mManager.setConfigurationProvider(inProvider);
         mManager.init();
@@ -0,0 +1,166 @@
+package org.marketcetera.modules.remote.receiver;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.marketcetera.jms.ObjectBatch;
+import org.marketcetera.module.ReceiveDataException;
+import org.marketcetera.util.log.I18NBoundMessage1P;
+import org.marketcetera.util.misc.ClassVersion;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.core.JmsTemplate;
+
+/* $License$ */
+/**
+ * Accumulates the objects received by the {@link ReceiverModule} and
+ * transmits them as {@link ObjectBatch batches}.
+ * <p>
+ * A batch is transmitted when it holds the maximum number of objects or
+ * when its first object has waited for the maximum batch interval,
+ * whichever comes first. Objects are transmitted in the order in which
+ * they were received. Objects sent after the instance is
+ * {@link #close() closed} are transmitted individually, as they would
+ * be without batching.
+ * <p>
+ * This class is not meant to be used by clients of this package.
+ *
+ * @author anshul@marketcetera.com
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+class BatchingSender {
+    /**
+     * Creates an instance.
+     *
+     * @param inSender the template used to transmit the batches.
+     * @param inBatchSize the maximum number of objects in a batch.
+     * @param inBatchInterval the maximum time, in microseconds, an object
+     * waits before its batch is transmitted.
+     */
+    BatchingSender(JmsTemplate inSender, int inBatchSize,
+                   long inBatchInterval) {
+        mSender = inSender;
+        mBatchSize = inBatchSize;
+        mBatchInterval = inBatchInterval;
+        mPending = new ArrayList<Serializable>(inBatchSize);
+        mTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable inRunnable) {
+                Thread thread = new Thread(inRunnable,
+                        "RemoteReceiverBatch");  //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Adds the supplied object to the current batch, transmitting the batch
+     * if it is full.
+     *
+     * @param inData the object to transmit.
+     *
+     * @throws ReceiveDataException if the object is not serializable or
+     * if there were errors transmitting the batch.
+     */
+    synchronized void send(Object inData) throws ReceiveDataException {
+        if(!(inData instanceof Serializable)) {
+            throw new ReceiveDataException(
+                    new NotSerializableException(inData.getClass().getName()),
+                    new I18NBoundMessage1P(Messages.ERROR_WHEN_TRANSMITTING,
+                            String.valueOf(inData)));
+        }
+        if(mClosed) {
+            //The module may be stopping: nothing would flush a new batch
+            //and the timer no longer accepts tasks.
+            try {
+                mSender.convertAndSend(inData);
+            } catch (JmsException e) {
+                throw new ReceiveDataException(e,
+                        new I18NBoundMessage1P(Messages.ERROR_WHEN_TRANSMITTING,
+                                String.valueOf(inData)));
+            }
+            return;
+        }
+        mPending.add((Serializable)inData);
+        if(mPending.size() >= mBatchSize) {
+            if(mFlushTask != null) {
+                mFlushTask.cancel(false);
+                mFlushTask = null;
+            }
+            try {
+                transmit();
+            } catch (JmsException e) {
+                throw new ReceiveDataException(e, new I18NBoundMessage1P(
+                        Messages.ERROR_WHEN_TRANSMITTING_BATCH,
+                        mBatchSize));
+            }
+        } else if(mFlushTask == null) {
+            mFlushTask = mTimer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, mBatchInterval, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /**
+     * Transmits the current batch, if it isn't empty. Failures are logged.
+     */
+    synchronized void flush() {
+        mFlushTask = null;
+        if(mPending.isEmpty()) {
+            return;
+        }
+        int size = mPending.size();
+        try {
+            transmit();
+        } catch (JmsException e) {
+            Messages.ERROR_WHEN_TRANSMITTING_BATCH.warn(this, e, size);
+        }
+    }
+
+    /**
+     * Transmits any pending objects and releases the resources
+     * held by this instance. Objects sent afterwards are transmitted
+     * individually.
+     */
+    synchronized void close() {
+        if(mClosed) {
+            return;
+        }
+        mClosed = true;
+        flush();
+        mTimer.shutdownNow();
+    }
+
+    /**
+     * Transmits the current batch and starts a new one. The objects of
+     * the current batch are discarded even if the transmission fails.
+     * The caller must hold the lock on this instance.
+     *
+     * @throws JmsException if there were errors transmitting the batch.
+     */
+    private void transmit() {
+        List<Serializable> batch = mPending;
+        mPending = new ArrayList<Serializable>(mBatchSize);
+        mSender.convertAndSend(new ObjectBatch(batch));
+    }
+
+    private final JmsTemplate mSender;
+    private final int mBatchSize;
+    private final long mBatchInterval;
+    private final ScheduledExecutorService mTimer;
+    private List<Serializable> mPending;
+    private Future<?> mFlushTask;
+    private boolean mClosed;
+}
@@ -46,6 +46,14 @@ public interface Messages {
             new I18NMessage0P(LOGGER, "illegal_state_set_skip_jaas");   //$NON-NLS-1$
     static final I18NMessage1P ERROR_WHEN_TRANSMITTING =
             new I18NMessage1P(LOGGER, "error_when_transmitting");   //$NON-NLS-1$
+    static final I18NMessage1P ERROR_WHEN_TRANSMITTING_BATCH =
+            new I18NMessage1P(LOGGER, "error_when_transmitting_batch");   //$NON-NLS-1$
+    static final I18NMessage0P ILLEGAL_STATE_SET_BATCHING =
+            new I18NMessage0P(LOGGER, "illegal_state_set_batching");   //$NON-NLS-1$
+    static final I18NMessage1P INVALID_BATCH_SIZE =
+            new I18NMessage1P(LOGGER, "invalid_batch_size");   //$NON-NLS-1$
+    static final I18NMessage1P INVALID_BATCH_INTERVAL =
+            new I18NMessage1P(LOGGER, "invalid_batch_interval");   //$NON-NLS-1$
 
 
     static final I18NMessage1P USER_LOGIN_ERROR_LOG =
@@ -60,5 +68,7 @@ public interface Messages {
             new I18NMessage0P(LOGGER, "no_url_specified_log");   //$NON-NLS-1$
     static final I18NMessage1P RECIEVER_REMOTING_CONFIGURED =
             new I18NMessage1P(LOGGER, "reciever_remoting_configured");   //$NON-NLS-1$
+    static final I18NMessage2P RECEIVER_BATCHING_CONFIGURED =
+            new I18NMessage2P(LOGGER, "receiver_batching_configured");   //$NON-NLS-1$
 
 }
\ No newline at end of file
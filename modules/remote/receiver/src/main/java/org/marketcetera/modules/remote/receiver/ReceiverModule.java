@@ -52,6 +52,14 @@ import org.springframework.jms.core.JmsTemplate;
  * serializable, the module generates an error receiving that object
  * which is handled and logged by the module framework. The module
  * ignores null objects.
+ * <p>
+ * By default each object is transmitted in its own message. When the
+ * {@link #setBatchSize(int) batch size} is greater than one, the module
+ * accumulates received objects and transmits them together in a single
+ * {@link org.marketcetera.jms.ObjectBatch} message once the batch is full
+ * or once the {@link #setBatchInterval(long) batch interval} has elapsed,
+ * whichever comes first. Batching reduces the per-message overhead when
+ * a large number of objects is transmitted.
  * <br/>
  * <b>Authentication</b>
  * <p>
@@ -122,6 +130,12 @@ public class ReceiverModule extends Module
             mContext.start();
             mSender = (JmsTemplate) mContext.getBean("sender",  //$NON-NLS-1$
                     JmsTemplate.class);
+            if(mBatchSize > 1) {
+                mBatchingSender = new BatchingSender(mSender, mBatchSize,
+                        mBatchInterval);
+                Messages.RECEIVER_BATCHING_CONFIGURED.info(this, mBatchSize,
+                        mBatchInterval);
+            }
             Messages.RECIEVER_REMOTING_CONFIGURED.info(this, url);
         } catch(Exception e) {
             throw new ModuleException(e, Messages.ERROR_STARTING_MODULE);
@@ -130,6 +144,11 @@ public class ReceiverModule extends Module
 
     @Override
     protected void preStop() throws ModuleException {
+        //Transmit any data waiting to be batched before the broker stops.
+        if (mBatchingSender != null) {
+            mBatchingSender.close();
+            mBatchingSender = null;
+        }
         //Stop & destroy the broker.
         if (mContext != null) {
             try {
@@ -153,6 +172,11 @@ public class ReceiverModule extends Module
                     return;
                 }
             }
+            BatchingSender batchingSender = mBatchingSender;
+            if(batchingSender != null) {
+                batchingSender.send(inData);
+                return;
+            }
             try {
                 mSender.convertAndSend(inData);
             } catch (JmsException e) {
@@ -200,6 +224,36 @@ public class ReceiverModule extends Module
         }
         mSkipJAASConfiguration = inSkipJAASConfiguration;
     }
+
+    @Override
+    public int getBatchSize() {
+        return mBatchSize;
+    }
+
+    @Override
+    public void setBatchSize(int inBatchSize) {
+        failIfStarted(Messages.ILLEGAL_STATE_SET_BATCHING);
+        if(inBatchSize < 1) {
+            throw new IllegalArgumentException(
+                    Messages.INVALID_BATCH_SIZE.getText(inBatchSize));
+        }
+        mBatchSize = inBatchSize;
+    }
+
+    @Override
+    public long getBatchInterval() {
+        return mBatchInterval;
+    }
+
+    @Override
+    public void setBatchInterval(long inBatchInterval) {
+        failIfStarted(Messages.ILLEGAL_STATE_SET_BATCHING);
+        if(inBatchInterval < 0) {
+            throw new IllegalArgumentException(
+                    Messages.INVALID_BATCH_INTERVAL.getText(inBatchInterval));
+        }
+        mBatchInterval = inBatchInterval;
+    }
     /**
      * Verifies if the module is not started.
      *
@@ -219,4 +273,12 @@ public class ReceiverModule extends Module
     private volatile LogEventLevel mLogLevel;
     private volatile boolean mSkipJAASConfiguration = false;
     private volatile boolean mDoneJaasConfiguration;
+    private volatile int mBatchSize = 1;
+    private volatile long mBatchInterval = DEFAULT_BATCH_INTERVAL;
+    private volatile BatchingSender mBatchingSender;
+    /**
+     * The default maximum time, in microseconds, a received object waits
+     * to be transmitted when batching is turned on.
+     */
+    static final long DEFAULT_BATCH_INTERVAL = 1000;
 }
@@ -92,4 +92,59 @@ public interface ReceiverModuleMXBean {
     public void setSkipJAASConfiguration(
             @DisplayName("Skip Automatic JAAS Configuration")
             boolean inSkipJAASConfiguration);
+
+    /**
+     * Gets the maximum number of received objects transmitted in a
+     * single message.
+     * <p>
+     * A value of 1, the default, transmits each object in its own message.
+     *
+     * @return the maximum number of objects in a message.
+     */
+    @DisplayName("Maximum number of objects transmitted in a single message")
+    public int getBatchSize();
+
+    /**
+     * Sets the maximum number of received objects transmitted in a
+     * single message.
+     * <p>
+     * When the value is greater than 1, received objects are accumulated
+     * and transmitted together as a {@link org.marketcetera.jms.ObjectBatch}
+     * once the batch is full or once the {@link #getBatchInterval() batch
+     * interval} has elapsed since the first object of the batch was
+     * received. Remote emitters from releases that do not unpack batches
+     * are not able to receive batched data.
+     *
+     * @param inBatchSize the maximum number of objects in a message.
+     *
+     * @throws IllegalStateException if the module is started.
+     * @throws IllegalArgumentException if the value is less than 1.
+     */
+    @DisplayName("Maximum number of objects transmitted in a single message")
+    public void setBatchSize(
+            @DisplayName("Maximum number of objects transmitted in a single message")
+            int inBatchSize);
+
+    /**
+     * Gets the maximum time, in microseconds, a received object waits
+     * to be transmitted when batching is turned on.
+     *
+     * @return the batch interval in microseconds.
+     */
+    @DisplayName("Maximum time in microseconds an object waits to be transmitted in a batch")
+    public long getBatchInterval();
+
+    /**
+     * Sets the maximum time, in microseconds, a received object waits
+     * to be transmitted when batching is turned on.
+     *
+     * @param inBatchInterval the batch interval in microseconds.
+     *
+     * @throws IllegalStateException if the module is started.
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    @DisplayName("Maximum time in microseconds an object waits to be transmitted in a batch")
+    public void setBatchInterval(
+            @DisplayName("Maximum time in microseconds an object waits to be transmitted in a batch")
+            long inBatchInterval);
 }
@@ -0,0 +1,64 @@
+package org.marketcetera.modules.remote.receiver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+import org.marketcetera.jms.ObjectBatch;
+import org.marketcetera.util.misc.ClassVersion;
+import org.springframework.jms.core.JmsTemplate;
+
+/* $License$ */
+/**
+ * Tests {@link BatchingSender}.
+ *
+ * @author anshul@marketcetera.com
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class BatchingSenderTest {
+    /**
+     * Verifies that full batches are transmitted, that close transmits
+     * the pending objects and that objects sent after close are
+     * transmitted individually.
+     *
+     * @throws Exception if there were unexpected errors
+     */
+    @Test
+    public void sendAndClose() throws Exception {
+        RecordingTemplate template = new RecordingTemplate();
+        BatchingSender sender = new BatchingSender(template, 2,
+                60L * 1000 * 1000);
+        sender.send("1");
+        sender.send("2");
+        sender.send("3");
+        assertEquals(1, template.mSent.size());
+        assertEquals(Arrays.asList("1", "2"),
+                ((ObjectBatch)template.mSent.get(0)).getObjects());
+        sender.close();
+        assertEquals(2, template.mSent.size());
+        assertEquals(Arrays.asList("3"),
+                ((ObjectBatch)template.mSent.get(1)).getObjects());
+        sender.send("4");
+        assertEquals(3, template.mSent.size());
+        assertEquals("4", template.mSent.get(2));
+        //Closing again transmits nothing.
+        sender.close();
+        assertEquals(3, template.mSent.size());
+    }
+
+    /**
+     * A template that records the objects it is asked to send.
+     */
+    private static class RecordingTemplate extends JmsTemplate {
+        @Override
+        public void convertAndSend(Object inMessage) {
+            mSent.add(inMessage);
+        }
+        private final List<Object> mSent = new CopyOnWriteArrayList<Object>();
+    }
+}
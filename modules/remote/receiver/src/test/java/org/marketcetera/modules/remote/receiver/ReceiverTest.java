@@ -178,6 +178,23 @@ public class ReceiverTest extends ModuleTestBase {
                 bean.setSkipJAASConfiguration(true);
             }
         };
+        //batching is off by default and cannot be changed when the module is running.
+        assertEquals(1, bean.getBatchSize());
+        assertEquals(ReceiverModule.DEFAULT_BATCH_INTERVAL, bean.getBatchInterval());
+        new ExpectedFailure<IllegalStateException>(
+                Messages.ILLEGAL_STATE_SET_BATCHING.getText()){
+            @Override
+            protected void run() throws Exception {
+                bean.setBatchSize(100);
+            }
+        };
+        new ExpectedFailure<IllegalStateException>(
+                Messages.ILLEGAL_STATE_SET_BATCHING.getText()){
+            @Override
+            protected void run() throws Exception {
+                bean.setBatchInterval(100);
+            }
+        };
         //log level can be updated any time.
         LogEventLevel logLevel = LogEventLevel.INFO;
         bean.setLogLevel(logLevel);
@@ -194,6 +211,27 @@ public class ReceiverTest extends ModuleTestBase {
         //that we can set it to null
         bean.setURL(null);
         assertEquals(null, bean.getURL());
+        //Verify that we can change batching
+        bean.setBatchSize(100);
+        assertEquals(100, bean.getBatchSize());
+        bean.setBatchInterval(0);
+        assertEquals(0, bean.getBatchInterval());
+        new ExpectedFailure<IllegalArgumentException>(
+                Messages.INVALID_BATCH_SIZE.getText(0)){
+            @Override
+            protected void run() throws Exception {
+                bean.setBatchSize(0);
+            }
+        };
+        new ExpectedFailure<IllegalArgumentException>(
+                Messages.INVALID_BATCH_INTERVAL.getText(-1l)){
+            @Override
+            protected void run() throws Exception {
+                bean.setBatchInterval(-1);
+            }
+        };
+        bean.setBatchSize(1);
+        bean.setBatchInterval(ReceiverModule.DEFAULT_BATCH_INTERVAL);
         //verify that we can set the log level as well
         verifyLogLevels(bean);
         logLevel = LogEventLevel.ERROR;
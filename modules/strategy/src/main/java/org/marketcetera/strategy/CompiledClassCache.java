@@ -0,0 +1,391 @@
+package org.marketcetera.strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.marketcetera.core.ClassVersion;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+
+/* $License$ */
+
+/**
+ * Caches the bytecode of compiled Java strategies on disk.
+ *
+ * <p>Entries are keyed by a hash of the strategy name and source, the compiler options, and a
+ * fingerprint of each classpath entry (its size and modification time or, for a directory, the number,
+ * total size, and latest modification time of the class files under it), so a change to any of these
+ * produces a new entry. The cache is disabled until a directory is set. Concurrent requests
+ * for the same key are compiled once: later callers wait for the first.
+ *
+ * <p>Only point the cache at a directory that is writable by the strategy agent alone: classes
+ * found there are loaded without further checks.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+class CompiledClassCache
+        implements Messages
+{
+    /**
+     * Gets the cache instance.
+     *
+     * @return a <code>CompiledClassCache</code> value
+     */
+    static CompiledClassCache getInstance()
+    {
+        return instance;
+    }
+    /**
+     * Get the directory value.
+     *
+     * @return a <code>File</code> value or <code>null</code> if the cache is disabled
+     */
+    File getDirectory()
+    {
+        return directory;
+    }
+    /**
+     * Sets the directory value.
+     *
+     * @param inDirectory a <code>File</code> value or <code>null</code> to disable the cache
+     */
+    void setDirectory(File inDirectory)
+    {
+        if(inDirectory != null && !inDirectory.isDirectory() && !inDirectory.mkdirs()) {
+            COMPILED_CLASS_CACHE_UNAVAILABLE.warn(CompiledClassCache.class,
+                                                  inDirectory.getAbsolutePath());
+            directory = null;
+            return;
+        }
+        directory = inDirectory;
+    }
+    /**
+     * Computes the cache key for the given strategy.
+     *
+     * @param inName a <code>String</code> value containing the strategy name
+     * @param inSource a <code>String</code> value containing the strategy source
+     * @param inOptions a <code>Collection&lt;String&gt;</code> value containing the compiler options
+     * @param inClasspath a <code>Collection&lt;String&gt;</code> value containing the classpath entries
+     * @return a <code>String</code> value
+     */
+    static String computeKey(String inName,
+                             String inSource,
+                             Collection<String> inOptions,
+                             Collection<String> inClasspath)
+    {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest,
+               String.valueOf(FORMAT_VERSION));
+        update(digest,
+               System.getProperty("java.version")); //$NON-NLS-1$
+        update(digest,
+               inName);
+        update(digest,
+               inSource);
+        for(String option : inOptions) {
+            update(digest,
+                   option);
+        }
+        for(String entry : inClasspath) {
+            File file = new File(entry);
+            update(digest,
+                   entry);
+            if(file.isFile()) {
+                update(digest,
+                       file.length() + "/" + file.lastModified()); //$NON-NLS-1$
+            } else if(file.isDirectory()) {
+                long[] fingerprint = new long[3];
+                fingerprintClasses(file,
+                                   fingerprint);
+                update(digest,
+                       fingerprint[0] + "/" + fingerprint[1] + "/" + fingerprint[2]); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        }
+        StringBuilder key = new StringBuilder();
+        for(byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xf,
+                                          16)).append(Character.forDigit(b & 0xf,
+                                                                         16));
+        }
+        return key.toString();
+    }
+    /**
+     * Gets the compiled classes for the given strategy, compiling them with the given compiler if they
+     * are not cached.
+     *
+     * <p>The cache key is computed only if the cache is enabled.
+     *
+     * @param inName a <code>String</code> value containing the strategy name
+     * @param inSource a <code>String</code> value containing the strategy source
+     * @param inOptions a <code>Collection&lt;String&gt;</code> value containing the compiler options
+     * @param inClasspath a <code>Collection&lt;String&gt;</code> value containing the classpath entries
+     * @param inCompiler a <code>Callable&lt;Map&lt;String,byte[]&gt;&gt;</code> value that returns the bytecode by fully-qualified class name
+     * @return a <code>Map&lt;String,byte[]&gt;</code> value
+     * @throws Exception if the classes cannot be compiled
+     */
+    Map<String,byte[]> getClasses(String inName,
+                                  String inSource,
+                                  Collection<String> inOptions,
+                                  Collection<String> inClasspath,
+                                  Callable<Map<String,byte[]>> inCompiler)
+            throws Exception
+    {
+        if(directory == null) {
+            return inCompiler.call();
+        }
+        return getClasses(computeKey(inName,
+                                     inSource,
+                                     inOptions,
+                                     inClasspath),
+                          inCompiler);
+    }
+    /**
+     * Gets the compiled classes for the given key, compiling them with the given compiler if they are
+     * not cached.
+     *
+     * <p>If the cache is disabled, the compiler is always invoked. If another caller is already
+     * compiling the same key, waits for its result; if that compilation fails, the given compiler is
+     * invoked so that its failure is reported to this caller.
+     *
+     * @param inKey a <code>String</code> value
+     * @param inCompiler a <code>Callable&lt;Map&lt;String,byte[]&gt;&gt;</code> value that returns the bytecode by fully-qualified class name
+     * @return a <code>Map&lt;String,byte[]&gt;</code> value
+     * @throws Exception if the classes cannot be compiled
+     */
+    Map<String,byte[]> getClasses(final String inKey,
+                                  final Callable<Map<String,byte[]>> inCompiler)
+            throws Exception
+    {
+        final File cacheDirectory = directory;
+        if(cacheDirectory == null) {
+            return inCompiler.call();
+        }
+        FutureTask<Map<String,byte[]>> task = new FutureTask<Map<String,byte[]>>(new Callable<Map<String,byte[]>>() {
+            @Override
+            public Map<String,byte[]> call()
+                    throws Exception
+            {
+                File file = new File(cacheDirectory,
+                                     inKey + EXTENSION);
+                Map<String,byte[]> classes = read(file);
+                if(classes != null) {
+                    SLF4JLoggerProxy.debug(CompiledClassCache.class,
+                                           "Loaded compiled classes {} from {}", //$NON-NLS-1$
+                                           classes.keySet(),
+                                           file);
+                    return classes;
+                }
+                classes = inCompiler.call();
+                write(file,
+                      classes);
+                return classes;
+            }
+        });
+        FutureTask<Map<String,byte[]>> existingTask = inProgress.putIfAbsent(inKey,
+                                                                             task);
+        if(existingTask != null) {
+            try {
+                return existingTask.get();
+            } catch (ExecutionException e) {
+                return inCompiler.call();
+            }
+        }
+        try {
+            task.run();
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof Exception) {
+                throw (Exception)cause;
+            }
+            throw e;
+        } finally {
+            inProgress.remove(inKey,
+                              task);
+        }
+    }
+    /**
+     * Reads the classes stored in the given file.
+     *
+     * @param inFile a <code>File</code> value
+     * @return a <code>Map&lt;String,byte[]&gt;</code> value or <code>null</code> if the file does not exist or cannot be read
+     */
+    private static Map<String,byte[]> read(File inFile)
+    {
+        if(!inFile.isFile()) {
+            return null;
+        }
+        try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(inFile)))) {
+            if(input.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int count = input.readInt();
+            Map<String,byte[]> classes = new LinkedHashMap<String,byte[]>();
+            for(int i=0;i<count;i++) {
+                String name = input.readUTF();
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                classes.put(name,
+                            bytes);
+            }
+            return classes;
+        } catch (IOException e) {
+            COMPILED_CLASS_CACHE_READ_FAILED.warn(CompiledClassCache.class,
+                                                  e,
+                                                  inFile.getAbsolutePath());
+            return null;
+        }
+    }
+    /**
+     * Writes the given classes to the given file.
+     *
+     * <p>The classes are written to a temporary file which then replaces the given file, so readers
+     * never see a partial entry. A failure to write is logged and otherwise ignored.
+     *
+     * @param inFile a <code>File</code> value
+     * @param inClasses a <code>Map&lt;String,byte[]&gt;</code> value
+     */
+    private static void write(File inFile,
+                              Map<String,byte[]> inClasses)
+    {
+        File temporaryFile = null;
+        try {
+            temporaryFile = File.createTempFile(inFile.getName(),
+                                                null,
+                                                inFile.getParentFile());
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(inClasses.size());
+                for(Map.Entry<String,byte[]> entry : inClasses.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeInt(entry.getValue().length);
+                    output.write(entry.getValue());
+                }
+            }
+            Files.move(temporaryFile.toPath(),
+                       inFile.toPath(),
+                       StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+            SLF4JLoggerProxy.debug(CompiledClassCache.class,
+                                   "Stored compiled classes {} in {}", //$NON-NLS-1$
+                                   inClasses.keySet(),
+                                   inFile);
+        } catch (IOException e) {
+            COMPILED_CLASS_CACHE_WRITE_FAILED.warn(CompiledClassCache.class,
+                                                   e,
+                                                   inFile.getAbsolutePath());
+            if(temporaryFile != null) {
+                temporaryFile.delete();
+            }
+        }
+    }
+    /**
+     * Adds the class files under the given directory to the given fingerprint.
+     *
+     * @param inDirectory a <code>File</code> value
+     * @param ioFingerprint a <code>long[]</code> value holding the number, the total size, and the latest modification time of the class files
+     */
+    private static void fingerprintClasses(File inDirectory,
+                                           long[] ioFingerprint)
+    {
+        File[] files = inDirectory.listFiles();
+        if(files == null) {
+            return;
+        }
+        for(File file : files) {
+            if(file.isDirectory()) {
+                fingerprintClasses(file,
+                                   ioFingerprint);
+            } else if(file.getName().endsWith(CLASS_EXTENSION)) {
+                ioFingerprint[0] += 1;
+                ioFingerprint[1] += file.length();
+                ioFingerprint[2] = Math.max(ioFingerprint[2],
+                                            file.lastModified());
+            }
+        }
+    }
+    /**
+     * Adds the given value to the given digest.
+     *
+     * @param inDigest a <code>MessageDigest</code> value
+     * @param inValue a <code>String</code> value
+     */
+    private static void update(MessageDigest inDigest,
+                               String inValue)
+    {
+        byte[] bytes = String.valueOf(inValue).getBytes(UTF8);
+        inDigest.update((byte)(bytes.length >>> 24));
+        inDigest.update((byte)(bytes.length >>> 16));
+        inDigest.update((byte)(bytes.length >>> 8));
+        inDigest.update((byte)bytes.length);
+        inDigest.update(bytes);
+    }
+    /**
+     * Create a new CompiledClassCache instance.
+     */
+    private CompiledClassCache()
+    {
+        String path = System.getProperty(DIRECTORY_KEY);
+        if(path != null && !path.trim().isEmpty()) {
+            setDirectory(new File(path));
+        }
+    }
+    /**
+     * system property that may be set to the directory in which to cache compiled strategies
+     */
+    static final String DIRECTORY_KEY = "metc.strategy.compiled.cache"; //$NON-NLS-1$
+    /**
+     * version of the layout of cached entries, part of every key
+     */
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * extension of cached entries
+     */
+    private static final String EXTENSION = ".classes"; //$NON-NLS-1$
+    /**
+     * extension of class files in classpath directories
+     */
+    private static final String CLASS_EXTENSION = ".class"; //$NON-NLS-1$
+    /**
+     * charset used to hash key components
+     */
+    private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+    /**
+     * compilations in progress by key
+     */
+    private final ConcurrentMap<String,FutureTask<Map<String,byte[]>>> inProgress = new ConcurrentHashMap<String,FutureTask<Map<String,byte[]>>>();
+    /**
+     * directory in which entries are stored, <code>null</code> if the cache is disabled
+     */
+    private volatile File directory;
+    /**
+     * the cache instance
+     */
+    private static final CompiledClassCache instance = new CompiledClassCache();
+}
@@ -11,11 +11,13 @@ import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import javax.tools.Diagnostic;
 import javax.tools.DiagnosticCollector;
@@ -83,44 +85,131 @@ public class JavaCompilerExecutionEngine
     public Object start()
             throws StrategyException
     {
-        // the compiler object to use
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        if(compiler == null) {
-            throw new StrategyException(MISSING_JAVA_COMPILER);
+        // the classloader of the strategy classes defers to this loader for everything else
+        ClassLoader parentLoader = getParentClassLoader();
+        // prepare the options to pass to the compiler
+        Set<String> classpathEntries = getClasspathEntries(parentLoader);
+        List<String> options = getOptions(classpathEntries);
+        // the compiled classes are taken from the on-disk cache, if it is enabled and holds this strategy,
+        //  otherwise the strategy is compiled now
+        Map<String,byte[]> output;
+        try {
+            output = CompiledClassCache.getInstance().getClasses(strategy.getName(),
+                                                                 processedScript,
+                                                                 options,
+                                                                 classpathEntries,
+                                                                 new StrategyCompiler(options,
+                                                                                      parentLoader));
+        } catch (StrategyException e) {
+            throw e;
+        } catch (Exception e) {
+            StrategyModule.log(LogEventBuilder.error().withMessage(COMPILATION_FAILED,
+                                                                   String.valueOf(strategy),
+                                                                   String.valueOf(e))
+                                                      .withException(e).create(),
+                               strategy);
+            throw new CompilationFailed(e,
+                                        strategy);
+        }
+        // map the cannonical names to the fully-qualified names (to be used later to load the class)
+        for(String fullyQualifiedClassname : output.keySet()) {
+            fullyQualifiedClassnames.put(getCannonicalClassname(fullyQualifiedClassname),
+                                         fullyQualifiedClassname);
         }
-        // A map of class names to the InMemoryJavaFileObject that holds
-        //  the compiled-code for that class. This is the cache of
-        //  compiled classes.
-        Map<String,InMemoryJavaFileObject> output = new HashMap<String,InMemoryJavaFileObject>();
         // Create a classloader for our new classes based on the current classloader
         //  this classloader will stop operating when the enclosing object goes out of scope or
         //  is replaced by a start/stop cycle of the strategy
         ClassLoader loader = new InMemoryClassLoader(output,
-                                                     ModuleManager.getInstance() == null ? StrategyModule.class.getClassLoader() : ModuleManager.getInstance().getClassLoader());
-        // this object is for the compile phase - it stores errors and warnings generated by the compilation
-        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
-        // the fileManager manages sources and targets for the compiler - this is the basic model
-        //  which we'll specialize next to make compilation in-memory
-        StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
-                                                                                      null,
-                                                                                      null);
-        // this is the specialized file manager that produces source and stores byte-code all in-memory
-        InMemoryFileManager specializedFileManager = new InMemoryFileManager(standardFileManager,
-                                                                             output,
-                                                                             loader);
-        // source file objects are produced for each thing to be compiled.  For us, this is the strategy script, which
-        //  contains 1 or more classes.  notice that this is where the strategy name is associated with the source.  this
-        //  is required by the java compiler which dictates that a class name must match the file name
-        SourceJavaFileObject sourceObject;
+                                                     parentLoader);
+        // strategy has compiled successfully and is now held in our output map
         try {
-            sourceObject = new SourceJavaFileObject(strategy.getName(),
-                                                    processedScript);
-        } catch (URISyntaxException e) {
-            throw new StrategyException(e,
-                                        new I18NBoundMessage1P(INVALID_STRATEGY_NAME,
-                                                               strategy.toString()));
+            // load the class from the specialized class loader that caches the compiled strategy classes
+            // remember that the strategy name is specified without a package name, but the classloader needs
+            //  to know the fully-qualified classname with package, so check the mappings we created for fully-qualified
+            //  class names
+            String fullyQualifiedClassname = fullyQualifiedClassnames.get(strategy.getName());
+            SLF4JLoggerProxy.debug(JavaCompilerExecutionEngine.class,
+                                   "The fully-qualified name of {} is {}", //$NON-NLS-1$
+                                   strategy.getName(),
+                                   fullyQualifiedClassname);
+            assert(fullyQualifiedClassname != null);
+            Class<?> c = Class.forName(fullyQualifiedClassname,
+                                       true,
+                                       loader);
+            // the strategy class is supposed to be a subclass of Strategy and have a default constructor
+            //  note that this implicitly loads helper classes as necessary
+            return c.newInstance();
+        } catch (Exception e) {
+            // the myriad of exceptions that can be thrown with the above couple of lines all amount to the same
+            //  thing: the black magic of the compiler, in-memory objects, and the classloader somehow malfunctioned.
+            //  this would be a warranty repair: nothing the user can do.  might as well call it a compilation problem
+            //  as well as call it anything else.
+            StrategyModule.log(LogEventBuilder.error().withMessage(COMPILATION_FAILED,
+                                                                   String.valueOf(strategy),
+                                                                   String.valueOf(e))
+                                                      .withException(e).create(),
+                               strategy);
+            throw new CompilationFailed(e,
+                                        strategy);
         }
-        // prepare the options to pass to the compiler
+    }
+    /**
+     * Compiles the given strategy source and stores the result in the compiled class cache, if it is
+     * enabled, without loading or starting the strategy.
+     *
+     * <p>A strategy later started with the same name and source is loaded from the cache without being
+     * compiled again.
+     *
+     * @param inName a <code>String</code> value containing the strategy name, which must match the name of its class
+     * @param inSource a <code>String</code> value containing the strategy source
+     * @return a <code>List&lt;String&gt;</code> value containing the compilation errors, empty if the strategy compiled
+     * @throws Exception if the strategy cannot be compiled
+     */
+    static List<String> precompile(final String inName,
+                                   final String inSource)
+            throws Exception
+    {
+        ClassLoader parentLoader = getParentClassLoader();
+        final Set<String> classpathEntries = getClasspathEntries(parentLoader);
+        final List<String> options = getOptions(classpathEntries);
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final List<String> errors = new ArrayList<String>();
+        try {
+            CompiledClassCache.getInstance().getClasses(inName,
+                                                        inSource,
+                                                        options,
+                                                        classpathEntries,
+                                                        new CompileTask(inName,
+                                                                        inSource,
+                                                                        options,
+                                                                        parentLoader,
+                                                                        diagnostics));
+        } catch (CompilationErrors e) {
+            for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if(diagnostic.getKind().equals(Diagnostic.Kind.ERROR)) {
+                    errors.add(diagnostic.toString());
+                }
+            }
+        }
+        return errors;
+    }
+    /**
+     * Gets the classloader to which the strategy classloader defers.
+     *
+     * @return a <code>ClassLoader</code> value
+     */
+    private static ClassLoader getParentClassLoader()
+    {
+        return ModuleManager.getInstance() == null ? StrategyModule.class.getClassLoader() : ModuleManager.getInstance().getClassLoader();
+    }
+    /**
+     * Collects the classpath entries to use to compile strategies.
+     *
+     * @param inParentLoader a <code>ClassLoader</code> value
+     * @return a <code>Set&lt;String&gt;</code> value
+     */
+    private static Set<String> getClasspathEntries(ClassLoader inParentLoader)
+    {
         // collect classpath entries
         Set<String> classpathEntries = new LinkedHashSet<String>();
         // add the system classpath
@@ -130,20 +219,21 @@ public class JavaCompilerExecutionEngine
             classpathEntries.addAll(Arrays.asList(entries));
         }
         // add jars we are given by the parent class loaders, if any
-        ClassLoader currentLoader = loader;
-        do {
+        ClassLoader currentLoader = inParentLoader;
+        while(currentLoader != null) {
             if(currentLoader instanceof URLClassLoader) {
                 for(URL url: ((URLClassLoader)currentLoader).getURLs()) {
                     try {
                         classpathEntries.add(url.toURI().getPath());
                     } catch (URISyntaxException e) {
-                        Messages.ERROR_CONVERTING_CLASSPATH_URL.warn(this,
+                        Messages.ERROR_CONVERTING_CLASSPATH_URL.warn(JavaCompilerExecutionEngine.class,
                                                                      e,
                                                                      url);
                     }
                 }
             }
-        } while((currentLoader = currentLoader.getParent()) != null);
+            currentLoader = currentLoader.getParent();
+        }
         // add our custom classpath
         String customPath = System.getProperty(CLASSPATH_KEY);
         if(customPath != null) {
@@ -155,46 +245,99 @@ public class JavaCompilerExecutionEngine
             String[] entries = strategyPath.split(File.pathSeparator);
             classpathEntries.addAll(Arrays.asList(entries));
         }
+        return classpathEntries;
+    }
+    /**
+     * Builds the compiler options for the given classpath entries.
+     *
+     * @param inClasspathEntries a <code>Set&lt;String&gt;</code> value
+     * @return a <code>List&lt;String&gt;</code> value
+     */
+    private static List<String> getOptions(Set<String> inClasspathEntries)
+    {
         // put the classpath string in place with the classpath command-line option
         List<String> options = new ArrayList<String>();
         // make debug symbols available in the compiled strategy
         options.add("-g"); //$NON-NLS-1$
         options.add("-cp"); //$NON-NLS-1$
         StringBuilder classpathString = new StringBuilder();
-        for(String entry : classpathEntries) {
+        for(String entry : inClasspathEntries) {
             classpathString.append(entry).append(File.pathSeparator);
         }
         options.add(classpathString.toString());
-        SLF4JLoggerProxy.debug(JavaCompilerExecutionEngine.class,
-                               "Java compiler compiling {} with options {} (classpath length: {})", //$NON-NLS-1$
-                               strategy.getName(),
-                               Arrays.toString(options.toArray()),
-                               classpathString.length());
-        // schedule the compilation task
-        CompilationTask compilationJob = compiler.getTask(null, // out-writer not needed because we're using the in-memory file manager
-                                                          specializedFileManager,
-                                                          diagnostics,
-                                                          options,
-                                                          null, // no annotation processing needed
-                                                          Arrays.asList(sourceObject));
-        // wait for the compilation job to complete
-        if (!compilationJob.call()) {
-            // compilation failed, deal with the errors
-            CompilationFailed failed = new CompilationFailed(strategy);
-            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
-                if(diagnostic.getKind().equals(Diagnostic.Kind.ERROR)) {
-                    failed.addDiagnostic(CompilationFailed.Diagnostic.error(diagnostic.toString()));
-                } else {
-                    failed.addDiagnostic(CompilationFailed.Diagnostic.warning(diagnostic.toString()));
+        return options;
+    }
+    /**
+     * Calculates the cannonical classname from the given fully-qualified classname.
+     *
+     * @param inFullyQualifiedClassname a <code>String</code> value
+     * @return a <code>String</code> value
+     */
+    private static String getCannonicalClassname(String inFullyQualifiedClassname)
+    {
+        String[] nameSegments = inFullyQualifiedClassname.split("\\."); //$NON-NLS-1$
+        return (nameSegments.length > 0 ? nameSegments[nameSegments.length-1] : inFullyQualifiedClassname);
+    }
+    /**
+     * Compiles the strategy of this engine, reporting diagnostics against the strategy.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private class StrategyCompiler
+            implements Callable<Map<String,byte[]>>
+    {
+        /**
+         * Create a new StrategyCompiler instance.
+         *
+         * @param inOptions a <code>List&lt;String&gt;</code> value
+         * @param inParentLoader a <code>ClassLoader</code> value
+         */
+        private StrategyCompiler(List<String> inOptions,
+                                 ClassLoader inParentLoader)
+        {
+            options = inOptions;
+            parentLoader = inParentLoader;
+        }
+        /* (non-Javadoc)
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public Map<String,byte[]> call()
+                throws StrategyException
+        {
+            // this object is for the compile phase - it stores errors and warnings generated by the compilation
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+            Map<String,byte[]> output;
+            try {
+                output = new CompileTask(strategy.getName(),
+                                         processedScript,
+                                         options,
+                                         parentLoader,
+                                         diagnostics).call();
+            } catch (URISyntaxException e) {
+                throw new StrategyException(e,
+                                            new I18NBoundMessage1P(INVALID_STRATEGY_NAME,
+                                                                   strategy.toString()));
+            } catch (CompilationErrors e) {
+                // compilation failed, deal with the errors
+                CompilationFailed failed = new CompilationFailed(strategy);
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    if(diagnostic.getKind().equals(Diagnostic.Kind.ERROR)) {
+                        failed.addDiagnostic(CompilationFailed.Diagnostic.error(diagnostic.toString()));
+                    } else {
+                        failed.addDiagnostic(CompilationFailed.Diagnostic.warning(diagnostic.toString()));
+                    }
                 }
+                StrategyModule.log(LogEventBuilder.error().withMessage(COMPILATION_FAILED,
+                                                                       String.valueOf(strategy),
+                                                                       failed.toString())
+                                                          .withException(failed).create(),
+                                   strategy);
+                throw failed;
             }
-            StrategyModule.log(LogEventBuilder.error().withMessage(COMPILATION_FAILED,
-                                                                   String.valueOf(strategy),
-                                                                   failed.toString())
-                                                      .withException(failed).create(),
-                               strategy);
-            throw failed;
-        } else {
             // compilation succeeded with or without warnings
             for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
                 StrategyModule.log(LogEventBuilder.warn().withMessage(COMPILATION_FAILED_DIAGNOSTIC,
@@ -202,38 +345,134 @@ public class JavaCompilerExecutionEngine
                                                                       String.valueOf(diagnostic)).create(),
                                    strategy);
             }
+            return output;
         }
-        // strategy has compiled successfully and is now held in our specializedFileManager
-        try {
-            // load the class from the specialized class loader that caches the compiled strategy classes
-            // remember that the strategy name is specified without a package name, but the classloader needs
-            //  to know the fully-qualified classname with package, so check the mappings we created for fully-qualified
-            //  class names
-            String fullyQualifiedClassname = fullyQualifiedClassnames.get(strategy.getName());
+        /**
+         * the compiler options
+         */
+        private final List<String> options;
+        /**
+         * the classloader to which the strategy classloader defers
+         */
+        private final ClassLoader parentLoader;
+    }
+    /**
+     * Compiles Java source in memory.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class CompileTask
+            implements Callable<Map<String,byte[]>>
+    {
+        /**
+         * Create a new CompileTask instance.
+         *
+         * @param inName a <code>String</code> value containing the name of the main class
+         * @param inSource a <code>String</code> value containing the source to compile
+         * @param inOptions a <code>List&lt;String&gt;</code> value containing the compiler options
+         * @param inParentLoader a <code>ClassLoader</code> value
+         * @param inDiagnostics a <code>DiagnosticCollector&lt;JavaFileObject&gt;</code> value that receives the errors and warnings of the compilation
+         */
+        private CompileTask(String inName,
+                            String inSource,
+                            List<String> inOptions,
+                            ClassLoader inParentLoader,
+                            DiagnosticCollector<JavaFileObject> inDiagnostics)
+        {
+            name = inName;
+            source = inSource;
+            options = inOptions;
+            parentLoader = inParentLoader;
+            diagnostics = inDiagnostics;
+        }
+        /* (non-Javadoc)
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public Map<String,byte[]> call()
+                throws StrategyException, URISyntaxException, CompilationErrors
+        {
+            // the compiler object to use
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if(compiler == null) {
+                throw new StrategyException(MISSING_JAVA_COMPILER);
+            }
+            // A map of class names to the InMemoryJavaFileObject that holds
+            //  the compiled-code for that class. This is the cache of
+            //  compiled classes.
+            Map<String,InMemoryJavaFileObject> output = new HashMap<String,InMemoryJavaFileObject>();
+            // the fileManager manages sources and targets for the compiler - this is the basic model
+            //  which we'll specialize next to make compilation in-memory
+            StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+                                                                                          null,
+                                                                                          null);
+            // this is the specialized file manager that produces source and stores byte-code all in-memory
+            InMemoryFileManager specializedFileManager = new InMemoryFileManager(standardFileManager,
+                                                                                 output,
+                                                                                 parentLoader);
+            // source file objects are produced for each thing to be compiled.  For us, this is the strategy script, which
+            //  contains 1 or more classes.  notice that this is where the strategy name is associated with the source.  this
+            //  is required by the java compiler which dictates that a class name must match the file name
+            SourceJavaFileObject sourceObject = new SourceJavaFileObject(name,
+                                                                         source);
             SLF4JLoggerProxy.debug(JavaCompilerExecutionEngine.class,
-                                   "The fully-qualified name of {} is {}", //$NON-NLS-1$
-                                   strategy.getName(),
-                                   fullyQualifiedClassname);
-            assert(fullyQualifiedClassname != null);
-            Class<?> c = Class.forName(fullyQualifiedClassname,
-                                       true,
-                                       loader);
-            // the strategy class is supposed to be a subclass of Strategy and have a default constructor
-            //  note that this implicitly loads helper classes as necessary
-            return c.newInstance();
-        } catch (Exception e) {
-            // the myriad of exceptions that can be thrown with the above couple of lines all amount to the same
-            //  thing: the black magic of the compiler, in-memory objects, and the classloader somehow malfunctioned.
-            //  this would be a warranty repair: nothing the user can do.  might as well call it a compilation problem
-            //  as well as call it anything else.
-            StrategyModule.log(LogEventBuilder.error().withMessage(COMPILATION_FAILED,
-                                                                   String.valueOf(strategy),
-                                                                   String.valueOf(e))
-                                                      .withException(e).create(),
-                               strategy);
-            throw new CompilationFailed(e,
-                                        strategy);
+                                   "Java compiler compiling {} with options {}", //$NON-NLS-1$
+                                   name,
+                                   options);
+            // schedule the compilation task
+            CompilationTask compilationJob = compiler.getTask(null, // out-writer not needed because we're using the in-memory file manager
+                                                              specializedFileManager,
+                                                              diagnostics,
+                                                              options,
+                                                              null, // no annotation processing needed
+                                                              Arrays.asList(sourceObject));
+            // wait for the compilation job to complete
+            if(!compilationJob.call()) {
+                throw new CompilationErrors();
+            }
+            Map<String,byte[]> classes = new LinkedHashMap<String,byte[]>();
+            for(Entry<String,InMemoryJavaFileObject> entry : output.entrySet()) {
+                classes.put(entry.getKey(),
+                            entry.getValue().getBytes());
+            }
+            return classes;
         }
+        /**
+         * the name of the main class
+         */
+        private final String name;
+        /**
+         * the source to compile
+         */
+        private final String source;
+        /**
+         * the compiler options
+         */
+        private final List<String> options;
+        /**
+         * the classloader to which the compiled classes defer
+         */
+        private final ClassLoader parentLoader;
+        /**
+         * receives the errors and warnings of the compilation
+         */
+        private final DiagnosticCollector<JavaFileObject> diagnostics;
+    }
+    /**
+     * Indicates that a compilation failed. The errors are held by the diagnostics of the compilation.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class CompilationErrors
+            extends Exception
+    {
+        private static final long serialVersionUID = 1L;
     }
     /* (non-Javadoc)
      * @see org.marketcetera.strategy.ExecutionEngine#stop()
@@ -304,14 +543,14 @@ public class JavaCompilerExecutionEngine
         /**
          * the cache of class definitions by name 
          */
-        private final Map<String,InMemoryJavaFileObject> cache;
+        private final Map<String,byte[]> cache;
         /**
          * Create a new InMemoryClassLoader instance.
          *
-         * @param inOutput a <code>Map&lt;String,InMemoryJavaFileObject&gt;</code> value in which to cache class definitions
+         * @param inOutput a <code>Map&lt;String,byte[]&gt;</code> value in which to cache class definitions
          * @param inParent a <code>ClassLoader</code> value containing the parent classloader to use
          */
-        private InMemoryClassLoader(Map<String,InMemoryJavaFileObject> inOutput,
+        private InMemoryClassLoader(Map<String,byte[]> inOutput,
                                     ClassLoader inParent)
         {
             super(inParent);
@@ -325,10 +564,9 @@ public class JavaCompilerExecutionEngine
             throws ClassNotFoundException
         {
             // check our cache for the class
-            InMemoryJavaFileObject fileObject = cache.get(inName);
-            if (fileObject != null) {
+            byte[] bytes = cache.get(inName);
+            if (bytes != null) {
                 // class is in our cache, return that version of it
-                byte[] bytes = fileObject.getBytes();
                 return defineClass(inName,
                                    bytes,
                                    0,
@@ -346,7 +584,7 @@ public class JavaCompilerExecutionEngine
      * @since 1.0.0
      */
     @ClassVersion("$Id$")
-    private class InMemoryFileManager
+    private static class InMemoryFileManager
         extends ForwardingJavaFileManager<StandardJavaFileManager>
     {
         /**
@@ -389,28 +627,11 @@ public class JavaCompilerExecutionEngine
             } catch (URISyntaxException e) {
                 throw new IOException(e);
             }
-            // add the java file object in the cache by name
-            // sort out the cannonical name from the fully-qualified name if the strategy code specified a package
-            String cannonicalClassname = getCannonicalClassname(inFullyQualifiedClassname);
-            // map the cannonical name to the fully-qualified name (to be used later to load the class)
-            fullyQualifiedClassnames.put(cannonicalClassname,
-                                         inFullyQualifiedClassname);
             // put the fully-qualified name in the classname cache
             output.put(inFullyQualifiedClassname,
                        javaFileObject);
             return javaFileObject;
         }
-        /**
-         * Calculates the cannonical classname from the given fully-qualified classname.
-         *
-         * @param inFullyQualifiedClassname a <code>String</code> value
-         * @return a <code>String</code> value
-         */
-        private String getCannonicalClassname(String inFullyQualifiedClassname)
-        {
-            String[] nameSegments = inFullyQualifiedClassname.split("\\."); //$NON-NLS-1$
-            return (nameSegments.length > 0 ? nameSegments[nameSegments.length-1] : inFullyQualifiedClassname);
-        }
         /* (non-Javadoc)
          * @see javax.tools.ForwardingJavaFileManager#getClassLoader(javax.tools.JavaFileManager.Location)
          */
@@ -254,4 +254,14 @@ public interface Messages
     
     static final I18NMessage2P BROKER_STATUS_PROCESS_FAILED = new I18NMessage2P(LOGGER,
     																		  "broker_status_process_failed"); //$NON-NLS-1$
+    static final I18NMessage1P COMPILED_CLASS_CACHE_UNAVAILABLE = new I18NMessage1P(LOGGER,
+                                                                                    "compiled_class_cache_unavailable"); //$NON-NLS-1$
+    static final I18NMessage1P COMPILED_CLASS_CACHE_READ_FAILED = new I18NMessage1P(LOGGER,
+                                                                                    "compiled_class_cache_read_failed"); //$NON-NLS-1$
+    static final I18NMessage1P COMPILED_CLASS_CACHE_WRITE_FAILED = new I18NMessage1P(LOGGER,
+                                                                                     "compiled_class_cache_write_failed"); //$NON-NLS-1$
+    static final I18NMessage2P STRATEGY_PRECOMPILATION_FAILED = new I18NMessage2P(LOGGER,
+                                                                                  "strategy_precompilation_failed"); //$NON-NLS-1$
+    static final I18NMessage2P STRATEGY_PRECOMPILATION_COMPLETE = new I18NMessage2P(LOGGER,
+                                                                                    "strategy_precompilation_complete"); //$NON-NLS-1$
 }
@@ -0,0 +1,597 @@
+package org.marketcetera.strategy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.marketcetera.client.Client;
+import org.marketcetera.client.ClientInitException;
+import org.marketcetera.client.ConnectionException;
+import org.marketcetera.core.position.PositionKey;
+import org.marketcetera.core.position.PositionKeyFactory;
+import org.marketcetera.trade.Currency;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.ExecutionReport;
+import org.marketcetera.trade.ExecutionType;
+import org.marketcetera.trade.Future;
+import org.marketcetera.trade.Instrument;
+import org.marketcetera.trade.Option;
+import org.marketcetera.trade.UserID;
+import org.marketcetera.util.log.SLF4JLoggerProxy;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+
+/**
+ * Answers current position queries for a strategy from a local copy of the positions.
+ *
+ * <p>The positions of each instrument type are retrieved from the server once, on the first query for
+ * the current positions of that type, and then kept up to date with the fills in the execution reports
+ * received by the strategy. A fill changes the position of its instrument, account, and viewer by its
+ * last quantity, added for buys and subtracted for sells, the same way the server computes positions.
+ *
+ * <p>The retrieved positions include the fills sent up to the date they were retrieved as of, provided
+ * the server had already stored them. Fills sent after that date are applied on top of them, including
+ * those received shortly before the positions were retrieved. Since a fill sent before that date may be
+ * stored by the server only after the retrieval, the positions are retrieved again, as of the same date,
+ * once the overlap window has elapsed, and the fills sent after that date are applied again, each once
+ * by execution ID. A fill sent before that date that is received after the positions were retrieved
+ * again cannot be placed and causes the positions of its type to be discarded.
+ *
+ * <p>A query is answered locally only if its date is no earlier than the date the positions were retrieved
+ * and no earlier than the time the last fill was received. Queries for earlier dates return
+ * <code>null</code>, and the caller asks the server instead. Query dates, retrieval dates and receive
+ * times are all read from the local clock. The sending times of fills, read from the server clock, are
+ * only compared with the date the positions were retrieved as of, as the server itself does. Positions are retrieved again after
+ * {@link #invalidate()}, which is called when reports may have been missed.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ThreadSafe
+@ClassVersion("$Id$")
+class PositionCache
+{
+    /**
+     * Create a new PositionCache instance.
+     *
+     * @param inClientFactory a <code>StrategyModule.ClientFactory</code> value used to retrieve positions from the server
+     */
+    PositionCache(StrategyModule.ClientFactory inClientFactory)
+    {
+        this(inClientFactory,
+             OVERLAP_WINDOW);
+    }
+    /**
+     * Create a new PositionCache instance.
+     *
+     * @param inClientFactory a <code>StrategyModule.ClientFactory</code> value used to retrieve positions from the server
+     * @param inOverlapWindow a <code>long</code> value containing the time, in milliseconds, after which retrieved positions are retrieved again
+     */
+    PositionCache(StrategyModule.ClientFactory inClientFactory,
+                  long inOverlapWindow)
+    {
+        clientFactory = inClientFactory;
+        overlapWindow = inOverlapWindow;
+    }
+    /**
+     * Gets the position of the given instrument as of the given date.
+     *
+     * @param inDate a <code>Date</code> value
+     * @param inInstrument an <code>Instrument</code> value
+     * @return a <code>BigDecimal</code> value or <code>null</code> if the position must be retrieved from the server
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    synchronized BigDecimal getPosition(Date inDate,
+                                        Instrument inInstrument)
+            throws ConnectionException, ClientInitException
+    {
+        Positions positions = getPositions(inDate,
+                                           inInstrument.getClass());
+        if(positions == null) {
+            return null;
+        }
+        BigDecimal total = positions.totals.get(inInstrument);
+        return total == null ? BigDecimal.ZERO : total;
+    }
+    /**
+     * Gets the positions of all instruments of the given type as of the given date.
+     *
+     * @param inDate a <code>Date</code> value
+     * @param inType a <code>Class&lt;T&gt;</code> value
+     * @return a <code>Map&lt;PositionKey&lt;T&gt;,BigDecimal&gt;</code> value or <code>null</code> if the positions must be retrieved from the server
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T extends Instrument> Map<PositionKey<T>,BigDecimal> getAllPositions(Date inDate,
+                                                                                       Class<T> inType)
+            throws ConnectionException, ClientInitException
+    {
+        Positions positions = getPositions(inDate,
+                                           inType);
+        if(positions == null) {
+            return null;
+        }
+        Map<PositionKey<T>,BigDecimal> result = new HashMap<PositionKey<T>,BigDecimal>();
+        for(Map.Entry<PositionKey<?>,BigDecimal> entry : positions.byKey.entrySet()) {
+            result.put((PositionKey<T>)entry.getKey(),
+                       entry.getValue());
+        }
+        return result;
+    }
+    /**
+     * Gets the positions of the options with the given roots as of the given date.
+     *
+     * @param inDate a <code>Date</code> value
+     * @param inOptionRoots a <code>String...</code> value
+     * @return a <code>Map&lt;PositionKey&lt;Option&gt;,BigDecimal&gt;</code> value or <code>null</code> if the positions must be retrieved from the server
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    synchronized Map<PositionKey<Option>,BigDecimal> getOptionPositions(Date inDate,
+                                                                        String... inOptionRoots)
+            throws ConnectionException, ClientInitException
+    {
+        Map<PositionKey<Option>,BigDecimal> all = getAllPositions(inDate,
+                                                                  Option.class);
+        if(all == null) {
+            return null;
+        }
+        Set<String> roots = new HashSet<String>(Arrays.asList(inOptionRoots));
+        Map<PositionKey<Option>,BigDecimal> result = new HashMap<PositionKey<Option>,BigDecimal>();
+        for(Map.Entry<PositionKey<Option>,BigDecimal> entry : all.entrySet()) {
+            if(roots.contains(entry.getKey().getInstrument().getSymbol())) {
+                result.put(entry.getKey(),
+                           entry.getValue());
+            }
+        }
+        return result;
+    }
+    /**
+     * Applies the fill in the given report, if any, to the positions.
+     *
+     * @param inReport an <code>ExecutionReport</code> value
+     */
+    synchronized void update(ExecutionReport inReport)
+    {
+        ExecutionType executionType = inReport.getExecutionType();
+        if(!inReport.getOriginator().forPositions() ||
+           !inReport.getHierarchy().forPositions() ||
+           executionType == null ||
+           !executionType.isFill()) {
+            return;
+        }
+        Instrument instrument = inReport.getInstrument();
+        BigDecimal quantity = getSignedQuantity(inReport);
+        if(instrument == null || quantity == null || inReport.getLastPrice() == null || inReport.getLastPrice().signum() != 1) {
+            return;
+        }
+        Date sendingTime = inReport.getSendingTime();
+        if(sendingTime == null) {
+            // the fill cannot be placed relative to the retrieved positions
+            SLF4JLoggerProxy.debug(PositionCache.class,
+                                   "Discarding cached positions, {} has no sending time", //$NON-NLS-1$
+                                   inReport);
+            invalidate();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pruneRecentFills(now);
+        String executionID = inReport.getExecutionID();
+        if(executionID != null && recentFills.containsKey(executionID)) {
+            SLF4JLoggerProxy.debug(PositionCache.class,
+                                   "Ignoring {}, already applied", //$NON-NLS-1$
+                                   inReport);
+            return;
+        }
+        UserID viewer = inReport.getViewerID();
+        Fill fill = new Fill(executionID,
+                             PositionKeyFactory.createKey(instrument,
+                                                          inReport.getAccount(),
+                                                          viewer == null ? null : viewer.toString()),
+                             quantity,
+                             sendingTime.getTime(),
+                             now);
+        if(executionID != null) {
+            recentFills.put(executionID,
+                            fill);
+        }
+        lastFillReceivedAt = Math.max(lastFillReceivedAt,
+                                      now);
+        Class<?> type = instrument.getClass();
+        Positions positions = positionsByType.get(type);
+        if(positions == null) {
+            return;
+        }
+        if(!positions.confirmed && now - positions.retrievedAt >= overlapWindow) {
+            // the positions were not retrieved again in time, the fills held to reapply are no longer bounded
+            positionsByType.remove(type);
+            return;
+        }
+        apply(positions,
+              fill,
+              type);
+    }
+    /**
+     * Discards the cached positions so they are retrieved from the server again.
+     */
+    synchronized void invalidate()
+    {
+        positionsByType.clear();
+    }
+    /**
+     * Gets the cached positions of the given instrument type, retrieving them if the given date is current.
+     *
+     * @param inDate a <code>Date</code> value
+     * @param inType a <code>Class&lt;?&gt;</code> value
+     * @return a <code>Positions</code> value or <code>null</code> if the query must be answered by the server
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    @GuardedBy("this")
+    private Positions getPositions(Date inDate,
+                                   Class<?> inType)
+            throws ConnectionException, ClientInitException
+    {
+        if(inDate == null || inDate.getTime() < lastFillReceivedAt) {
+            return null;
+        }
+        Positions positions = positionsByType.get(inType);
+        if(positions != null) {
+            if(inDate.getTime() < positions.asOf) {
+                return null;
+            }
+            if(!positions.confirmed && System.currentTimeMillis() - positions.retrievedAt >= overlapWindow) {
+                positions = confirm(positions,
+                                    inType);
+            }
+            return positions;
+        }
+        // retrieve the positions only for a current query, otherwise fills between the query date and now
+        //  that have already been received would be missing
+        long now = System.currentTimeMillis();
+        long asOf = Math.min(inDate.getTime(),
+                             now);
+        if(asOf < now - SEED_WINDOW) {
+            return null;
+        }
+        Map<? extends PositionKey<?>,BigDecimal> seed = retrieve(new Date(asOf),
+                                                                 inType);
+        if(seed == null) {
+            return null;
+        }
+        positions = new Positions(asOf,
+                                  now);
+        positions.seed(seed);
+        // fills received before the retrieval and sent after its date are not included
+        pruneRecentFills(now);
+        for(Fill fill : recentFills.values()) {
+            if(fill.key.getInstrument().getClass() == inType) {
+                apply(positions,
+                      fill,
+                      inType);
+            }
+        }
+        positionsByType.put(inType,
+                            positions);
+        SLF4JLoggerProxy.debug(PositionCache.class,
+                               "Cached {} {} positions as of {}", //$NON-NLS-1$
+                               positions.byKey.size(),
+                               inType.getSimpleName(),
+                               new Date(asOf));
+        return positions;
+    }
+    /**
+     * Retrieves the given positions again, as of the same date, and reapplies the fills sent after that date.
+     *
+     * @param inPositions a <code>Positions</code> value
+     * @param inType a <code>Class&lt;?&gt;</code> value
+     * @return a <code>Positions</code> value or <code>null</code> if the query must be answered by the server
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    @GuardedBy("this")
+    private Positions confirm(Positions inPositions,
+                              Class<?> inType)
+            throws ConnectionException, ClientInitException
+    {
+        Map<? extends PositionKey<?>,BigDecimal> seed = retrieve(new Date(inPositions.asOf),
+                                                                 inType);
+        if(seed == null) {
+            positionsByType.remove(inType);
+            return null;
+        }
+        inPositions.byKey.clear();
+        inPositions.totals.clear();
+        inPositions.seed(seed);
+        for(Fill fill : inPositions.fills) {
+            inPositions.add(fill);
+        }
+        inPositions.fills.clear();
+        inPositions.confirmed = true;
+        SLF4JLoggerProxy.debug(PositionCache.class,
+                               "Confirmed {} {} positions as of {}", //$NON-NLS-1$
+                               inPositions.byKey.size(),
+                               inType.getSimpleName(),
+                               new Date(inPositions.asOf));
+        return inPositions;
+    }
+    /**
+     * Applies the given fill to the given positions.
+     *
+     * @param inPositions a <code>Positions</code> value
+     * @param inFill a <code>Fill</code> value
+     * @param inType a <code>Class&lt;?&gt;</code> value
+     */
+    @GuardedBy("this")
+    private void apply(Positions inPositions,
+                       Fill inFill,
+                       Class<?> inType)
+    {
+        if(inFill.sendingTime > inPositions.asOf) {
+            inPositions.add(inFill);
+            if(!inPositions.confirmed) {
+                inPositions.fills.add(inFill);
+            }
+        } else if(inPositions.confirmed) {
+            // the fill may or may not have been stored when the positions were retrieved again
+            SLF4JLoggerProxy.debug(PositionCache.class,
+                                   "Discarding cached {} positions, fill {} sent before {} received too late", //$NON-NLS-1$
+                                   inType.getSimpleName(),
+                                   inFill.executionID,
+                                   new Date(inPositions.asOf));
+            positionsByType.remove(inType);
+        }
+        // otherwise the fill is included when the positions are retrieved again
+    }
+    /**
+     * Removes the fills received before the overlap window from the recent fills.
+     *
+     * @param inNow a <code>long</code> value containing the current time, in milliseconds
+     */
+    @GuardedBy("this")
+    private void pruneRecentFills(long inNow)
+    {
+        Iterator<Fill> fills = recentFills.values().iterator();
+        while(fills.hasNext() && inNow - fills.next().receivedAt >= overlapWindow) {
+            fills.remove();
+        }
+    }
+    /**
+     * Retrieves the positions of all instruments of the given type from the server.
+     *
+     * @param inDate a <code>Date</code> value
+     * @param inType a <code>Class&lt;?&gt;</code> value
+     * @return a <code>Map&lt;? extends PositionKey&lt;?&gt;,BigDecimal&gt;</code> value or <code>null</code> if positions of this type are not cached
+     * @throws ConnectionException if the positions could not be retrieved from the server
+     * @throws ClientInitException if the client is not available
+     */
+    private Map<? extends PositionKey<?>,BigDecimal> retrieve(Date inDate,
+                                                              Class<?> inType)
+            throws ConnectionException, ClientInitException
+    {
+        Client client = clientFactory.getClient();
+        if(inType == Equity.class) {
+            return client.getAllEquityPositionsAsOf(inDate);
+        } else if(inType == Option.class) {
+            return client.getAllOptionPositionsAsOf(inDate);
+        } else if(inType == Future.class) {
+            return client.getAllFuturePositionsAsOf(inDate);
+        } else if(inType == Currency.class) {
+            return client.getAllCurrencyPositionsAsOf(inDate);
+        }
+        return null;
+    }
+    /**
+     * Gets the last quantity of the given report, negated for sells.
+     *
+     * @param inReport an <code>ExecutionReport</code> value
+     * @return a <code>BigDecimal</code> value or <code>null</code> if the report does not change a position
+     */
+    private static BigDecimal getSignedQuantity(ExecutionReport inReport)
+    {
+        BigDecimal lastQuantity = inReport.getLastQuantity();
+        if(lastQuantity == null || lastQuantity.signum() == 0 || inReport.getSide() == null) {
+            return null;
+        }
+        switch(inReport.getSide()) {
+            case Buy:
+                return lastQuantity;
+            case Sell:
+            case SellShort:
+            case SellShortExempt:
+                return lastQuantity.negate();
+            default:
+                return null;
+        }
+    }
+    /**
+     * Adds the given quantity to the value of the given key.
+     *
+     * @param inMap a <code>Map&lt;K,BigDecimal&gt;</code> value
+     * @param inKey a <code>K</code> value
+     * @param inQuantity a <code>BigDecimal</code> value
+     */
+    private static <K> void add(Map<K,BigDecimal> inMap,
+                                K inKey,
+                                BigDecimal inQuantity)
+    {
+        BigDecimal value = inMap.get(inKey);
+        inMap.put(inKey,
+                  value == null ? inQuantity : value.add(inQuantity));
+    }
+    /**
+     * A fill applied to the cached positions.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class Fill
+    {
+        /**
+         * Create a new Fill instance.
+         *
+         * @param inExecutionID a <code>String</code> value or <code>null</code>
+         * @param inKey a <code>PositionKey&lt;?&gt;</code> value
+         * @param inQuantity a <code>BigDecimal</code> value, negative for sells
+         * @param inSendingTime a <code>long</code> value
+         * @param inReceivedAt a <code>long</code> value
+         */
+        private Fill(String inExecutionID,
+                     PositionKey<?> inKey,
+                     BigDecimal inQuantity,
+                     long inSendingTime,
+                     long inReceivedAt)
+        {
+            executionID = inExecutionID;
+            key = inKey;
+            quantity = inQuantity;
+            sendingTime = inSendingTime;
+            receivedAt = inReceivedAt;
+        }
+        /**
+         * the execution ID of the fill, may be <code>null</code>
+         */
+        private final String executionID;
+        /**
+         * the position changed by the fill
+         */
+        private final PositionKey<?> key;
+        /**
+         * the quantity of the fill, negative for sells
+         */
+        private final BigDecimal quantity;
+        /**
+         * the sending time, in milliseconds, of the fill
+         */
+        private final long sendingTime;
+        /**
+         * the time, in milliseconds, the fill was received
+         */
+        private final long receivedAt;
+    }
+    /**
+     * The cached positions of one instrument type.
+     *
+     * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+     * @version $Id$
+     * @since 2.4.3
+     */
+    @ClassVersion("$Id$")
+    private static class Positions
+    {
+        /**
+         * Create a new Positions instance.
+         *
+         * @param inAsOf a <code>long</code> value
+         * @param inRetrievedAt a <code>long</code> value
+         */
+        private Positions(long inAsOf,
+                          long inRetrievedAt)
+        {
+            asOf = inAsOf;
+            retrievedAt = inRetrievedAt;
+        }
+        /**
+         * Adds the given positions retrieved from the server.
+         *
+         * @param inSeed a <code>Map&lt;? extends PositionKey&lt;?&gt;,BigDecimal&gt;</code> value
+         */
+        private void seed(Map<? extends PositionKey<?>,BigDecimal> inSeed)
+        {
+            for(Map.Entry<? extends PositionKey<?>,BigDecimal> entry : inSeed.entrySet()) {
+                PositionCache.add(byKey,
+                                  entry.getKey(),
+                                  entry.getValue());
+                PositionCache.add(totals,
+                                  entry.getKey().getInstrument(),
+                                  entry.getValue());
+            }
+        }
+        /**
+         * Adds the given fill.
+         *
+         * @param inFill a <code>Fill</code> value
+         */
+        private void add(Fill inFill)
+        {
+            PositionCache.add(byKey,
+                              inFill.key,
+                              inFill.quantity);
+            PositionCache.add(totals,
+                              inFill.key.getInstrument(),
+                              inFill.quantity);
+        }
+        /**
+         * the time, in milliseconds, as of which the positions were retrieved
+         */
+        private final long asOf;
+        /**
+         * the time, in milliseconds, the positions were first retrieved
+         */
+        private final long retrievedAt;
+        /**
+         * indicates if the positions were retrieved again after the overlap window
+         */
+        private boolean confirmed;
+        /**
+         * fills sent after {@link #asOf}, to be applied again when the positions are retrieved again
+         */
+        private final List<Fill> fills = new ArrayList<Fill>();
+        /**
+         * positions by key
+         */
+        private final Map<PositionKey<?>,BigDecimal> byKey = new HashMap<PositionKey<?>,BigDecimal>();
+        /**
+         * positions by instrument, summed over accounts and traders
+         */
+        private final Map<Instrument,BigDecimal> totals = new HashMap<Instrument,BigDecimal>();
+    }
+    /**
+     * how far, in milliseconds, the date of a query may be in the past for the query to be used to retrieve positions
+     */
+    private static final long SEED_WINDOW = 5000;
+    /**
+     * how long, in milliseconds, after retrieving positions they are retrieved again, and received fills are kept
+     */
+    private static final long OVERLAP_WINDOW = 5000;
+    /**
+     * used to retrieve positions from the server
+     */
+    private final StrategyModule.ClientFactory clientFactory;
+    /**
+     * how long, in milliseconds, after retrieving positions they are retrieved again, and received fills are kept
+     */
+    private final long overlapWindow;
+    /**
+     * fills received within the overlap window by execution ID, in the order received
+     */
+    @GuardedBy("this")
+    private final Map<String,Fill> recentFills = new LinkedHashMap<String,Fill>();
+    /**
+     * cached positions by instrument type
+     */
+    @GuardedBy("this")
+    private final Map<Class<?>,Positions> positionsByType = new HashMap<Class<?>,Positions>();
+    /**
+     * the time, in milliseconds according to the local clock, the last fill was received
+     */
+    @GuardedBy("this")
+    private long lastFillReceivedAt;
+}
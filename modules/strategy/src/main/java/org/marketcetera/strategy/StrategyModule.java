@@ -22,6 +22,7 @@ import org.marketcetera.core.ApplicationContainer;
 import org.marketcetera.core.CloseableLock;
 import org.marketcetera.core.Util;
 import org.marketcetera.core.notifications.Notification;
+import org.marketcetera.core.notifications.ServerStatusListener;
 import org.marketcetera.core.position.PositionKey;
 import org.marketcetera.core.publisher.ISubscriber;
 import org.marketcetera.core.publisher.PublisherEngine;
@@ -154,6 +155,10 @@ final class StrategyModule
             setEventSource(event,
                            inFlowID);
         }
+        PositionCache cache = positionCache;
+        if(cache != null && inData instanceof ExecutionReport) {
+            cache.update((ExecutionReport)inData);
+        }
         strategy.dataReceived(inData);
     }
     /* (non-Javadoc)
@@ -587,6 +592,12 @@ final class StrategyModule
                                       Equity inEquity)
         throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        BigDecimal position = cache == null ? null : cache.getPosition(inDate,
+                                                                        inEquity);
+        if(position != null) {
+            return position;
+        }
         return clientFactory.getClient().getEquityPositionAsOf(inDate,
                                                                inEquity);
     }
@@ -597,6 +608,12 @@ final class StrategyModule
     public Map<PositionKey<Option>, BigDecimal> getAllOptionPositionsAsOf(Date inDate)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        Map<PositionKey<Option>,BigDecimal> positions = cache == null ? null : cache.getAllPositions(inDate,
+                                                                                     Option.class);
+        if(positions != null) {
+            return positions;
+        }
         return clientFactory.getClient().getAllOptionPositionsAsOf(inDate);
     }
     /* (non-Javadoc)
@@ -606,6 +623,12 @@ final class StrategyModule
     public Map<PositionKey<Future>, BigDecimal> getAllFuturePositionsAsOf(Date inDate)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        Map<PositionKey<Future>,BigDecimal> positions = cache == null ? null : cache.getAllPositions(inDate,
+                                                                                     Future.class);
+        if(positions != null) {
+            return positions;
+        }
         return clientFactory.getClient().getAllFuturePositionsAsOf(inDate);
     }
     /* (non-Javadoc)
@@ -616,6 +639,12 @@ final class StrategyModule
                                             Future inFuture)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        BigDecimal position = cache == null ? null : cache.getPosition(inDate,
+                                                                        inFuture);
+        if(position != null) {
+            return position;
+        }
         return clientFactory.getClient().getFuturePositionAsOf(inDate,
                                                                inFuture);
     }
@@ -626,6 +655,12 @@ final class StrategyModule
     public Map<PositionKey<Currency>, BigDecimal> getAllCurrencyPositionsAsOf(Date inDate)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        Map<PositionKey<Currency>,BigDecimal> positions = cache == null ? null : cache.getAllPositions(inDate,
+                                                                                     Currency.class);
+        if(positions != null) {
+            return positions;
+        }
         return clientFactory.getClient().getAllCurrencyPositionsAsOf(inDate);
     }    
     /* (non-Javadoc)
@@ -636,6 +671,12 @@ final class StrategyModule
                                             Currency inCurrency)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        BigDecimal position = cache == null ? null : cache.getPosition(inDate,
+                                                                        inCurrency);
+        if(position != null) {
+            return position;
+        }
         return clientFactory.getClient().getCurrencyPositionAsOf(inDate,
         														inCurrency);
     }
@@ -647,6 +688,12 @@ final class StrategyModule
                                             Option inOption)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        BigDecimal position = cache == null ? null : cache.getPosition(inDate,
+                                                                        inOption);
+        if(position != null) {
+            return position;
+        }
         return clientFactory.getClient().getOptionPositionAsOf(inDate,
                                                                inOption);
     }
@@ -658,6 +705,12 @@ final class StrategyModule
                                                                        String... inOptionRoots)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        Map<PositionKey<Option>,BigDecimal> positions = cache == null ? null : cache.getOptionPositions(inDate,
+                                                                                                         inOptionRoots);
+        if(positions != null) {
+            return positions;
+        }
         return clientFactory.getClient().getOptionPositionsAsOf(inDate,
                                                                 inOptionRoots);
     }
@@ -677,6 +730,12 @@ final class StrategyModule
     public Map<PositionKey<Equity>, BigDecimal> getAllPositionsAsOf(Date inDate)
             throws ConnectionException, ClientInitException
     {
+        PositionCache cache = positionCache;
+        Map<PositionKey<Equity>,BigDecimal> positions = cache == null ? null : cache.getAllPositions(inDate,
+                                                                                     Equity.class);
+        if(positions != null) {
+            return positions;
+        }
         return clientFactory.getClient().getAllEquityPositionsAsOf(inDate);
     }
     /* (non-Javadoc)
@@ -1067,6 +1126,10 @@ final class StrategyModule
                                                                         false);
                 new RequestContainer(reportsDataFlow,
                                      counter.incrementAndGet());
+                // positions can be kept locally only if this strategy receives the execution reports
+                if(cachePositions) {
+                    startPositionCache();
+                }
             } catch (Exception e) {
                 EXECUTION_REPORT_REQUEST_FAILED.warn(StrategyModule.class,
                                                      name,
@@ -1114,9 +1177,60 @@ final class StrategyModule
                             e,
                             strategy);
         }
+        stopPositionCache();
         cancelAllDataRequests();
         disconnectORSRouting();
     }
+    /**
+     * Starts answering current position queries from a local cache.
+     */
+    private void startPositionCache()
+    {
+        final PositionCache cache = new PositionCache(clientFactory);
+        ServerStatusListener listener = new ServerStatusListener() {
+            @Override
+            public void receiveServerStatus(boolean inStatus)
+            {
+                // reports may be missed while the server is unavailable
+                cache.invalidate();
+            }
+        };
+        try {
+            clientFactory.getClient().addServerStatusListener(listener);
+        } catch (ClientInitException e) {
+            SLF4JLoggerProxy.debug(StrategyModule.class,
+                                   "{} not caching positions, the client is not available", //$NON-NLS-1$
+                                   name);
+            return;
+        }
+        serverStatusListener = listener;
+        positionCache = cache;
+    }
+    /**
+     * Sets whether current positions are answered from a local cache.
+     *
+     * <p>Takes effect the next time the strategy is started.
+     *
+     * @param inCachePositions a <code>boolean</code> value
+     */
+    void setCachePositions(boolean inCachePositions)
+    {
+        cachePositions = inCachePositions;
+    }
+    /**
+     * Stops answering position queries from a local cache.
+     */
+    private void stopPositionCache()
+    {
+        positionCache = null;
+        ServerStatusListener listener = serverStatusListener;
+        serverStatusListener = null;
+        if(listener != null) {
+            try {
+                clientFactory.getClient().removeServerStatusListener(listener);
+            } catch (ClientInitException ignored) {}
+        }
+    }
     /**
      * Generates an instance URN guaranteed to be unique with the scope of this JVM.
      *
@@ -1798,6 +1912,18 @@ final class StrategyModule
      */
     @GuardedBy("dataFlowLock")
     private DataFlowID orsFlow;
+    /**
+     * indicates if current positions should be answered from a local cache
+     */
+    private volatile boolean cachePositions;
+    /**
+     * answers current position queries locally, <code>null</code> if positions are not cached
+     */
+    private volatile PositionCache positionCache;
+    /**
+     * invalidates the position cache when the server connection changes, <code>null</code> if positions are not cached
+     */
+    private volatile ServerStatusListener serverStatusListener;
     /**
      * default method for connecting to the client
      */
@@ -1,10 +1,18 @@
 package org.marketcetera.strategy;
 
 import static org.marketcetera.strategy.Messages.PROVIDER_DESCRIPTION;
+import static org.marketcetera.strategy.Messages.STRATEGY_PRECOMPILATION_COMPLETE;
+import static org.marketcetera.strategy.Messages.STRATEGY_PRECOMPILATION_FAILED;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.commons.io.FileUtils;
 import org.marketcetera.core.ClassVersion;
 import org.marketcetera.module.ModuleCreationException;
 import org.marketcetera.module.ModuleFactory;
@@ -34,6 +42,7 @@ import org.marketcetera.module.ModuleURN;
  * <tr><th>Auto-Instantiated:</th><td>No</td></tr>
  * <tr><th>Auto-Started:</th><td>No</td></tr>
  * <tr><th>Instantiation Arguments:</th><td><code>String, String, Object, File, Properties, Boolean, ModuleURN</code>: See above for details.</td></tr>
+ * <tr><th>Management Interface</th><td>{@link StrategyModuleFactoryMXBean}</td></tr>
  * <tr><th>Module Type:</th><td>{@link StrategyModule}</td></tr>
  * </table>
  *
@@ -44,11 +53,24 @@ import org.marketcetera.module.ModuleURN;
 @ClassVersion("$Id$")
 public final class StrategyModuleFactory
         extends ModuleFactory
+        implements StrategyModuleFactoryMXBean
 {
     /**
      * use this provider URN to start a strategy
      */
     public static final ModuleURN PROVIDER_URN = new ModuleURN("metc:strategy:system");  //$NON-NLS-1$
+    /**
+     * extension of Java strategy source files
+     */
+    private static final String JAVA_EXTENSION = ".java"; //$NON-NLS-1$
+    /**
+     * Java strategy source files to compile in advance, separated by the path separator
+     */
+    private volatile String precompiledStrategies;
+    /**
+     * indicates if strategies created from now on answer current position queries from a local cache
+     */
+    private volatile boolean cachePositions;
     /**
      * Create a new MarketceteraFeedModuleFactory instance.
      */
@@ -73,6 +95,129 @@ public final class StrategyModuleFactory
     public StrategyModule create(Object... inParameters)
             throws ModuleCreationException
     {
-        return StrategyModule.getStrategyModule(inParameters);
+        StrategyModule module = StrategyModule.getStrategyModule(inParameters);
+        module.setCachePositions(cachePositions);
+        return module;
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#getCompiledClassCache()
+     */
+    @Override
+    public String getCompiledClassCache()
+    {
+        File directory = CompiledClassCache.getInstance().getDirectory();
+        return directory == null ? null : directory.getPath();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#setCompiledClassCache(java.lang.String)
+     */
+    @Override
+    public void setCompiledClassCache(String inDirectory)
+    {
+        CompiledClassCache.getInstance().setDirectory(inDirectory == null || inDirectory.trim().isEmpty() ? null : new File(inDirectory.trim()));
+        precompile();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#getPrecompiledStrategies()
+     */
+    @Override
+    public String getPrecompiledStrategies()
+    {
+        return precompiledStrategies;
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#setPrecompiledStrategies(java.lang.String)
+     */
+    @Override
+    public void setPrecompiledStrategies(String inFiles)
+    {
+        precompiledStrategies = inFiles;
+        precompile();
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#isCachingPositions()
+     */
+    @Override
+    public boolean isCachingPositions()
+    {
+        return cachePositions;
+    }
+    /* (non-Javadoc)
+     * @see org.marketcetera.strategy.StrategyModuleFactoryMXBean#setCachingPositions(boolean)
+     */
+    @Override
+    public void setCachingPositions(boolean inCachePositions)
+    {
+        cachePositions = inCachePositions;
+    }
+    /**
+     * Compiles the strategies to precompile, if any, into the compiled class cache, if it is enabled.
+     *
+     * <p>The strategies are compiled in parallel on a background thread. A strategy started while it is
+     * being compiled waits for the compilation instead of compiling it again.
+     */
+    private void precompile()
+    {
+        String files = precompiledStrategies;
+        if(files == null || files.trim().isEmpty() || CompiledClassCache.getInstance().getDirectory() == null) {
+            return;
+        }
+        final List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for(String path : files.split(File.pathSeparator)) {
+            if(path.trim().isEmpty()) {
+                continue;
+            }
+            final File file = new File(path.trim());
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call()
+                {
+                    String name = file.getName();
+                    if(name.endsWith(JAVA_EXTENSION)) {
+                        name = name.substring(0,
+                                              name.length() - JAVA_EXTENSION.length());
+                    }
+                    try {
+                        List<String> errors = JavaCompilerExecutionEngine.precompile(name,
+                                                                                     FileUtils.readFileToString(file));
+                        if(!errors.isEmpty()) {
+                            STRATEGY_PRECOMPILATION_FAILED.warn(StrategyModuleFactory.class,
+                                                                file,
+                                                                errors);
+                        }
+                    } catch (Exception e) {
+                        STRATEGY_PRECOMPILATION_FAILED.warn(StrategyModuleFactory.class,
+                                                            e,
+                                                            file,
+                                                            e.getMessage());
+                    }
+                    return null;
+                }
+            });
+        }
+        if(tasks.isEmpty()) {
+            return;
+        }
+        Thread precompiler = new Thread(new Runnable() {
+            @Override
+            public void run()
+            {
+                long start = System.currentTimeMillis();
+                ExecutorService pool = Executors.newFixedThreadPool(Math.min(tasks.size(),
+                                                                             Runtime.getRuntime().availableProcessors()));
+                try {
+                    pool.invokeAll(tasks);
+                    STRATEGY_PRECOMPILATION_COMPLETE.info(StrategyModuleFactory.class,
+                                                          tasks.size(),
+                                                          System.currentTimeMillis() - start);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+        },
+                                       "StrategyPrecompiler"); //$NON-NLS-1$
+        precompiler.setDaemon(true);
+        precompiler.start();
     }
 }
@@ -0,0 +1,78 @@
+package org.marketcetera.strategy;
+
+import javax.management.MXBean;
+
+import org.marketcetera.core.ClassVersion;
+import org.marketcetera.module.DisplayName;
+
+/* $License$ */
+
+/**
+ * Management interface for the strategy module provider.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+@MXBean(true)
+@DisplayName("Management Interface for Strategy Provider")
+public interface StrategyModuleFactoryMXBean
+{
+    /**
+     * Gets the directory in which compiled Java strategies are cached.
+     *
+     * @return a <code>String</code> value or <code>null</code> if compiled strategies are not cached
+     */
+    @DisplayName("The directory in which compiled Java strategies are cached")
+    String getCompiledClassCache();
+    /**
+     * Sets the directory in which compiled Java strategies are cached.
+     *
+     * <p>A Java strategy started with the same source and classpath as a cached one is loaded from
+     * the cache instead of being compiled. The directory should be writable only by the strategy agent.
+     *
+     * @param inDirectory a <code>String</code> value or <code>null</code> to stop caching compiled strategies
+     */
+    @DisplayName("The directory in which compiled Java strategies are cached")
+    void setCompiledClassCache(@DisplayName("The directory in which compiled Java strategies are cached")
+                               String inDirectory);
+    /**
+     * Gets the Java strategy source files compiled in advance.
+     *
+     * @return a <code>String</code> value or <code>null</code>
+     */
+    @DisplayName("The Java strategy source files compiled in advance")
+    String getPrecompiledStrategies();
+    /**
+     * Sets the Java strategy source files to compile in advance.
+     *
+     * <p>The files are compiled in parallel, in the background, into the compiled class cache. The name
+     * of each strategy is taken from its file name, which must match the name of the strategy class.
+     * Has no effect unless the compiled class cache is set.
+     *
+     * @param inFiles a <code>String</code> value containing file paths separated by the platform path separator
+     */
+    @DisplayName("The Java strategy source files compiled in advance")
+    void setPrecompiledStrategies(@DisplayName("The Java strategy source files compiled in advance, separated by the path separator")
+                                  String inFiles);
+    /**
+     * Indicates if strategies answer current position queries from a local cache.
+     *
+     * @return a <code>boolean</code> value
+     */
+    @DisplayName("Indicates if strategies answer current position queries from a local cache")
+    boolean isCachingPositions();
+    /**
+     * Sets whether strategies answer current position queries from a local cache.
+     *
+     * <p>The cache is seeded from the server and kept current with the fills the strategy receives.
+     * Queries for positions as of an earlier time are still sent to the server. Applies to strategies
+     * created after the value is set.
+     *
+     * @param inCachePositions a <code>boolean</code> value
+     */
+    @DisplayName("Indicates if strategies answer current position queries from a local cache")
+    void setCachingPositions(@DisplayName("Indicates if strategies answer current position queries from a local cache")
+                             boolean inCachePositions);
+}
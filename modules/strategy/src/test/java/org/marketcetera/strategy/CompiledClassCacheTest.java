@@ -0,0 +1,218 @@
+package org.marketcetera.strategy;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/* $License$ */
+
+/**
+ * Tests {@link CompiledClassCache}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class CompiledClassCacheTest
+{
+    /**
+     * Run before each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Before
+    public void setup()
+            throws Exception
+    {
+        cache = CompiledClassCache.getInstance();
+        compilations = new AtomicInteger();
+    }
+    /**
+     * Run after each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @After
+    public void cleanup()
+            throws Exception
+    {
+        cache.setDirectory(null);
+    }
+    /**
+     * Tests that the key changes with each of its components.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testKey()
+            throws Exception
+    {
+        File jar = folder.newFile("test.jar");
+        List<String> options = Arrays.asList("-g");
+        List<String> classpath = Arrays.asList(jar.getAbsolutePath());
+        String key = CompiledClassCache.computeKey("Strategy",
+                                                   "source",
+                                                   options,
+                                                   classpath);
+        assertEquals(key,
+                     CompiledClassCache.computeKey("Strategy",
+                                                   "source",
+                                                   options,
+                                                   classpath));
+        assertFalse(key.equals(CompiledClassCache.computeKey("Other",
+                                                             "source",
+                                                             options,
+                                                             classpath)));
+        assertFalse(key.equals(CompiledClassCache.computeKey("Strategy",
+                                                             "other source",
+                                                             options,
+                                                             classpath)));
+        assertFalse(key.equals(CompiledClassCache.computeKey("Strategy",
+                                                             "source",
+                                                             Collections.<String>emptyList(),
+                                                             classpath)));
+        // the classpath fingerprint covers the contents of its entries
+        jar.setLastModified(jar.lastModified() - 10000);
+        assertFalse(key.equals(CompiledClassCache.computeKey("Strategy",
+                                                             "source",
+                                                             options,
+                                                             classpath)));
+        // including the class files under directory entries
+        File directory = folder.newFolder("classes");
+        classpath = Arrays.asList(directory.getAbsolutePath());
+        key = CompiledClassCache.computeKey("Strategy",
+                                            "source",
+                                            options,
+                                            classpath);
+        File classFile = new File(new File(directory,
+                                           "org"),
+                                  "Dependency.class");
+        assertTrue(classFile.getParentFile().mkdir());
+        assertTrue(classFile.createNewFile());
+        String newKey = CompiledClassCache.computeKey("Strategy",
+                                                      "source",
+                                                      options,
+                                                      classpath);
+        assertFalse(key.equals(newKey));
+        classFile.setLastModified(classFile.lastModified() - 10000);
+        assertFalse(newKey.equals(CompiledClassCache.computeKey("Strategy",
+                                                                "source",
+                                                                options,
+                                                                classpath)));
+    }
+    /**
+     * Tests that compiled classes are stored and read back instead of being compiled again.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testCache()
+            throws Exception
+    {
+        // disabled cache compiles every time
+        cache.getClasses("key",
+                         compiler);
+        cache.getClasses("key",
+                         compiler);
+        assertEquals(2,
+                     compilations.get());
+        cache.setDirectory(folder.getRoot());
+        Map<String,byte[]> classes = cache.getClasses("key",
+                                                      compiler);
+        assertEquals(3,
+                     compilations.get());
+        Map<String,byte[]> cachedClasses = cache.getClasses("key",
+                                                            compiler);
+        assertEquals(3,
+                     compilations.get());
+        assertEquals(classes.keySet(),
+                     cachedClasses.keySet());
+        for(String name : classes.keySet()) {
+            assertArrayEquals(classes.get(name),
+                              cachedClasses.get(name));
+        }
+        cache.getClasses("other key",
+                         compiler);
+        assertEquals(4,
+                     compilations.get());
+    }
+    /**
+     * Tests that the key of a strategy is computed only if the cache is enabled.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testStrategyCache()
+            throws Exception
+    {
+        // the key cannot be computed from these values, a disabled cache must not try
+        cache.getClasses("Strategy",
+                         "source",
+                         null,
+                         null,
+                         compiler);
+        assertEquals(1,
+                     compilations.get());
+        cache.setDirectory(folder.getRoot());
+        List<String> options = Arrays.asList("-g");
+        List<String> classpath = Arrays.asList(folder.newFile("test.jar").getAbsolutePath());
+        cache.getClasses("Strategy",
+                         "source",
+                         options,
+                         classpath,
+                         compiler);
+        cache.getClasses("Strategy",
+                         "source",
+                         options,
+                         classpath,
+                         compiler);
+        assertEquals(2,
+                     compilations.get());
+    }
+    /**
+     * creates temporary files
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    /**
+     * stands in for the compiler
+     */
+    private final Callable<Map<String,byte[]>> compiler = new Callable<Map<String,byte[]>>() {
+        @Override
+        public Map<String,byte[]> call()
+                throws Exception
+        {
+            compilations.incrementAndGet();
+            Map<String,byte[]> classes = new HashMap<String,byte[]>();
+            classes.put("org.marketcetera.Strategy",
+                        new byte[] { 1, 2, 3 });
+            classes.put("org.marketcetera.Strategy$Helper",
+                        new byte[] { 4, 5 });
+            return classes;
+        }
+    };
+    /**
+     * number of compilations
+     */
+    private AtomicInteger compilations;
+    /**
+     * cache under test
+     */
+    private CompiledClassCache cache;
+}
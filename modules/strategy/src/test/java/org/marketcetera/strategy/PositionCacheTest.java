@@ -0,0 +1,352 @@
+package org.marketcetera.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.marketcetera.client.Client;
+import org.marketcetera.client.ClientInitException;
+import org.marketcetera.client.ConnectionException;
+import org.marketcetera.core.position.PositionKey;
+import org.marketcetera.core.position.PositionKeyFactory;
+import org.marketcetera.quickfix.FIXDataDictionaryManager;
+import org.marketcetera.quickfix.FIXVersion;
+import org.marketcetera.trade.BrokerID;
+import org.marketcetera.trade.Equity;
+import org.marketcetera.trade.ExecutionReport;
+import org.marketcetera.trade.Factory;
+import org.marketcetera.trade.Hierarchy;
+import org.marketcetera.trade.Originator;
+
+import quickfix.Message;
+import quickfix.field.ExecType;
+import quickfix.field.OrdStatus;
+import quickfix.field.SendingTime;
+import quickfix.field.Side;
+
+/* $License$ */
+
+/**
+ * Tests {@link PositionCache}.
+ *
+ * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
+ * @version $Id$
+ * @since 2.4.3
+ */
+public class PositionCacheTest
+{
+    /**
+     * Run once before all tests.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @BeforeClass
+    public static void once()
+            throws Exception
+    {
+        FIXDataDictionaryManager.initialize(FIXVersion.FIX44,
+                                            FIXVersion.FIX44.getDataDictionaryURL());
+    }
+    /**
+     * Run before each test.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Before
+    public void setup()
+            throws Exception
+    {
+        retrievals = new AtomicInteger();
+        serverPositions.clear();
+        serverPositions.put(PositionKeyFactory.createEquityKey(METC.getSymbol(),
+                                                               ACCOUNT,
+                                                               null),
+                            new BigDecimal("100"));
+        cache = new PositionCache(clientFactory);
+    }
+    /**
+     * Tests that positions are retrieved once and then updated with fills.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testFills()
+            throws Exception
+    {
+        long now = System.currentTimeMillis();
+        assertEquals(new BigDecimal("100"),
+                     cache.getPosition(new Date(now),
+                                       METC));
+        assertEquals(1,
+                     retrievals.get());
+        cache.update(createFill(Side.BUY,
+                                "50",
+                                now + 10));
+        assertEquals(new BigDecimal("150"),
+                     cache.getPosition(new Date(),
+                                       METC));
+        // the fill is received after the date of a query
+        Thread.sleep(50);
+        cache.update(createFill(Side.SELL,
+                                "30",
+                                now + 30));
+        Map<PositionKey<Equity>,BigDecimal> positions = cache.getAllPositions(new Date(),
+                                                                              Equity.class);
+        assertEquals(1,
+                     positions.size());
+        assertEquals(new BigDecimal("120"),
+                     positions.get(PositionKeyFactory.createEquityKey(METC.getSymbol(),
+                                                                      ACCOUNT,
+                                                                      null)));
+        assertEquals(BigDecimal.ZERO,
+                     cache.getPosition(new Date(),
+                                       new Equity("GOOG")));
+        assertEquals(1,
+                     retrievals.get());
+        // queries before the retrieval or the receipt of the last fill go to the server, whatever its sending time
+        assertNull(cache.getPosition(new Date(now - 1000),
+                                     METC));
+        assertNull(cache.getPosition(new Date(now + 40),
+                                     METC));
+    }
+    /**
+     * Tests that reports which do not change positions are ignored.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testIgnoredReports()
+            throws Exception
+    {
+        long now = System.currentTimeMillis();
+        cache.getPosition(new Date(now),
+                          METC);
+        // already included in the retrieved positions
+        cache.update(createFill(Side.BUY,
+                                "50",
+                                now));
+        // not from the broker
+        cache.update(createReport(Side.BUY,
+                                  "50",
+                                  now + 10,
+                                  Originator.Server,
+                                  ExecType.TRADE));
+        // not a fill
+        cache.update(createReport(Side.BUY,
+                                  "50",
+                                  now + 10,
+                                  Originator.Broker,
+                                  ExecType.NEW));
+        assertEquals(new BigDecimal("100"),
+                     cache.getPosition(new Date(),
+                                       METC));
+    }
+    /**
+     * Tests that positions are retrieved again after the overlap window and reconciled with the fills received.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testReconciliation()
+            throws Exception
+    {
+        cache = new PositionCache(clientFactory,
+                                  200);
+        long now = System.currentTimeMillis();
+        Date queryDate = new Date(now + 60000);
+        // received before the retrieval, sent after its date according to the server clock
+        ExecutionReport earlyFill = createFill(Side.BUY,
+                                               "20",
+                                               queryDate.getTime());
+        cache.update(earlyFill);
+        assertEquals(new BigDecimal("120"),
+                     cache.getPosition(queryDate,
+                                       METC));
+        assertEquals(1,
+                     retrievals.get());
+        // duplicates are applied once
+        cache.update(earlyFill);
+        // sent before the date of the retrieval but not yet stored by the server when retrieved
+        cache.update(createFill(Side.BUY,
+                                "50",
+                                now - 10));
+        assertEquals(new BigDecimal("120"),
+                     cache.getPosition(queryDate,
+                                       METC));
+        serverPositions.put(PositionKeyFactory.createEquityKey(METC.getSymbol(),
+                                                               ACCOUNT,
+                                                               null),
+                            new BigDecimal("150"));
+        Thread.sleep(300);
+        assertEquals(new BigDecimal("170"),
+                     cache.getPosition(queryDate,
+                                       METC));
+        assertEquals(2,
+                     retrievals.get());
+        assertEquals(new BigDecimal("170"),
+                     cache.getPosition(queryDate,
+                                       METC));
+        assertEquals(2,
+                     retrievals.get());
+        // a fill sent before the date of the retrieval cannot be placed any longer
+        cache.update(createFill(Side.SELL,
+                                "10",
+                                now - 5));
+        serverPositions.put(PositionKeyFactory.createEquityKey(METC.getSymbol(),
+                                                               ACCOUNT,
+                                                               null),
+                            new BigDecimal("140"));
+        assertEquals(new BigDecimal("140"),
+                     cache.getPosition(queryDate,
+                                       METC));
+        assertEquals(3,
+                     retrievals.get());
+    }
+    /**
+     * Tests that positions are only retrieved for current queries and again after invalidation.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void testRetrieval()
+            throws Exception
+    {
+        long now = System.currentTimeMillis();
+        assertNull(cache.getPosition(new Date(now - 60000),
+                                     METC));
+        assertEquals(0,
+                     retrievals.get());
+        cache.getPosition(new Date(now),
+                          METC);
+        cache.getPosition(new Date(now),
+                          METC);
+        assertEquals(1,
+                     retrievals.get());
+        cache.invalidate();
+        serverPositions.put(PositionKeyFactory.createEquityKey(METC.getSymbol(),
+                                                               ACCOUNT,
+                                                               null),
+                            new BigDecimal("200"));
+        assertEquals(new BigDecimal("200"),
+                     cache.getPosition(new Date(),
+                                       METC));
+        assertEquals(2,
+                     retrievals.get());
+    }
+    /**
+     * Creates a fill from the broker.
+     *
+     * @param inSide a <code>char</code> value
+     * @param inQuantity a <code>String</code> value
+     * @param inSendingTime a <code>long</code> value
+     * @return an <code>ExecutionReport</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    private static ExecutionReport createFill(char inSide,
+                                              String inQuantity,
+                                              long inSendingTime)
+            throws Exception
+    {
+        return createReport(inSide,
+                            inQuantity,
+                            inSendingTime,
+                            Originator.Broker,
+                            ExecType.TRADE);
+    }
+    /**
+     * Creates an execution report.
+     *
+     * @param inSide a <code>char</code> value
+     * @param inQuantity a <code>String</code> value
+     * @param inSendingTime a <code>long</code> value
+     * @param inOriginator an <code>Originator</code> value
+     * @param inExecType a <code>char</code> value
+     * @return an <code>ExecutionReport</code> value
+     * @throws Exception if an unexpected error occurs
+     */
+    private static ExecutionReport createReport(char inSide,
+                                                String inQuantity,
+                                                long inSendingTime,
+                                                Originator inOriginator,
+                                                char inExecType)
+            throws Exception
+    {
+        Message message = FIXVersion.FIX44.getMessageFactory().newExecutionReport("orderid",
+                                                                                  "clOrderID",
+                                                                                  "execID" + executionIDs.incrementAndGet(),
+                                                                                  OrdStatus.PARTIALLY_FILLED,
+                                                                                  inSide,
+                                                                                  new BigDecimal("1000"),
+                                                                                  new BigDecimal("10"),
+                                                                                  new BigDecimal(inQuantity),
+                                                                                  new BigDecimal("10"),
+                                                                                  new BigDecimal(inQuantity),
+                                                                                  new BigDecimal("10"),
+                                                                                  METC,
+                                                                                  ACCOUNT,
+                                                                                  null);
+        message.setField(new ExecType(inExecType));
+        message.getHeader().setField(new SendingTime(new Date(inSendingTime)));
+        return Factory.getInstance().createExecutionReport(message,
+                                                           new BrokerID("broker"),
+                                                           inOriginator,
+                                                           Hierarchy.Flat,
+                                                           null,
+                                                           null);
+    }
+    /**
+     * test instrument
+     */
+    private static final Equity METC = new Equity("METC");
+    /**
+     * test account
+     */
+    private static final String ACCOUNT = "account";
+    /**
+     * generates unique execution IDs
+     */
+    private static final AtomicInteger executionIDs = new AtomicInteger();
+    /**
+     * positions returned by the server
+     */
+    private final Map<PositionKey<Equity>,BigDecimal> serverPositions = new HashMap<PositionKey<Equity>,BigDecimal>();
+    /**
+     * number of times positions were retrieved from the server
+     */
+    private AtomicInteger retrievals;
+    /**
+     * cache under test
+     */
+    private PositionCache cache;
+    /**
+     * supplies the client to the cache
+     */
+    private final StrategyModule.ClientFactory clientFactory = new StrategyModule.ClientFactory() {
+        @Override
+        public Client getClient()
+                throws ClientInitException
+        {
+            return client;
+        }
+    };
+    /**
+     * stands in for the server
+     */
+    private final Client client = new StrategyTestBase.MockClient() {
+        @Override
+        public Map<PositionKey<Equity>,BigDecimal> getAllEquityPositionsAsOf(Date inDate)
+                throws ConnectionException
+        {
+            retrievals.incrementAndGet();
+            return new HashMap<PositionKey<Equity>,BigDecimal>(serverPositions);
+        }
+    };
+}
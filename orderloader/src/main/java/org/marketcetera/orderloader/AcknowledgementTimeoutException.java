@@ -0,0 +1,30 @@
+package org.marketcetera.orderloader;
+
+import org.marketcetera.util.except.I18NException;
+import org.marketcetera.util.log.I18NBoundMessage;
+import org.marketcetera.util.misc.ClassVersion;
+
+/* $License$ */
+/**
+ * Indicates that an order could not be sent as the server did not
+ * acknowledge any of the outstanding orders in time. Unlike an
+ * {@link OrderParsingException}, the order itself is valid and may be
+ * sent again.
+ *
+ * @author anshul@marketcetera.com
+ * @version $Id$
+ * @since 2.4.3
+ */
+@ClassVersion("$Id$")
+public class AcknowledgementTimeoutException extends I18NException {
+    /**
+     * Creates an instance.
+     *
+     * @param inMessage the failure message.
+     */
+    public AcknowledgementTimeoutException(I18NBoundMessage inMessage) {
+        super(inMessage);
+    }
+
+    private static final long serialVersionUID = 1L;
+}
@@ -93,6 +93,8 @@ public interface Messages
             new I18NMessage2P(LOGGER, "invalid_fix_version");   //$NON-NLS-1$
     static final I18NMessage1P UNEXPECTED_ORDER_TYPE =
             new I18NMessage1P(LOGGER, "unexpected_order_type");   //$NON-NLS-1$
+    static final I18NMessage1P ACKNOWLEDGEMENT_TIMEOUT =
+            new I18NMessage1P(LOGGER, "acknowledgement_timeout");   //$NON-NLS-1$
     static final I18NMessage0P ARG_MODE_VALUE = new I18NMessage0P(LOGGER, "arg_mode_value");   //$NON-NLS-1$
     static final I18NMessage0P ARG_MODE_DESCRIPTION = new I18NMessage0P(LOGGER, "arg_mode_description");   //$NON-NLS-1$
     static final I18NMessage0P ARG_USERNAME_VALUE = new I18NMessage0P(LOGGER, "arg_username_value");   //$NON-NLS-1$
@@ -103,14 +105,32 @@ public interface Messages
             new I18NMessage0P(LOGGER, "arg_broker_value");   //$NON-NLS-1$
     static final I18NMessage0P ARG_BROKER_DESCRIPTION =
             new I18NMessage0P(LOGGER, "arg_broker_description");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_WINDOW_VALUE =
+            new I18NMessage0P(LOGGER, "arg_window_value");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_WINDOW_DESCRIPTION =
+            new I18NMessage0P(LOGGER, "arg_window_description");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_THREADS_VALUE =
+            new I18NMessage0P(LOGGER, "arg_threads_value");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_THREADS_DESCRIPTION =
+            new I18NMessage0P(LOGGER, "arg_threads_description");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_BATCH_VALUE =
+            new I18NMessage0P(LOGGER, "arg_batch_value");   //$NON-NLS-1$
+    static final I18NMessage0P ARG_BATCH_DESCRIPTION =
+            new I18NMessage0P(LOGGER, "arg_batch_description");   //$NON-NLS-1$
     static final I18NMessage3P LINE_SUMMARY =
             new I18NMessage3P(LOGGER, "line_summary");   //$NON-NLS-1$
     static final I18NMessage2P ORDER_SUMMARY =
             new I18NMessage2P(LOGGER, "order_summary");   //$NON-NLS-1$
+    static final I18NMessage3P THROUGHPUT_SUMMARY =
+            new I18NMessage3P(LOGGER, "throughput_summary");   //$NON-NLS-1$
+    static final I18NMessage4P ACK_LATENCY_SUMMARY =
+            new I18NMessage4P(LOGGER, "ack_latency_summary");   //$NON-NLS-1$
     static final I18NMessage0P FAILED_ORDERS =
             new I18NMessage0P(LOGGER, "failed_orders");   //$NON-NLS-1$
     static final I18NMessage3P FAILED_ORDER =
             new I18NMessage3P(LOGGER, "failed_order");   //$NON-NLS-1$
+    static final I18NMessage3P UNSENT_ORDER =
+            new I18NMessage3P(LOGGER, "unsent_order");   //$NON-NLS-1$
     static final I18NMessage1P MISSING_REQUIRED_FIELD =
             new I18NMessage1P(LOGGER, "missing_required_field");   //$NON-NLS-1$
 
@@ -46,6 +46,37 @@ public class OrderLoader {
                        OrderProcessor inOrderProcessor,
                        File inFile)
             throws OrderParsingException, IOException {
+        this(inMode, inBrokerID, inOrderProcessor, inFile, 0,
+                OrderParser.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a new instance that processes orders from a csv input file,
+     * parsing them in parallel.
+     *
+     * @param inMode the mode. Can be <code>sys</code> or a FIX version value.
+     * If null, defaults to <code>sys</code>.
+     * @param inBrokerID the broker's ID to which the orders should be sent.
+     * Can be null, if the mode is <code>sys</code>.
+     * @param inOrderProcessor the processor that should process all the orders
+     * parsed out by the order loader. Cannot be null.
+     * @param inFile the csv file that contains orders that need to be parsed.
+     * Cannot be null.
+     * @param inParseThreads the number of threads that parse the orders in
+     * batches, zero to parse and process the orders one at a time.
+     * @param inBatchSize the number of orders in each batch.
+     *
+     * @throws OrderParsingException if there were errors
+     * @throws java.io.IOException if there were errors reading data from the
+     * supplied file.
+     */
+    public OrderLoader(String inMode,
+                       BrokerID inBrokerID,
+                       OrderProcessor inOrderProcessor,
+                       File inFile,
+                       int inParseThreads,
+                       int inBatchSize)
+            throws OrderParsingException, IOException {
         if(inOrderProcessor == null) {
             throw new NullPointerException();
         }
@@ -74,6 +105,8 @@ public class OrderLoader {
                     inBrokerID, fixVersion);
         }
         mParser = new OrderParser(mRowProcessor);
+        mParser.setParseThreads(inParseThreads);
+        mParser.setBatchSize(inBatchSize);
         mParser.parseOrders(new FileInputStream(inFile));
     }
 
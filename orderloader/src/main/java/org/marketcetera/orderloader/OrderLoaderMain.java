@@ -7,6 +7,7 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.cli.*;
@@ -15,10 +16,13 @@ import org.marketcetera.core.ApplicationContainer;
 import org.marketcetera.core.ApplicationVersion;
 import org.marketcetera.trade.BrokerID;
 import org.marketcetera.util.except.I18NException;
+import org.marketcetera.util.log.I18NMessage3P;
 import org.marketcetera.util.log.SLF4JLoggerProxy;
 import org.marketcetera.util.misc.ClassVersion;
 import org.springframework.context.Lifecycle;
 
+import com.codahale.metrics.Snapshot;
+
 /* $License$ */
 /**
  * The entry point for running the order loader as an application
@@ -205,10 +209,15 @@ public class OrderLoaderMain
             displaySummary(new OrderLoader(mMode,
                                            mBrokerID,
                                            processor,
-                                           new File(mFilename)));
+                                           new File(mFilename),
+                                           mWindow > 0 ? mParseThreads : 0,
+                                           mBatchSize));
         } finally {
             processor.done();
         }
+        if(processor instanceof ServerOrderProcessor) {
+            displayStatistics((ServerOrderProcessor)processor);
+        }
     }
 
     /**
@@ -225,7 +234,29 @@ public class OrderLoaderMain
     protected OrderProcessor createProcessor(ClientParameters inParameters)
             throws Exception
     {
-        return new ServerOrderProcessor(inParameters);
+        return new ServerOrderProcessor(inParameters,
+                                        mWindow);
+    }
+    /**
+     * Displays the rate at which orders were sent and acknowledged, and the
+     * acknowledgement latencies, after all orders have been acknowledged.
+     *
+     * @param inProcessor the processor that sent the orders.
+     */
+    protected void displayStatistics(ServerOrderProcessor inProcessor)
+    {
+        printMessage(THROUGHPUT_SUMMARY.getText(inProcessor.getOrdersSent(),
+                                                String.format("%.1f", //$NON-NLS-1$
+                                                              inProcessor.getOrdersPerSecond()),
+                                                String.format("%.1f", //$NON-NLS-1$
+                                                              inProcessor.getAcknowledgedPerSecond())));
+        if(inProcessor.getOrdersAcknowledged() > 0) {
+            Snapshot latencies = inProcessor.getAcknowledgementLatencies();
+            printMessage(ACK_LATENCY_SUMMARY.getText(toMillis(latencies.getMedian()),
+                                                     toMillis(latencies.getValue(0.9)),
+                                                     toMillis(latencies.get99thPercentile()),
+                                                     toMillis(latencies.getMax())));
+        }
     }
     /**
      * Displays the summary of results after the order loader is done processing.
@@ -243,9 +274,13 @@ public class OrderLoaderMain
         if(!list.isEmpty()) {
             printMessage(FAILED_ORDERS.getText());
             for(FailedOrderInfo info: list) {
-                printMessage(FAILED_ORDER.getText(info.getIndex(),
-                                                  Arrays.toString(info.getRow()),
-                                                  getExceptionMsg(info.getException())));
+                // orders that timed out were valid but could not be sent
+                I18NMessage3P message =
+                        info.getException() instanceof AcknowledgementTimeoutException
+                        ? UNSENT_ORDER : FAILED_ORDER;
+                printMessage(message.getText(info.getIndex(),
+                                             Arrays.toString(info.getRow()),
+                                             getExceptionMsg(info.getException())));
             }
         }
     }
@@ -285,6 +320,18 @@ public class OrderLoaderMain
             return inException.getLocalizedMessage();
         }
     }
+    /**
+     * Formats the supplied latency in milliseconds.
+     *
+     * @param inNanos the latency in nanoseconds.
+     *
+     * @return the formatted latency.
+     */
+    private static String toMillis(double inNanos)
+    {
+        return String.format("%.3f", //$NON-NLS-1$
+                             inNanos / TimeUnit.MILLISECONDS.toNanos(1));
+    }
     /**
      * Runs the supplied instance given the arguments.
      *
@@ -324,6 +371,15 @@ public class OrderLoaderMain
         if(inLine.hasOption(OPT_BROKER)) {
             mBrokerID = new BrokerID(inLine.getOptionValue(OPT_BROKER));
         }
+        if(inLine.hasOption(OPT_WINDOW)) {
+            mWindow = parseCount(inLine.getOptionValue(OPT_WINDOW));
+        }
+        if(inLine.hasOption(OPT_THREADS)) {
+            mParseThreads = parseCount(inLine.getOptionValue(OPT_THREADS));
+        }
+        if(inLine.hasOption(OPT_BATCH_SIZE)) {
+            mBatchSize = parseCount(inLine.getOptionValue(OPT_BATCH_SIZE));
+        }
         if(inLine.getArgList().isEmpty()) {
             throw new IllegalArgumentException(ERROR_MISSING_FILE.getText());
         } else {
@@ -334,6 +390,23 @@ public class OrderLoaderMain
         }
         doProcessing();
     }
+    /**
+     * Parses a positive count from the supplied option value.
+     *
+     * @param inValue the option value.
+     *
+     * @return the count.
+     *
+     * @throws IllegalArgumentException if the value is not a positive integer.
+     */
+    private static int parseCount(String inValue)
+    {
+        int count = Integer.parseInt(inValue);
+        if(count < 1) {
+            throw new IllegalArgumentException(inValue);
+        }
+        return count;
+    }
     /**
      * Constructs the command line options for the orderloader.
      *
@@ -347,6 +420,9 @@ public class OrderLoaderMain
         opts.addOption(OptionBuilder.hasArg().withArgName(ARG_BROKER_VALUE.getText()).withDescription(ARG_BROKER_DESCRIPTION.getText()).isRequired(false).create(OPT_BROKER));
         opts.addOption(OptionBuilder.hasArg().withArgName(ARG_USERNAME_VALUE.getText()).withDescription(ARG_USERNAME_DESCRIPTION.getText()).isRequired(false).create(OPT_USERNAME));
         opts.addOption(OptionBuilder.hasArg().withArgName(ARG_PASSWORD_VALUE.getText()).withDescription(ARG_PASSWORD_DESCRIPTION.getText()).isRequired(false).create(OPT_PASSWORD));
+        opts.addOption(OptionBuilder.hasArg().withArgName(ARG_WINDOW_VALUE.getText()).withDescription(ARG_WINDOW_DESCRIPTION.getText()).isRequired(false).create(OPT_WINDOW));
+        opts.addOption(OptionBuilder.hasArg().withArgName(ARG_THREADS_VALUE.getText()).withDescription(ARG_THREADS_DESCRIPTION.getText()).isRequired(false).create(OPT_THREADS));
+        opts.addOption(OptionBuilder.hasArg().withArgName(ARG_BATCH_VALUE.getText()).withDescription(ARG_BATCH_DESCRIPTION.getText()).isRequired(false).create(OPT_BATCH_SIZE));
         return opts;
     }
     /**
@@ -387,6 +463,18 @@ public class OrderLoaderMain
      * filename to parse
      */
     private String mFilename;
+    /**
+     * maximum number of orders not yet acknowledged, zero if unlimited
+     */
+    private int mWindow;
+    /**
+     * number of threads parsing orders when a window is specified
+     */
+    private int mParseThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * number of rows parsed by a thread at a time
+     */
+    private int mBatchSize = OrderParser.DEFAULT_BATCH_SIZE;
     /**
      * 
      */
@@ -403,6 +491,18 @@ public class OrderLoaderMain
      * 
      */
     private static final String OPT_PASSWORD = "p";  //$NON-NLS-1$
+    /**
+     * option specifying the maximum number of orders not yet acknowledged
+     */
+    private static final String OPT_WINDOW = "w";  //$NON-NLS-1$
+    /**
+     * option specifying the number of parsing threads
+     */
+    private static final String OPT_THREADS = "t";  //$NON-NLS-1$
+    /**
+     * option specifying the parsing batch size
+     */
+    private static final String OPT_BATCH_SIZE = "s";  //$NON-NLS-1$
     /**
      * indicates if the order loader is running or not 
      */
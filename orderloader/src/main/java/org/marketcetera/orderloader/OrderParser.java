@@ -2,12 +2,18 @@ package org.marketcetera.orderloader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVStrategy;
 import org.marketcetera.util.unicode.UnicodeInputStreamReader;
 import org.marketcetera.util.unicode.DecodingStrategy;
 import org.marketcetera.util.misc.ClassVersion;
+import org.marketcetera.util.misc.NamedThreadFactory;
 import static org.marketcetera.orderloader.Messages.*;
 
 
@@ -63,6 +69,53 @@ public class OrderParser {
         return mNumComments;
     }
 
+    /**
+     * Returns the number of threads that parse rows in parallel.
+     *
+     * @return the number of threads, zero if rows are parsed and processed
+     * one at a time as they are read.
+     */
+    public int getParseThreads() {
+        return mParseThreads;
+    }
+
+    /**
+     * Sets the number of threads that parse rows in parallel. When set,
+     * rows are parsed in batches by these threads and processed in the
+     * order in which they appear in the input while the following batches
+     * are being parsed.
+     *
+     * @param inParseThreads the number of threads, zero to parse and process
+     * rows one at a time as they are read.
+     */
+    public void setParseThreads(int inParseThreads) {
+        if(inParseThreads < 0) {
+            throw new IllegalArgumentException();
+        }
+        mParseThreads = inParseThreads;
+    }
+
+    /**
+     * Returns the number of rows in each batch parsed in parallel.
+     *
+     * @return the number of rows in each batch.
+     */
+    public int getBatchSize() {
+        return mBatchSize;
+    }
+
+    /**
+     * Sets the number of rows in each batch parsed in parallel.
+     *
+     * @param inBatchSize the number of rows in each batch.
+     */
+    public void setBatchSize(int inBatchSize) {
+        if(inBatchSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        mBatchSize = inBatchSize;
+    }
+
     /**
      * Parses rows out of the supplied file and uses the processors to
      * process them.
@@ -85,6 +138,12 @@ public class OrderParser {
                     CSVStrategy.EXCEL_STRATEGY).getAllValues();
 
             boolean isProcessorInit = false;
+            int[] orderIndexes = null;
+            List<String[]> orderRows = null;
+            if (rows != null && mParseThreads > 0) {
+                orderIndexes = new int[rows.length];
+                orderRows = new ArrayList<String[]>(rows.length);
+            }
             if (rows != null) {
                 for(String[] row : rows) {
                     mNumLines++;
@@ -96,7 +155,12 @@ public class OrderParser {
                         mNumComments++;
                     } else {
                         if(isProcessorInit) {
-                            getProcessor().processOrder(mNumLines, row);
+                            if(orderRows != null) {
+                                orderIndexes[orderRows.size()] = mNumLines;
+                                orderRows.add(row);
+                            } else {
+                                getProcessor().processOrder(mNumLines, row);
+                            }
                         } else {
                             getProcessor().initialize(row);
                             isProcessorInit = true;
@@ -104,6 +168,9 @@ public class OrderParser {
                     }
                 }
             }
+            if(orderRows != null && !orderRows.isEmpty()) {
+                processOrders(orderIndexes, orderRows);
+            }
             if(getProcessor().getTotal() < 1) {
                 throw new OrderParsingException(ERROR_NO_ORDERS);
             }
@@ -117,6 +184,29 @@ public class OrderParser {
         }
     }
 
+    /**
+     * Parses the supplied rows in parallel and processes them.
+     *
+     * @param inIndexes the line numbers of the rows.
+     * @param inRows the rows.
+     *
+     * @throws IOException if the thread was interrupted.
+     */
+    private void processOrders(int[] inIndexes, List<String[]> inRows)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(mParseThreads,
+                new NamedThreadFactory("OrderParser"));  //$NON-NLS-1$
+        try {
+            getProcessor().processOrders(inIndexes, inRows, executor,
+                    mBatchSize);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Returns the processor being used for processing rows.
      *
@@ -129,6 +219,12 @@ public class OrderParser {
     private int mNumLines = 0;
     private int mNumBlankLines = 0;
     private int mNumComments = 0;
+    private int mParseThreads = 0;
+    private int mBatchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * The default number of rows in each batch parsed in parallel.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
     private final RowProcessor mProcessor;
 
 
@@ -5,9 +5,14 @@ import org.marketcetera.util.log.I18NBoundMessage2P;
 import org.marketcetera.trade.Order;
 import org.marketcetera.trade.BrokerID;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.LinkedList;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /* $License$ */
 /**
@@ -43,12 +48,7 @@ public abstract class RowProcessor {
      */
     public final void processOrder(int inIndex, String... inRow) {
         try {
-            if(getNumHeaders() != inRow.length) {
-                throw new OrderParsingException(new I18NBoundMessage2P(
-                        Messages.HEADER_ROW_MISMATCH,getNumHeaders(),
-                        inRow.length));
-            }
-            Order order = parseOrder(inRow);
+            Order order = parseRow(inRow);
             getProcessor().processOrder(order, inIndex);
             mNumSuccess++;
         }catch(Exception e) {
@@ -57,6 +57,77 @@ public abstract class RowProcessor {
         }
     }
 
+    /**
+     * Parses the orders in the supplied rows and processes them using the
+     * {@link OrderProcessor}.
+     * <p>
+     * The rows are split in batches of the supplied size which are parsed
+     * in parallel by the supplied executor. The orders are processed in the
+     * order of the rows, each batch as soon as it has been parsed, while the
+     * following batches are being parsed.
+     *
+     * @param inIndexes the row indexes, in the same order as the rows.
+     * @param inRows the row values, cannot be null.
+     * @param inExecutor the executor that parses the batches.
+     * @param inBatchSize the number of rows in each batch.
+     *
+     * @throws InterruptedException if the thread was interrupted while
+     * waiting for a batch to be parsed.
+     */
+    public final void processOrders(int[] inIndexes,
+                                    final List<String[]> inRows,
+                                    ExecutorService inExecutor,
+                                    int inBatchSize)
+            throws InterruptedException {
+        if(inBatchSize < 1) {
+            throw new IllegalArgumentException();
+        }
+        List<Future<Object[]>> batches = new ArrayList<Future<Object[]>>();
+        for(int start = 0; start < inRows.size(); start += inBatchSize) {
+            final int from = start;
+            final int to = Math.min(start + inBatchSize, inRows.size());
+            batches.add(inExecutor.submit(new Callable<Object[]>() {
+                @Override
+                public Object[] call() {
+                    Object[] results = new Object[to - from];
+                    for(int i = from; i < to; i++) {
+                        try {
+                            results[i - from] = parseRow(inRows.get(i));
+                        } catch(Exception e) {
+                            results[i - from] = e;
+                        }
+                    }
+                    return results;
+                }
+            }));
+        }
+        int row = 0;
+        for(Future<Object[]> batch: batches) {
+            Object[] results;
+            try {
+                results = batch.get();
+            } catch (ExecutionException e) {
+                // parse failures are returned as results, this is an error
+                throw new IllegalStateException(e.getCause());
+            }
+            for(Object result: results) {
+                int index = inIndexes[row];
+                String[] values = inRows.get(row);
+                row++;
+                try {
+                    if(result instanceof Exception) {
+                        throw (Exception)result;
+                    }
+                    getProcessor().processOrder((Order)result, index);
+                    mNumSuccess++;
+                } catch(Exception e) {
+                    mNumFailed++;
+                    addFailed(index, values, e);
+                }
+            }
+        }
+    }
+
     /**
      * Returns the total number of orders processed. The returned
      * value is the sum of {@link #getNumFailed()} & {@link #getNumSuccess()}.
@@ -141,6 +212,25 @@ public abstract class RowProcessor {
     protected abstract Order parseOrder(String[] inRow)
             throws OrderParsingException;
 
+    /**
+     * Validates the supplied row against the headers and creates an order
+     * instance from it.
+     *
+     * @param inRow the supplied row.
+     *
+     * @return the order created from the supplied row.
+     *
+     * @throws OrderParsingException if there were errors parsing the row.
+     */
+    private Order parseRow(String[] inRow) throws OrderParsingException {
+        if(getNumHeaders() != inRow.length) {
+            throw new OrderParsingException(new I18NBoundMessage2P(
+                    Messages.HEADER_ROW_MISMATCH,getNumHeaders(),
+                    inRow.length));
+        }
+        return parseOrder(inRow);
+    }
+
     /**
      * Records the failure when processing an order.
      *
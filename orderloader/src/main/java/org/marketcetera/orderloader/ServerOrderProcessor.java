@@ -1,6 +1,12 @@
 package org.marketcetera.orderloader;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.marketcetera.client.ClientInitException;
 import org.marketcetera.client.ClientManager;
 import org.marketcetera.client.ClientParameters;
@@ -10,14 +16,31 @@ import org.marketcetera.trade.ExecutionReport;
 import org.marketcetera.trade.FIXOrder;
 import org.marketcetera.trade.Order;
 import org.marketcetera.trade.OrderCancelReject;
+import org.marketcetera.trade.OrderID;
 import org.marketcetera.trade.OrderSingle;
 import org.marketcetera.trade.Originator;
+import org.marketcetera.trade.ReportBase;
 import org.marketcetera.util.log.I18NBoundMessage1P;
 import org.marketcetera.util.misc.ClassVersion;
 
+import quickfix.FieldNotFound;
+import quickfix.field.ClOrdID;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+
 /* $License$ */
 /**
  * An order processor that sends orders to the server.
+ * <p>
+ * The processor can limit the number of orders sent to the server that
+ * the server has not acknowledged yet. Once the limit is reached, sending
+ * an order waits for an acknowledgement. Orders without an order ID, and
+ * orders that reuse the ID of an order still outstanding, do not count
+ * against the limit. The processor measures the time
+ * between sending each order and its acknowledgement, and the rate at
+ * which the orders were sent.
  *
  * @author anshul@marketcetera.com
  * @version $Id$
@@ -36,6 +59,31 @@ public class ServerOrderProcessor implements OrderProcessor {
 
     private AtomicInteger mOrdersOutstanding;
 
+    /**
+     * Limits the orders outstanding, null if unlimited.
+     */
+
+    private final Semaphore mWindow;
+
+    /**
+     * The time each outstanding order was sent, in nanoseconds.
+     */
+
+    private final Map<OrderID,Long> mSendTimes =
+        new ConcurrentHashMap<OrderID,Long>();
+
+    /**
+     * The acknowledgement latencies, in nanoseconds.
+     */
+
+    private final Histogram mAckLatencies =
+        new Histogram(new UniformReservoir(LATENCY_SAMPLES));
+
+    private final AtomicInteger mOrdersSent = new AtomicInteger();
+    private final AtomicLong mFirstSendTime = new AtomicLong();
+    private volatile long mLastSendTime;
+    private volatile long mLastAckTime;
+
     /**
      * Counts ORS acknowledgements.
      */
@@ -47,7 +95,7 @@ public class ServerOrderProcessor implements OrderProcessor {
         public void receiveExecutionReport(ExecutionReport inReport)
         {
             if (inReport.getOriginator()==Originator.Server) {
-                mOrdersOutstanding.getAndDecrement();
+                acknowledged(inReport);
             }
         }
 
@@ -55,7 +103,7 @@ public class ServerOrderProcessor implements OrderProcessor {
         public void receiveCancelReject(OrderCancelReject inReport)
         {
             if (inReport.getOriginator()==Originator.Server) {
-                mOrdersOutstanding.getAndDecrement();
+                acknowledged(inReport);
             }
         }
     }
@@ -72,22 +120,132 @@ public class ServerOrderProcessor implements OrderProcessor {
      */
     public ServerOrderProcessor(ClientParameters inParameter)
             throws ClientInitException, ConnectionException {
+        this(inParameter, 0);
+    }
+
+    /**
+     * Creates an instance that limits the number of orders outstanding.
+     *
+     * @param inParameter the parameters to connect to the server.
+     * @param inMaxOutstanding the maximum number of orders sent that the
+     * server has not acknowledged yet, zero if unlimited.
+     *
+     * @throws ClientInitException if there were unexpected issues initializing
+     * the client.
+     * @throws ConnectionException if there were network issues initializing
+     * the client.
+     */
+    public ServerOrderProcessor(ClientParameters inParameter,
+                                int inMaxOutstanding)
+            throws ClientInitException, ConnectionException {
+        if(inMaxOutstanding < 0) {
+            throw new IllegalArgumentException();
+        }
         mOrdersOutstanding=new AtomicInteger();
+        mWindow=inMaxOutstanding > 0 ? new Semaphore(inMaxOutstanding) : null;
         ClientManager.init(inParameter);
         ClientManager.getInstance().addReportListener(new CounterListener());
     }
 
     @Override
     public void processOrder(Order inOrder, int inOrderIndex) throws Exception {
-        if(inOrder instanceof OrderSingle) {
-            ClientManager.getInstance().sendOrder((OrderSingle)inOrder);
-        } else if(inOrder instanceof FIXOrder) {
-            ClientManager.getInstance().sendOrderRaw((FIXOrder)inOrder);
-        } else {
+        if(!(inOrder instanceof OrderSingle) && !(inOrder instanceof FIXOrder)) {
             throw new OrderParsingException(new I18NBoundMessage1P(
                     Messages.UNEXPECTED_ORDER_TYPE, inOrder));
         }
+        OrderID orderID = getOrderID(inOrder);
+        // only orders whose acknowledgement can be told apart are tracked
+        // and count against the window.
+        boolean tracked = orderID != null &&
+                !mSendTimes.containsKey(orderID);
+        if(tracked && mWindow != null && !mWindow.tryAcquire(
+                MAXIMUM_DELIVERY_WAIT, TimeUnit.MILLISECONDS)) {
+            throw new AcknowledgementTimeoutException(new I18NBoundMessage1P(
+                    Messages.ACKNOWLEDGEMENT_TIMEOUT, MAXIMUM_DELIVERY_WAIT));
+        }
+        long sendTime = System.nanoTime();
+        if(tracked) {
+            mSendTimes.put(orderID, sendTime);
+        }
         mOrdersOutstanding.getAndIncrement();
+        try {
+            if(inOrder instanceof OrderSingle) {
+                ClientManager.getInstance().sendOrder((OrderSingle)inOrder);
+            } else {
+                ClientManager.getInstance().sendOrderRaw((FIXOrder)inOrder);
+            }
+        } catch (Exception e) {
+            // the order will not be acknowledged
+            mOrdersOutstanding.getAndDecrement();
+            if(tracked) {
+                mSendTimes.remove(orderID);
+                if(mWindow != null) {
+                    mWindow.release();
+                }
+            }
+            throw e;
+        }
+        mFirstSendTime.compareAndSet(0, sendTime);
+        mLastSendTime = System.nanoTime();
+        mOrdersSent.getAndIncrement();
+    }
+
+    /**
+     * Returns the number of orders sent to the server.
+     *
+     * @return the number of orders sent.
+     */
+    public int getOrdersSent() {
+        return mOrdersSent.get();
+    }
+
+    /**
+     * Returns the rate at which orders were sent, from the first order
+     * sent to the last.
+     *
+     * @return the number of orders sent per second, zero if fewer than
+     * two orders were sent.
+     */
+    public double getOrdersPerSecond() {
+        long elapsed = mLastSendTime - mFirstSendTime.get();
+        if(mOrdersSent.get() < 2 || elapsed <= 0) {
+            return 0;
+        }
+        return mOrdersSent.get() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Returns the rate at which orders were acknowledged, from the first
+     * order sent to the last acknowledgement received.
+     *
+     * @return the number of orders acknowledged per second, zero if no
+     * orders were acknowledged.
+     */
+    public double getAcknowledgedPerSecond() {
+        long elapsed = mLastAckTime - mFirstSendTime.get();
+        if(mAckLatencies.getCount() == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return mAckLatencies.getCount() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Returns the number of orders whose acknowledgement was received.
+     *
+     * @return the number of orders acknowledged.
+     */
+    public long getOrdersAcknowledged() {
+        return mAckLatencies.getCount();
+    }
+
+    /**
+     * Returns the distribution of the times between sending an order and
+     * receiving its acknowledgement.
+     *
+     * @return the latencies, in nanoseconds.
+     */
+    public Snapshot getAcknowledgementLatencies() {
+        return mAckLatencies.getSnapshot();
     }
 
     @Override
@@ -104,12 +262,15 @@ public class ServerOrderProcessor implements OrderProcessor {
         // to see the orders we sent.
         long end=System.currentTimeMillis()+MAXIMUM_DELIVERY_WAIT;
         int lastOrdersOutstanding=mOrdersOutstanding.get();
-        while (lastOrdersOutstanding!=0) {
+        while (lastOrdersOutstanding>0) {
             try {
-                // A short delay is used here so that we don't delay
-                // exiting for too long after all orders have been
-                // sent.
-                Thread.sleep(500);
+                // Acknowledgements wake us up so that we don't delay
+                // exiting after all orders have been acknowledged.
+                synchronized (mOrdersOutstanding) {
+                    if (mOrdersOutstanding.get()==lastOrdersOutstanding) {
+                        mOrdersOutstanding.wait(500);
+                    }
+                }
             } catch (InterruptedException ex) {
                 break;
             }
@@ -129,4 +290,53 @@ public class ServerOrderProcessor implements OrderProcessor {
         } catch (ClientInitException ignore) {
         }
     }
+
+    /**
+     * Records the acknowledgement of an order by the server.
+     *
+     * @param inReport the acknowledgement.
+     */
+    private void acknowledged(ReportBase inReport) {
+        long now = System.nanoTime();
+        Long sendTime = inReport.getOrderID() == null ? null :
+            mSendTimes.remove(inReport.getOrderID());
+        // only the first acknowledgement of an order sent by this
+        // processor frees up its place in the window.
+        if (sendTime != null) {
+            mAckLatencies.update(now - sendTime);
+            mLastAckTime = now;
+            if (mWindow != null) {
+                mWindow.release();
+            }
+        }
+        synchronized (mOrdersOutstanding) {
+            mOrdersOutstanding.getAndDecrement();
+            mOrdersOutstanding.notifyAll();
+        }
+    }
+
+    /**
+     * Returns the ID of the supplied order.
+     *
+     * @param inOrder the order.
+     *
+     * @return the order ID, null if the order has none.
+     */
+    private static OrderID getOrderID(Order inOrder) {
+        if (inOrder instanceof OrderSingle) {
+            return ((OrderSingle)inOrder).getOrderID();
+        }
+        try {
+            return new OrderID(((FIXOrder)inOrder).getMessage().getString(
+                    ClOrdID.FIELD));
+        } catch (FieldNotFound e) {
+            return null;
+        }
+    }
+
+    /**
+     * The maximum number of acknowledgement latencies sampled.
+     */
+
+    private static final int LATENCY_SAMPLES = 100000;
 }
@@ -8,13 +8,16 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.marketcetera.orderloader.Messages.ERROR_MISSING_FILE;
 import static org.marketcetera.orderloader.Messages.ERROR_TOO_MANY_ARGUMENTS;
+import static org.marketcetera.orderloader.Messages.FAILED_ORDER;
 import static org.marketcetera.orderloader.Messages.LINE_SUMMARY;
 import static org.marketcetera.orderloader.Messages.LOG_APP_COPYRIGHT;
 import static org.marketcetera.orderloader.Messages.ORDER_SUMMARY;
+import static org.marketcetera.orderloader.Messages.UNSENT_ORDER;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PrintStream;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.marketcetera.client.ClientParameters;
@@ -201,6 +204,47 @@ public class MainTest
         assertTrue(output,
                    output.contains(TEST_FAILURE));
     }
+    /**
+     * Tests that orders which could not be sent in time are reported apart
+     * from the orders which failed.
+     *
+     * @throws Exception if an unexpected error occurs
+     */
+    @Test
+    public void timedOutOrders()
+            throws Exception
+    {
+        File tmpFile = File.createTempFile("orders",
+                                           ".csv");
+        tmpFile.deleteOnExit();
+        CopyCharsUtils.copy(OrderParserTest.arrayToLines(OrderLoaderTest.SYSTEM_ORDER_EXAMPLE).toCharArray(),
+                            tmpFile.getAbsolutePath());
+        MockMain main = create(tmpFile.getAbsolutePath());
+        main.setTimeoutOrders(true);
+        main.start();
+        main.assertErrors();
+        String output = mOutput.toString();
+        int timedOut = 0;
+        for(FailedOrderInfo info: main.getLoader().getFailedOrders()) {
+            String row = Arrays.toString(info.getRow());
+            String detail = main.getExceptionMsg(info.getException());
+            if(info.getException() instanceof AcknowledgementTimeoutException) {
+                timedOut++;
+                assertTrue(output,
+                           output.contains(UNSENT_ORDER.getText(info.getIndex(),
+                                                                row,
+                                                                detail)));
+            } else {
+                assertTrue(output,
+                           output.contains(FAILED_ORDER.getText(info.getIndex(),
+                                                                row,
+                                                                detail)));
+            }
+        }
+        assertEquals(5,
+                     timedOut);
+        tmpFile.delete();
+    }
     /**
      * 
      *
@@ -272,6 +316,7 @@ public class MainTest
             }
             mClientParameters = inParameters;
             mOrderProcessor = new MockOrderProcessor();
+            mOrderProcessor.setTimeout(mTimeoutOrders);
             return mOrderProcessor;
         }
         /**
@@ -303,6 +348,15 @@ public class MainTest
         {
             mFailCreateProcessor = inFailCreateProcessor;
         }
+        /**
+         * Sets whether the order processor times out sending every order.
+         *
+         * @param inTimeoutOrders a <code>boolean</code> value
+         */
+        public void setTimeoutOrders(boolean inTimeoutOrders)
+        {
+            mTimeoutOrders = inTimeoutOrders;
+        }
         /**
          * 
          *
@@ -372,6 +426,10 @@ public class MainTest
          * 
          */
         private boolean mFailCreateProcessor = false;
+        /**
+         * indicates if the order processor times out sending every order
+         */
+        private boolean mTimeoutOrders = false;
         /**
          * 
          */
@@ -2,6 +2,7 @@ package org.marketcetera.orderloader;
 
 import org.marketcetera.util.misc.ClassVersion;
 import org.marketcetera.trade.Order;
+import org.marketcetera.util.log.I18NBoundMessage1P;
 
 import java.util.List;
 import java.util.LinkedList;
@@ -25,6 +26,11 @@ public class MockOrderProcessor implements OrderProcessor {
         if(mFail) {
             throw new IllegalArgumentException(ORDER_FAILURE_STRING);
         }
+        if(mTimeout) {
+            throw new AcknowledgementTimeoutException(new I18NBoundMessage1P(
+                    Messages.ACKNOWLEDGEMENT_TIMEOUT,
+                    ServerOrderProcessor.MAXIMUM_DELIVERY_WAIT));
+        }
     }
     public List<Order> getOrders() {
         return mOrders;
@@ -34,11 +40,16 @@ public class MockOrderProcessor implements OrderProcessor {
         mFail = inFail;
     }
 
+    public void setTimeout(boolean inTimeout) {
+        mTimeout = inTimeout;
+    }
+
     public boolean isDoneInvoked() {
         return mDoneInvoked;
     }
 
     private boolean mFail = false;
+    private boolean mTimeout = false;
     private boolean mDoneInvoked = false;
     private final List<Order> mOrders = new LinkedList<Order>();
     static final String ORDER_FAILURE_STRING = "OrderFailure";
@@ -8,6 +8,7 @@ import static org.marketcetera.orderloader.Messages.ERROR_NO_ORDERS;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -18,6 +19,7 @@ import org.marketcetera.module.ExpectedFailure;
 import org.marketcetera.trade.BrokerID;
 import org.marketcetera.trade.Factory;
 import org.marketcetera.trade.Order;
+import org.marketcetera.trade.OrderSingle;
 import org.marketcetera.util.except.I18NException;
 import org.marketcetera.util.log.I18NBoundMessage2P;
 import org.marketcetera.util.log.I18NMessage0P;
@@ -190,6 +192,69 @@ public class OrderParserTest {
                 ((OrderParsingException)info.getException()).getI18NBoundMessage());
 
     }
+    @Test
+    public void pipelined() throws Exception {
+        MockOrderProcessor orderProcessor = new MockOrderProcessor();
+        MockRowProcessor rowProcessor = new MockRowProcessor(null, orderProcessor);
+        OrderParser parser = new OrderParser(rowProcessor);
+        assertEquals(0, parser.getParseThreads());
+        assertEquals(OrderParser.DEFAULT_BATCH_SIZE, parser.getBatchSize());
+        parser.setParseThreads(3);
+        parser.setBatchSize(2);
+        parser.parseOrders(new ByteArrayInputStream(arrayToLines(
+                SAMPLE_INPUT).getBytes()));
+        assertParser(parser, 17, 6, 4);
+        assertProcessor(rowProcessor, 6, 0);
+        assertArrayEquals(SAMPLE_INPUT[3].split(","), rowProcessor.getHeaders());
+        assertEquals(6, rowProcessor.getRows().size());
+        //orders are sent in the order of the rows
+        assertSent(orderProcessor, "value1", "avalue1", "bvalue1",
+                "a1value1", "b1value1", "cvalue1");
+    }
+    @Test
+    public void pipelinedRowProcessingFailure() throws Exception {
+        MockOrderProcessor orderProcessor = new MockOrderProcessor();
+        MockRowProcessor rowProcessor = new MockRowProcessor(null, orderProcessor);
+        rowProcessor.setParseFail(Pattern.compile("^a.*"));
+        OrderParser parser = new OrderParser(rowProcessor);
+        parser.setParseThreads(2);
+        parser.setBatchSize(1);
+        parser.parseOrders(new ByteArrayInputStream(arrayToLines(
+                SAMPLE_INPUT).getBytes()));
+        assertParser(parser, 17, 6, 4);
+        assertProcessor(rowProcessor, 4, 2);
+        List<FailedOrderInfo> list = rowProcessor.getFailedOrders();
+        assertEquals(7, list.get(0).getIndex());
+        assertArrayEquals(SAMPLE_INPUT[6].split(","), list.get(0).getRow());
+        assertEquals(PARSE_FAILURE,
+                ((OrderParsingException)list.get(0).getException()).getI18NBoundMessage());
+        assertEquals(11, list.get(1).getIndex());
+        assertArrayEquals(SAMPLE_INPUT[10].split(","), list.get(1).getRow());
+        assertSent(orderProcessor, "value1", "bvalue1", "b1value1", "cvalue1");
+    }
+    @Test
+    public void pipelinedSettings() throws Exception {
+        final OrderParser parser = new OrderParser(new MockRowProcessor(
+                null, new MockOrderProcessor()));
+        new ExpectedFailure<IllegalArgumentException>(){
+            protected void run() throws Exception {
+                parser.setParseThreads(-1);
+            }
+        };
+        new ExpectedFailure<IllegalArgumentException>(){
+            protected void run() throws Exception {
+                parser.setBatchSize(0);
+            }
+        };
+    }
+    private static void assertSent(MockOrderProcessor inProcessor,
+                                   String... inAccounts) {
+        List<Order> orders = inProcessor.getOrders();
+        assertEquals(inAccounts.length, orders.size());
+        for(int i = 0; i < inAccounts.length; i++) {
+            assertEquals(inAccounts[i], ((OrderSingle)orders.get(i)).getAccount());
+        }
+    }
     private void verifySampleInput(InputStream inInputStream)
             throws IOException, OrderParsingException {
         MockOrderProcessor orderProcessor = new MockOrderProcessor();
@@ -255,7 +320,9 @@ public class OrderParserTest {
                     throw new OrderParsingException(PARSE_FAILURE);
                 }
             }
-            return Factory.getInstance().createOrderSingle();
+            OrderSingle order = Factory.getInstance().createOrderSingle();
+            order.setAccount(inRow[0]);
+            return order;
         }
 
         public String[] getHeaders() {
@@ -276,7 +343,8 @@ public class OrderParserTest {
 
         private boolean mHeaderFail = false;
         private Pattern mParseFail = null;
-        private List<String[]> mRows = new LinkedList<String[]>();
+        private List<String[]> mRows = Collections.synchronizedList(
+                new LinkedList<String[]>());
         private String[] mHeaders;
     }
 
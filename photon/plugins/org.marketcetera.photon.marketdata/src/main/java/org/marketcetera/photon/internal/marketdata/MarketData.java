@@ -6,7 +6,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -28,7 +27,8 @@ import org.marketcetera.marketdata.core.manager.MarketDataRequestFailed;
 import org.marketcetera.marketdata.core.manager.MarketDataRequestTimedOut;
 import org.marketcetera.marketdata.core.manager.NoMarketDataProvidersAvailable;
 import org.marketcetera.marketdata.core.webservice.ConnectionException;
-import org.marketcetera.marketdata.core.webservice.PageRequest;
+import org.marketcetera.marketdata.core.webservice.MarketDataServiceClient;
+import org.marketcetera.marketdata.core.webservice.SnapshotUpdate;
 import org.marketcetera.marketdata.core.webservice.UnknownRequestException;
 import org.marketcetera.photon.marketdata.IMarketData;
 import org.marketcetera.photon.marketdata.IMarketDataReference;
@@ -78,6 +78,7 @@ public class MarketData
     {
         Validate.notNull(inMarketDataClientProvider);
         marketDataClientProvider = inMarketDataClientProvider;
+        marketDataRefreshExecutor = createRefreshExecutor();
     }
     /* (non-Javadoc)
      * @see org.marketcetera.photon.marketdata.IMarketData#reset()
@@ -89,7 +90,7 @@ public class MarketData
         if(marketDataRefreshExecutor != null) {
             marketDataRefreshExecutor.shutdownNow();
         }
-        marketDataRefreshExecutor = Executors.newScheduledThreadPool(10);
+        marketDataRefreshExecutor = createRefreshExecutor();
     }
     /* (non-Javadoc)
      * @see org.marketcetera.photon.marketdata.IMarketData#resubmit()
@@ -193,6 +194,20 @@ public class MarketData
                 throw new UnsupportedOperationException();
         }
     }
+    /**
+     * Creates an executor which runs the market data refresh job.
+     *
+     * @return a <code>ScheduledExecutorService</code> value
+     */
+    private ScheduledExecutorService createRefreshExecutor()
+    {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleAtFixedRate(new SubscriptionRefreshJob(),
+                                     REFRESH_INTERVAL,
+                                     REFRESH_INTERVAL,
+                                     TimeUnit.MILLISECONDS);
+        return executor;
+    }
     /**
      * Gets a market data reference for the given attributes.
      *
@@ -241,126 +256,77 @@ public class MarketData
         return newMarketDataDetails.getReference();
     }
     /**
-     * Manages a market data subscription and applies updates.
+     * Refreshes the market data of all active subscriptions.
+     * 
+     * <p>The changed snapshots of all subscriptions due for a refresh are retrieved with a single call to the market data nexus.
      *
      * @author <a href="mailto:colin@marketcetera.com">Colin DuPlantis</a>
      * @version $Id$
-     * @since 2.4.0
+     * @since 2.4.3
      */
     @ClassVersion("$Id$")
-    private class SubscriptionRefreshJob<MDType extends MDItem,MDMutableType extends MDType>
+    private class SubscriptionRefreshJob
             implements Runnable
     {
-        /**
-         * Create a new SubscriptionRefreshJob instance.
-         *
-         * @param inInstrument an <code>Instrument</code> value
-         * @param inContent a <code>Content</code> value
-         * @param inId a <code>long</code> value
-         * @param inUpdater an <code>ItemUpdater&lt;MDMutableType&gt;</code> value
-         * @param inItem an <code>MDMutableType</code> value
-         */
-        private SubscriptionRefreshJob(Instrument inInstrument,
-                                       Content inContent,
-                                       long inId,
-                                       ItemUpdater<MDMutableType> inUpdater,
-                                       MDMutableType inItem)
-        {
-            instrument = inInstrument;
-            content = inContent;
-            id = inId;
-            updater = inUpdater;
-            item = inItem;
-        }
         /* (non-Javadoc)
          * @see java.lang.Runnable#run()
          */
         @Override
         public void run()
         {
+            if(subscriptionsByRequestId.isEmpty()) {
+                return;
+            }
+            List<MarketDataDetails<?,?>> dueSubscriptions = Lists.newArrayList();
             try {
-                if(marketDataClientProvider.getMarketDataClient() == null || !marketDataClientProvider.getMarketDataClient().isRunning()) {
-                    updater.clear(item);
-                    cancel();
+                MarketDataServiceClient client = marketDataClientProvider.getMarketDataClient();
+                if(client == null || !client.isRunning()) {
+                    for(MarketDataDetails<?,?> subscription : subscriptionsByRequestId.values()) {
+                        subscription.cancelRefresh(true);
+                    }
                     return;
                 }
-                long updateTimestamp = marketDataClientProvider.getMarketDataClient().getLastUpdate(id);
-                if(updateTimestamp > lastUpdate) {
-                    // TODO switch to get snapshot page
-                    PageRequest page = new PageRequest(1,
-                                                       Integer.MAX_VALUE);
-                    Deque<Event> events = marketDataClientProvider.getMarketDataClient().getSnapshotPage(instrument,
-                                                                                                         content,
-                                                                                                         null,
-                                                                                                         page);
-                    if(events == null || events.isEmpty()) {
-                        return;
+                long now = System.currentTimeMillis();
+                Map<Long,Long> versions = Maps.newHashMap();
+                for(Entry<Long,MarketDataDetails<?,?>> entry : subscriptionsByRequestId.entrySet()) {
+                    MarketDataDetails<?,?> subscription = entry.getValue();
+                    if(subscription.nextRefresh <= now) {
+                        versions.put(entry.getKey(),
+                                     subscription.version);
+                        dueSubscriptions.add(subscription);
+                        subscription.nextRefresh = Math.max(subscription.nextRefresh + subscription.updateFrequency,
+                                                            now);
+                    }
+                }
+                if(versions.isEmpty()) {
+                    return;
+                }
+                Map<Long,SnapshotUpdate> updates = client.getSnapshotUpdates(versions);
+                for(SnapshotUpdate update : updates.values()) {
+                    MarketDataDetails<?,?> subscription = subscriptionsByRequestId.get(update.getRequestId());
+                    if(subscription != null) {
+                        subscription.refresh(update);
                     }
-                    updater.update(item,
-                                   events);
-                    lastUpdate = updateTimestamp;
                 }
-            } catch (UnknownRequestException e) {
-                // this is likely a transient problem, which will sort itself out shortly
-                SLF4JLoggerProxy.warn(MarketData.this,
-                                      e);
-                cancel();
             } catch (ConnectionException e) {
-                // exception caused by a lost connection - cancel this request
+                // exception caused by a lost connection - cancel the requests
                 SLF4JLoggerProxy.error(MarketData.this,
                                        e);
-                updater.clear(item);
-                cancel();
+                for(MarketDataDetails<?,?> subscription : dueSubscriptions) {
+                    subscription.cancelRefresh(true);
+                }
             } catch (Exception e) {
                 // this is an exception that occurred during update - must be caught or it kills the scheduled executor - log it and report a problem to the user
-                updater.clear(item);
+                for(MarketDataDetails<?,?> subscription : dueSubscriptions) {
+                    subscription.clearItem();
+                }
                 SLF4JLoggerProxy.error(org.marketcetera.core.Messages.USER_MSG_CATEGORY,
-                                       "A problem occurred updating market data for {} {} [{}]",
-                                       content,
-                                       instrument,
-                                       id);
+                                       "A problem occurred updating market data for {}",
+                                       dueSubscriptions);
                 SLF4JLoggerProxy.error(MarketData.this,
                                        e);
             }
         }
-        /**
-         * Cancels this job from being run again.
-         */
-        private void cancel()
-        {
-            if(refreshJobToken != null) {
-                refreshJobToken.cancel(true);
-                refreshJobToken = null;
-            }
-        }
-        /**
-         * market data request instrument
-         */
-        private final Instrument instrument;
-        /**
-         * market data request content
-         */
-        private final Content content;
-        /**
-         * server request id
-         */
-        private final long id;
-        /**
-         * updater which updates {@link #item} when new events come in
-         */
-        private final ItemUpdater<MDMutableType> updater;
-        /**
-         * item to update when new events come in
-         */
-        private final MDMutableType item;
-        /**
-         * reference token for the scheduled market data refresh job, if <code>null</code>, no job is scheduled
-         */
-        private Future<?> refreshJobToken;
-        /**
-         * tracks the last update time
-         */
-        private long lastUpdate = 0;
     }
     /**
      * Uniquely identifies the contents of a market data request.
@@ -445,11 +411,7 @@ public class MarketData
          */
         private void disconnect()
         {
-            updater.clear(item);
-            if(refreshJob != null) {
-                refreshJob.cancel();
-                refreshJob = null;
-            }
+            cancelRefresh(true);
             // do NOT change the reference count because there are still some number of users of the underlying reference
             try {
                 marketDataClientProvider.getMarketDataClient().cancel(requestId);
@@ -510,15 +472,65 @@ public class MarketData
                                        instrument);
                 throw new RuntimeException(e);
             }
-            refreshJob = new SubscriptionRefreshJob<>(instrument,
-                                                      content,
-                                                      requestId,
-                                                      updater,
-                                                      item);
-            refreshJob.refreshJobToken = marketDataRefreshExecutor.scheduleAtFixedRate(refreshJob,
-                                                                                       1000,
-                                                                                       updateFrequency,
-                                                                                       TimeUnit.MILLISECONDS);
+            version = 0;
+            nextRefresh = System.currentTimeMillis() + 1000;
+            subscriptionsByRequestId.put(requestId,
+                                         this);
+        }
+        /**
+         * Applies the given snapshot update to this market data unit.
+         *
+         * @param inUpdate a <code>SnapshotUpdate</code> value
+         */
+        private void refresh(SnapshotUpdate inUpdate)
+        {
+            if(inUpdate.isUnknownRequest()) {
+                // this is likely a transient problem, which will sort itself out shortly
+                SLF4JLoggerProxy.warn(MarketData.this,
+                                      new UnknownRequestException(inUpdate.getRequestId()));
+                cancelRefresh(false);
+                return;
+            }
+            try {
+                Deque<Event> events = inUpdate.getEvents();
+                if(events.isEmpty()) {
+                    // nothing to show yet, but the server need not build this snapshot again until it changes
+                    version = inUpdate.getVersion();
+                    return;
+                }
+                updater.update(item,
+                               events);
+                version = inUpdate.getVersion();
+            } catch (Exception e) {
+                updater.clear(item);
+                SLF4JLoggerProxy.error(org.marketcetera.core.Messages.USER_MSG_CATEGORY,
+                                       "A problem occurred updating market data for {} {} [{}]",
+                                       content,
+                                       instrument,
+                                       requestId);
+                SLF4JLoggerProxy.error(MarketData.this,
+                                       e);
+            }
+        }
+        /**
+         * Stops refreshing this market data unit.
+         *
+         * @param inClear a <code>boolean</code> value indicating whether to clear the market data item
+         */
+        private void cancelRefresh(boolean inClear)
+        {
+            subscriptionsByRequestId.remove(requestId,
+                                            this);
+            if(inClear) {
+                clearItem();
+            }
+        }
+        /**
+         * Clears the market data item of this market data unit.
+         */
+        private void clearItem()
+        {
+            updater.clear(item);
         }
         /**
          * Increments and returns the reference count.
@@ -626,9 +638,13 @@ public class MarketData
          */
         private final MarketDataRequest request;
         /**
-         * job responsible for updating the market data contents of this reference
+         * version of the market data snapshot applied to {@link #item}
          */
-        private volatile SubscriptionRefreshJob<MDType,MDMutableItemType> refreshJob;
+        private volatile long version;
+        /**
+         * time (in ms) at which this reference is next due for a refresh
+         */
+        private volatile long nextRefresh;
         /**
          * tracks active user count
          */
@@ -985,9 +1001,13 @@ public class MarketData
      */
     private final Map<MarketDataReferenceKey,MarketDataDetails<?,?>> requests = Maps.newHashMap();
     /**
-     * schedules market data refresh jobs
+     * contains connected market data requests by request id, refreshed by the {@link SubscriptionRefreshJob}
+     */
+    private final Map<Long,MarketDataDetails<?,?>> subscriptionsByRequestId = Maps.newConcurrentMap();
+    /**
+     * runs the market data refresh job
      */
-    private ScheduledExecutorService marketDataRefreshExecutor = Executors.newScheduledThreadPool(10);
+    private ScheduledExecutorService marketDataRefreshExecutor;
     /**
      * provides access to the market data client
      */
@@ -1000,4 +1020,8 @@ public class MarketData
      * indicates how frequently to check for market data depth updates (in ms)
      */
     private static final long DEPTH_UPDATE_FREQUENCY = 3000;
+    /**
+     * indicates how frequently to check which requests are due for a refresh (in ms)
+     */
+    private static final long REFRESH_INTERVAL = 500;
 }
@@ -1,5 +1,8 @@
 package org.marketcetera.util.log;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.marketcetera.util.misc.ClassVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +11,9 @@ import org.slf4j.spi.LocationAwareLogger;
 
 /**
  * SLF4J proxy with automatic logger selection and variable number of
- * arguments.
+ * arguments. Loggers are looked up once per category class or name
+ * and reused; the level is checked before any message parameters
+ * are formatted.
  * 
  * @author tlerios@marketcetera.com
  * @since 0.5.0
@@ -51,6 +56,37 @@ public final class SLF4JLoggerProxy
 
     private final static String SELF_PROXY=
         SLF4JLoggerProxy.class.getName();
+
+    /**
+     * The parameters of a message logged without parameters.
+     */
+
+    private static final Object[] NO_PARAMS=
+        new Object[0];
+
+    /**
+     * The loggers of class categories, held per class so that
+     * classes may still be unloaded.
+     */
+
+    private static final ClassValue<Logger> CLASS_LOGGERS=
+        new ClassValue<Logger>() {
+            @Override
+            protected Logger computeValue
+                (Class<?> type)
+            {
+                return LoggerFactory.getLogger(type.getName());
+            }
+        };
+
+    /**
+     * The loggers of string categories. The underlying logging
+     * system retains a logger per name anyway, so this cache adds
+     * no entries it would not otherwise keep.
+     */
+
+    private static final ConcurrentMap<String,Logger> NAMED_LOGGERS=
+        new ConcurrentHashMap<String,Logger>();
     
     
     // CLASS METHODS.
@@ -70,12 +106,17 @@ public final class SLF4JLoggerProxy
             return UNKNOWN_LOGGER;
         }
         if (category instanceof String) {
-            return LoggerFactory.getLogger((String)category);
+            Logger logger=NAMED_LOGGERS.get(category);
+            if (logger==null) {
+                logger=LoggerFactory.getLogger((String)category);
+                NAMED_LOGGERS.putIfAbsent((String)category,logger);
+            }
+            return logger;
         }
         if (category instanceof Class<?>) {
-            return LoggerFactory.getLogger(((Class<?>)category).getName());
+            return CLASS_LOGGERS.get((Class<?>)category);
         }
-        return LoggerFactory.getLogger(category.getClass().getName());
+        return CLASS_LOGGERS.get(category.getClass());
     }
 
     /**
@@ -129,7 +170,7 @@ public final class SLF4JLoggerProxy
                                           proxy,
                                           level,
                                           message,
-                                          new Object[0],
+                                          NO_PARAMS,
                                           throwable);
         return true;
     }
@@ -376,6 +417,53 @@ public final class SLF4JLoggerProxy
         errorProxy(SELF_PROXY,category,message,params);
     }
 
+    /**
+     * Logs the given parameterized message with one parameter under
+     * the given logging category at the error level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param The message parameter.
+     */
+    
+    public static void error
+        (Object category,
+         String message,
+         Object param)
+    {
+        if (!isErrorEnabled(category)) {
+            return;
+        }
+        errorProxy(SELF_PROXY,category,message,new Object[] {param});
+    }
+
+    /**
+     * Logs the given parameterized message with two parameters under
+     * the given logging category at the error level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param1 The first message parameter.
+     * @param param2 The second message parameter.
+     */
+    
+    public static void error
+        (Object category,
+         String message,
+         Object param1,
+         Object param2)
+    {
+        if (!isErrorEnabled(category)) {
+            return;
+        }
+        errorProxy(SELF_PROXY,category,message,
+                   new Object[] {param1,param2});
+    }
+
     /**
      * Logs the given parameterized message and throwable under the
      * given logging category at the error level via the given logging
@@ -607,6 +695,53 @@ public final class SLF4JLoggerProxy
         warnProxy(SELF_PROXY,category,message,params);
     }
 
+    /**
+     * Logs the given parameterized message with one parameter under
+     * the given logging category at the warn level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param The message parameter.
+     */
+    
+    public static void warn
+        (Object category,
+         String message,
+         Object param)
+    {
+        if (!isWarnEnabled(category)) {
+            return;
+        }
+        warnProxy(SELF_PROXY,category,message,new Object[] {param});
+    }
+
+    /**
+     * Logs the given parameterized message with two parameters under
+     * the given logging category at the warn level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param1 The first message parameter.
+     * @param param2 The second message parameter.
+     */
+    
+    public static void warn
+        (Object category,
+         String message,
+         Object param1,
+         Object param2)
+    {
+        if (!isWarnEnabled(category)) {
+            return;
+        }
+        warnProxy(SELF_PROXY,category,message,
+                   new Object[] {param1,param2});
+    }
+
     /**
      * Logs the given parameterized message and throwable under the
      * given logging category at the warning level via the given
@@ -840,6 +975,53 @@ public final class SLF4JLoggerProxy
         infoProxy(SELF_PROXY,category,message,params);
     }
 
+    /**
+     * Logs the given parameterized message with one parameter under
+     * the given logging category at the info level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param The message parameter.
+     */
+    
+    public static void info
+        (Object category,
+         String message,
+         Object param)
+    {
+        if (!isInfoEnabled(category)) {
+            return;
+        }
+        infoProxy(SELF_PROXY,category,message,new Object[] {param});
+    }
+
+    /**
+     * Logs the given parameterized message with two parameters under
+     * the given logging category at the info level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param1 The first message parameter.
+     * @param param2 The second message parameter.
+     */
+    
+    public static void info
+        (Object category,
+         String message,
+         Object param1,
+         Object param2)
+    {
+        if (!isInfoEnabled(category)) {
+            return;
+        }
+        infoProxy(SELF_PROXY,category,message,
+                   new Object[] {param1,param2});
+    }
+
     /**
      * Logs the given parameterized message and throwable under the
      * given logging category at the informational level via the given
@@ -1071,6 +1253,53 @@ public final class SLF4JLoggerProxy
         debugProxy(SELF_PROXY,category,message,params);
     }
 
+    /**
+     * Logs the given parameterized message with one parameter under
+     * the given logging category at the debug level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param The message parameter.
+     */
+    
+    public static void debug
+        (Object category,
+         String message,
+         Object param)
+    {
+        if (!isDebugEnabled(category)) {
+            return;
+        }
+        debugProxy(SELF_PROXY,category,message,new Object[] {param});
+    }
+
+    /**
+     * Logs the given parameterized message with two parameters under
+     * the given logging category at the debug level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param1 The first message parameter.
+     * @param param2 The second message parameter.
+     */
+    
+    public static void debug
+        (Object category,
+         String message,
+         Object param1,
+         Object param2)
+    {
+        if (!isDebugEnabled(category)) {
+            return;
+        }
+        debugProxy(SELF_PROXY,category,message,
+                   new Object[] {param1,param2});
+    }
+
     /**
      * Logs the given parameterized message and throwable under the
      * given logging category at the debugging level via the given
@@ -1302,6 +1531,53 @@ public final class SLF4JLoggerProxy
         traceProxy(SELF_PROXY,category,message,params);
     }
 
+    /**
+     * Logs the given parameterized message with one parameter under
+     * the given logging category at the trace level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param The message parameter.
+     */
+    
+    public static void trace
+        (Object category,
+         String message,
+         Object param)
+    {
+        if (!isTraceEnabled(category)) {
+            return;
+        }
+        traceProxy(SELF_PROXY,category,message,new Object[] {param});
+    }
+
+    /**
+     * Logs the given parameterized message with two parameters under
+     * the given logging category at the trace level. Unlike the
+     * variable arity form, no parameter array is allocated unless
+     * the level is enabled.
+     * 
+     * @param category The category.
+     * @param message The message.
+     * @param param1 The first message parameter.
+     * @param param2 The second message parameter.
+     */
+    
+    public static void trace
+        (Object category,
+         String message,
+         Object param1,
+         Object param2)
+    {
+        if (!isTraceEnabled(category)) {
+            return;
+        }
+        traceProxy(SELF_PROXY,category,message,
+                   new Object[] {param1,param2});
+    }
+
     /**
      * Logs the given parameterized message and throwable under the
      * given logging category at the tracing level via the given
@@ -111,4 +111,21 @@ public class TSLF4JLoggerProxyTest
         SLF4JLoggerProxy.trace
             (TEST_CATEGORY,TEST_THROWABLE,TEST_MESSAGE+" {}","a");
     }
+
+    @Test
+    public void fixedArity()
+    {
+        for (Object category:new Object[] {TEST_CATEGORY,getClass(),this}) {
+            SLF4JLoggerProxy.error(category,TEST_MESSAGE+" {}","a");
+            SLF4JLoggerProxy.error(category,TEST_MESSAGE+" {} {}","a","b");
+            SLF4JLoggerProxy.warn(category,TEST_MESSAGE+" {}","a");
+            SLF4JLoggerProxy.warn(category,TEST_MESSAGE+" {} {}","a","b");
+            SLF4JLoggerProxy.info(category,TEST_MESSAGE+" {}","a");
+            SLF4JLoggerProxy.info(category,TEST_MESSAGE+" {} {}","a","b");
+            SLF4JLoggerProxy.debug(category,TEST_MESSAGE+" {}","a");
+            SLF4JLoggerProxy.debug(category,TEST_MESSAGE+" {} {}","a","b");
+            SLF4JLoggerProxy.trace(category,TEST_MESSAGE+" {}","a");
+            SLF4JLoggerProxy.trace(category,TEST_MESSAGE+" {} {}","a","b");
+        }
+    }
 }